@@ -0,0 +1,13 @@
+import request from './request'
+
+/**
+ * 获取权限目录变更
+ * @param {number} since - 上次同步的目录版本，0 表示全量同步
+ */
+export function getCatalogChanges(since) {
+  return request({
+    url: '/catalog/changes',
+    method: 'get',
+    params: { since }
+  })
+}
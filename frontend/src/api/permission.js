@@ -12,6 +12,18 @@ export function getPermissionList(params) {
   })
 }
 
+/**
+ * 分页查询权限
+ * @param {Object} params - 查询参数（page、size、name、code）
+ */
+export function getPermissionPage(params) {
+  return request({
+    url: '/permissions/page',
+    method: 'get',
+    params
+  })
+}
+
 /**
  * 根据 ID 获取权限
  * @param {number} id - 权限 ID
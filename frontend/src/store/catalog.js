@@ -0,0 +1,81 @@
+import { defineStore } from 'pinia'
+import { getCatalogChanges } from '../api/catalog'
+
+const STORAGE_KEY = 'catalog'
+
+const linkKey = (link) => `${link.roleId}:${link.permissionId}`
+
+/**
+ * 从localStorage恢复上次同步的目录
+ */
+function loadStoredCatalog() {
+  try {
+    const stored = JSON.parse(localStorage.getItem(STORAGE_KEY))
+    if (stored && stored.version) {
+      return stored
+    }
+  } catch (e) {
+    localStorage.removeItem(STORAGE_KEY)
+  }
+  return { version: 0, permissions: {}, roles: {}, rolePermissions: {} }
+}
+
+/**
+ * 权限目录 - 按版本增量同步角色、权限及其关联
+ */
+export const useCatalogStore = defineStore('catalog', {
+  state: () => loadStoredCatalog(),
+
+  getters: {
+    permissionList: (state) => Object.values(state.permissions),
+    roleList: (state) => Object.values(state.roles),
+    /**
+     * 角色拥有的权限ID
+     */
+    rolePermissionIds: (state) => (roleId) =>
+      Object.values(state.rolePermissions)
+        .filter(link => link.roleId === roleId)
+        .map(link => link.permissionId)
+  },
+
+  actions: {
+    /**
+     * 拉取上次同步版本之后的变更并应用到本地目录
+     */
+    async syncCatalog() {
+      const res = await getCatalogChanges(this.version)
+      const changes = res.data
+      if (!changes) {
+        return
+      }
+
+      if (changes.full) {
+        this.permissions = {}
+        this.roles = {}
+        this.rolePermissions = {}
+      }
+      changes.permissions.forEach(permission => { this.permissions[permission.id] = permission })
+      changes.roles.forEach(role => { this.roles[role.id] = role })
+      changes.rolePermissions.forEach(link => { this.rolePermissions[linkKey(link)] = link })
+      changes.deletedPermissionIds.forEach(id => { delete this.permissions[id] })
+      changes.deletedRoleIds.forEach(id => { delete this.roles[id] })
+      changes.deletedRolePermissions.forEach(link => { delete this.rolePermissions[linkKey(link)] })
+      this.version = changes.version
+
+      localStorage.setItem(STORAGE_KEY, JSON.stringify({
+        version: this.version,
+        permissions: this.permissions,
+        roles: this.roles,
+        rolePermissions: this.rolePermissions
+      }))
+    },
+
+    /**
+     * 清空本地目录，下次同步走全量
+     */
+    resetCatalog() {
+      localStorage.removeItem(STORAGE_KEY)
+      this.$reset()
+    }
+  }
+})
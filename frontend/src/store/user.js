@@ -3,11 +3,17 @@ import { login, getUserInfo } from '../api/auth'
 import request from '../api/request'
 import { ElMessage } from 'element-plus'
 
+// 权限变更订阅连接，不放入state避免被序列化
+let permissionSource = null
+// 订阅断开后的重连定时器
+let permissionRetryTimer = null
+
 export const useUserStore = defineStore('user', {
   state: () => ({
     token: localStorage.getItem('token') || '',
     userInfo: null,
-    permissions: []
+    permissions: [],
+    menus: []
   }),
   
   getters: {
@@ -65,121 +71,35 @@ export const useUserStore = defineStore('user', {
     },
     
     /**
-     * 获取用户信息 - 尝试多种可能的API路径
+     * 获取用户信息 - 一次请求获取资料、角色、权限编码和菜单树
      */
     async getUserInfo() {
       try {
         console.log('-------- 开始获取用户信息 --------')
+        const res = await request({
+          url: '/users/current/bootstrap',
+          method: 'get'
+        })
         
-        // 尝试多种可能的API路径
-        const apiPaths = [
-          '/users/current'
-        ]
-        
-        let lastError = null
-        let userData = null
-        
-        // 依次尝试不同的路径
-        for (const path of apiPaths) {
-          console.log('尝试API路径:', path)
-          try {
-            const res = await request({
-              url: path,
-              method: 'get'
-            })
-            
-            if (res.data) {
-              console.log('用户信息获取成功，使用路径:', path)
-              userData = res
-              break
-            }
-          } catch (error) {
-            console.log(`路径 ${path} 失败:`, error.message)
-            lastError = error
-          }
-        }
-        
-        if (!userData) {
-          console.error('所有API路径均失败', lastError)
-          return Promise.reject(lastError || new Error('获取用户信息失败'))
-        }
-        
-        console.log('用户信息API响应:', userData)
-        
-        if (!userData.data) {
-          console.error('用户信息响应格式错误', userData)
+        if (!res.data || !res.data.profile) {
+          console.error('会话启动数据格式错误', res)
           return Promise.reject(new Error('获取用户信息失败，响应格式错误'))
         }
         
-        this.userInfo = userData.data
-        console.log('用户信息已保存到store:', JSON.stringify(this.userInfo, null, 2))
-        
-        // 提取所有权限码
-        let permissions = []
-        
-        if (userData.data.roles && userData.data.roles.length > 0) {
-          console.log('处理用户角色权限...')
-          console.log('用户角色:', JSON.stringify(userData.data.roles, null, 2))
-          
-          // 判断是否有管理员角色
-          const hasAdminRole = userData.data.roles.some(role => role.code === 'ROLE_ADMIN')
-          
-          if (hasAdminRole) {
-            // 管理员角色拥有所有权限
-            console.log('检测到管理员角色，授予所有权限')
-            permissions = [
-              'USER_VIEW', 'USER_ADD', 'USER_EDIT', 'USER_DELETE',
-              'ROLE_VIEW', 'ROLE_ADD', 'ROLE_EDIT', 'ROLE_DELETE',
-              'PERMISSION_VIEW', 'PERMISSION_ADD', 'PERMISSION_EDIT', 'PERMISSION_DELETE',
-              'MENU_VIEW', 'MENU_ADD', 'MENU_EDIT', 'MENU_DELETE'
-            ]
-          } else {
-            // 普通用户，通过角色的权限列表获取权限
-            userData.data.roles.forEach(role => {
-              if (role.permissions && role.permissions.length > 0) {
-                role.permissions.forEach(permission => {
-                  if (permission.code && !permissions.includes(permission.code)) {
-                    permissions.push(permission.code)
-                  }
-                })
-              }
-            })
-          }
-        }
-        
-        console.log('角色权限处理完成，当前权限列表:', permissions)
-        
-        // 尝试获取额外的权限信息 - 始终调用
-        console.log('开始获取额外权限信息...')
-        try {
-          const permRes = await request({
-            url: '/users/current/permissions',
-            method: 'get'
-          })
-          
-          console.log('权限接口返回:', JSON.stringify(permRes, null, 2))
-          
-          if (permRes.data && permRes.data.permissions) {
-            console.log('获取到额外权限列表:', permRes.data.permissions)
-            permRes.data.permissions.forEach(perm => {
-              if (!permissions.includes(perm)) {
-                permissions.push(perm)
-              }
-            })
-          }
-        } catch (err) {
-          console.warn('获取额外权限信息失败:', err)
-          // 失败不影响主流程
-        }
-        
+        const { profile, roles, permissions, menus } = res.data
+        // 保持与原用户信息相同的角色结构，页面按role.code判断角色
+        this.userInfo = { ...profile, roles: roles.map(code => ({ code, name: code })) }
         this.permissions = permissions
-        console.log('最终权限列表已更新:', permissions)
+        this.menus = menus
+        console.log('用户信息已保存到store:', this.userInfo.username, '权限数:', permissions.length)
         
         // 将权限列表也存储到localStorage，以便在页面刷新后仍能使用
         localStorage.setItem('permissions', JSON.stringify(permissions))
         
+        this.subscribePermissionChanges()
+        
         console.log('-------- 用户信息获取完成 --------')
-        return Promise.resolve(userData)
+        return Promise.resolve(res)
       } catch (error) {
         console.error('获取用户信息最终失败:', error)
         return Promise.reject(error)
@@ -213,13 +133,65 @@ export const useUserStore = defineStore('user', {
       return result
     },
     
+    /**
+     * 订阅当前用户的权限变更，服务端在有效权限变化时推送最新的权限列表
+     * EventSource无法设置请求头，先换取一次性订阅票据；票据只能使用一次，断开后换取新票据重新订阅
+     */
+    async subscribePermissionChanges() {
+      if (permissionSource || !this.token || typeof EventSource === 'undefined') {
+        return
+      }
+      let ticket
+      try {
+        const res = await request({
+          url: '/users/current/permissions/stream-ticket',
+          method: 'post'
+        })
+        ticket = res.data.ticket
+      } catch (error) {
+        console.log('获取权限订阅票据失败:', error)
+        return
+      }
+      if (permissionSource || !this.token) {
+        return
+      }
+      permissionSource = new EventSource(
+        `/api/users/current/permissions/stream?ticket=${encodeURIComponent(ticket)}`)
+      permissionSource.addEventListener('authority', event => {
+        const authority = JSON.parse(event.data)
+        this.permissions = authority.permissions
+        localStorage.setItem('permissions', JSON.stringify(authority.permissions))
+        console.log('收到权限变更推送:', authority.permissions)
+      })
+      permissionSource.onerror = () => {
+        this.unsubscribePermissionChanges()
+        permissionRetryTimer = setTimeout(() => this.subscribePermissionChanges(), 5000)
+      }
+    },
+    
+    /**
+     * 关闭权限变更订阅
+     */
+    unsubscribePermissionChanges() {
+      if (permissionRetryTimer) {
+        clearTimeout(permissionRetryTimer)
+        permissionRetryTimer = null
+      }
+      if (permissionSource) {
+        permissionSource.close()
+        permissionSource = null
+      }
+    },
+    
     /**
      * 退出登录
      */
     logout() {
+      this.unsubscribePermissionChanges()
       this.token = ''
       this.userInfo = null
       this.permissions = []
+      this.menus = []
       localStorage.removeItem('token')
       localStorage.removeItem('permissions')
       localStorage.removeItem('loadingUserInfo')
@@ -0,0 +1,285 @@
+package com.example.rbac.client;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand;
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 授权客户端
+ * 按主体在本地缓存权限位图（带TTL），并长轮询订阅服务端的授权变更来失效缓存，
+ * 缓存命中的检查不产生网络请求。订阅中断期间无法得知变更，恢复后清空全部缓存。
+ * <p>
+ * 线程安全，应在应用内共享一个实例。
+ */
+public final class RbacClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RbacClient.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final RbacHttpTransport transport;
+    private final SubjectAuthorityCache cache;
+    private final Duration requestTimeout;
+    private final Duration pollTimeout;
+
+    private volatile boolean running;
+    private Thread subscriber;
+
+    private RbacClient(Builder builder) {
+        HttpClient httpClient = builder.httpClient != null ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+        this.transport = new RbacHttpTransport(httpClient, builder.baseUrl, builder.tokenSupplier);
+        this.cache = new SubjectAuthorityCache(builder.ttl.toNanos(), builder.maxEntries);
+        this.requestTimeout = builder.requestTimeout;
+        this.pollTimeout = builder.pollTimeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 启动变更订阅线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        subscriber = new Thread(this::subscribe, "rbac-client-change-feed");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    /**
+     * 检查主体是否拥有权限
+     *
+     * @param subject 主体（用户名）
+     * @param permissionCode 权限编码
+     * @return 是否拥有
+     */
+    public boolean hasPermission(String subject, String permissionCode) {
+        return cache.hasPermission(entryOf(subject), permissionCode);
+    }
+
+    /**
+     * 检查主体是否拥有角色
+     *
+     * @param subject 主体（用户名）
+     * @param roleCode 角色编码
+     * @return 是否拥有
+     */
+    public boolean hasRole(String subject, String roleCode) {
+        return cache.hasRole(entryOf(subject), roleCode);
+    }
+
+    /**
+     * 本地计算一批检查，每个未缓存的主体只加载一次
+     *
+     * @param checks 检查项
+     * @return 与检查项一一对应的决策
+     */
+    public boolean[] decide(List<AuthorizationDecisionCommand.Check> checks) {
+        Map<String, SubjectAuthorityCache.Entry> entries = new HashMap<>();
+        boolean[] decisions = new boolean[checks.size()];
+        for (int i = 0; i < decisions.length; i++) {
+            AuthorizationDecisionCommand.Check check = checks.get(i);
+            SubjectAuthorityCache.Entry entry = entries.computeIfAbsent(check.getSubject(), this::entryOf);
+            decisions[i] = check.getPermission() != null
+                    ? cache.hasPermission(entry, check.getPermission())
+                    : cache.hasRole(entry, check.getRole());
+        }
+        return decisions;
+    }
+
+    /**
+     * 直接调用服务端批量决策接口，不经过本地缓存
+     *
+     * @param command 批量决策命令
+     * @return 服务端决策结果，可用{@link #isGranted}读取单项决策
+     */
+    public AuthorizationDecisionDTO decideRemotely(AuthorizationDecisionCommand command) {
+        return transport.post("/api/authz/decisions", command, AuthorizationDecisionDTO.class, requestTimeout);
+    }
+
+    /**
+     * 读取服务端决策位图中的第index项
+     */
+    public static boolean isGranted(AuthorizationDecisionDTO result, int index) {
+        Objects.checkIndex(index, result.getCount());
+        byte[] bits = Base64.getDecoder().decode(result.getResults());
+        return (bits[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * 失效指定主体的缓存
+     */
+    public void invalidate(String subject) {
+        cache.invalidate(List.of(subject));
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return 当前缓存的主体数量
+     */
+    public int cachedSubjects() {
+        return cache.size();
+    }
+
+    /**
+     * 停止变更订阅
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (subscriber != null) {
+            subscriber.interrupt();
+            subscriber = null;
+        }
+    }
+
+    private SubjectAuthorityCache.Entry entryOf(String subject) {
+        Objects.requireNonNull(subject, "主体不能为空");
+        SubjectAuthorityCache.Entry entry = cache.get(subject);
+        if (entry != null) {
+            return entry;
+        }
+        long generation = cache.generation();
+        SubjectAuthorityDTO authority = transport.get(
+                "/api/authz/subjects/" + RbacHttpTransport.encodePathSegment(subject),
+                SubjectAuthorityDTO.class, requestTimeout);
+        authority.setSubject(subject);
+        return cache.put(authority, generation);
+    }
+
+    private void subscribe() {
+        long since = 0;
+        long backoff = 1000;
+        while (running) {
+            try {
+                AuthorizationChangesDTO changes = transport.get("/api/authz/changes?since=" + since,
+                        AuthorizationChangesDTO.class, pollTimeout);
+                if (Boolean.TRUE.equals(changes.getReset())) {
+                    cache.invalidateAll();
+                } else if (changes.getSubjects() != null && !changes.getSubjects().isEmpty()) {
+                    cache.invalidate(changes.getSubjects());
+                }
+                since = changes.getVersion();
+                backoff = 1000;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                // 订阅中断期间可能漏掉变更
+                log.warn("授权变更订阅失败，{}ms后重试: {}", backoff, e.getMessage());
+                cache.invalidateAll();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 授权客户端构建器
+     */
+    public static final class Builder {
+        private String baseUrl;
+        private Supplier<String> tokenSupplier = () -> null;
+        private Duration ttl = Duration.ofMinutes(5);
+        private int maxEntries = 10_000;
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private Duration pollTimeout = Duration.ofSeconds(35);
+        private HttpClient httpClient;
+
+        private Builder() {
+        }
+
+        /**
+         * 授权服务地址，如http://localhost:8080
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * 访问令牌提供者，每次请求时调用
+         */
+        public Builder tokenSupplier(Supplier<String> tokenSupplier) {
+            this.tokenSupplier = tokenSupplier;
+            return this;
+        }
+
+        /**
+         * 缓存有效期，订阅正常时作为兜底
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * 最多缓存的主体数量
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * 普通请求超时
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * 长轮询请求超时，需大于服务端挂起时间
+         */
+        public Builder pollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+            return this;
+        }
+
+        /**
+         * 自定义HttpClient
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public RbacClient build() {
+            Objects.requireNonNull(baseUrl, "授权服务地址不能为空");
+            Objects.requireNonNull(tokenSupplier, "令牌提供者不能为空");
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("最大缓存数量必须大于0");
+            }
+            return new RbacClient(this);
+        }
+    }
+}
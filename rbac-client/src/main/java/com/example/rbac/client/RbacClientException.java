@@ -0,0 +1,15 @@
+package com.example.rbac.client;
+
+/**
+ * 授权客户端异常
+ */
+public class RbacClientException extends RuntimeException {
+
+    public RbacClientException(String message) {
+        super(message);
+    }
+
+    public RbacClientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
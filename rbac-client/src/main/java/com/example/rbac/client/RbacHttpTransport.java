@@ -0,0 +1,86 @@
+package com.example.rbac.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 授权服务HTTP访问
+ * 解析服务端统一的ApiResponse包装，code不为200时抛出异常
+ */
+final class RbacHttpTransport {
+
+    private static final String SUCCESS_CODE = "200";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Supplier<String> tokenSupplier;
+    private final ObjectMapper objectMapper;
+
+    RbacHttpTransport(HttpClient httpClient, String baseUrl, Supplier<String> tokenSupplier) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.tokenSupplier = tokenSupplier;
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    <T> T get(String path, Class<T> type, Duration timeout) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET(), type);
+    }
+
+    <T> T post(String path, Object body, Class<T> type, Duration timeout) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new RbacClientException("请求序列化失败", e);
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload)), type);
+    }
+
+    static String encodePathSegment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private <T> T send(HttpRequest.Builder builder, Class<T> type) {
+        String token = tokenSupplier.get();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new RbacClientException("访问授权服务失败", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RbacClientException("访问授权服务被中断", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new RbacClientException("授权服务返回HTTP " + response.statusCode());
+        }
+        try {
+            JsonNode root = objectMapper.readTree(response.body());
+            if (!SUCCESS_CODE.equals(root.path("code").asText())) {
+                throw new RbacClientException("授权服务返回错误: " + root.path("message").asText());
+            }
+            return objectMapper.treeToValue(root.get("data"), type);
+        } catch (IOException e) {
+            throw new RbacClientException("授权服务响应解析失败", e);
+        }
+    }
+}
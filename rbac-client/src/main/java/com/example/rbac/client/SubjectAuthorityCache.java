@@ -0,0 +1,138 @@
+package com.example.rbac.client;
+
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 主体授权本地缓存
+ * 权限编码和角色编码各自映射为位序号，每个主体只保存两个位图。读操作无锁；
+ * 写入与失效互斥，并以失效代数拒绝写入在失效之前发起加载的数据，避免旧数据覆盖失效。
+ */
+final class SubjectAuthorityCache {
+
+    private final CodeIndex permissionIndex = new CodeIndex();
+    private final CodeIndex roleIndex = new CodeIndex();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private volatile long generation;
+
+    SubjectAuthorityCache(long ttlNanos, int maxEntries) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return 未过期的缓存项，不存在时返回null
+     */
+    Entry get(String subject) {
+        Entry entry = entries.get(subject);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(subject, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @return 当前失效代数，加载前读取，写入时传回
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * 将加载结果转换为缓存项，加载期间未发生失效时写入缓存
+     */
+    synchronized Entry put(SubjectAuthorityDTO authority, long loadGeneration) {
+        Entry entry = new Entry(permissionIndex.bitsOf(authority.getPermissions()),
+                roleIndex.bitsOf(authority.getRoles()), System.nanoTime());
+        if (loadGeneration == generation) {
+            if (entries.size() >= maxEntries) {
+                evictOne();
+            }
+            entries.put(authority.getSubject(), entry);
+        }
+        return entry;
+    }
+
+    synchronized void invalidate(Collection<String> subjects) {
+        generation++;
+        subjects.forEach(entries::remove);
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    boolean hasPermission(Entry entry, String permissionCode) {
+        int index = permissionIndex.indexOf(permissionCode);
+        return index >= 0 && entry.permissions.get(index);
+    }
+
+    boolean hasRole(Entry entry, String roleCode) {
+        int index = roleIndex.indexOf(roleCode);
+        return index >= 0 && entry.roles.get(index);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictOne() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 缓存项，创建后不再修改
+     */
+    static final class Entry {
+        private final BitSet permissions;
+        private final BitSet roles;
+        private final long loadedAt;
+
+        private Entry(BitSet permissions, BitSet roles, long loadedAt) {
+            this.permissions = permissions;
+            this.roles = roles;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * 编码到位序号的映射，只增不减
+     */
+    private static final class CodeIndex {
+        private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        int indexOf(String code) {
+            Integer index = indexes.get(code);
+            return index == null ? -1 : index;
+        }
+
+        BitSet bitsOf(Collection<String> codes) {
+            BitSet bits = new BitSet();
+            if (codes != null) {
+                for (String code : codes) {
+                    bits.set(indexes.computeIfAbsent(code, key -> next.getAndIncrement()));
+                }
+            }
+            return bits;
+        }
+    }
+}
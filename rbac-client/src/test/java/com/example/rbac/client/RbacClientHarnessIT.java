@@ -0,0 +1,27 @@
+package com.example.rbac.client;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 基于进程内服务端的集成测试
+ * 需要可用的MySQL（按服务端application.yml或-Dspring.datasource.*配置），默认构建不运行，
+ * 使用 mvn -f rbac-client/pom.xml test -Dtest=RbacClientHarnessIT 执行。
+ */
+public class RbacClientHarnessIT {
+
+    @Test
+    public void testAdminPermissionsThroughRealServer() {
+        try (RbacTestServer server = RbacTestServer.start()) {
+            String token = server.adminToken();
+            try (RbacClient client = RbacClient.builder()
+                    .baseUrl(server.baseUrl())
+                    .tokenSupplier(() -> token)
+                    .build()) {
+                client.start();
+                assertTrue(client.hasRole("admin", "ROLE_ADMIN"));
+                assertTrue(client.hasPermission("admin", "USER_VIEW"));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.rbac.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand.Check;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * RbacClient的单元测试
+ * 使用本地HTTP桩模拟授权服务
+ */
+public class RbacClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger subjectLoads = new AtomicInteger();
+    private final BlockingQueue<String> pendingChanges = new LinkedBlockingQueue<>();
+    private volatile String alicePermissions = "[\"USER_VIEW\"]";
+    private RbacClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/authz/subjects/", exchange -> {
+            subjectLoads.incrementAndGet();
+            String subject = exchange.getRequestURI().getPath().substring("/api/authz/subjects/".length());
+            String permissions = "alice".equals(subject) ? alicePermissions : "[]";
+            respond(exchange, "{\"subject\":\"" + subject + "\",\"version\":0,\"permissions\":" + permissions
+                    + ",\"roles\":[\"ROLE_USER\"]}");
+        });
+        server.createContext("/api/authz/changes", exchange -> {
+            long since = Long.parseLong(exchange.getRequestURI().getQuery().substring("since=".length()));
+            try {
+                String subject = pendingChanges.poll(200, TimeUnit.MILLISECONDS);
+                String subjects = subject == null ? "[]" : "[\"" + subject + "\"]";
+                respond(exchange, "{\"version\":" + (subject == null ? since : since + 1)
+                        + ",\"reset\":false,\"subjects\":" + subjects + "}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.start();
+
+        client = RbacClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .tokenSupplier(() -> "test-token")
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testRepeatedChecksAreServedFromCache() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(client.hasPermission("alice", "USER_VIEW"));
+            assertFalse(client.hasPermission("alice", "USER_EDIT"));
+            assertTrue(client.hasRole("alice", "ROLE_USER"));
+        }
+        assertEquals(1, subjectLoads.get());
+    }
+
+    @Test
+    public void testBatchLoadsEachSubjectOnce() {
+        boolean[] decisions = client.decide(List.of(
+                new Check("alice", "USER_VIEW", null),
+                new Check("bob", "USER_VIEW", null),
+                new Check("alice", null, "ROLE_ADMIN"),
+                new Check("bob", null, "ROLE_USER")));
+
+        assertArrayEquals(new boolean[]{true, false, false, true}, decisions);
+        assertEquals(2, subjectLoads.get());
+    }
+
+    @Test
+    public void testChangeFeedInvalidatesSubject() throws InterruptedException {
+        client.start();
+        assertFalse(client.hasPermission("alice", "USER_EDIT"));
+
+        alicePermissions = "[\"USER_VIEW\",\"USER_EDIT\"]";
+        pendingChanges.add("alice");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!client.hasPermission("alice", "USER_EDIT") && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertTrue(client.hasPermission("alice", "USER_EDIT"));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() throws InterruptedException {
+        RbacClient shortLived = RbacClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .ttl(Duration.ofMillis(50))
+                .build();
+
+        shortLived.hasPermission("alice", "USER_VIEW");
+        TimeUnit.MILLISECONDS.sleep(100);
+        shortLived.hasPermission("alice", "USER_VIEW");
+
+        assertEquals(2, subjectLoads.get());
+    }
+
+    @Test
+    public void testIsGrantedReadsBitmap() {
+        AuthorizationDecisionDTO result = new AuthorizationDecisionDTO();
+        result.setCount(10);
+        result.setResults(java.util.Base64.getEncoder().encodeToString(new byte[]{(byte) 0b1000_0001, 0b10}));
+
+        assertTrue(RbacClient.isGranted(result, 0));
+        assertFalse(RbacClient.isGranted(result, 1));
+        assertTrue(RbacClient.isGranted(result, 7));
+        assertTrue(RbacClient.isGranted(result, 9));
+    }
+
+    private static void respond(HttpExchange exchange, String data) throws IOException {
+        byte[] body = ("{\"code\":\"200\",\"message\":\"成功\",\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
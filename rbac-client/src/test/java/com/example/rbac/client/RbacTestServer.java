@@ -0,0 +1,106 @@
+package com.example.rbac.client;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+/**
+ * 进程内授权服务
+ * 在当前JVM中以随机端口启动服务端，供客户端的集成测试使用。数据源等配置通过属性传入，
+ * 例如spring.datasource.url，未传入时沿用服务端application.yml。
+ */
+public final class RbacTestServer implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private RbacTestServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    /**
+     * 启动服务端
+     *
+     * @param properties 覆盖的配置属性，格式为key=value
+     * @return 已启动的服务端
+     */
+    public static RbacTestServer start(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+        return new RbacTestServer(context);
+    }
+
+    /**
+     * @return 服务地址，如http://localhost:54321
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return 服务端应用上下文
+     */
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    /**
+     * 以管理员身份登录（初始化数据中的admin账号）
+     *
+     * @return 访问令牌
+     */
+    public String adminToken() {
+        return login("admin", "123456");
+    }
+
+    /**
+     * 登录并返回访问令牌
+     *
+     * @param username 账号
+     * @param password 密码
+     * @return 访问令牌
+     */
+    public String login(String username, String password) {
+        try {
+            byte[] body = OBJECT_MAPPER.writeValueAsBytes(Map.of("username", username, "password", password));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode root = OBJECT_MAPPER.readTree(response.body());
+            JsonNode token = root.path("data").path("token");
+            if (token.isMissingNode()) {
+                throw new IllegalStateException("登录失败: " + root.path("message").asText());
+            }
+            return token.asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("登录请求失败", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("登录请求被中断", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 批量授权决策命令
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationDecisionCommand {
+    @NotEmpty(message = "检查项不能为空")
+    @Size(max = 1000, message = "单次最多1000个检查项")
+    @Valid
+    private List<Check> checks;
+
+    /**
+     * 单个检查项：主体是否拥有权限或角色，permission与role必须且只能指定一个
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+        @NotBlank(message = "主体不能为空")
+        private String subject;
+
+        private String permission;
+
+        private String role;
+    }
+}
@@ -15,7 +15,10 @@ import jakarta.validation.constraints.NotBlank;
 @NoArgsConstructor
 @AllArgsConstructor
 public class LoginCommand {
-    @NotBlank(message = "用户名不能为空")
+    /**
+     * 登录账号，可以是用户名、邮箱或手机号
+     */
+    @NotBlank(message = "账号不能为空")
     private String username;
 
     @NotBlank(message = "密码不能为空")
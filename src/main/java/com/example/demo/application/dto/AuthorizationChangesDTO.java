@@ -0,0 +1,31 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 授权变更通知
+ * reset为true时客户端应清空全部缓存，否则只失效subjects中的主体
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationChangesDTO {
+    /**
+     * 当前变更版本，下次订阅时作为since传入
+     */
+    private Long version;
+    
+    /**
+     * 是否需要清空全部缓存
+     */
+    private Boolean reset;
+    
+    /**
+     * 授权发生变化的主体
+     */
+    private List<String> subjects;
+}
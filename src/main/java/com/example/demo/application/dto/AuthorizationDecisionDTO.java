@@ -0,0 +1,44 @@
+package com.example.demo.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+/**
+ * 批量授权决策结果
+ * results为位图的Base64编码，第i个检查项对应第i/8个字节的第i%8位（低位在前），1表示允许。
+ */
+@Data
+public class AuthorizationDecisionDTO {
+    /**
+     * 检查项数量
+     */
+    private Integer count;
+
+    /**
+     * 允许的检查项数量
+     */
+    private Integer granted;
+
+    /**
+     * 决策位图（Base64）
+     */
+    private String results;
+
+    /**
+     * 涉及的主体数量
+     */
+    @JsonIgnore
+    private Integer subjects;
+
+    /**
+     * 加载主体权限耗时（纳秒）
+     */
+    @JsonIgnore
+    private Long loadNanos;
+
+    /**
+     * 计算决策耗时（纳秒）
+     */
+    @JsonIgnore
+    private Long evaluateNanos;
+}
@@ -0,0 +1,54 @@
+package com.example.demo.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 权限目录增量同步结果
+ * full为true时为全量快照，客户端应以其替换本地目录；否则只包含since之后新增修改和删除的对象。
+ * 角色不内嵌权限列表，角色与权限的关联通过rolePermissions单独下发。
+ */
+@Data
+public class CatalogChangesDTO {
+    /**
+     * 当前目录版本，下次同步时作为since传入
+     */
+    private Long version;
+    
+    /**
+     * 是否为全量快照
+     */
+    private Boolean full;
+    
+    /**
+     * 新增或修改的权限
+     */
+    private List<PermissionDTO> permissions = new ArrayList<>();
+    
+    /**
+     * 新增或修改的角色
+     */
+    private List<RoleDTO> roles = new ArrayList<>();
+    
+    /**
+     * 新增的角色权限关联
+     */
+    private List<RolePermissionDTO> rolePermissions = new ArrayList<>();
+    
+    /**
+     * 删除的权限ID
+     */
+    private List<Long> deletedPermissionIds = new ArrayList<>();
+    
+    /**
+     * 删除的角色ID
+     */
+    private List<Long> deletedRoleIds = new ArrayList<>();
+    
+    /**
+     * 删除的角色权限关联
+     */
+    private List<RolePermissionDTO> deletedRolePermissions = new ArrayList<>();
+}
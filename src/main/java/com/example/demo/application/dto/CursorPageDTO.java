@@ -0,0 +1,33 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 不统计总数，nextCursor为空表示没有下一页
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    /**
+     * 当前页记录
+     */
+    private List<T> content;
+    
+    /**
+     * 每页大小
+     */
+    private Integer size;
+    
+    /**
+     * 下一页游标
+     */
+    private String nextCursor;
+}
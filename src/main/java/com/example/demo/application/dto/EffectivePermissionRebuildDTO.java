@@ -0,0 +1,28 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 有效权限重建结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EffectivePermissionRebuildDTO {
+    /**
+     * 分片数量
+     */
+    private Integer chunks;
+    
+    /**
+     * 写入行数
+     */
+    private Long rows;
+    
+    /**
+     * 耗时（毫秒）
+     */
+    private Long costTime;
+}
@@ -0,0 +1,46 @@
+package com.example.demo.application.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * JFR录制状态
+ */
+@Data
+public class FlightRecordingDTO {
+    /**
+     * 录制名称，也是下载文件名
+     */
+    private String name;
+
+    /**
+     * 状态：NONE无录制、RUNNING录制中、STOPPED已停止可下载
+     */
+    private String state;
+
+    /**
+     * JDK预置的录制配置（default或profile）
+     */
+    private String settings;
+
+    /**
+     * 是否开启高频事件（缓存读取、授权决策）并取消耗时阈值
+     */
+    private Boolean detailed;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 最长录制时长（秒），到时自动停止并写出文件
+     */
+    private Long maxDurationSeconds;
+
+    /**
+     * 录制文件大小（字节），停止后才有值
+     */
+    private Long size;
+}
@@ -0,0 +1,52 @@
+package com.example.demo.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 菜单数据传输对象
+ * 菜单由类型为菜单的权限构成，树形结构通过children表示
+ */
+@Data
+public class MenuDTO {
+    /**
+     * 菜单ID（即权限ID）
+     */
+    private Long id;
+    
+    /**
+     * 父菜单ID
+     */
+    private Long parentId;
+    
+    /**
+     * 菜单名称
+     */
+    private String name;
+    
+    /**
+     * 权限编码
+     */
+    private String code;
+    
+    /**
+     * 路由路径
+     */
+    private String path;
+    
+    /**
+     * 图标
+     */
+    private String icon;
+    
+    /**
+     * 排序值
+     */
+    private Integer sort;
+    
+    /**
+     * 子菜单
+     */
+    private List<MenuDTO> children;
+}
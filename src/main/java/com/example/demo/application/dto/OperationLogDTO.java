@@ -0,0 +1,61 @@
+package com.example.demo.application.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志数据传输对象
+ */
+@Data
+public class OperationLogDTO {
+    /**
+     * 日志ID
+     */
+    private Long id;
+    
+    /**
+     * 操作用户名
+     */
+    private String username;
+    
+    /**
+     * 操作名称
+     */
+    private String operation;
+    
+    /**
+     * HTTP方法
+     */
+    private String method;
+    
+    /**
+     * 请求路径
+     */
+    private String uri;
+    
+    /**
+     * 客户端IP
+     */
+    private String ipAddress;
+    
+    /**
+     * 状态（0-失败，1-成功）
+     */
+    private Integer status;
+    
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+    
+    /**
+     * 耗时（毫秒）
+     */
+    private Integer costTime;
+    
+    /**
+     * 操作时间
+     */
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+
+    /**
+     * 符合条件的记录总数
+     */
+    private Long total;
+
+    /**
+     * 页码，从1开始
+     */
+    private Integer page;
+
+    /**
+     * 每页大小
+     */
+    private Integer size;
+}
@@ -1,15 +1,29 @@
 package com.example.demo.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 角色数据传输对象
+ * 序列化时可按请求的字段集裁剪，见{@link #FIELD_FILTER}
  */
+@JsonFilter(RoleDTO.FIELD_FILTER)
 @Data
 public class RoleDTO {
+    /**
+     * 字段过滤器ID，未指定字段集时输出全部字段
+     */
+    public static final String FIELD_FILTER = "roleFields";
+    
+    /**
+     * 角色作为关联对象按字段集输出时包含的字段
+     */
+    public static final Set<String> SUMMARY_FIELDS = Set.of("id", "name", "code", "status");
+    
     /**
      * 角色ID
      */
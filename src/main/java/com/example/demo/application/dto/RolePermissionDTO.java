@@ -0,0 +1,23 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 角色权限关联数据传输对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolePermissionDTO {
+    /**
+     * 角色ID
+     */
+    private Long roleId;
+    
+    /**
+     * 权限ID
+     */
+    private Long permissionId;
+}
@@ -0,0 +1,54 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 会话启动数据
+ * 前端登录后一次请求获取用户资料、角色编码、权限编码和可访问菜单树
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionBootstrapDTO {
+    /**
+     * 用户资料
+     */
+    private Profile profile;
+    
+    /**
+     * 启用的角色编码
+     */
+    private List<String> roles;
+    
+    /**
+     * 有效权限编码
+     */
+    private List<String> permissions;
+    
+    /**
+     * 可访问菜单树
+     */
+    private List<MenuDTO> menus;
+    
+    /**
+     * 用户资料
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Profile {
+        private Long id;
+        private String username;
+        private String nickname;
+        private String email;
+        private String phone;
+        private Boolean status;
+        private LocalDateTime createTime;
+        private LocalDateTime lastLoginTime;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 主体授权信息
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubjectAuthorityDTO {
+    /**
+     * 主体（用户名）
+     */
+    private String subject;
+    
+    /**
+     * 加载前的授权变更版本，数据至少包含该版本之前的全部变更
+     */
+    private Long version;
+    
+    /**
+     * 有效权限编码
+     */
+    private Set<String> permissions;
+    
+    /**
+     * 启用角色编码
+     */
+    private Set<String> roles;
+}
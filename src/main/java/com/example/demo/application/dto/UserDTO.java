@@ -1,5 +1,6 @@
 package com.example.demo.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,12 +11,19 @@ import java.util.Set;
 
 /**
  * 用户DTO
+ * 序列化时可按请求的字段集裁剪，见{@link #FIELD_FILTER}
  */
+@JsonFilter(UserDTO.FIELD_FILTER)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserDTO {
+    /**
+     * 字段过滤器ID，未指定字段集时输出全部字段
+     */
+    public static final String FIELD_FILTER = "userFields";
+    
     private Long id;
     private String username;
     private String nickname;
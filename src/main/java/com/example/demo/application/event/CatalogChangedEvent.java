@@ -0,0 +1,27 @@
+package com.example.demo.application.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 权限目录变更事件
+ * 角色、权限或角色权限关联发生变化时发布，用于失效基于目录构建的缓存
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogChangedEvent {
+
+    /**
+     * 变更的目录对象类型
+     */
+    public enum Type {
+        /** 权限 */
+        PERMISSION,
+        /** 角色 */
+        ROLE,
+        /** 角色权限关联 */
+        ROLE_PERMISSION
+    }
+
+    private final Type type;
+}
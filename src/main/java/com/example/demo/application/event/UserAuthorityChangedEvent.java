@@ -0,0 +1,18 @@
+package com.example.demo.application.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 用户授权变更事件
+ * 用户的角色、状态发生变化或用户被删除时发布，用于失效该用户的授权缓存
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserAuthorityChangedEvent {
+
+    /**
+     * 用户名
+     */
+    private final String username;
+}
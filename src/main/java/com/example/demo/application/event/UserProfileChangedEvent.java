@@ -0,0 +1,18 @@
+package com.example.demo.application.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 用户资料变更事件
+ * 用户登录等只影响资料、不影响授权的变更时发布，用于失效该用户的资料缓存
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserProfileChangedEvent {
+
+    /**
+     * 用户名
+     */
+    private final String username;
+}
@@ -0,0 +1,35 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand;
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 授权决策应用服务接口
+ */
+public interface AuthorizationService {
+    /**
+     * 批量计算授权决策
+     */
+    AuthorizationDecisionDTO decide(AuthorizationDecisionCommand command);
+    
+    /**
+     * 获取主体的全部有效权限和角色
+     */
+    SubjectAuthorityDTO getSubjectAuthority(String subject);
+    
+    /**
+     * 订阅指定版本之后的授权变更
+     */
+    CompletableFuture<AuthorizationChangesDTO> awaitChanges(long since);
+    
+    /**
+     * 订阅主体的权限变更推送
+     */
+    SseEmitter subscribeAuthority(String subject);
+}
@@ -0,0 +1,13 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.dto.CatalogChangesDTO;
+
+/**
+ * 权限目录同步应用服务接口
+ */
+public interface CatalogService {
+    /**
+     * 获取指定版本之后的角色、权限及角色权限关联变更，版本过旧时返回全量快照
+     */
+    CatalogChangesDTO getChanges(long since);
+}
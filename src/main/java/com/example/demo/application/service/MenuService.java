@@ -0,0 +1,25 @@
+package com.example.demo.application.service;
+
+import java.util.List;
+
+import com.example.demo.application.dto.MenuDTO;
+
+/**
+ * 菜单应用服务接口
+ */
+public interface MenuService {
+    /**
+     * 获取完整菜单树
+     */
+    List<MenuDTO> getMenuTree();
+    
+    /**
+     * 根据ID获取菜单
+     */
+    MenuDTO findById(Long id);
+    
+    /**
+     * 获取用户可访问的菜单树
+     */
+    List<MenuDTO> getUserMenuTree(String username);
+}
@@ -0,0 +1,17 @@
+package com.example.demo.application.service;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.application.dto.CursorPageDTO;
+import com.example.demo.application.dto.OperationLogDTO;
+
+/**
+ * 操作日志应用服务接口
+ */
+public interface OperationLogService {
+    /**
+     * 游标分页查询操作日志
+     */
+    CursorPageDTO<OperationLogDTO> getOperationLogs(LocalDateTime startTime, LocalDateTime endTime,
+                                                    String username, String cursor, int size);
+}
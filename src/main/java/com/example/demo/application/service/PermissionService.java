@@ -2,6 +2,7 @@ package com.example.demo.application.service;
 
 import java.util.List;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.dto.PermissionDTO;
 
 /**
@@ -13,6 +14,16 @@ public interface PermissionService {
      */
     List<PermissionDTO> findAll();
     
+    /**
+     * 按名称、编码包含的关键字过滤权限
+     */
+    List<PermissionDTO> findList(String name, String code);
+    
+    /**
+     * 按名称、编码前缀分页查询权限
+     */
+    PageDTO<PermissionDTO> findPage(int page, int size, String name, String code);
+    
     /**
      * 根据ID获取权限
      */
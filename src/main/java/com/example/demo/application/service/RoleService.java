@@ -1,7 +1,9 @@
 package com.example.demo.application.service;
 
 import java.util.List;
+import java.util.Set;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.dto.RoleDTO;
 
 /**
@@ -13,11 +15,29 @@ public interface RoleService {
      */
     List<RoleDTO> findAll();
     
+    /**
+     * 按名称、编码包含的关键字过滤角色
+     * fields为空时查询全部字段，includePermissions为false时不加载权限集合
+     */
+    List<RoleDTO> findList(String name, String code, Set<String> fields, boolean includePermissions);
+    
+    /**
+     * 按名称、编码前缀分页查询角色
+     * fields为空时查询全部字段，includePermissions为false时不加载权限集合
+     */
+    PageDTO<RoleDTO> findPage(int page, int size, String name, String code, Set<String> fields,
+                              boolean includePermissions);
+    
     /**
      * 根据ID获取角色
      */
     RoleDTO findById(Long id);
     
+    /**
+     * 按字段集获取角色，只查询和填充所选字段
+     */
+    RoleDTO findById(Long id, Set<String> fields);
+    
     /**
      * 创建角色
      */
@@ -7,6 +7,7 @@ import com.example.demo.application.command.UpdateUserCommand;
 import com.example.demo.application.dto.UserDTO;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户应用服务接口
@@ -32,16 +33,31 @@ public interface UserApplicationService {
      */
     UserDTO getUserById(Long id);
     
+    /**
+     * 按字段集获取用户，只查询和填充所选字段
+     */
+    UserDTO getUserById(Long id, Set<String> fields);
+    
     /**
      * 获取用户信息
      */
     UserDTO getUserByUsername(String username);
     
+    /**
+     * 获取会话启动数据（资料、角色编码、权限编码和菜单树），返回序列化后的JSON
+     */
+    byte[] getSessionBootstrap(String username);
+    
     /**
      * 获取所有用户
      */
     List<UserDTO> getAllUsers();
     
+    /**
+     * 按字段集获取所有用户，只查询和填充所选字段
+     */
+    List<UserDTO> getAllUsers(Set<String> fields);
+    
     /**
      * 更新用户
      */
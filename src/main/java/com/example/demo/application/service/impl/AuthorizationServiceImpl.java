@@ -0,0 +1,97 @@
+package com.example.demo.application.service.impl;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand;
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+import com.example.demo.application.service.AuthorizationService;
+import com.example.demo.infrastructure.service.AuthorityQueryService;
+import com.example.demo.infrastructure.service.AuthorizationChangeFeed;
+import com.example.demo.infrastructure.service.AuthorityQueryService.SubjectAuthority;
+import com.example.demo.infrastructure.service.PermissionChangeHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 授权决策应用服务实现
+ * 按主体去重后一次性加载全部主体的权限，再逐项计算决策并打包为位图。
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthorizationServiceImpl implements AuthorizationService {
+
+    private final AuthorityQueryService authorityQueryService;
+    private final AuthorizationChangeFeed authorizationChangeFeed;
+    private final PermissionChangeHub permissionChangeHub;
+
+    @Override
+    public AuthorizationDecisionDTO decide(AuthorizationDecisionCommand command) {
+        List<AuthorizationDecisionCommand.Check> checks = command.getChecks();
+        Set<String> subjects = new LinkedHashSet<>();
+        for (AuthorizationDecisionCommand.Check check : checks) {
+            boolean hasPermission = check.getPermission() != null;
+            boolean hasRole = check.getRole() != null;
+            if (hasPermission == hasRole) {
+                throw new IllegalArgumentException("检查项必须且只能指定permission或role之一");
+            }
+            subjects.add(check.getSubject());
+        }
+
+        long loadStart = System.nanoTime();
+        Map<String, SubjectAuthority> authorities = authorityQueryService.loadAuthorities(subjects);
+        long evaluateStart = System.nanoTime();
+
+        byte[] bits = new byte[(checks.size() + 7) >>> 3];
+        int granted = 0;
+        for (int i = 0; i < checks.size(); i++) {
+            AuthorizationDecisionCommand.Check check = checks.get(i);
+            SubjectAuthority authority = authorities.get(check.getSubject());
+            boolean allowed = authority != null && (check.getPermission() != null
+                    ? authority.hasPermission(check.getPermission())
+                    : authority.hasRole(check.getRole()));
+            if (allowed) {
+                bits[i >>> 3] |= (byte) (1 << (i & 7));
+                granted++;
+            }
+        }
+        long evaluateEnd = System.nanoTime();
+
+        AuthorizationDecisionDTO result = new AuthorizationDecisionDTO();
+        result.setCount(checks.size());
+        result.setGranted(granted);
+        result.setResults(Base64.getEncoder().encodeToString(bits));
+        result.setSubjects(subjects.size());
+        result.setLoadNanos(evaluateStart - loadStart);
+        result.setEvaluateNanos(evaluateEnd - evaluateStart);
+        return result;
+    }
+
+    @Override
+    public SubjectAuthorityDTO getSubjectAuthority(String subject) {
+        // 先取版本再加载，保证数据不早于该版本
+        long version = authorizationChangeFeed.currentVersion();
+        SubjectAuthority authority = authorityQueryService.loadAuthorities(Set.of(subject)).get(subject);
+        if (authority == null) {
+            return new SubjectAuthorityDTO(subject, version, Set.of(), Set.of());
+        }
+        return new SubjectAuthorityDTO(subject, version, authority.getPermissions(), authority.getRoles());
+    }
+
+    @Override
+    public CompletableFuture<AuthorizationChangesDTO> awaitChanges(long since) {
+        return authorizationChangeFeed.changesAfter(since);
+    }
+
+    @Override
+    public SseEmitter subscribeAuthority(String subject) {
+        return permissionChangeHub.subscribe(subject);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.application.service.impl;
+
+import com.example.demo.application.dto.CatalogChangesDTO;
+import com.example.demo.application.service.CatalogService;
+import com.example.demo.infrastructure.service.CatalogSyncQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 权限目录同步应用服务实现
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogServiceImpl implements CatalogService {
+
+    private final CatalogSyncQueryService catalogSyncQueryService;
+
+    @Override
+    public CatalogChangesDTO getChanges(long since) {
+        if (since < 0) {
+            throw new IllegalArgumentException("同步版本不能为负数");
+        }
+        return catalogSyncQueryService.getChanges(since);
+    }
+}
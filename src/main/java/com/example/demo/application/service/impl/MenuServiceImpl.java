@@ -0,0 +1,36 @@
+package com.example.demo.application.service.impl;
+
+import com.example.demo.application.dto.MenuDTO;
+import com.example.demo.application.service.MenuService;
+import com.example.demo.infrastructure.service.MenuQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 菜单应用服务实现
+ * 菜单树由查询服务预先构建并缓存，这里只做用例编排
+ */
+@Service
+@RequiredArgsConstructor
+public class MenuServiceImpl implements MenuService {
+
+    private final MenuQueryService menuQueryService;
+
+    @Override
+    public List<MenuDTO> getMenuTree() {
+        return menuQueryService.getMenuTree();
+    }
+
+    @Override
+    public MenuDTO findById(Long id) {
+        return menuQueryService.getMenu(id)
+                .orElseThrow(() -> new RuntimeException("菜单不存在"));
+    }
+
+    @Override
+    public List<MenuDTO> getUserMenuTree(String username) {
+        return menuQueryService.getUserMenuTree(username);
+    }
+}
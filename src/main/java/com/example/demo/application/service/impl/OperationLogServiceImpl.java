@@ -0,0 +1,33 @@
+package com.example.demo.application.service.impl;
+
+import com.example.demo.application.dto.CursorPageDTO;
+import com.example.demo.application.dto.OperationLogDTO;
+import com.example.demo.application.service.OperationLogService;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.service.OperationLogQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志应用服务实现
+ * 日志查询为管理端的批量列表，使用admin连接池
+ */
+@Service
+@RequiredArgsConstructor
+@DataSourceBulkhead(Bulkhead.ADMIN)
+public class OperationLogServiceImpl implements OperationLogService {
+
+    private final OperationLogQueryService operationLogQueryService;
+
+    @Override
+    public CursorPageDTO<OperationLogDTO> getOperationLogs(LocalDateTime startTime, LocalDateTime endTime,
+                                                           String username, String cursor, int size) {
+        if (startTime != null && endTime != null && !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("开始时间必须早于结束时间");
+        }
+        return operationLogQueryService.getOperationLogs(startTime, endTime, username, cursor, size);
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.demo.application.service.impl;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.dto.PermissionDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
 import com.example.demo.application.service.PermissionService;
 import com.example.demo.domain.model.entity.Permission;
 import com.example.demo.domain.model.valueobject.PermissionId;
 import com.example.demo.domain.repository.PermissionRepository;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.service.PermissionQueryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,12 +21,16 @@ import java.util.stream.Collectors;
 
 /**
  * 权限应用服务实现
+ * 权限管理只在管理端使用，使用admin连接池
  */
 @Service
 @RequiredArgsConstructor
+@DataSourceBulkhead(Bulkhead.ADMIN)
 public class PermissionServiceImpl implements PermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PermissionQueryService permissionQueryService;
 
     @Override
     public List<PermissionDTO> findAll() {
@@ -30,6 +40,16 @@ public class PermissionServiceImpl implements PermissionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<PermissionDTO> findList(String name, String code) {
+        return permissionQueryService.getPermissions(name, code);
+    }
+
+    @Override
+    public PageDTO<PermissionDTO> findPage(int page, int size, String name, String code) {
+        return permissionQueryService.getPermissionsPage(page, size, name, code);
+    }
+
     @Override
     public PermissionDTO findById(Long id) {
         Permission permission = permissionRepository.findById(new PermissionId(id))
@@ -55,6 +75,7 @@ public class PermissionServiceImpl implements PermissionService {
 
         // 保存并返回
         Permission savedPermission = permissionRepository.save(permission);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.PERMISSION));
         return convertToDTO(savedPermission);
     }
 
@@ -89,6 +110,7 @@ public class PermissionServiceImpl implements PermissionService {
 
         // 保存并返回
         Permission updatedPermission = permissionRepository.save(permission);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.PERMISSION));
         return convertToDTO(updatedPermission);
     }
 
@@ -98,6 +120,7 @@ public class PermissionServiceImpl implements PermissionService {
         Permission permission = permissionRepository.findById(new PermissionId(id))
                 .orElseThrow(() -> new RuntimeException("权限不存在"));
         permissionRepository.delete(permission);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.PERMISSION));
     }
 
     /**
@@ -1,7 +1,9 @@
 package com.example.demo.application.service.impl;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.dto.PermissionDTO;
 import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
 import com.example.demo.application.service.RoleService;
 import com.example.demo.domain.model.entity.Permission;
 import com.example.demo.domain.model.entity.Role;
@@ -9,23 +11,32 @@ import com.example.demo.domain.model.valueobject.PermissionId;
 import com.example.demo.domain.model.valueobject.RoleId;
 import com.example.demo.domain.repository.PermissionRepository;
 import com.example.demo.domain.repository.RoleRepository;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.service.RoleQueryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * 角色应用服务实现
+ * 角色管理只在管理端使用，使用admin连接池
  */
 @Service
 @RequiredArgsConstructor
+@DataSourceBulkhead(Bulkhead.ADMIN)
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoleQueryService roleQueryService;
 
     @Override
     public List<RoleDTO> findAll() {
@@ -35,6 +46,17 @@ public class RoleServiceImpl implements RoleService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<RoleDTO> findList(String name, String code, Set<String> fields, boolean includePermissions) {
+        return roleQueryService.getRoles(name, code, fields, includePermissions);
+    }
+
+    @Override
+    public PageDTO<RoleDTO> findPage(int page, int size, String name, String code, Set<String> fields,
+                                     boolean includePermissions) {
+        return roleQueryService.getRolesPage(page, size, name, code, fields, includePermissions);
+    }
+
     @Override
     public RoleDTO findById(Long id) {
         Role role = roleRepository.findById(new RoleId(id))
@@ -42,6 +64,12 @@ public class RoleServiceImpl implements RoleService {
         return convertToDTO(role);
     }
 
+    @Override
+    public RoleDTO findById(Long id, Set<String> fields) {
+        return roleQueryService.getRole(id, fields)
+                .orElseThrow(() -> new RuntimeException("角色不存在"));
+    }
+
     @Override
     @Transactional
     public RoleDTO create(RoleDTO roleDTO) {
@@ -70,6 +98,7 @@ public class RoleServiceImpl implements RoleService {
 
         // 保存并返回
         Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE));
         return convertToDTO(savedRole);
     }
 
@@ -100,6 +129,7 @@ public class RoleServiceImpl implements RoleService {
 
         // 保存并返回
         Role updatedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE));
         return convertToDTO(updatedRole);
     }
 
@@ -109,6 +139,7 @@ public class RoleServiceImpl implements RoleService {
         Role role = roleRepository.findById(new RoleId(id))
                 .orElseThrow(() -> new RuntimeException("角色不存在"));
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE));
     }
 
     @Override
@@ -127,6 +158,7 @@ public class RoleServiceImpl implements RoleService {
         
         // 保存角色
         roleRepository.save(role);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE_PERMISSION));
     }
 
     @Override
@@ -145,6 +177,7 @@ public class RoleServiceImpl implements RoleService {
         
         // 保存角色
         roleRepository.save(role);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE_PERMISSION));
     }
 
     /**
@@ -1,9 +1,12 @@
 package com.example.demo.application.service.impl;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.application.command.CreateUserCommand;
@@ -11,6 +14,8 @@ import com.example.demo.application.command.LoginCommand;
 import com.example.demo.application.command.RegisterUserCommand;
 import com.example.demo.application.command.UpdateUserCommand;
 import com.example.demo.application.dto.UserDTO;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.application.event.UserProfileChangedEvent;
 import com.example.demo.application.service.UserApplicationService;
 import com.example.demo.domain.model.entity.Role;
 import com.example.demo.domain.model.entity.User;
@@ -20,7 +25,11 @@ import com.example.demo.domain.repository.UserRepository;
 import com.example.demo.domain.service.PasswordService;
 import com.example.demo.domain.service.UserDomainService;
 import com.example.demo.infrastructure.convert.UserConvert;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
 import com.example.demo.infrastructure.security.JwtUtil;
+import com.example.demo.infrastructure.service.SessionBootstrapQueryService;
+import com.example.demo.infrastructure.service.UserQueryService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -39,6 +48,9 @@ public class UserApplicationServiceImpl implements UserApplicationService {
     private final JwtUtil jwtUtil;
     private final UserConvert userConvert;
     private final UserDomainService userDomainService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionBootstrapQueryService sessionBootstrapQueryService;
+    private final UserQueryService userQueryService;
 
     /**
      * 用户注册
@@ -49,6 +61,7 @@ public class UserApplicationServiceImpl implements UserApplicationService {
         if (userRepository.existsByUsername(command.getUsername())) {
             throw new RuntimeException("用户名已存在");
         }
+        checkContactAvailable(command.getEmail(), command.getPhone(), null);
 
         // 2. 创建用户实体（工厂方法）
         User user = User.create(
@@ -84,11 +97,13 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      * 创建用户（管理员操作）
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     public UserDTO createUser(CreateUserCommand command) {
         // 1. 业务规则验证
         if (userRepository.existsByUsername(command.getUsername())) {
             throw new RuntimeException("用户名已存在");
         }
+        checkContactAvailable(command.getEmail(), command.getPhone(), null);
 
         // 2. 创建用户实体（工厂方法）
         User user = User.create(
@@ -121,8 +136,8 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      */
     @Override
     public String login(LoginCommand command) {
-        // 1. 查找用户
-        User user = userRepository.findByUsername(command.getUsername())
+        // 1. 按用户名、邮箱或手机号查找用户
+        User user = userRepository.findByLoginIdentifier(command.getUsername())
                 .orElseThrow(() -> new RuntimeException("用户名或密码错误"));
 
         // 2. 验证密码
@@ -137,9 +152,10 @@ public class UserApplicationServiceImpl implements UserApplicationService {
 
         // 4. 记录登录时间
         user.recordLogin();
-        userRepository.save(user);
+        userRepository.updateLastLoginTime(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getUsername()));
 
-        // 5. 生成JWT令牌
+        // 5. 生成JWT令牌（始终以用户名作为主体）
         return jwtUtil.generateToken(user.getUsername());
     }
 
@@ -154,6 +170,16 @@ public class UserApplicationServiceImpl implements UserApplicationService {
         return userConvert.toDto(user);
     }
 
+    /**
+     * 按字段集获取用户
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserDTO getUserById(Long id, Set<String> fields) {
+        return userQueryService.getUser(id, fields)
+                .orElseThrow(() -> new RuntimeException("用户不存在"));
+    }
+
     /**
      * 根据用户名获取用户信息
      */
@@ -165,10 +191,20 @@ public class UserApplicationServiceImpl implements UserApplicationService {
         return userConvert.toDto(user);
     }
 
+    /**
+     * 获取会话启动数据，命中缓存时不占用数据库连接
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public byte[] getSessionBootstrap(String username) {
+        return sessionBootstrapQueryService.getBootstrap(username);
+    }
+
     /**
      * 获取所有用户
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -177,16 +213,28 @@ public class UserApplicationServiceImpl implements UserApplicationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 按字段集获取所有用户
+     */
+    @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
+    @Transactional(readOnly = true)
+    public List<UserDTO> getAllUsers(Set<String> fields) {
+        return userQueryService.getUsers(fields);
+    }
+
     /**
      * 更新用户信息
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     public UserDTO updateUser(UpdateUserCommand command) {
         // 1. 查找用户
         User user = userRepository.findById(new UserId(command.getId()))
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
 
         // 2. 更新基本信息
+        checkContactAvailable(command.getEmail(), command.getPhone(), user.getId());
         user.updateProfile(command.getNickname(), command.getEmail(), command.getPhone());
 
         // 3. 更新状态
@@ -200,6 +248,7 @@ public class UserApplicationServiceImpl implements UserApplicationService {
 
         // 4. 保存更新
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAuthorityChangedEvent(savedUser.getUsername()));
         
         // 5. 转换为DTO并返回
         return userConvert.toDto(savedUser);
@@ -209,10 +258,12 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      * 删除用户
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     public void deleteUser(Long id) {
         User user = userRepository.findById(new UserId(id))
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAuthorityChangedEvent(user.getUsername()));
     }
 
     /**
@@ -220,12 +271,14 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      * 委托给领域服务处理
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     public void addRoleToUser(String username, String roleCode) {
         try {
             userDomainService.assignRoleToUser(username, roleCode);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e.getMessage());
         }
+        eventPublisher.publishEvent(new UserAuthorityChangedEvent(username));
     }
 
     /**
@@ -233,8 +286,10 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      * 委托给领域服务处理
      */
     @Override
+    @DataSourceBulkhead(Bulkhead.ADMIN)
     public void removeRoleFromUser(String username, String roleCode) {
         userDomainService.removeRoleFromUser(username, roleCode);
+        eventPublisher.publishEvent(new UserAuthorityChangedEvent(username));
     }
 
     /**
@@ -246,5 +301,26 @@ public class UserApplicationServiceImpl implements UserApplicationService {
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
         user.recordLogin();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(username));
+    }
+
+    /**
+     * 校验邮箱、手机号未被其他用户使用
+     *
+     * @param email 邮箱
+     * @param phone 手机号
+     * @param selfId 当前用户ID，新建用户时为null
+     */
+    private void checkContactAvailable(String email, String phone, UserId selfId) {
+        if (email != null && userRepository.findByEmail(email)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .isPresent()) {
+            throw new RuntimeException("邮箱已被使用");
+        }
+        if (phone != null && userRepository.findByPhone(phone)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .isPresent()) {
+            throw new RuntimeException("手机号已被使用");
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.demo.domain.model.valueobject;
 
+import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -9,6 +10,11 @@ import java.util.regex.Pattern;
 public class Email {
     private static final Pattern EMAIL_PATTERN = 
         Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z0-9.-]+$");
+
+    /**
+     * 空值共享实例
+     */
+    private static final Email EMPTY = new Email(null, true);
         
     private final String value;
 
@@ -19,10 +25,33 @@ public class Email {
         this.value = value;
     }
 
+    private Email(String value, boolean trusted) {
+        this.value = value;
+    }
+
+    /**
+     * 由持久化数据重建Email
+     * 库中的值写入时已经校验过，这里不再执行正则匹配；用户输入必须走构造函数校验
+     */
+    public static Email rehydrate(String value) {
+        return value == null ? EMPTY : new Email(value, true);
+    }
+
     private boolean isValidEmail(String email) {
         return EMAIL_PATTERN.matcher(email).matches();
     }
 
+    /**
+     * 规范化邮箱：去除首尾空格并转为小写，空值返回null
+     * 邮箱的存储、查询和唯一性校验都以规范化后的值为准
+     */
+    public static String normalize(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
     public String getValue() {
         return value;
     }
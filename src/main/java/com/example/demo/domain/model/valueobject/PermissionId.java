@@ -1,17 +1,40 @@
 package com.example.demo.domain.model.valueobject;
 
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 权限ID值对象
  */
 public class PermissionId {
+    /**
+     * 规范实例的上限，权限数量有限，超出后不再缓存
+     */
+    private static final int MAX_CANONICAL = 4096;
+    private static final ConcurrentMap<Long, PermissionId> CANONICAL = new ConcurrentHashMap<>();
+
     private final Long value;
 
     public PermissionId(Long value) {
         this.value = Objects.requireNonNull(value, "权限ID不能为空");
     }
 
+    /**
+     * 获取规范实例，相同ID重复加载时共享同一个对象
+     */
+    public static PermissionId of(Long value) {
+        Objects.requireNonNull(value, "权限ID不能为空");
+        PermissionId cached = CANONICAL.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        if (CANONICAL.size() >= MAX_CANONICAL) {
+            return new PermissionId(value);
+        }
+        return CANONICAL.computeIfAbsent(value, PermissionId::new);
+    }
+
     public Long getValue() {
         return value;
     }
@@ -9,6 +9,13 @@ import java.util.regex.Pattern;
 public class Phone {
     private static final Pattern PHONE_PATTERN = 
         Pattern.compile("^\\d{11}$");
+    private static final Pattern SEPARATOR_PATTERN =
+        Pattern.compile("[\\s-]");
+
+    /**
+     * 空值共享实例
+     */
+    private static final Phone EMPTY = new Phone(null, true);
         
     private final String value;
 
@@ -19,10 +26,34 @@ public class Phone {
         this.value = value;
     }
 
+    private Phone(String value, boolean trusted) {
+        this.value = value;
+    }
+
+    /**
+     * 由持久化数据重建手机号
+     * 库中的值写入时已经校验过，这里不再执行正则匹配；用户输入必须走构造函数校验
+     */
+    public static Phone rehydrate(String value) {
+        return value == null ? EMPTY : new Phone(value, true);
+    }
+
     private boolean isValidPhone(String phone) {
         return PHONE_PATTERN.matcher(phone).matches();
     }
 
+    /**
+     * 规范化手机号：去除空白字符和连字符，空值返回null
+     * 手机号的存储、查询和唯一性校验都以规范化后的值为准
+     */
+    public static String normalize(String phone) {
+        if (phone == null || phone.isBlank()) {
+            return null;
+        }
+        String normalized = SEPARATOR_PATTERN.matcher(phone).replaceAll("");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
     public String getValue() {
         return value;
     }
@@ -35,6 +35,16 @@ public interface UserRepository {
      */
     Optional<User> findByPhone(String phone);
     
+    /**
+     * 根据登录账号（用户名、邮箱或手机号）查找用户
+     */
+    Optional<User> findByLoginIdentifier(String identifier);
+    
+    /**
+     * 更新用户最后登录时间
+     */
+    void updateLastLoginTime(User user);
+    
     /**
      * 查询所有用户
      */
@@ -45,6 +55,21 @@ public interface UserRepository {
      */
     boolean existsByUsername(String username);
     
+    /**
+     * 查询用户的有效权限编码（来自启用角色的启用权限）
+     */
+    List<String> findPermissionCodesByUsername(String username);
+    
+    /**
+     * 检查用户是否拥有权限
+     */
+    boolean hasPermission(String username, String permissionCode);
+    
+    /**
+     * 查询拥有权限的用户名
+     */
+    List<String> findUsernamesByPermissionCode(String permissionCode);
+    
     /**
      * 删除用户
      */
@@ -3,7 +3,6 @@ package com.example.demo.domain.service;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
@@ -92,6 +91,7 @@ public class UserDomainService {
     
     /**
      * 获取用户所有权限代码
+     * 直接读取物化的有效权限，只有结果为空时才额外确认用户是否存在
      *
      * @param username 用户名
      * @return 权限代码列表
@@ -99,14 +99,11 @@ public class UserDomainService {
     public List<String> getUserPermissionCodes(String username) {
         Objects.requireNonNull(username, "用户名不能为空");
         
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("用户不存在：" + username));
-                
-        return user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(permission -> permission.getCode())
-                .distinct()
-                .collect(Collectors.toList());
+        List<String> permissionCodes = userRepository.findPermissionCodesByUsername(username);
+        if (permissionCodes.isEmpty() && !userRepository.existsByUsername(username)) {
+            throw new IllegalArgumentException("用户不存在：" + username);
+        }
+        return permissionCodes;
     }
     
     /**
@@ -117,8 +114,28 @@ public class UserDomainService {
      * @return 是否拥有权限
      */
     public boolean hasPermission(String username, String permissionCode) {
-        List<String> permissionCodes = getUserPermissionCodes(username);
-        return permissionCodes.contains(permissionCode);
+        Objects.requireNonNull(username, "用户名不能为空");
+        Objects.requireNonNull(permissionCode, "权限编码不能为空");
+        
+        if (userRepository.hasPermission(username, permissionCode)) {
+            return true;
+        }
+        if (!userRepository.existsByUsername(username)) {
+            throw new IllegalArgumentException("用户不存在：" + username);
+        }
+        return false;
+    }
+    
+    /**
+     * 查询拥有特定权限的用户名
+     *
+     * @param permissionCode 权限代码
+     * @return 用户名列表
+     */
+    public List<String> getUsernamesWithPermission(String permissionCode) {
+        Objects.requireNonNull(permissionCode, "权限编码不能为空");
+        
+        return userRepository.findUsernamesByPermissionCode(permissionCode);
     }
     
     /**
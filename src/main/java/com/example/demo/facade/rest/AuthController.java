@@ -40,11 +40,9 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<Map<String, String>>> login(@Valid @RequestBody LoginCommand command) {
+        // 登录时已记录登录时间；账号可能是邮箱或手机号，不能再按用户名更新
         String token = userApplicationService.login(command);
         
-        // 记录登录时间
-        userApplicationService.updateLastLoginTime(command.getUsername());
-        
         Map<String, String> tokenMap = new HashMap<>();
         tokenMap.put("token", token);
         tokenMap.put("tokenType", "Bearer");
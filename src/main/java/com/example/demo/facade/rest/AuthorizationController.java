@@ -0,0 +1,77 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand;
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+import com.example.demo.application.service.AuthorizationService;
+import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.infrastructure.monitor.ServerTiming;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 授权决策控制器
+ * 供下游服务一次请求完成一批权限/角色检查
+ */
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+public class AuthorizationController {
+
+    private final AuthorizationService authorizationService;
+
+    /**
+     * 批量授权决策
+     * 响应头X-Authz-Decisions、X-Authz-Subjects给出检查项数和主体数；
+     * 加载权限和计算决策的耗时计入Server-Timing的authz-load、authz-eval阶段，只对抽样到的可信调用方输出。
+     */
+    @PostMapping("/decisions")
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public ResponseEntity<ApiResponse<AuthorizationDecisionDTO>> decide(
+            @Valid @RequestBody AuthorizationDecisionCommand command) {
+        AuthorizationDecisionDTO result;
+        try {
+            result = authorizationService.decide(command);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+        ServerTiming.record(ServerTiming.Stage.AUTHZ_LOAD, result.getLoadNanos());
+        ServerTiming.record(ServerTiming.Stage.AUTHZ_EVALUATE, result.getEvaluateNanos());
+
+        return ResponseEntity.ok()
+                .header("X-Authz-Decisions", String.valueOf(result.getCount()))
+                .header("X-Authz-Subjects", String.valueOf(result.getSubjects()))
+                .body(ApiResponse.success(result));
+    }
+
+    /**
+     * 获取主体的全部有效权限和角色，供客户端本地缓存
+     */
+    @GetMapping("/subjects/{subject}")
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public ApiResponse<SubjectAuthorityDTO> getSubjectAuthority(@PathVariable String subject) {
+        return ApiResponse.success(authorizationService.getSubjectAuthority(subject));
+    }
+
+    /**
+     * 长轮询订阅授权变更：有新变更立即返回，否则挂起到超时后返回空变更
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public CompletableFuture<ApiResponse<AuthorizationChangesDTO>> awaitChanges(
+            @RequestParam(defaultValue = "0") long since) {
+        return authorizationService.awaitChanges(since).thenApply(ApiResponse::success);
+    }
+}
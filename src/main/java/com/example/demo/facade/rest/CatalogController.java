@@ -0,0 +1,34 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.dto.CatalogChangesDTO;
+import com.example.demo.application.service.CatalogService;
+import com.example.demo.facade.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 权限目录同步控制器
+ * 客户端保存上次同步的版本，定期只拉取之后的变更，代替全量下载角色和权限列表
+ */
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    /**
+     * 获取since之后的目录变更，since为0或早于服务端保留的变更日志时返回全量快照
+     */
+    @GetMapping("/changes")
+    public ApiResponse<CatalogChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since) {
+        try {
+            return ApiResponse.success(catalogService.getChanges(since));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.dto.EffectivePermissionRebuildDTO;
+import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.infrastructure.service.EffectivePermissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 有效权限管理控制器
+ */
+@RestController
+@RequestMapping("/api/admin/effective-permissions")
+@RequiredArgsConstructor
+public class EffectivePermissionController {
+
+    private final EffectivePermissionService effectivePermissionService;
+
+    /**
+     * 根据关联关系全量重建用户有效权限
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ApiResponse<EffectivePermissionRebuildDTO> rebuild() {
+        try {
+            return ApiResponse.success("有效权限重建完成", effectivePermissionService.rebuild());
+        } catch (IllegalStateException e) {
+            return ApiResponse.error("409", e.getMessage());
+        }
+    }
+}
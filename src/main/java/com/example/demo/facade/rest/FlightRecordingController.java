@@ -0,0 +1,85 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.dto.FlightRecordingDTO;
+import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.infrastructure.monitor.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/**
+ * JFR录制控制器
+ * 线上无法挂载APM代理时，通过JFR录制事后分析延迟尖刺，下载的.jfr文件用JDK Mission Control打开
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * 获取当前或最近一次录制的状态
+     */
+    @GetMapping("/recording")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ApiResponse<FlightRecordingDTO> status() {
+        return ApiResponse.success(flightRecordingService.status());
+    }
+
+    /**
+     * 开始录制
+     */
+    @PostMapping("/recording/start")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ApiResponse<FlightRecordingDTO> start(@RequestParam(defaultValue = "default") String settings,
+                                                 @RequestParam(defaultValue = "false") boolean detailed) {
+        try {
+            return ApiResponse.success("录制已开始", flightRecordingService.start(settings, detailed));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ApiResponse.error("409", e.getMessage());
+        }
+    }
+
+    /**
+     * 停止录制
+     */
+    @PostMapping("/recording/stop")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ApiResponse<FlightRecordingDTO> stop() {
+        try {
+            return ApiResponse.success("录制已停止", flightRecordingService.stop());
+        } catch (IllegalStateException e) {
+            return ApiResponse.error("409", e.getMessage());
+        }
+    }
+
+    /**
+     * 下载已停止录制的.jfr文件
+     */
+    @GetMapping("/recording/file")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> download() {
+        Path file;
+        try {
+            file = flightRecordingService.getRecordingFile();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("409", e.getMessage()));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.dto.MenuDTO;
+import com.example.demo.application.service.MenuService;
+import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.infrastructure.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 菜单控制器
+ */
+@RestController
+@RequestMapping("/api/menus")
+@RequiredArgsConstructor
+public class MenuController {
+
+    private final MenuService menuService;
+
+    /**
+     * 获取菜单列表（树状结构）
+     */
+    @GetMapping
+    public ApiResponse<List<MenuDTO>> getMenuList() {
+        return ApiResponse.success(menuService.getMenuTree());
+    }
+
+    /**
+     * 获取菜单树
+     */
+    @GetMapping("/tree")
+    public ApiResponse<List<MenuDTO>> getMenuTree() {
+        return ApiResponse.success(menuService.getMenuTree());
+    }
+
+    /**
+     * 获取当前用户可访问菜单
+     */
+    @GetMapping("/current")
+    public ApiResponse<List<MenuDTO>> getCurrentUserMenus() {
+        String username = SecurityUtils.getCurrentUsername();
+        if (username == null) {
+            return ApiResponse.error("500", "用户未登录");
+        }
+        return ApiResponse.success(menuService.getUserMenuTree(username));
+    }
+
+    /**
+     * 根据ID获取菜单
+     */
+    @GetMapping("/{id}")
+    public ApiResponse<MenuDTO> getMenuById(@PathVariable Long id) {
+        try {
+            return ApiResponse.success(menuService.findById(id));
+        } catch (RuntimeException e) {
+            return ApiResponse.error("404", e.getMessage());
+        }
+    }
+}
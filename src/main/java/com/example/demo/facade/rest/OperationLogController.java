@@ -0,0 +1,42 @@
+package com.example.demo.facade.rest;
+
+import com.example.demo.application.dto.CursorPageDTO;
+import com.example.demo.application.dto.OperationLogDTO;
+import com.example.demo.application.service.OperationLogService;
+import com.example.demo.facade.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 系统日志控制器
+ */
+@RestController
+@RequestMapping("/api/logs")
+@RequiredArgsConstructor
+public class OperationLogController {
+
+    private final OperationLogService operationLogService;
+
+    /**
+     * 获取操作日志（游标分页）
+     */
+    @GetMapping("/operations")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ApiResponse<CursorPageDTO<OperationLogDTO>> getOperationLogs(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ApiResponse.success(
+                    operationLogService.getOperationLogs(startTime, endTime, username, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+}
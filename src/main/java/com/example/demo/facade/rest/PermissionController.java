@@ -1,8 +1,12 @@
 package com.example.demo.facade.rest;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.service.PermissionService;
 import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.facade.rest.support.CatalogResponseCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,28 +19,56 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PermissionController {
 
+    /**
+     * 分页查询默认每页大小
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final PermissionService permissionService;
+    private final CatalogResponseCache catalogResponseCache;
 
     /**
      * 获取权限列表
+     * 不带查询参数时返回缓存的完整列表，并支持ETag条件请求，未变化时返回304；
+     * 带name、code时返回名称、编码包含关键字的权限列表
      */
     @GetMapping
-    public ApiResponse<List<com.example.demo.application.dto.PermissionDTO>> getPermissionList(
+    public ResponseEntity<?> getPermissionList(
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String code) {
-        
-        // 调用应用服务获取所有权限
-        List<com.example.demo.application.dto.PermissionDTO> permissions = permissionService.findAll();
-        
-        // 过滤权限
-        if (name != null || code != null) {
-            permissions = permissions.stream()
-                    .filter(p -> (name == null || p.getName().contains(name)) &&
-                            (code == null || p.getCode().contains(code)))
-                    .toList();
+            @RequestParam(required = false) String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        if (name == null && code == null) {
+            return catalogResponseCache.respond("permissions", permissionService::findAll, ifNoneMatch, acceptEncoding);
+        }
+
+        try {
+            List<com.example.demo.application.dto.PermissionDTO> permissions = permissionService.findList(name, code);
+            return ResponseEntity.ok(ApiResponse.success(permissions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
+        }
+    }
+
+    /**
+     * 分页查询权限
+     * 在SQL中按名称、编码前缀过滤并按ID分页
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getPermissionPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+
+        try {
+            PageDTO<com.example.demo.application.dto.PermissionDTO> permissions = permissionService.findPage(
+                    page == null ? 1 : page, size == null ? DEFAULT_PAGE_SIZE : size, name, code);
+            return ResponseEntity.ok(ApiResponse.success(permissions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
         }
-        
-        return ApiResponse.success(permissions);
     }
 
     /**
@@ -1,11 +1,18 @@
 package com.example.demo.facade.rest;
 
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.service.RoleService;
 import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.facade.rest.support.CatalogResponseCache;
+import com.example.demo.facade.rest.support.SparseFields;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 角色控制器
@@ -15,40 +22,86 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RoleController {
 
+    /**
+     * 分页查询默认每页大小
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final RoleService roleService;
+    private final CatalogResponseCache catalogResponseCache;
 
     /**
      * 获取角色列表
+     * 不带查询参数时返回缓存的完整列表（包含权限），并支持ETag条件请求，未变化时返回304；
+     * 带name、code时返回名称、编码包含关键字的角色列表（包含权限），指定fields时只查询和输出所选字段
      */
     @GetMapping
-    public ApiResponse<List<com.example.demo.application.dto.RoleDTO>> getRoleList(
+    public ResponseEntity<?> getRoleList(
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String code) {
-
-        // 调用应用服务获取所有角色
-        List<com.example.demo.application.dto.RoleDTO> roles = roleService.findAll();
-        
-        // 过滤角色
-        if (name != null || code != null) {
-            roles = roles.stream()
-                    .filter(r -> (name == null || r.getName().contains(name)) &&
-                            (code == null || r.getCode().contains(code)))
-                    .toList();
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (name == null && code == null && fieldSet == null) {
+            return catalogResponseCache.respond("roles", roleService::findAll, ifNoneMatch, acceptEncoding);
+        }
+
+        boolean includePermissions = fieldSet == null || fieldSet.contains("permissions");
+        try {
+            List<com.example.demo.application.dto.RoleDTO> roles =
+                    roleService.findList(name, code, fieldSet, includePermissions);
+            return ResponseEntity.ok(sparseRoles(ApiResponse.success(roles), fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
         }
+    }
+
+    /**
+     * 分页查询角色
+     * 在SQL中按名称、编码前缀过滤并按ID分页，include=permissions时才批量加载当页角色的权限集合
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getRolePage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String fields) {
 
-        return ApiResponse.success(roles);
+        Set<String> fieldSet = SparseFields.parse(fields);
+        // 指定字段集时以字段集为准决定是否加载权限集合
+        boolean includePermissions = fieldSet == null
+                ? "permissions".equals(include)
+                : fieldSet.contains("permissions");
+        try {
+            PageDTO<com.example.demo.application.dto.RoleDTO> roles = roleService.findPage(
+                    page == null ? 1 : page, size == null ? DEFAULT_PAGE_SIZE : size, name, code,
+                    fieldSet, includePermissions);
+            return ResponseEntity.ok(sparseRoles(ApiResponse.success(roles), fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
+        }
     }
 
     /**
      * 根据ID获取角色
+     * 指定fields时只查询和输出所选字段，包含permissions时才加载权限集合
      */
     @GetMapping("/{id}")
-    public ApiResponse<com.example.demo.application.dto.RoleDTO> getRoleById(@PathVariable Long id) {
+    public ResponseEntity<?> getRoleById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Set<String> fieldSet = SparseFields.parse(fields);
         try {
-            com.example.demo.application.dto.RoleDTO role = roleService.findById(id);
-            return ApiResponse.success(role);
+            com.example.demo.application.dto.RoleDTO role = fieldSet == null
+                    ? roleService.findById(id)
+                    : roleService.findById(id, fieldSet);
+            return ResponseEntity.ok(sparseRoles(ApiResponse.success(role), fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
         } catch (RuntimeException e) {
-            return ApiResponse.error("404", e.getMessage());
+            return ResponseEntity.ok(ApiResponse.error("404", e.getMessage()));
         }
     }
 
@@ -123,4 +176,14 @@ public class RoleController {
             return ApiResponse.error("404", e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 指定字段集时角色只输出所选字段
+     */
+    private Object sparseRoles(Object response, Set<String> fields) {
+        if (fields == null) {
+            return response;
+        }
+        return SparseFields.filter(response, Map.of(com.example.demo.application.dto.RoleDTO.FIELD_FILTER, fields));
+    }
+}
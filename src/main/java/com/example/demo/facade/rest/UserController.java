@@ -1,12 +1,13 @@
 package com.example.demo.facade.rest;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,16 +16,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.example.demo.application.command.CreateUserCommand;
 import com.example.demo.application.command.UpdateUserCommand;
-import com.example.demo.application.dto.PermissionDTO;
 import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.dto.SubjectAuthorityDTO;
 import com.example.demo.application.dto.UserDTO;
+import com.example.demo.application.service.AuthorizationService;
 import com.example.demo.application.service.UserApplicationService;
 import com.example.demo.domain.service.UserDomainService;
 import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.facade.rest.support.ResponseEnvelope;
+import com.example.demo.facade.rest.support.SparseFields;
+import com.example.demo.infrastructure.security.StreamTicketStore;
 import com.example.demo.infrastructure.utils.SecurityUtils;
 
 import jakarta.validation.Valid;
@@ -40,15 +47,28 @@ public class UserController {
     
     private final UserApplicationService userApplicationService;
     private final UserDomainService userDomainService;
+    private final AuthorizationService authorizationService;
+    private final StreamTicketStore streamTicketStore;
+    private final ResponseEnvelope responseEnvelope;
     
     /**
      * 获取所有用户
+     * 指定fields时只查询和输出所选字段，例如fields=id,nickname,status；包含roles时附带角色摘要
      */
     @GetMapping
     @PreAuthorize("hasAuthority('USER_VIEW')")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getAllUsers() {
-        List<UserDTO> users = userApplicationService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields) {
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (fieldSet == null) {
+            List<UserDTO> users = userApplicationService.getAllUsers();
+            return ResponseEntity.ok(ApiResponse.success(users));
+        }
+        try {
+            List<UserDTO> users = userApplicationService.getAllUsers(fieldSet);
+            return ResponseEntity.ok(sparseUsers(ApiResponse.success(users), fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
+        }
     }
     
     /**
@@ -73,31 +93,29 @@ public class UserController {
         
         // 获取用户信息（包含角色和权限）
         UserDTO user = userApplicationService.getUserByUsername(username);
-        
-        // 添加调试信息：检查角色和权限是否正确加载
-        if (user.getRoles() != null) {
-            // 确保每个角色的权限都已加载
-            Set<RoleDTO> roles = user.getRoles();
-            
-            // 提取所有权限代码，用于前端权限控制
-            Set<String> permissionCodes = roles.stream()
-                .filter(role -> role.getPermissions() != null)
-                .flatMap(role -> role.getPermissions().stream())
-                .map(PermissionDTO::getCode)
-                .collect(Collectors.toSet());
-            
-            // 输出用户角色和权限信息到日志（实际生产中可移除）
-            System.out.println("User: " + username + ", Roles: " + 
-                roles.stream().map(RoleDTO::getCode).collect(Collectors.joining(", ")) + 
-                ", Permissions: " + String.join(", ", permissionCodes));
+        return ResponseEntity.ok(ApiResponse.success(user));
+    }
+    
+    /**
+     * 获取当前登录用户的会话启动数据：资料、角色编码、权限编码和菜单树
+     * 启动数据已按用户序列化缓存，这里只拼接统一响应的外层结构
+     */
+    @GetMapping("/current/bootstrap")
+    public ResponseEntity<byte[]> getCurrentUserBootstrap() {
+        String username = SecurityUtils.getCurrentUsername();
+        if (username == null) {
+            throw new AccessDeniedException("用户未登录");
         }
         
-        return ResponseEntity.ok(ApiResponse.success(user));
+        byte[] data = userApplicationService.getSessionBootstrap(username);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseEnvelope.success(data));
     }
     
     /**
      * 获取当前登录用户的角色和权限
-     * 使用领域服务提供的方法
+     * 单次查询有效权限表，只包含启用的角色和权限
      */
     @GetMapping("/current/permissions")
     public ResponseEntity<ApiResponse<Object>> getCurrentUserPermissions() {
@@ -106,32 +124,66 @@ public class UserController {
             return ResponseEntity.ok(ApiResponse.error("500", "用户未登录"));
         }
         
-        // 使用领域服务获取用户权限
-        List<String> permissionCodes = userDomainService.getUserPermissionCodes(username);
+        SubjectAuthorityDTO authority = authorizationService.getSubjectAuthority(username);
         
-        // 构建包含角色和权限的响应对象
-        Map<String, Object> result = new HashMap<>();
-        
-        // 获取用户信息和角色信息
-        UserDTO user = userApplicationService.getUserByUsername(username);
-        List<String> roleCodes = user.getRoles().stream()
-            .map(RoleDTO::getCode)
-            .collect(Collectors.toList());
-        
-        result.put("roles", roleCodes);
-        result.put("permissions", permissionCodes);
+        // 构建包含角色和权限的响应对象，集合直接序列化为数组，不再复制
+        Map<String, Object> result = Map.of(
+                "roles", authority.getRoles(),
+                "permissions", authority.getPermissions());
         
         return ResponseEntity.ok(ApiResponse.success(result));
     }
     
+    /**
+     * 签发当前登录用户的权限变更订阅票据
+     * 票据一次有效，以查询参数ticket订阅/current/permissions/stream，代替在URL中携带令牌
+     */
+    @PostMapping("/current/permissions/stream-ticket")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> issueStreamTicket() {
+        String username = SecurityUtils.getCurrentUsername();
+        if (username == null) {
+            throw new AccessDeniedException("用户未登录");
+        }
+        try {
+            String ticket = streamTicketStore.issue(username);
+            return ResponseEntity.ok(ApiResponse.success(
+                    Map.of("ticket", ticket, "expiresIn", streamTicketStore.getTtlSeconds())));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok(ApiResponse.error("409", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 订阅当前登录用户的权限变更（SSE）
+     * 连接建立后先推送一次当前权限，之后仅在有效权限或角色变化时推送authority事件，代替轮询/current/permissions。
+     * 浏览器EventSource以查询参数ticket携带/current/permissions/stream-ticket签发的票据认证
+     */
+    @GetMapping(value = "/current/permissions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeCurrentUserPermissions() {
+        String username = SecurityUtils.getCurrentUsername();
+        if (username == null) {
+            throw new AccessDeniedException("用户未登录");
+        }
+        return authorizationService.subscribeAuthority(username);
+    }
+    
     /**
      * 根据ID获取用户
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('USER_VIEW')")
-    public ResponseEntity<ApiResponse<UserDTO>> getUserById(@PathVariable Long id) {
-        UserDTO user = userApplicationService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success(user));
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Set<String> fieldSet = SparseFields.parse(fields);
+        if (fieldSet == null) {
+            UserDTO user = userApplicationService.getUserById(id);
+            return ResponseEntity.ok(ApiResponse.success(user));
+        }
+        try {
+            UserDTO user = userApplicationService.getUserById(id, fieldSet);
+            return ResponseEntity.ok(sparseUsers(ApiResponse.success(user), fieldSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
+        }
     }
     
     /**
@@ -193,6 +245,17 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(hasPermission));
     }
     
+    /**
+     * 查询拥有特定权限的用户
+     */
+    @GetMapping("/with-permission/{permissionCode}")
+    @PreAuthorize("hasAuthority('USER_VIEW')")
+    public ResponseEntity<ApiResponse<List<String>>> getUsersWithPermission(
+            @PathVariable String permissionCode) {
+        List<String> usernames = userDomainService.getUsernamesWithPermission(permissionCode);
+        return ResponseEntity.ok(ApiResponse.success(usernames));
+    }
+    
     /**
      * 检查用户是否拥有特定角色
      */
@@ -204,4 +267,13 @@ public class UserController {
         boolean hasRole = userDomainService.hasRole(username, roleCode);
         return ResponseEntity.ok(ApiResponse.success(hasRole));
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 用户只输出所选字段，关联角色只输出摘要字段
+     */
+    private MappingJacksonValue sparseUsers(Object response, Set<String> fields) {
+        return SparseFields.filter(response, Map.of(
+                UserDTO.FIELD_FILTER, fields,
+                RoleDTO.FIELD_FILTER, RoleDTO.SUMMARY_FIELDS));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.facade.rest.advice;
+
+import com.example.demo.facade.dto.ApiResponse;
+import com.example.demo.infrastructure.audit.OperationLogWriter;
+import com.example.demo.infrastructure.persistence.entity.OperationLogDO;
+import com.example.demo.infrastructure.utils.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志切面
+ * 拦截控制器中的增删改接口，在请求线程上只采集字段并放入缓冲区，落库由OperationLogWriter异步完成。
+ * 不记录请求体，避免密码等敏感信息进入日志，也避免在请求线程上做序列化。
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class OperationLogAspect {
+
+    private static final int STATUS_SUCCESS = 1;
+    private static final int STATUS_FAILURE = 0;
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final OperationLogWriter operationLogWriter;
+
+    /**
+     * 控制器中的增删改接口，认证接口（请求中包含凭据）和授权决策接口（只读的高频POST）除外
+     */
+    @Pointcut("within(com.example.demo.facade.rest..*) "
+            + "&& !within(com.example.demo.facade.rest.AuthController) "
+            + "&& !within(com.example.demo.facade.rest.AuthorizationController) "
+            + "&& (@annotation(org.springframework.web.bind.annotation.PostMapping) "
+            + "|| @annotation(org.springframework.web.bind.annotation.PutMapping) "
+            + "|| @annotation(org.springframework.web.bind.annotation.DeleteMapping))")
+    public void mutatingEndpoint() {
+    }
+
+    @Around("mutatingEndpoint()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            record(joinPoint, result, failure, start);
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, Object result, Throwable failure, long start) {
+        OperationLogDO operationLog = new OperationLogDO();
+        operationLog.setUsername(SecurityUtils.getCurrentUsername());
+        operationLog.setOperation(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
+        operationLog.setCostTime((int) ((System.nanoTime() - start) / 1_000_000));
+        operationLog.setCreateTime(LocalDateTime.now());
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            operationLog.setMethod(request.getMethod());
+            operationLog.setUri(request.getRequestURI());
+            operationLog.setIpAddress(request.getRemoteAddr());
+        }
+
+        String errorMessage = failure != null ? failure.getMessage() : errorMessageOf(result);
+        operationLog.setStatus(failure == null && errorMessage == null ? STATUS_SUCCESS : STATUS_FAILURE);
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_LENGTH);
+        }
+        operationLog.setErrorMessage(errorMessage);
+
+        operationLogWriter.record(operationLog);
+    }
+
+    /**
+     * 控制器捕获异常后以错误响应返回，这里从响应体中识别失败
+     */
+    private String errorMessageOf(Object result) {
+        Object body = result instanceof ResponseEntity<?> entity ? entity.getBody() : result;
+        if (body instanceof ApiResponse<?> response && !"200".equals(response.getCode())) {
+            return response.getMessage() != null ? response.getMessage() : "操作失败";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.demo.facade.rest.support;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.facade.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 目录列表响应缓存
+ * 权限、角色等目录列表在目录变更后只查询和序列化一次，缓存完整响应体、gzip压缩体和内容哈希ETag。
+ * 请求携带的If-None-Match与当前ETag一致时直接返回304，不访问数据库也不序列化。
+ * ETag由响应内容计算，相同数据在不同实例上得到相同的ETag；gzip表示使用带-gz后缀的ETag，与原始表示区分，
+ * If-None-Match携带任一形式都视为命中。200和304响应都声明Vary: Accept-Encoding。
+ * 响应在缓存之外加载和序列化，构建期间目录未变更时才放入缓存。
+ */
+@Slf4j
+@Component
+public class CatalogResponseCache {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 目录版本，每次目录变更递增，用于丢弃变更前构建的响应
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Entries entries = new Entries(0);
+
+    public CatalogResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 按缓存的目录列表响应请求
+     *
+     * @param key            缓存键
+     * @param loader         缓存未命中时加载列表数据
+     * @param ifNoneMatch    请求头If-None-Match
+     * @param acceptEncoding 请求头Accept-Encoding
+     * @return 304或包含缓存响应体的响应
+     */
+    public ResponseEntity<byte[]> respond(String key, Supplier<?> loader, String ifNoneMatch, String acceptEncoding) {
+        CachedBody body = get(key, loader);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? body.gzipEtag : body.etag;
+        if (matches(ifNoneMatch, body)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip);
+        }
+        return builder.body(body.json);
+    }
+
+    /**
+     * 目录变更后失效全部缓存响应，下次访问时重新构建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("权限目录变更，失效目录响应缓存: type={}", event.getType());
+        entries = new Entries(generation.incrementAndGet());
+    }
+
+    CachedBody get(String key, Supplier<?> loader) {
+        Entries current = entries;
+        CachedBody cached = current.bodies.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        log.debug("构建目录响应缓存: key={}, generation={}", key, current.generation);
+        CachedBody body = serialize(ApiResponse.success(loader.get()));
+        if (entries != current) {
+            // 构建期间目录已变更，本次结果不缓存
+            return body;
+        }
+        CachedBody existing = current.bodies.putIfAbsent(key, body);
+        return existing != null ? existing : body;
+    }
+
+    private CachedBody serialize(Object response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            String hash = hash(json);
+            return new CachedBody(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("目录响应序列化失败", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 判断If-None-Match是否命中，支持多个ETag、弱校验前缀和通配符，原始表示和gzip表示的ETag都视为命中
+     */
+    private static boolean matches(String ifNoneMatch, CachedBody body) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(body.etag) || tag.equals(body.gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // 显式声明q=0表示不接受
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 序列化后的响应：原始JSON、gzip压缩体及两者的ETag
+     */
+    static final class CachedBody {
+        final byte[] json;
+        final byte[] gzip;
+        final String etag;
+        final String gzipEtag;
+
+        private CachedBody(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+        }
+    }
+
+    /**
+     * 某个目录版本下的响应缓存
+     */
+    private static final class Entries {
+        private final long generation;
+        private final Map<String, CachedBody> bodies = new ConcurrentHashMap<>();
+
+        private Entries(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.facade.rest.support;
+
+import com.example.demo.facade.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 统一响应的外层结构
+ * 为已序列化的数据拼接ApiResponse.success的外层结构，不再解析和重新序列化数据。
+ * 外层结构在启动时由应用的ObjectMapper序列化ApiResponse.success得到，与其他接口的输出始终一致。
+ */
+@Component
+public class ResponseEnvelope {
+
+    private static final String PLACEHOLDER = "__response_envelope_data__";
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    public ResponseEnvelope(ObjectMapper objectMapper) {
+        String envelope;
+        try {
+            envelope = objectMapper.writeValueAsString(ApiResponse.success(PLACEHOLDER));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("统一响应结构序列化失败", e);
+        }
+        String quoted = "\"" + PLACEHOLDER + "\"";
+        int index = envelope.indexOf(quoted);
+        if (index < 0 || envelope.indexOf(quoted, index + 1) >= 0) {
+            throw new IllegalStateException("无法定位统一响应结构中的data字段: " + envelope);
+        }
+        this.prefix = envelope.substring(0, index).getBytes(StandardCharsets.UTF_8);
+        this.suffix = envelope.substring(index + quoted.length()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 拼接成功响应
+     *
+     * @param data 已序列化的data字段（JSON）
+     * @return 完整响应体
+     */
+    public byte[] success(byte[] data) {
+        byte[] body = new byte[prefix.length + data.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(data, 0, body, prefix.length, data.length);
+        System.arraycopy(suffix, 0, body, prefix.length + data.length, suffix.length);
+        return body;
+    }
+}
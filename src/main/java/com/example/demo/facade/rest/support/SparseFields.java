@@ -0,0 +1,58 @@
+package com.example.demo.facade.rest.support;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 稀疏字段集
+ * 解析请求参数fields=id,nickname,status，并让响应只输出所选字段。
+ * 字段的合法性由查询服务校验，查询服务只查询所选字段对应的列。
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    /**
+     * 解析逗号分隔的字段列表
+     *
+     * @param fields 请求参数
+     * @return 字段集，参数为空时返回null表示全部字段
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result.isEmpty() ? null : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * 按字段集裁剪响应
+     *
+     * @param response       响应对象
+     * @param fieldsByFilter 字段过滤器ID到字段集的映射，未列出的过滤器输出全部字段
+     * @return 带过滤器的响应
+     */
+    public static MappingJacksonValue filter(Object response, Map<String, Set<String>> fieldsByFilter) {
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        fieldsByFilter.forEach((filterId, fields) ->
+                filters.addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        value.setFilters(filters);
+        return value;
+    }
+}
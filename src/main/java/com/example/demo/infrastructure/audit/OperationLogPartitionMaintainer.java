@@ -0,0 +1,89 @@
+package com.example.demo.infrastructure.audit;
+
+import com.example.demo.infrastructure.mapper.OperationLogMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 操作日志分区维护
+ * 提前创建未来的月分区，并整体删除超出保留期的月分区。
+ * 删除分区是元数据操作，不产生逐行DELETE的undo/binlog开销，耗时与数据量无关。
+ */
+@Slf4j
+@Component
+public class OperationLogPartitionMaintainer {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("^p(\\d{4})(\\d{2})$");
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final OperationLogMapper operationLogMapper;
+    private final int retentionMonths;
+    private final int aheadMonths;
+
+    public OperationLogPartitionMaintainer(OperationLogMapper operationLogMapper,
+                                           @Value("${audit.retention-months:6}") int retentionMonths,
+                                           @Value("${audit.partition-ahead-months:2}") int aheadMonths) {
+        this.operationLogMapper = operationLogMapper;
+        this.retentionMonths = retentionMonths;
+        this.aheadMonths = aheadMonths;
+    }
+
+    /**
+     * 应用启动后及每天凌晨执行分区维护
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partition-cron:0 10 0 * * ?}")
+    public void maintainPartitions() {
+        try {
+            maintain(YearMonth.now());
+        } catch (Exception e) {
+            log.warn("操作日志分区维护失败", e);
+        }
+    }
+
+    /**
+     * 以指定月份为当前月执行分区维护
+     *
+     * @param currentMonth 当前月份
+     */
+    void maintain(YearMonth currentMonth) {
+        List<String> partitions = operationLogMapper.selectPartitionNames();
+        if (!partitions.contains("p_future")) {
+            log.warn("operation_log未按月分区，跳过分区维护");
+            return;
+        }
+
+        // 按时间顺序从兜底分区中拆出当前月及未来的月分区
+        for (int i = 0; i <= aheadMonths; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            String partitionName = month.format(PARTITION_FORMAT);
+            if (!partitions.contains(partitionName)) {
+                log.info("创建操作日志分区: {}", partitionName);
+                operationLogMapper.addPartition(partitionName, month.plusMonths(1).atDay(1).toString());
+            }
+        }
+
+        // 删除早于保留期的月分区
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        for (String partitionName : partitions) {
+            Matcher matcher = MONTH_PARTITION.matcher(partitionName);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(oldestRetained)) {
+                    log.info("删除过期操作日志分区: {}", partitionName);
+                    operationLogMapper.dropPartition(partitionName);
+                }
+            }
+        }
+    }
+}
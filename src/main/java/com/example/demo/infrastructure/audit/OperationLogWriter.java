@@ -0,0 +1,116 @@
+package com.example.demo.infrastructure.audit;
+
+import com.example.demo.infrastructure.mapper.OperationLogMapper;
+import com.example.demo.infrastructure.persistence.entity.OperationLogDO;
+import com.example.demo.infrastructure.util.MpscRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 操作日志异步写入器
+ * 请求线程只把日志放入无锁环形缓冲区，由单独的写线程批量取出并以多行INSERT落库，
+ * 请求线程不会占用数据库连接。缓冲区满时丢弃日志并计数，不阻塞请求。
+ */
+@Slf4j
+@Component
+public class OperationLogWriter {
+
+    private final OperationLogMapper operationLogMapper;
+    private final MpscRingBuffer<OperationLogDO> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public OperationLogWriter(OperationLogMapper operationLogMapper,
+                              @Value("${audit.buffer-size:8192}") int bufferSize,
+                              @Value("${audit.batch-size:200}") int batchSize,
+                              @Value("${audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.operationLogMapper = operationLogMapper;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    }
+
+    /**
+     * 启动写线程
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "operation-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 记录操作日志，可由任意线程调用，不阻塞
+     *
+     * @param operationLog 操作日志
+     */
+    public void record(OperationLogDO operationLog) {
+        if (!buffer.offer(operationLog)) {
+            long dropped = buffer.droppedCount();
+            // 缓冲区持续满载时限制告警频率
+            if (dropped % 1000 == 1) {
+                log.warn("操作日志缓冲区已满，丢弃日志: uri={}, 累计丢弃={}", operationLog.getUri(), dropped);
+            }
+        }
+    }
+
+    /**
+     * 停止写线程，并将缓冲区中剩余日志全部落库
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("操作日志写入器已停止，累计丢弃={}", buffer.droppedCount());
+    }
+
+    private void runLoop() {
+        List<OperationLogDO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            buffer.drainTo(batch, batchSize);
+            if (batch.size() < batchSize) {
+                // 未攒满一批时等待一个刷新间隔，降低小批量写入的次数
+                LockSupport.parkNanos(flushIntervalNanos);
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+            flush(batch);
+        }
+        // 关闭时刷出剩余日志
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<OperationLogDO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            operationLogMapper.batchInsert(batch);
+        } catch (Exception e) {
+            log.error("操作日志批量写入失败，丢弃{}条", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
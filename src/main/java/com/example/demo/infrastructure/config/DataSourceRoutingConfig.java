@@ -0,0 +1,184 @@
+package com.example.demo.infrastructure.config;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.demo.infrastructure.datasource.BulkheadInterceptor;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.datasource.ReplicaStickiness;
+import com.example.demo.infrastructure.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 数据源路由配置
+ * 配置了从库（datasource-routing.replica.jdbc-url）或开启了连接池隔离（datasource-routing.bulkheads.enabled）时生效，
+ * 各连接池（属性同Hikari）由RoutingDataSource路由，外层的LazyConnectionDataSourceProxy作为应用使用的数据源：
+ * <ul>
+ *   <li>primary：spring.datasource，主库</li>
+ *   <li>replica：datasource-routing.replica，从库</li>
+ *   <li>auth：datasource-routing.bulkheads.auth，认证读取，未指定连接时连接从库，没有从库时连接主库</li>
+ *   <li>admin：datasource-routing.bulkheads.admin，管理端写操作和批量列表，未指定连接时连接主库</li>
+ * </ul>
+ * 都未配置时使用Spring Boot默认的单一数据源。
+ */
+@Configuration
+@Conditional(DataSourceRoutingConfig.RoutingCondition.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource-routing.replica", name = "jdbc-url")
+    @ConfigurationProperties("datasource-routing.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 认证读取连接池，默认连接从库，没有从库时连接主库；这里设置的连接属性可被配置覆盖
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource-routing.bulkheads", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("datasource-routing.bulkheads.auth")
+    public HikariDataSource authDataSource(DataSourceProperties properties,
+                                           @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replica) {
+        HikariDataSource replicaDataSource = replica.getIfAvailable();
+        HikariDataSource dataSource = replicaDataSource != null
+                ? copyConnection(replicaDataSource)
+                : properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("auth");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 管理端连接池，默认连接主库；这里设置的连接属性可被配置覆盖
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource-routing.bulkheads", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("datasource-routing.bulkheads.admin")
+    public HikariDataSource adminDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("admin");
+        return dataSource;
+    }
+
+    /**
+     * 按@DataSourceBulkhead为方法指定隔离舱，在事务拦截器之外执行
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource-routing.bulkheads", name = "enabled", havingValue = "true")
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor dataSourceBulkheadAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                new AnnotationMatchingPointcut(DataSourceBulkhead.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(DataSourceBulkhead.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new BulkheadInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public ReplicaStickiness replicaStickiness(
+            @Value("${datasource-routing.sticky-window:5s}") Duration stickyWindow) {
+        return new ReplicaStickiness(stickyWindow);
+    }
+
+    /**
+     * 应用使用的数据源，事务管理器、MyBatis和SQL初始化都使用它
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 @Qualifier("authDataSource") ObjectProvider<HikariDataSource> authDataSource,
+                                 @Qualifier("adminDataSource") ObjectProvider<HikariDataSource> adminDataSource,
+                                 ReplicaStickiness replicaStickiness, MeterRegistry meterRegistry) {
+        Map<RoutingDataSource.Target, DataSource> pools = new EnumMap<>(RoutingDataSource.Target.class);
+        Set<RoutingDataSource.Target> replicaTargets = EnumSet.noneOf(RoutingDataSource.Target.class);
+        pools.put(RoutingDataSource.Target.PRIMARY, primaryDataSource);
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            pools.put(RoutingDataSource.Target.REPLICA, replica);
+            replicaTargets.add(RoutingDataSource.Target.REPLICA);
+        }
+        HikariDataSource auth = authDataSource.getIfAvailable();
+        if (auth != null) {
+            pools.put(RoutingDataSource.Target.AUTH, auth);
+            if (replica != null && Objects.equals(auth.getJdbcUrl(), replica.getJdbcUrl())) {
+                replicaTargets.add(RoutingDataSource.Target.AUTH);
+            }
+        }
+        adminDataSource.ifAvailable(admin -> pools.put(RoutingDataSource.Target.ADMIN, admin));
+
+        RoutingDataSource routing = new RoutingDataSource(pools, replicaTargets, replicaStickiness, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource copyConnection(HikariDataSource source) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(source.getJdbcUrl());
+        dataSource.setUsername(source.getUsername());
+        dataSource.setPassword(source.getPassword());
+        if (source.getDriverClassName() != null) {
+            dataSource.setDriverClassName(source.getDriverClassName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * 配置了从库或开启了连接池隔离
+     */
+    static class RoutingCondition extends AnyNestedCondition {
+
+        RoutingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "datasource-routing.replica", name = "jdbc-url")
+        static class ReplicaConfigured {
+        }
+
+        @ConditionalOnProperty(prefix = "datasource-routing.bulkheads", name = "enabled", havingValue = "true")
+        static class BulkheadsEnabled {
+        }
+    }
+}
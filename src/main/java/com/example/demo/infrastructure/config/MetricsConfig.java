@@ -0,0 +1,33 @@
+package com.example.demo.infrastructure.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.infrastructure.monitor.RepositoryMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 监控指标配置
+ * 接口延迟直方图、导出端点等由application.yml中的management配置
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 为@Repository标注的仓储实现的每个方法计时
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor repositoryMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true),
+                new RepositoryMetricsInterceptor(meterRegistry));
+    }
+}
@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.demo.infrastructure.monitor.SqlStatementInterceptor;
+import com.example.demo.infrastructure.monitor.SqlStatementStats;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +30,14 @@ public class MybatisPlusConfig {
         return interceptor;
     }
     
+    /**
+     * SQL语句计数插件，按Mapper语句ID统计执行次数和耗时
+     */
+    @Bean
+    public SqlStatementInterceptor sqlStatementInterceptor(SqlStatementStats sqlStatementStats) {
+        return new SqlStatementInterceptor(sqlStatementStats);
+    }
+    
     /**
      * 自动填充处理器
      */
@@ -1,10 +1,18 @@
 package com.example.demo.infrastructure.config;
 
 import com.example.demo.infrastructure.security.JwtAuthenticationFilter;
+import com.example.demo.infrastructure.security.RecordingAuthorizationEventPublisher;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -15,11 +23,16 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * 安全配置
  */
@@ -49,6 +62,17 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /**
+     * 授权事件发布器，请求级授权和方法授权共用
+     * 方法授权拦截器是基础设施Bean，在后处理器注册阶段创建，这里同样声明为基础设施Bean
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static RecordingAuthorizationEventPublisher authorizationEventPublisher(
+            ApplicationEventPublisher applicationEventPublisher) {
+        return new RecordingAuthorizationEventPublisher(applicationEventPublisher);
+    }
     
     /**
      * CORS配置
@@ -74,13 +98,19 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+            @Value("${metrics-scrape.allowed-addresses:127.0.0.1,::1}") String[] scrapeAddresses) throws Exception {
         http.cors(cors -> cors.configure(http)) // 启用CORS
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // 异步请求（长轮询、SSE）的首次分派已完成鉴权，完成时的异步分派不再重复鉴权
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // 指标采集不携带令牌，只接受来自允许地址的请求
+                .requestMatchers("/actuator/prometheus").access(remoteAddressIn(scrapeAddresses))
                 .anyRequest().authenticated()
             );
 
@@ -89,4 +119,17 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * 按请求的来源地址授权，地址为IP或CIDR网段
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> remoteAddressIn(String[] addresses) {
+        List<IpAddressMatcher> matchers = Arrays.stream(addresses)
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.example.demo.infrastructure.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import com.example.demo.infrastructure.monitor.ServerTiming;
+import com.example.demo.infrastructure.monitor.ServerTimingStageInterceptor;
+import com.example.demo.infrastructure.monitor.TimedJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Method;
+
+/**
+ * Server-Timing配置
+ * 抽样比例和可见范围由application.yml中的server-timing配置
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    private static final String CONVERT_PACKAGE = "com.example.demo.infrastructure.convert.";
+
+    /**
+     * 替换默认的Jackson消息转换器，抽样请求记录序列化耗时
+     */
+    @Bean
+    public TimedJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * 为MapStruct生成的映射器实现计时
+     * MapStruct的@Mapper注解不保留到运行时，按生成类的包名和ConvertImpl后缀匹配
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor convertTimingAdvisor() {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(ServerTimingConfig::isGeneratedConvert);
+        return new DefaultPointcutAdvisor(pointcut, new ServerTimingStageInterceptor(ServerTiming.Stage.CONVERT));
+    }
+
+    private static boolean isGeneratedConvert(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith(CONVERT_PACKAGE) && name.endsWith("ConvertImpl");
+    }
+}
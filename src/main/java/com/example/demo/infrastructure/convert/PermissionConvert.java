@@ -4,6 +4,7 @@ import com.example.demo.application.dto.PermissionDTO;
 import com.example.demo.domain.model.entity.Permission;
 import com.example.demo.domain.model.valueobject.PermissionId;
 import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.util.CodeInterner;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -17,6 +18,7 @@ import java.util.Set;
  */
 @Mapper(
     componentModel = "spring",
+    imports = {CodeInterner.class},
     nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
 )
 public interface PermissionConvert {
@@ -39,8 +41,10 @@ public interface PermissionConvert {
 
     /**
      * 将数据对象转换为领域实体
+     * ID和编码取规范实例，重复加载时共享
      */
-    @Mapping(target = "id", expression = "java(new PermissionId(source.getId()))")
+    @Mapping(target = "id", expression = "java(PermissionId.of(source.getId()))")
+    @Mapping(target = "code", expression = "java(CodeInterner.intern(source.getCode()))")
     Permission toDomain(PermissionDO source);
 
     /**
@@ -55,13 +59,25 @@ public interface PermissionConvert {
     
     /**
      * 将领域实体转换为数据对象
+     * 菜单属性（类型、上级、路径、排序、图标）不属于权限领域模型，由数据库默认值或目录维护
      */
     @Mapping(source = "id.value", target = "id")
+    @Mapping(target = "type", ignore = true)
+    @Mapping(target = "parentId", ignore = true)
+    @Mapping(target = "path", ignore = true)
+    @Mapping(target = "sort", ignore = true)
+    @Mapping(target = "icon", ignore = true)
     PermissionDO toData(Permission source);
     
     /**
      * 更新数据对象
+     * 菜单属性保留数据对象中的原值
      */
     @Mapping(target = "id", expression = "java(source.getId().getValue())")
+    @Mapping(target = "type", ignore = true)
+    @Mapping(target = "parentId", ignore = true)
+    @Mapping(target = "path", ignore = true)
+    @Mapping(target = "sort", ignore = true)
+    @Mapping(target = "icon", ignore = true)
     void updateDataFromDomain(Permission source, @MappingTarget PermissionDO target);
 } 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.demo.infrastructure.convert;
+
+import com.example.demo.application.dto.PermissionDTO;
+import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.dto.UserDTO;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * 读模型映射器
+ * 查询路径直接由数据对象映射为DTO，不构造领域对象，也不再校验库中已有的数据。
+ * 关联集合由查询服务按需批量加载，这里不做映射。
+ */
+@Mapper(componentModel = "spring")
+public interface ReadModelConvert {
+
+    /**
+     * 将用户数据对象转换为DTO
+     */
+    @Mapping(target = "roles", ignore = true)
+    UserDTO toUserDto(UserDO source);
+
+    /**
+     * 将用户数据对象列表转换为DTO列表
+     */
+    List<UserDTO> toUserDtoList(List<UserDO> source);
+
+    /**
+     * 将角色数据对象转换为DTO
+     */
+    @Mapping(target = "permissions", ignore = true)
+    RoleDTO toRoleDto(RoleDO source);
+
+    /**
+     * 将角色数据对象列表转换为DTO列表
+     */
+    List<RoleDTO> toRoleDtoList(List<RoleDO> source);
+
+    /**
+     * 将权限数据对象转换为DTO
+     */
+    PermissionDTO toPermissionDto(PermissionDO source);
+
+    /**
+     * 将权限数据对象列表转换为DTO列表
+     */
+    List<PermissionDTO> toPermissionDtoList(List<PermissionDO> source);
+}
@@ -5,6 +5,7 @@ import com.example.demo.domain.model.entity.Role;
 import com.example.demo.domain.model.valueobject.PermissionId;
 import com.example.demo.domain.model.valueobject.RoleId;
 import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.util.CodeInterner;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -18,6 +19,7 @@ import java.util.Set;
  */
 @Mapper(
     componentModel = "spring",
+    imports = {CodeInterner.class},
     uses = {PermissionConvert.class},
     nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
 )
@@ -41,8 +43,10 @@ public interface RoleConvert {
 
     /**
      * 将数据对象转换为领域实体
+     * ID和编码取规范实例，重复加载时共享
      */
-    @Mapping(target = "id", expression = "java(new RoleId(source.getId()))")
+    @Mapping(target = "id", expression = "java(RoleId.of(source.getId()))")
+    @Mapping(target = "code", expression = "java(CodeInterner.intern(source.getCode()))")
     Role toDomain(RoleDO source);
     
     /**
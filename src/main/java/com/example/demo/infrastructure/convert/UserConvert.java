@@ -37,10 +37,11 @@ public interface UserConvert {
 
     /**
      * 将数据对象转换为领域实体
+     * 邮箱和手机号写入时已经校验，加载时走可信重建路径，不再执行正则匹配
      */
     @Mapping(target = "id", expression = "java(new com.example.demo.domain.model.valueobject.UserId(source.getId()))")
-    @Mapping(target = "email", expression = "java(new com.example.demo.domain.model.valueobject.Email(source.getEmail()))")
-    @Mapping(target = "phone", expression = "java(new com.example.demo.domain.model.valueobject.Phone(source.getPhone()))")
+    @Mapping(target = "email", expression = "java(com.example.demo.domain.model.valueobject.Email.rehydrate(source.getEmail()))")
+    @Mapping(target = "phone", expression = "java(com.example.demo.domain.model.valueobject.Phone.rehydrate(source.getPhone()))")
     User toDomain(UserDO source);
     
     /**
@@ -54,6 +55,8 @@ public interface UserConvert {
     @Mapping(source = "id.value", target = "id")
     @Mapping(source = "email.value", target = "email")
     @Mapping(source = "phone.value", target = "phone")
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "phoneNormalized", ignore = true)
     UserDO toData(User source);
     
     /**
@@ -62,5 +65,7 @@ public interface UserConvert {
     @Mapping(target = "id", expression = "java(source.getId().getValue())")
     @Mapping(target = "email", expression = "java(source.getEmail().getValue())")
     @Mapping(target = "phone", expression = "java(source.getPhone().getValue())")
+    @Mapping(target = "emailNormalized", ignore = true)
+    @Mapping(target = "phoneNormalized", ignore = true)
     void updateDataFromDomain(User source, @MappingTarget UserDO target);
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.demo.infrastructure.datasource;
+
+/**
+ * 连接池隔离舱
+ * 不同类型的数据库访问使用各自的连接池，一类访问耗尽连接不影响其他类型
+ */
+public enum Bulkhead {
+    /** 一般业务，使用主库连接池（只读事务在配置从库时使用从库连接池） */
+    GENERAL,
+    /** 认证时加载用户，使用auth连接池 */
+    AUTH,
+    /** 管理端写操作和批量列表，使用admin连接池（配置从库时只读查询使用从库） */
+    ADMIN
+}
@@ -0,0 +1,49 @@
+package com.example.demo.infrastructure.datasource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * 连接池隔离舱拦截器
+ * 按@DataSourceBulkhead在方法执行期间为当前线程指定隔离舱，结束后恢复外层的隔离舱。
+ * 注解解析结果按方法和目标类缓存。
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    private final Map<MethodClassKey, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = targetClass(invocation);
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+                key -> resolve(invocation.getMethod(), targetClass));
+        Bulkhead previous = RoutingDataSource.bindBulkhead(bulkhead);
+        try {
+            return invocation.proceed();
+        } finally {
+            RoutingDataSource.bindBulkhead(previous);
+        }
+    }
+
+    private static Bulkhead resolve(Method invoked, Class<?> targetClass) {
+        Method method = AopUtils.getMostSpecificMethod(invoked, targetClass);
+        DataSourceBulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceBulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, DataSourceBulkhead.class);
+        }
+        return annotation != null ? annotation.value() : Bulkhead.GENERAL;
+    }
+
+    private static Class<?> targetClass(MethodInvocation invocation) {
+        return invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.infrastructure.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定方法（或类的全部方法）使用的连接池隔离舱
+ * 方法执行期间获取的连接来自对应的连接池；加入外层已开始的事务时沿用外层事务的连接。
+ * 方法上的注解优先于类上的注解。
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataSourceBulkhead {
+
+    /**
+     * 隔离舱
+     */
+    Bulkhead value();
+}
@@ -0,0 +1,75 @@
+package com.example.demo.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.application.event.UserProfileChangedEvent;
+
+/**
+ * 读己之写窗口
+ * 记录每个主体最近一次写入提交的时间，窗口内该主体的只读事务仍走主库，避免读到从库尚未同步的旧数据。
+ * 主体自己的读写事务提交时进入窗口；用户的授权或资料被修改时该用户也进入窗口，
+ * 使其下一次认证加载的权限和重新填充的缓存来自主库。窗口应大于从库的复制延迟。
+ */
+public class ReplicaStickiness {
+
+    /** 记录数超过该值时清理过期记录 */
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    public ReplicaStickiness(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReplicaStickiness(Duration window, LongSupplier clock) {
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * 主体写入已提交，开始读己之写窗口
+     */
+    public void markWrite(String subject) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        expiresAt.put(subject, now + windowNanos);
+        if (expiresAt.size() > PURGE_THRESHOLD) {
+            expiresAt.values().removeIf(expires -> expires - now <= 0);
+        }
+    }
+
+    /**
+     * 主体是否在读己之写窗口内
+     */
+    public boolean isSticky(String subject) {
+        Long expires = expiresAt.get(subject);
+        if (expires == null) {
+            return false;
+        }
+        if (expires - clock.getAsLong() > 0) {
+            return true;
+        }
+        expiresAt.remove(subject, expires);
+        return false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthorityChanged(UserAuthorityChangedEvent event) {
+        markWrite(event.getUsername());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        markWrite(event.getUsername());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.infrastructure.datasource;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 读写分离和连接池隔离的路由数据源
+ * 按当前线程的隔离舱（@DataSourceBulkhead）和事务只读标记选择连接池：
+ * <ul>
+ *   <li>读写事务和非事务连接：ADMIN使用admin连接池，其余使用主库连接池</li>
+ *   <li>只读事务（含SUPPORTS传播的只读方法）：AUTH使用auth连接池，其余在配置从库时使用从库连接池，否则同读写事务</li>
+ * </ul>
+ * 未配置的连接池按GENERAL处理。
+ * 读取从库的连接池受读己之写窗口约束：当前主体在窗口内时改为读主库。窗口由ReplicaStickiness维护，
+ * 主体的读写事务提交后开始，被修改授权或资料的用户同样进入窗口。
+ * 需要由LazyConnectionDataSourceProxy包装，事务开始时只读标记尚未设置，延迟到第一条语句时才能按标记路由。
+ * 路由结果计入datasource.route计数器（标签route=write|read|sticky），各连接池的指标见hikaricp.*。
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * 路由目标连接池
+     */
+    public enum Target {
+        /** 主库 */
+        PRIMARY,
+        /** 从库 */
+        REPLICA,
+        /** 认证读取 */
+        AUTH,
+        /** 管理端写操作和批量列表 */
+        ADMIN
+    }
+
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+    private static final ThreadLocal<Bulkhead> BULKHEAD = new ThreadLocal<>();
+
+    private final Set<Target> targets;
+    private final Set<Target> replicaTargets;
+    private final ReplicaStickiness stickiness;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter sticky;
+
+    /**
+     * @param pools 各目标的连接池，必须包含PRIMARY
+     * @param replicaTargets 读取从库的目标，这些目标受读己之写窗口约束
+     * @param stickiness 读己之写窗口
+     * @param meterRegistry 指标注册表
+     */
+    public RoutingDataSource(Map<Target, DataSource> pools, Set<Target> replicaTargets,
+                             ReplicaStickiness stickiness, MeterRegistry meterRegistry) {
+        if (!pools.containsKey(Target.PRIMARY)) {
+            throw new IllegalArgumentException("缺少主库连接池");
+        }
+        this.targets = EnumSet.copyOf(pools.keySet());
+        this.replicaTargets = replicaTargets.isEmpty() ? EnumSet.noneOf(Target.class) : EnumSet.copyOf(replicaTargets);
+        this.stickiness = stickiness;
+        this.writes = routeCounter("write", meterRegistry);
+        this.reads = routeCounter("read", meterRegistry);
+        this.sticky = routeCounter("sticky", meterRegistry);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Target.PRIMARY));
+        setLenientFallback(false);
+    }
+
+    /**
+     * 为当前线程指定路由主体，用于尚未认证时代表某个用户的查询（如认证时加载用户）
+     */
+    public static void bindSubject(String subject) {
+        SUBJECT.set(subject);
+    }
+
+    /**
+     * 清除当前线程指定的路由主体
+     */
+    public static void clearSubject() {
+        SUBJECT.remove();
+    }
+
+    /**
+     * 当前路由主体：线程指定的主体，否则为已认证用户的用户名，都没有时为null
+     */
+    public static String currentSubject() {
+        String subject = SUBJECT.get();
+        if (subject != null) {
+            return subject;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    /**
+     * 为当前线程指定隔离舱
+     *
+     * @param bulkhead 隔离舱，null表示清除
+     * @return 之前指定的隔离舱，没有时为null
+     */
+    public static Bulkhead bindBulkhead(Bulkhead bulkhead) {
+        Bulkhead previous = BULKHEAD.get();
+        if (bulkhead == null) {
+            BULKHEAD.remove();
+        } else {
+            BULKHEAD.set(bulkhead);
+        }
+        return previous;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Bulkhead bulkhead = BULKHEAD.get();
+        Target primary = bulkhead == Bulkhead.ADMIN && targets.contains(Target.ADMIN) ? Target.ADMIN : Target.PRIMARY;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            registerStickiness(currentSubject());
+            return primary;
+        }
+        Target target = readTarget(bulkhead, primary);
+        if (replicaTargets.contains(target)) {
+            String subject = currentSubject();
+            if (subject != null && stickiness.isSticky(subject)) {
+                sticky.increment();
+                return primary;
+            }
+        }
+        reads.increment();
+        return target;
+    }
+
+    private Target readTarget(Bulkhead bulkhead, Target primary) {
+        if (bulkhead == Bulkhead.AUTH && targets.contains(Target.AUTH)) {
+            return Target.AUTH;
+        }
+        return targets.contains(Target.REPLICA) ? Target.REPLICA : primary;
+    }
+
+    private void registerStickiness(String subject) {
+        if (subject != null && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 每个事务只获取一次目标连接，这里注册的回调每个事务只有一个
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stickiness.markWrite(subject);
+                }
+            });
+        }
+    }
+
+    private static Counter routeCounter(String route, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.route")
+                .description("数据源路由次数")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
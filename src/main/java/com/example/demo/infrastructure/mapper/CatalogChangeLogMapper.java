@@ -0,0 +1,93 @@
+package com.example.demo.infrastructure.mapper;
+
+import com.example.demo.infrastructure.persistence.entity.CatalogChangeLogDO;
+import com.example.demo.infrastructure.persistence.entity.CatalogVersionDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 权限目录变更日志Mapper接口
+ */
+@Mapper
+public interface CatalogChangeLogMapper {
+
+    /**
+     * 递增目录版本，版本行锁持有到事务提交，修改目录的事务因此按版本顺序提交
+     *
+     * @return 影响行数
+     */
+    @Update("UPDATE catalog_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1")
+    int incrementVersion();
+
+    /**
+     * 读取本连接上一次递增后的版本
+     *
+     * @return 目录版本
+     */
+    @Select("SELECT LAST_INSERT_ID()")
+    Long selectIncrementedVersion();
+
+    /**
+     * 查询当前目录版本
+     *
+     * @return 目录版本
+     */
+    @Select("SELECT id, version, min_version FROM catalog_version WHERE id = 1")
+    CatalogVersionDO selectVersion();
+
+    /**
+     * 批量插入变更日志
+     *
+     * @param logs 变更日志列表
+     * @return 影响行数
+     */
+    int batchInsert(@Param("logs") List<CatalogChangeLogDO> logs);
+
+    /**
+     * 查询指定版本区间内的变更日志
+     *
+     * @param since 起始版本（不包含）
+     * @param version 截止版本（包含）
+     * @param limit 最多返回条数
+     * @return 变更日志列表，按ID升序
+     */
+    @Select("SELECT id, version, entity_type, entity_id, related_id, operation FROM catalog_change_log "
+            + "WHERE version > #{since} AND version <= #{version} ORDER BY id LIMIT #{limit}")
+    List<CatalogChangeLogDO> selectBetween(@Param("since") long since,
+                                           @Param("version") long version,
+                                           @Param("limit") int limit);
+
+    /**
+     * 查询早于指定时间的变更日志的最大版本
+     *
+     * @param before 截止时间（不包含）
+     * @return 最大版本，没有时返回null
+     */
+    @Select("SELECT MAX(version) FROM catalog_change_log WHERE create_time < #{before}")
+    Long selectMaxVersionBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * 删除不晚于指定版本的变更日志
+     *
+     * @param version 版本
+     * @param limit 单次最多删除条数
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM catalog_change_log WHERE version <= #{version} ORDER BY id LIMIT #{limit}")
+    int deleteUpToVersion(@Param("version") long version, @Param("limit") int limit);
+
+    /**
+     * 提高可增量同步的最小版本
+     *
+     * @param minVersion 最小版本
+     * @return 影响行数
+     */
+    @Update("UPDATE catalog_version SET min_version = GREATEST(min_version, #{minVersion}) WHERE id = 1")
+    int raiseMinVersion(@Param("minVersion") long minVersion);
+}
@@ -0,0 +1,175 @@
+package com.example.demo.infrastructure.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户有效权限Mapper接口
+ * via_role_count记录授予该权限的启用角色数量，增减均按角色计数，计数归零的行被删除。
+ */
+@Mapper
+public interface EffectivePermissionMapper {
+
+    /**
+     * 用户新增角色后累加这些角色授予的权限
+     *
+     * @param userId 用户ID
+     * @param roleIds 新增的角色ID列表
+     * @return 影响行数
+     */
+    int incrementForUserRoles(@Param("userId") Long userId, @Param("roleIds") List<Long> roleIds);
+
+    /**
+     * 用户移除角色后扣减这些角色授予的权限
+     *
+     * @param userId 用户ID
+     * @param roleIds 移除的角色ID列表
+     * @return 影响行数
+     */
+    int decrementForUserRoles(@Param("userId") Long userId, @Param("roleIds") List<Long> roleIds);
+
+    /**
+     * 角色新增权限后为拥有该角色的用户累加权限
+     *
+     * @param roleId 角色ID
+     * @param permissionIds 新增的权限ID列表
+     * @return 影响行数
+     */
+    int incrementForRolePermissions(@Param("roleId") Long roleId, @Param("permissionIds") List<Long> permissionIds);
+
+    /**
+     * 角色移除权限后为拥有该角色的用户扣减权限
+     *
+     * @param roleId 角色ID
+     * @param permissionIds 移除的权限ID列表
+     * @return 影响行数
+     */
+    int decrementForRolePermissions(@Param("roleId") Long roleId, @Param("permissionIds") List<Long> permissionIds);
+
+    /**
+     * 角色启用后按其当前全部权限累加
+     *
+     * @param roleId 角色ID
+     * @return 影响行数
+     */
+    int incrementForRole(@Param("roleId") Long roleId);
+
+    /**
+     * 角色禁用或删除前按其当前全部权限扣减
+     *
+     * @param roleId 角色ID
+     * @return 影响行数
+     */
+    int decrementForRole(@Param("roleId") Long roleId);
+
+    /**
+     * 删除用户计数已归零的行
+     *
+     * @param userId 用户ID
+     * @return 影响行数
+     */
+    int deleteExhaustedByUserId(@Param("userId") Long userId);
+
+    /**
+     * 删除指定权限中计数已归零的行
+     *
+     * @param permissionIds 权限ID列表
+     * @return 影响行数
+     */
+    int deleteExhaustedByPermissionIds(@Param("permissionIds") List<Long> permissionIds);
+
+    /**
+     * 删除角色所含权限中计数已归零的行
+     *
+     * @param roleId 角色ID
+     * @return 影响行数
+     */
+    int deleteExhaustedByRoleId(@Param("roleId") Long roleId);
+
+    /**
+     * 权限启用后重新计算拥有该权限的用户
+     *
+     * @param permissionId 权限ID
+     * @return 影响行数
+     */
+    int insertForPermission(@Param("permissionId") Long permissionId);
+
+    /**
+     * 删除某权限的全部有效记录
+     *
+     * @param permissionId 权限ID
+     * @return 影响行数
+     */
+    int deleteByPermissionId(@Param("permissionId") Long permissionId);
+
+    /**
+     * 删除某用户的全部有效记录
+     *
+     * @param userId 用户ID
+     * @return 影响行数
+     */
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * 删除用户ID区间内的全部有效记录
+     *
+     * @param fromUserId 起始用户ID（包含）
+     * @param toUserId 结束用户ID（不包含）
+     * @return 影响行数
+     */
+    int deleteByUserIdRange(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+
+    /**
+     * 根据关联关系重新计算用户ID区间内的有效权限
+     *
+     * @param fromUserId 起始用户ID（包含）
+     * @param toUserId 结束用户ID（不包含）
+     * @return 影响行数
+     */
+    int insertForUserIdRange(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+
+    /**
+     * 查询用户ID的最小值和最大值
+     *
+     * @return 包含minId、maxId的Map，没有用户时值为null
+     */
+    Map<String, Long> selectUserIdBounds();
+
+    /**
+     * 查询用户拥有的有效权限编码
+     *
+     * @param username 用户名
+     * @return 权限编码列表
+     */
+    List<String> selectPermissionCodesByUsername(@Param("username") String username);
+
+    /**
+     * 检查用户是否拥有权限
+     *
+     * @param username 用户名
+     * @param permissionCode 权限编码
+     * @return 数量
+     */
+    int countByUsernameAndPermissionCode(@Param("username") String username,
+                                         @Param("permissionCode") String permissionCode);
+
+    /**
+     * 批量查询启用用户的有效权限编码和启用角色编码
+     *
+     * @param usernames 用户名列表
+     * @return 每行包含subject（用户名）、kind（P权限/R角色）、code（编码）
+     */
+    List<Map<String, String>> selectAuthoritiesByUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 查询拥有权限的用户名
+     *
+     * @param permissionCode 权限编码
+     * @return 用户名列表
+     */
+    List<String> selectUsernamesByPermissionCode(@Param("permissionCode") String permissionCode);
+}
@@ -0,0 +1,73 @@
+package com.example.demo.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.demo.infrastructure.persistence.entity.OperationLogDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 操作日志Mapper接口
+ */
+@Mapper
+public interface OperationLogMapper extends BaseMapper<OperationLogDO> {
+    
+    /**
+     * 批量插入操作日志（单条多行INSERT）
+     * 
+     * @param logs 操作日志列表
+     * @return 影响行数
+     */
+    int batchInsert(@Param("logs") List<OperationLogDO> logs);
+    
+    /**
+     * 游标分页查询操作日志，按(create_time, id)倒序
+     * 
+     * @param startTime 开始时间（包含）
+     * @param endTime 结束时间（不包含）
+     * @param username 用户名，可为空
+     * @param cursorTime 上一页最后一条的操作时间，首页为空
+     * @param cursorId 上一页最后一条的ID，首页为空
+     * @param limit 查询条数
+     * @return 操作日志列表
+     */
+    List<OperationLogDO> selectPageAfter(@Param("startTime") LocalDateTime startTime,
+                                         @Param("endTime") LocalDateTime endTime,
+                                         @Param("username") String username,
+                                         @Param("cursorTime") LocalDateTime cursorTime,
+                                         @Param("cursorId") Long cursorId,
+                                         @Param("limit") int limit);
+    
+    /**
+     * 查询操作日志表的分区名称
+     * 
+     * @return 分区名称，按分区顺序
+     */
+    @Select("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'operation_log' AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION")
+    List<String> selectPartitionNames();
+    
+    /**
+     * 从兜底分区中拆分出新的月分区
+     * 
+     * @param partitionName 分区名称（由调用方生成，格式pYYYYMM）
+     * @param lessThan 分区上界日期（不包含），格式yyyy-MM-dd
+     */
+    @Update("ALTER TABLE operation_log REORGANIZE PARTITION p_future INTO ("
+            + "PARTITION ${partitionName} VALUES LESS THAN (TO_DAYS('${lessThan}')), "
+            + "PARTITION p_future VALUES LESS THAN MAXVALUE)")
+    void addPartition(@Param("partitionName") String partitionName, @Param("lessThan") String lessThan);
+    
+    /**
+     * 删除分区（整体删除分区内数据）
+     * 
+     * @param partitionName 分区名称（由调用方生成，格式pYYYYMM）
+     */
+    @Update("ALTER TABLE operation_log DROP PARTITION ${partitionName}")
+    void dropPartition(@Param("partitionName") String partitionName);
+}
@@ -39,4 +39,21 @@ public interface PermissionMapper extends BaseMapper<PermissionDO> {
      * @return 权限列表
      */
     List<PermissionDO> findPermissionsByRoleId(@Param("roleId") Long roleId);
-} 
\ No newline at end of file
+    
+    /**
+     * 查询所有启用的菜单类型权限
+     * 
+     * @return 菜单权限列表，按排序值升序
+     */
+    @Select("SELECT id, name, code, parent_id, path, icon, sort, type FROM permission "
+            + "WHERE type = 1 AND status = 1 ORDER BY sort, id")
+    List<PermissionDO> selectMenus();
+    
+    /**
+     * 查询多个角色授予的启用权限编码
+     * 
+     * @param roleIds 角色ID列表
+     * @return 权限编码列表（去重、升序）
+     */
+    List<String> selectEnabledCodesByRoleIds(@Param("roleIds") List<Long> roleIds);
+}
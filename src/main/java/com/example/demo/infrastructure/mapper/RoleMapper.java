@@ -39,4 +39,16 @@ public interface RoleMapper extends BaseMapper<RoleDO> {
      * @return 角色列表
      */
     List<RoleDO> findRolesByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 根据用户名查询用户拥有的启用角色ID
+     * 
+     * @param username 用户名
+     * @return 角色ID列表，升序
+     */
+    @Select("SELECT ur.role_id FROM user u "
+            + "INNER JOIN user_role ur ON u.id = ur.user_id "
+            + "INNER JOIN role r ON r.id = ur.role_id "
+            + "WHERE u.username = #{username} AND r.status = 1 ORDER BY ur.role_id")
+    List<Long> findEnabledRoleIdsByUsername(@Param("username") String username);
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.demo.infrastructure.mapper;
 
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -17,6 +18,39 @@ public interface RolePermissionMapper {
      */
     int deleteByRoleId(@Param("roleId") Long roleId);
     
+    /**
+     * 删除权限的所有角色关联
+     * 
+     * @param permissionId 权限ID
+     * @return 影响行数
+     */
+    int deleteByPermissionId(@Param("permissionId") Long permissionId);
+    
+    /**
+     * 查询拥有该权限的角色ID
+     * 
+     * @param permissionId 权限ID
+     * @return 角色ID列表
+     */
+    java.util.List<Long> selectRoleIdsByPermissionId(@Param("permissionId") Long permissionId);
+    
+    /**
+     * 批量删除角色特定权限关联
+     * 
+     * @param roleId 角色ID
+     * @param permissionIds 权限ID列表
+     * @return 影响行数
+     */
+    int deleteByRoleIdAndPermissionIds(@Param("roleId") Long roleId, @Param("permissionIds") java.util.List<Long> permissionIds);
+    
+    /**
+     * 查询角色关联的权限ID
+     * 
+     * @param roleId 角色ID
+     * @return 权限ID列表
+     */
+    java.util.List<Long> selectPermissionIdsByRoleId(@Param("roleId") Long roleId);
+    
     /**
      * 添加角色权限关联
      * 
@@ -34,4 +68,27 @@ public interface RolePermissionMapper {
      * @return 影响行数
      */
     int batchInsert(@Param("roleId") Long roleId, @Param("permissionIds") java.util.List<Long> permissionIds);
-} 
\ No newline at end of file
+    
+    /**
+     * 查询多个角色拥有的权限ID（去重）
+     * 
+     * @param roleIds 角色ID列表
+     * @return 权限ID列表
+     */
+    java.util.List<Long> findPermissionIdsByRoleIds(@Param("roleIds") java.util.List<Long> roleIds);
+
+    /**
+     * 查询全部角色权限关联
+     * 
+     * @return 关联列表
+     */
+    java.util.List<RolePermissionDO> selectAll();
+    
+    /**
+     * 查询多个角色的权限关联
+     * 
+     * @param roleIds 角色ID集合
+     * @return 关联列表
+     */
+    java.util.List<RolePermissionDO> selectByRoleIds(@Param("roleIds") java.util.Collection<Long> roleIds);
+}
\ No newline at end of file
@@ -33,20 +33,32 @@ public interface UserMapper extends BaseMapper<UserDO> {
     Integer countByUsername(@Param("username") String username);
     
     /**
-     * 根据邮箱查询用户
+     * 根据规范化邮箱查询用户
      * 
-     * @param email 邮箱
+     * @param email 规范化邮箱
      * @return 用户信息
      */
-    @Select("SELECT * FROM user WHERE email = #{email}")
+    @Select("SELECT * FROM user WHERE email_normalized = #{email}")
     UserDO selectByEmail(@Param("email") String email);
     
     /**
-     * 根据手机号查询用户
+     * 根据规范化手机号查询用户
      * 
-     * @param phone 手机号
+     * @param phone 规范化手机号
      * @return 用户信息
      */
-    @Select("SELECT * FROM user WHERE phone = #{phone}")
+    @Select("SELECT * FROM user WHERE phone_normalized = #{phone}")
     UserDO selectByPhone(@Param("phone") String phone);
+    
+    /**
+     * 根据登录账号查询用户，依次匹配用户名、规范化邮箱、规范化手机号
+     * 
+     * @param username 用户名
+     * @param email 规范化邮箱，可为null
+     * @param phone 规范化手机号，可为null
+     * @return 用户信息
+     */
+    UserDO selectByLoginIdentifier(@Param("username") String username,
+                                   @Param("email") String email,
+                                   @Param("phone") String phone);
 } 
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.example.demo.infrastructure.mapper;
 
+import com.example.demo.infrastructure.persistence.entity.UserRoleDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,6 +48,23 @@ public interface UserRoleMapper {
      */
     int deleteByUserIdAndRoleId(@Param("userId") Long userId, @Param("roleId") Long roleId);
     
+    /**
+     * 批量删除用户特定角色关联
+     * 
+     * @param userId 用户ID
+     * @param roleIds 角色ID列表
+     * @return 影响行数
+     */
+    int deleteByUserIdAndRoleIds(@Param("userId") Long userId, @Param("roleIds") List<Long> roleIds);
+    
+    /**
+     * 查询用户关联的角色ID
+     * 
+     * @param userId 用户ID
+     * @return 角色ID列表
+     */
+    List<Long> selectRoleIdsByUserId(@Param("userId") Long userId);
+    
     /**
      * 检查用户是否有特定角色
      * 
@@ -54,4 +73,12 @@ public interface UserRoleMapper {
      * @return 数量
      */
     int countByUserIdAndRoleId(@Param("userId") Long userId, @Param("roleId") Long roleId);
-} 
\ No newline at end of file
+    
+    /**
+     * 查询多个用户的角色关联
+     * 
+     * @param userIds 用户ID集合
+     * @return 关联列表
+     */
+    List<UserRoleDO> selectByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,60 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.demo.infrastructure.monitor.jfr.CacheLookupEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 应用内缓存的命中、未命中和加载耗时指标
+ * 计数器和计时器在创建时注册，记录时不再查找或拼装标签。
+ * 指标名沿用Micrometer缓存指标的约定：cache.gets（result=hit/miss）和cache.load。
+ * 每次读取同时提交CacheLookup JFR事件（默认关闭，录制时开启）。
+ */
+public final class CacheMetrics {
+
+    private final String cacheName;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loads;
+
+    public CacheMetrics(MeterRegistry registry, String cacheName) {
+        this.cacheName = cacheName;
+        this.hits = Counter.builder("cache.gets")
+                .description("缓存读取次数")
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("cache.gets")
+                .description("缓存读取次数")
+                .tag("cache", cacheName)
+                .tag("result", "miss")
+                .register(registry);
+        this.loads = Timer.builder("cache.load")
+                .description("缓存未命中时的加载耗时")
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+
+    public void hit() {
+        hits.increment();
+        CacheLookupEvent.emit(cacheName, true);
+    }
+
+    public void miss() {
+        misses.increment();
+        CacheLookupEvent.emit(cacheName, false);
+    }
+
+    /**
+     * 记录一次加载
+     *
+     * @param startNanos 加载开始时的System.nanoTime()
+     */
+    public void recordLoad(long startNanos) {
+        loads.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
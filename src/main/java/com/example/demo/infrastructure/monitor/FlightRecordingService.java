@@ -0,0 +1,182 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.application.dto.FlightRecordingDTO;
+import com.example.demo.infrastructure.monitor.jfr.AuthorizationDecisionEvent;
+import com.example.demo.infrastructure.monitor.jfr.CacheLookupEvent;
+import com.example.demo.infrastructure.monitor.jfr.JwtAuthenticationEvent;
+import com.example.demo.infrastructure.monitor.jfr.MapperStatementEvent;
+import com.example.demo.infrastructure.monitor.jfr.RepositoryCallEvent;
+import com.example.demo.infrastructure.monitor.jfr.UserLoadEvent;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JFR录制管理
+ * 同一时间只允许一个录制。录制以JDK预置配置开始，应用的自定义事件按各自的阈值记录；
+ * detailed模式额外开启缓存读取、授权决策事件，并取消耗时阈值，开销随请求量增加，只用于短时排查。
+ * 录制写入本地目录，停止（手动或达到最长时长）后可下载，开始新录制时删除上一个文件。
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    private static final List<String> SETTINGS = List.of("default", "profile");
+    private static final List<Class<? extends Event>> DURATION_EVENTS = List.of(
+            JwtAuthenticationEvent.class, UserLoadEvent.class, RepositoryCallEvent.class, MapperStatementEvent.class);
+    private static final List<Class<? extends Event>> HIGH_RATE_EVENTS = List.of(
+            CacheLookupEvent.class, AuthorizationDecisionEvent.class);
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final Duration maxDuration;
+
+    private Recording recording;
+    private String settings;
+    private boolean detailed;
+    private Path file;
+
+    public FlightRecordingService(@Value("${jfr.directory:${java.io.tmpdir}/rbac-jfr}") String directory,
+                                  @Value("${jfr.max-duration:PT30M}") Duration maxDuration) {
+        this.directory = Paths.get(directory);
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * 开始录制
+     *
+     * @param settings JDK预置的录制配置，default开销约1%，profile采样更密
+     * @param detailed 是否开启高频事件并取消耗时阈值
+     * @return 录制状态
+     */
+    public synchronized FlightRecordingDTO start(String settings, boolean detailed) {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("录制配置只能是" + SETTINGS + "之一");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("已有录制在进行中：" + recording.getName());
+        }
+        discard();
+
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("读取录制配置失败：" + settings, e);
+        }
+        if (detailed) {
+            DURATION_EVENTS.forEach(type -> next.enable(type).withoutThreshold());
+            HIGH_RATE_EVENTS.forEach(next::enable);
+        }
+        String name = "rbac-" + LocalDateTime.now().format(NAME_FORMAT) + "-" + next.getId();
+        next.setName(name);
+        next.setToDisk(true);
+        next.setDuration(maxDuration);
+        try {
+            Files.createDirectories(directory);
+            next.setDestination(directory.resolve(name + ".jfr"));
+        } catch (IOException e) {
+            next.close();
+            throw new IllegalStateException("创建录制目录失败：" + directory, e);
+        }
+        next.start();
+
+        this.recording = next;
+        this.settings = settings;
+        this.detailed = detailed;
+        this.file = next.getDestination();
+        log.info("JFR录制开始：{}，配置{}，detailed={}", name, settings, detailed);
+        return status();
+    }
+
+    /**
+     * 停止录制并写出文件
+     *
+     * @return 录制状态
+     */
+    public synchronized FlightRecordingDTO stop() {
+        if (recording == null) {
+            throw new IllegalStateException("没有进行中的录制");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR录制停止：{}，文件{}", recording.getName(), file);
+        }
+        return status();
+    }
+
+    /**
+     * 当前或最近一次录制的状态
+     */
+    public synchronized FlightRecordingDTO status() {
+        FlightRecordingDTO dto = new FlightRecordingDTO();
+        if (recording == null) {
+            dto.setState("NONE");
+            return dto;
+        }
+        dto.setName(recording.getName());
+        dto.setState(recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED");
+        dto.setSettings(settings);
+        dto.setDetailed(detailed);
+        if (recording.getStartTime() != null) {
+            dto.setStartTime(LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()));
+        }
+        dto.setMaxDurationSeconds(maxDuration.toSeconds());
+        if (recording.getState() != RecordingState.RUNNING && Files.exists(file)) {
+            try {
+                dto.setSize(Files.size(file));
+            } catch (IOException e) {
+                log.warn("读取录制文件大小失败：{}", file, e);
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * 已停止录制的文件
+     *
+     * @return 录制文件路径
+     */
+    public synchronized Path getRecordingFile() {
+        if (recording == null || recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("没有已停止的录制");
+        }
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("录制文件不存在：" + file.getFileName());
+        }
+        return file;
+    }
+
+    /**
+     * 关闭上一个录制并删除其文件
+     */
+    private void discard() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除录制文件失败：{}", file, e);
+        }
+        recording = null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.demo.infrastructure.monitor.jfr.RepositoryCallEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 仓储方法计时拦截器
+ * 每个仓储方法对应一个repository.invocation计时器（标签repository、method），首次调用时注册并按Method缓存，
+ * 之后的调用只做一次Map查找和一次记录。请求被Server-Timing抽样时同时计入repo阶段，嵌套的仓储调用只计最外层。
+ * 超过阈值的调用提交RepositoryCall JFR事件。
+ * 注册表延迟获取：Advisor在容器启动早期创建，此时提前创建注册表会错过注册表的配置。
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> register(invocation));
+        }
+        ServerTiming timing = ServerTiming.current();
+        boolean timed = timing != null && timing.enter(ServerTiming.Stage.REPOSITORY);
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (timed) {
+                timing.exit(ServerTiming.Stage.REPOSITORY, elapsed);
+            }
+            event.finish(repositoryType(invocation), method);
+        }
+    }
+
+    private Timer register(MethodInvocation invocation) {
+        return Timer.builder("repository.invocation")
+                .description("仓储方法耗时")
+                .tag("repository", repositoryType(invocation).getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .register(meterRegistry.getObject());
+    }
+
+    private static Class<?> repositoryType(MethodInvocation invocation) {
+        return invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.infrastructure.monitor;
+
+/**
+ * 单次请求的分阶段耗时记录，以Server-Timing响应头输出
+ * 由ServerTimingFilter对抽样到的请求绑定到当前线程，认证过滤器、仓储、SQL、对象转换和JSON序列化把耗时累加到各自的阶段。
+ * 未抽样的请求没有记录，record只做一次ThreadLocal读取。
+ * 阶段之间可以重叠：user-load和authz-load包含其中的repo和sql，repo包含sql。
+ * 只在绑定它的线程上读写，不需要同步。
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 记录的阶段，metric为响应头中的指标名
+     */
+    public enum Stage {
+        /** JWT解析 */
+        AUTH_PARSE("auth-parse"),
+        /** 认证时加载用户 */
+        AUTH_LOAD("user-load"),
+        /** JWT校验 */
+        AUTH_VERIFY("auth-verify"),
+        /** 仓储方法 */
+        REPOSITORY("repo"),
+        /** SQL语句 */
+        SQL("sql"),
+        /** MapStruct对象转换 */
+        CONVERT("convert"),
+        /** 批量授权决策加载主体权限 */
+        AUTHZ_LOAD("authz-load"),
+        /** 批量授权决策计算决策 */
+        AUTHZ_EVALUATE("authz-eval"),
+        /** 响应体JSON序列化 */
+        SERIALIZE("json");
+
+        private static final Stage[] VALUES = values();
+
+        private final String metric;
+
+        Stage(String metric) {
+            this.metric = metric;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+    }
+
+    private final long startNanos;
+    private final long[] nanos = new long[Stage.VALUES.length];
+    private final int[] counts = new int[Stage.VALUES.length];
+    private final boolean[] active = new boolean[Stage.VALUES.length];
+
+    ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 为当前线程开始新的记录
+     */
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 当前线程的记录，请求未被抽样或不在请求中时为null
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的记录
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程存在记录时累加一次阶段耗时
+     *
+     * @param stage 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    public static void record(Stage stage, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(stage, nanos);
+        }
+    }
+
+    /**
+     * 进入阶段，阶段已在进行中（嵌套调用）时返回false，调用方不再计时，避免重复累加
+     */
+    public boolean enter(Stage stage) {
+        if (active[stage.ordinal()]) {
+            return false;
+        }
+        active[stage.ordinal()] = true;
+        return true;
+    }
+
+    /**
+     * 退出enter返回true的阶段并累加耗时
+     */
+    public void exit(Stage stage, long nanos) {
+        active[stage.ordinal()] = false;
+        add(stage, nanos);
+    }
+
+    /**
+     * 累加一次阶段耗时
+     */
+    public void add(Stage stage, long nanos) {
+        this.nanos[stage.ordinal()] += nanos;
+        counts[stage.ordinal()]++;
+    }
+
+    /**
+     * 阶段累计耗时（纳秒）
+     */
+    public long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    /**
+     * 阶段记录次数
+     */
+    public int getCount(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    /**
+     * 生成Server-Timing响应头的值，只包含有记录的阶段，最后是从记录开始到现在的total
+     * 例如：auth-parse;dur=0.21, repo;dur=3.05;desc="2", sql;dur=2.47;desc="4", total;dur=9.80
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(160);
+        for (Stage stage : Stage.VALUES) {
+            int count = counts[stage.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            appendMetric(value, stage.metric, nanos[stage.ordinal()]);
+            if (count > 1) {
+                value.append(";desc=\"").append(count).append('"');
+            }
+            value.append(", ");
+        }
+        appendMetric(value, "total", System.nanoTime() - startNanos);
+        return value.toString();
+    }
+
+    private static void appendMetric(StringBuilder value, String metric, long nanos) {
+        // 毫秒保留两位小数
+        long hundredths = nanos / 10_000;
+        value.append(metric).append(";dur=").append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            value.append('0');
+        }
+        value.append(fraction);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Server-Timing响应头过滤器
+ * 按抽样比例为请求开启ServerTiming记录，在响应提交前一刻写入响应头，此时JSON序列化已经完成并计入。
+ * 分阶段耗时暴露了内部实现，只对拥有trusted-authority权限的已认证调用方输出；trusted-authority为空时对所有调用方输出。
+ * 响应在过滤器链结束后仍未提交（如空响应体）时在过滤器中补写，此时安全上下文已清除，只有trusted-authority为空时才会输出。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+    private final String trustedAuthority;
+
+    public ServerTimingFilter(@Value("${server-timing.sample-rate:0}") double sampleRate,
+                              @Value("${server-timing.trusted-authority:ROLE_ADMIN}") String trustedAuthority) {
+        this.sampleRate = sampleRate;
+        this.trustedAuthority = trustedAuthority;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!sampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ServerTiming timing = ServerTiming.start();
+        TimingResponse timingResponse = new TimingResponse(response, timing, this);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            ServerTiming.stop();
+            if (!response.isCommitted()) {
+                timingResponse.writeHeader();
+            }
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * 当前调用方是否可以看到分阶段耗时
+     */
+    private boolean trusted() {
+        if (!StringUtils.hasText(trustedAuthority)) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (trustedAuthority.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 响应提交前写入Server-Timing头，只写一次
+     */
+    private static final class TimingResponse extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+        private final ServerTimingFilter filter;
+        private boolean written;
+
+        private TimingResponse(HttpServletResponse response, ServerTiming timing, ServerTimingFilter filter) {
+            super(response);
+            this.timing = timing;
+            this.filter = filter;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        private void writeHeader() {
+            if (!written) {
+                written = true;
+                if (filter.trusted()) {
+                    ((HttpServletResponse) getResponse()).setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.infrastructure.monitor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * 把方法调用耗时计入Server-Timing的指定阶段
+ * 请求未被抽样时直接调用目标方法；同一阶段嵌套调用（如映射器之间互相调用）只计最外层。
+ */
+public class ServerTimingStageInterceptor implements MethodInterceptor {
+
+    private final ServerTiming.Stage stage;
+
+    public ServerTimingStageInterceptor(ServerTiming.Stage stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null || !timing.enter(stage)) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timing.exit(stage, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 请求级SQL语句统计过滤器
+ * 排在安全过滤器链之前，认证时加载用户的语句也计入本次请求。
+ * 请求结束后把记录放入请求属性供测试断言，疑似N+1和超出语句数预算时记录告警。
+ * 异步请求只统计首次分派内执行的语句。
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlStatementStats stats;
+    private final int nPlusOneThreshold;
+    private final int maxStatementsPerRequest;
+
+    public SqlStatementFilter(SqlStatementStats stats,
+                              @Value("${sql-monitor.n-plus-one-threshold:3}") int nPlusOneThreshold,
+                              @Value("${sql-monitor.max-statements-per-request:20}") int maxStatementsPerRequest) {
+        this.stats = stats;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementTrace trace = SqlStatementTrace.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTrace.stop();
+            request.setAttribute(SqlStatementTrace.REQUEST_ATTRIBUTE, trace);
+            report(request, trace);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementTrace trace) {
+        if (trace.getStatementCount() == 0) {
+            return;
+        }
+        List<String> suspects = trace.findSuspectedNPlusOne(nPlusOneThreshold);
+        for (String statementId : suspects) {
+            stats.recordSuspectedNPlusOne(statementId);
+            log.warn("疑似N+1查询: {} {} 中 {} 以{}组不同参数执行了{}次", request.getMethod(), request.getRequestURI(),
+                    statementId, trace.getStatements().get(statementId).getDistinctParameters(),
+                    trace.getStatements().get(statementId).getCount());
+        }
+        if (trace.getStatementCount() > maxStatementsPerRequest) {
+            log.warn("SQL语句数超出预算: {} {} 执行{}条（预算{}条），耗时{}ms:{}", request.getMethod(),
+                    request.getRequestURI(), trace.getStatementCount(), maxStatementsPerRequest,
+                    trace.getTotalNanos() / 1_000_000, trace.describe());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} 执行SQL {}条，耗时{}ms:{}", request.getMethod(), request.getRequestURI(),
+                    trace.getStatementCount(), trace.getTotalNanos() / 1_000_000, trace.describe());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.infrastructure.monitor;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.example.demo.infrastructure.monitor.jfr.MapperStatementEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SQL语句计数拦截器
+ * 拦截Executor的查询和更新，按Mapper语句ID记录执行次数和耗时（含结果映射），
+ * 写入累计统计，当前线程存在请求记录时同时写入请求记录，请求被Server-Timing抽样时计入sql阶段，
+ * 超过阈值的语句提交MapperStatement JFR事件。
+ * 两个query签名都拦截：分页插件把四参数查询转为六参数查询时调用的是被代理的Executor，同一次查询只会经过本拦截器一次。
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class})
+})
+@RequiredArgsConstructor
+public class SqlStatementInterceptor implements Interceptor {
+
+    private final SqlStatementStats stats;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MapperStatementEvent event = new MapperStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+            event.finish(statement.getId(), statement.getSqlCommandType().name(), result);
+            stats.record(statement.getId(), elapsed);
+            ServerTiming.record(ServerTiming.Stage.SQL, elapsed);
+            SqlStatementTrace trace = SqlStatementTrace.current();
+            if (trace != null) {
+                trace.record(statement.getId(), statement.getSqlCommandType(), invocation.getArgs()[1], elapsed);
+            }
+        }
+    }
+}
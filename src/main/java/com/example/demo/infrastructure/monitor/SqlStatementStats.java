@@ -0,0 +1,118 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * SQL语句累计统计
+ * 按Mapper语句ID累计执行次数、耗时和疑似N+1的请求数，包括请求之外（定时任务、启动任务）执行的语句。
+ * 计数使用LongAdder，多线程并发记录时不争用同一个计数器。
+ * 每条语句首次执行时以sql.statement和sql.statement.suspected.n.plus.one导出到监控指标（标签statement为Mapper简单类名.方法名），
+ * 指标在采集时读取计数，执行语句时不经过注册表。
+ */
+@Component
+public class SqlStatementStats {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public SqlStatementStats(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @param statementId 语句ID
+     * @param nanos       耗时（纳秒）
+     */
+    public void record(String statementId, long nanos) {
+        Counter counter = counter(statementId);
+        counter.executions.increment();
+        counter.nanos.add(nanos);
+    }
+
+    /**
+     * 记录一次请求中该语句疑似N+1
+     *
+     * @param statementId 语句ID
+     */
+    public void recordSuspectedNPlusOne(String statementId) {
+        counter(statementId).suspectedNPlusOne.increment();
+    }
+
+    /**
+     * 按语句ID的累计统计
+     */
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    private Counter counter(String statementId) {
+        Counter counter = counters.get(statementId);
+        return counter != null ? counter : counters.computeIfAbsent(statementId, this::register);
+    }
+
+    private Counter register(String statementId) {
+        Counter counter = new Counter();
+        String statement = shortName(statementId);
+        FunctionTimer.builder("sql.statement", counter, Counter::getExecutions, Counter::getNanos, TimeUnit.NANOSECONDS)
+                .description("SQL语句执行次数和耗时")
+                .tag("statement", statement)
+                .register(meterRegistry);
+        FunctionCounter.builder("sql.statement.suspected.n.plus.one", counter, Counter::getSuspectedNPlusOne)
+                .description("疑似N+1查询的请求数")
+                .tag("statement", statement)
+                .register(meterRegistry);
+        return counter;
+    }
+
+    /**
+     * 语句ID去掉Mapper包名，如UserMapper.selectByUsername
+     */
+    static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(mapper + 1);
+    }
+
+    /**
+     * 单条语句的累计计数
+     */
+    public static final class Counter {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder suspectedNPlusOne = new LongAdder();
+
+        /**
+         * 执行次数
+         */
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        /**
+         * 累计耗时（纳秒）
+         */
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * 判定为疑似N+1的请求数
+         */
+        public long getSuspectedNPlusOne() {
+            return suspectedNPlusOne.sum();
+        }
+    }
+}
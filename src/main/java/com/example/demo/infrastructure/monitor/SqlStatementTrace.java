@@ -0,0 +1,198 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.mapping.SqlCommandType;
+
+/**
+ * 单次请求内的SQL语句记录
+ * 由SqlStatementFilter在请求开始时绑定到当前线程，SqlStatementInterceptor按Mapper语句ID累加执行次数、耗时和参数指纹。
+ * 同一查询语句以多组不同参数反复执行，通常是在循环中逐条查询关联数据（N+1）。
+ * 只在绑定它的线程上读写，不需要同步。
+ */
+public final class SqlStatementTrace {
+
+    /**
+     * 请求结束后记录所在的请求属性名
+     */
+    public static final String REQUEST_ATTRIBUTE = SqlStatementTrace.class.getName();
+
+    private static final ThreadLocal<SqlStatementTrace> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Statement> statements = new LinkedHashMap<>();
+    private int statementCount;
+    private long totalNanos;
+
+    /**
+     * 为当前线程开始新的记录
+     */
+    public static SqlStatementTrace start() {
+        SqlStatementTrace trace = new SqlStatementTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * 当前线程的记录，未开始时为null
+     */
+    public static SqlStatementTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的记录
+     *
+     * @return 结束的记录，未开始时为null
+     */
+    public static SqlStatementTrace stop() {
+        SqlStatementTrace trace = CURRENT.get();
+        CURRENT.remove();
+        return trace;
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @param statementId 语句ID（Mapper全限定名.方法名）
+     * @param commandType 语句类型
+     * @param parameter   语句参数
+     * @param nanos       耗时（纳秒）
+     */
+    public void record(String statementId, SqlCommandType commandType, Object parameter, long nanos) {
+        Statement statement = statements.computeIfAbsent(statementId, id -> new Statement(commandType));
+        statement.count++;
+        statement.nanos += nanos;
+        statement.parameterFingerprints.add(fingerprint(parameter));
+        statementCount++;
+        totalNanos += nanos;
+    }
+
+    /**
+     * 执行的语句总数
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * 语句总耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 按语句ID统计，按首次执行顺序排列
+     */
+    public Map<String, Statement> getStatements() {
+        return Collections.unmodifiableMap(statements);
+    }
+
+    /**
+     * 查找疑似N+1的查询：同一查询语句以不少于threshold组不同参数执行
+     *
+     * @param threshold 不同参数组数的下限
+     * @return 语句ID列表
+     */
+    public List<String> findSuspectedNPlusOne(int threshold) {
+        List<String> suspects = new ArrayList<>();
+        for (Map.Entry<String, Statement> entry : statements.entrySet()) {
+            Statement statement = entry.getValue();
+            if (statement.commandType == SqlCommandType.SELECT
+                    && statement.getDistinctParameters() >= threshold) {
+                suspects.add(entry.getKey());
+            }
+        }
+        return suspects;
+    }
+
+    /**
+     * 按语句ID汇总为"语句ID x次数"，用于日志和断言消息
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        statements.forEach((id, statement) -> description.append(String.format("%n  %s x%d (%.2fms)",
+                id, statement.count, statement.nanos / 1_000_000.0)));
+        return description.toString();
+    }
+
+    /**
+     * 参数指纹
+     * 只按值比较字符串、数字、日期等简单值及其集合和Mapper参数表，其他对象按实例区分，
+     * 避免调用数据对象互相引用的hashCode
+     */
+    static int fingerprint(Object parameter) {
+        if (parameter == null) {
+            return 0;
+        }
+        if (parameter instanceof CharSequence || parameter instanceof Number || parameter instanceof Boolean
+                || parameter instanceof Character || parameter instanceof Enum<?>
+                || parameter instanceof TemporalAccessor || parameter instanceof Date) {
+            return parameter.hashCode();
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            int hash = 1;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                hash += entry.getKey().hashCode() ^ fingerprint(entry.getValue());
+            }
+            return hash;
+        }
+        if (parameter instanceof Collection<?> collection) {
+            int hash = 1;
+            for (Object element : collection) {
+                hash = 31 * hash + fingerprint(element);
+            }
+            return hash;
+        }
+        return System.identityHashCode(parameter);
+    }
+
+    /**
+     * 单条语句的统计
+     */
+    public static final class Statement {
+
+        private final SqlCommandType commandType;
+        private final Set<Integer> parameterFingerprints = new HashSet<>();
+        private int count;
+        private long nanos;
+
+        private Statement(SqlCommandType commandType) {
+            this.commandType = commandType;
+        }
+
+        public SqlCommandType getCommandType() {
+            return commandType;
+        }
+
+        /**
+         * 执行次数
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * 累计耗时（纳秒）
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * 不同参数的组数
+         */
+        public int getDistinctParameters() {
+            return parameterFingerprints.size();
+        }
+    }
+}
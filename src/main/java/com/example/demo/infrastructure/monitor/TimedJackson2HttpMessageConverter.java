@@ -0,0 +1,120 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 记录JSON序列化耗时的消息转换器
+ * 抽样到的请求先序列化到内存再写出，使序列化耗时在响应提交、写入Server-Timing头之前已计入；
+ * 缓冲超过MAX_BUFFER_BYTES时转为直接写入响应流，大列表不会在内存中多占一份，此时响应头中没有json阶段。
+ * 未抽样的请求与默认转换器相同，直接写入响应流。
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    static final int MAX_BUFFER_BYTES = 64 * 1024;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        SpillingOutputStream body = new SpillingOutputStream(outputMessage);
+        super.writeInternal(object, type, new BufferedMessage(outputMessage.getHeaders(), body));
+        timing.add(ServerTiming.Stage.SERIALIZE, System.nanoTime() - start);
+        body.drain();
+    }
+
+    /**
+     * 先写入内存，超过MAX_BUFFER_BYTES后把已缓冲的内容和之后的写入直接转给响应流
+     */
+    private static final class SpillingOutputStream extends OutputStream {
+
+        private final HttpOutputMessage target;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private OutputStream spilled;
+
+        private SpillingOutputStream(HttpOutputMessage target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (spilled == null && buffer.size() + 1 > MAX_BUFFER_BYTES) {
+                spill();
+            }
+            if (spilled != null) {
+                spilled.write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (spilled == null && buffer.size() + len > MAX_BUFFER_BYTES) {
+                spill();
+            }
+            if (spilled != null) {
+                spilled.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 缓冲阶段不提交响应，序列化结束后由drain写出
+            if (spilled != null) {
+                spilled.flush();
+            }
+        }
+
+        /**
+         * 写出仍在缓冲中的内容
+         */
+        private void drain() throws IOException {
+            if (spilled == null) {
+                buffer.writeTo(target.getBody());
+            }
+        }
+
+        private void spill() throws IOException {
+            spilled = target.getBody();
+            buffer.writeTo(spilled);
+            buffer.reset();
+        }
+    }
+
+    /**
+     * 写入内存缓冲区的输出消息，响应头仍写到原消息
+     */
+    private record BufferedMessage(HttpHeaders headers, OutputStream body) implements HttpOutputMessage {
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
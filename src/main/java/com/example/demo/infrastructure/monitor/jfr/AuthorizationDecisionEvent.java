@@ -0,0 +1,44 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spring Security的一次授权决策（请求级授权和@PreAuthorize方法授权）
+ * 每个请求都有决策，默认不记录，需在录制时显式开启
+ */
+@Name("com.example.demo.AuthorizationDecision")
+@Label("Authorization Decision")
+@Description("请求或方法的授权结果")
+@Category({"RBAC Demo", "Security"})
+@Enabled(false)
+@StackTrace(false)
+public class AuthorizationDecisionEvent extends Event {
+
+    @Label("Principal")
+    private String principal;
+
+    @Label("Resource")
+    @Description("请求方法和路径，或被授权的方法")
+    private String resource;
+
+    @Label("Granted")
+    private boolean granted;
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public void setGranted(boolean granted) {
+        this.granted = granted;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 应用内缓存的一次读取
+ * 每个请求都有多次读取，默认不记录，需在录制时显式开启
+ */
+@Name("com.example.demo.CacheLookup")
+@Label("Cache Lookup")
+@Description("应用内缓存读取及是否命中")
+@Category({"RBAC Demo", "Cache"})
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * 事件开启时提交一次读取
+     */
+    public static void emit(String cache, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 携带令牌的请求在JWT过滤器中的认证耗时，包含解析签名、加载用户和校验令牌
+ */
+@Name("com.example.demo.JwtAuthentication")
+@Label("JWT Authentication")
+@Description("JWT过滤器解析令牌、加载用户并校验令牌")
+@Category({"RBAC Demo", "Security"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Username")
+    private String username;
+
+    @Label("Result")
+    @Description("authenticated、rejected、unavailable或error")
+    private String result;
+
+    /**
+     * 结束计时，超过阈值时提交
+     */
+    public void finish(String username, String result) {
+        end();
+        if (shouldCommit()) {
+            this.username = username;
+            this.result = result;
+            commit();
+        }
+    }
+}
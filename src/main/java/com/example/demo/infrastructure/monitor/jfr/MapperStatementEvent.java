@@ -0,0 +1,56 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import java.util.Collection;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 单条Mapper语句的执行耗时和行数
+ */
+@Name("com.example.demo.MapperStatement")
+@Label("Mapper Statement")
+@Category({"RBAC Demo", "Persistence"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class MapperStatementEvent extends Event {
+
+    @Label("Statement")
+    @Description("Mapper语句ID")
+    private String statement;
+
+    @Label("Command")
+    private String command;
+
+    @Label("Rows")
+    @Description("查询返回的行数或更新影响的行数，无法确定时为-1")
+    private int rows;
+
+    /**
+     * 结束计时，超过阈值时提交
+     */
+    public void finish(String statement, String command, Object result) {
+        end();
+        if (shouldCommit()) {
+            this.statement = statement;
+            this.command = command;
+            this.rows = rows(result);
+            commit();
+        }
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+}
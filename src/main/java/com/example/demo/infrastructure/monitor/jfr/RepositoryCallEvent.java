@@ -0,0 +1,39 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 仓储方法调用耗时，调用中执行的Mapper语句以MapperStatement事件记录在同一线程上
+ */
+@Name("com.example.demo.RepositoryCall")
+@Label("Repository Call")
+@Category({"RBAC Demo", "Persistence"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    /**
+     * 结束计时，超过阈值时提交，名称只在提交时获取
+     */
+    public void finish(Class<?> repository, Method method) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository.getSimpleName();
+            this.method = method.getName();
+            commit();
+        }
+    }
+}
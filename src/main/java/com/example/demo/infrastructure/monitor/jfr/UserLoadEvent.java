@@ -0,0 +1,44 @@
+package com.example.demo.infrastructure.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * loadUserByUsername加载用户及其权限的耗时
+ */
+@Name("com.example.demo.UserLoad")
+@Label("Load User")
+@Description("UserDetailsService按用户名加载用户、角色和权限")
+@Category({"RBAC Demo", "Security"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class UserLoadEvent extends Event {
+
+    @Label("Username")
+    private String username;
+
+    @Label("Found")
+    private boolean found;
+
+    @Label("Authorities")
+    @Description("角色编码和权限编码的总数")
+    private int authorities;
+
+    /**
+     * 结束计时，超过阈值时提交
+     */
+    public void finish(String username, boolean found, int authorities) {
+        end();
+        if (shouldCommit()) {
+            this.username = username;
+            this.found = found;
+            this.authorities = authorities;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 权限目录变更日志数据对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("catalog_change_log")
+public class CatalogChangeLogDO {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    @TableField(value = "version")
+    private Long version;
+
+    @TableField(value = "entity_type")
+    private String entityType;
+
+    @TableField(value = "entity_id")
+    private Long entityId;
+
+    @TableField(value = "related_id")
+    private Long relatedId;
+
+    @TableField(value = "operation")
+    private String operation;
+
+    @TableField(value = "create_time")
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,25 @@
+package com.example.demo.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 权限目录版本数据对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("catalog_version")
+public class CatalogVersionDO {
+
+    @TableId(type = IdType.INPUT)
+    private Integer id;
+
+    @TableField(value = "version")
+    private Long version;
+
+    @TableField(value = "min_version")
+    private Long minVersion;
+}
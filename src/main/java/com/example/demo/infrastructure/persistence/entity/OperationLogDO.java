@@ -0,0 +1,48 @@
+package com.example.demo.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志数据对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("operation_log")
+public class OperationLogDO {
+    
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    @TableField(value = "username")
+    private String username;
+    
+    @TableField(value = "operation")
+    private String operation;
+    
+    @TableField(value = "method")
+    private String method;
+    
+    @TableField(value = "uri")
+    private String uri;
+    
+    @TableField(value = "ip_address")
+    private String ipAddress;
+    
+    @TableField(value = "status")
+    private Integer status;
+    
+    @TableField(value = "error_message")
+    private String errorMessage;
+    
+    @TableField(value = "cost_time")
+    private Integer costTime;
+    
+    @TableField(value = "create_time")
+    private LocalDateTime createTime;
+}
@@ -33,6 +33,21 @@ public class PermissionDO {
     @TableField("module")
     private String module;
     
+    @TableField("type")
+    private Integer type;
+    
+    @TableField("parent_id")
+    private Long parentId;
+    
+    @TableField("path")
+    private String path;
+    
+    @TableField("sort")
+    private Integer sort;
+    
+    @TableField("icon")
+    private String icon;
+    
     @TableField("status")
     private Boolean status = true;
     
@@ -0,0 +1,22 @@
+package com.example.demo.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 角色权限关联数据对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("role_permission")
+public class RolePermissionDO {
+
+    @TableField(value = "role_id")
+    private Long roleId;
+
+    @TableField(value = "permission_id")
+    private Long permissionId;
+}
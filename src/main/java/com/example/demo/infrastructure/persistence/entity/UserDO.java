@@ -36,6 +36,18 @@ public class UserDO {
     @TableField(value = "phone")
     private String phone;
     
+    /**
+     * 规范化邮箱，带唯一索引，用于按邮箱查询和登录
+     */
+    @TableField(value = "email_normalized")
+    private String emailNormalized;
+    
+    /**
+     * 规范化手机号，带唯一索引，用于按手机号查询和登录
+     */
+    @TableField(value = "phone_normalized")
+    private String phoneNormalized;
+    
     @TableField(value = "status")
     private Boolean status = true;
     
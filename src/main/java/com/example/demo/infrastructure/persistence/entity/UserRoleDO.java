@@ -0,0 +1,22 @@
+package com.example.demo.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户角色关联数据对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("user_role")
+public class UserRoleDO {
+
+    @TableField(value = "user_id")
+    private Long userId;
+
+    @TableField(value = "role_id")
+    private Long roleId;
+}
@@ -6,9 +6,13 @@ import com.example.demo.domain.model.valueobject.PermissionId;
 import com.example.demo.domain.repository.PermissionRepository;
 import com.example.demo.infrastructure.convert.PermissionConvert;
 import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
 import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.service.CatalogChangeLogService;
+import com.example.demo.infrastructure.service.EffectivePermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,11 +26,17 @@ import java.util.stream.Collectors;
 public class PermissionRepositoryImpl implements PermissionRepository {
 
     private final PermissionMapper permissionMapper;
+    private final RolePermissionMapper rolePermissionMapper;
     private final PermissionConvert permissionConvert;
+    private final EffectivePermissionService effectivePermissionService;
+    private final CatalogChangeLogService catalogChangeLogService;
 
     @Override
+    @Transactional
     public Permission save(Permission permission) {
         PermissionDO permissionDO;
+        // 已持久化的权限在更新前是否启用，状态变化时同步有效权限
+        Boolean wasEnabled = null;
         if (permission.getId() == null) {
             permissionDO = permissionConvert.toData(permission);
         } else {
@@ -34,6 +44,7 @@ public class PermissionRepositoryImpl implements PermissionRepository {
             if (permissionDO == null) {
                 permissionDO = permissionConvert.toData(permission);
             } else {
+                wasEnabled = Boolean.TRUE.equals(permissionDO.getStatus());
                 permissionConvert.updateDataFromDomain(permission, permissionDO);
             }
         }
@@ -44,6 +55,16 @@ public class PermissionRepositoryImpl implements PermissionRepository {
             permissionMapper.updateById(permissionDO);
         }
         
+        if (wasEnabled != null) {
+            boolean enabled = Boolean.TRUE.equals(permissionDO.getStatus());
+            if (wasEnabled && !enabled) {
+                effectivePermissionService.disablePermission(permissionDO.getId());
+            } else if (!wasEnabled && enabled) {
+                effectivePermissionService.enablePermission(permissionDO.getId());
+            }
+        }
+        catalogChangeLogService.recordPermission(permissionDO.getId(), CatalogChangeLogService.Operation.UPSERT);
+        
         return permissionConvert.toDomain(permissionDO);
     }
 
@@ -76,7 +97,18 @@ public class PermissionRepositoryImpl implements PermissionRepository {
     }
 
     @Override
+    @Transactional
     public void delete(Permission permission) {
-        permissionMapper.deleteById(permission.getId().getValue());
+        Long permissionId = permission.getId().getValue();
+        effectivePermissionService.disablePermission(permissionId);
+        
+        // 删除权限的角色关联，避免目录中残留指向已删除权限的关联
+        catalogChangeLogService.recordPermissionRoles(permissionId,
+                rolePermissionMapper.selectRoleIdsByPermissionId(permissionId),
+                CatalogChangeLogService.Operation.DELETE);
+        rolePermissionMapper.deleteByPermissionId(permissionId);
+        
+        permissionMapper.deleteById(permissionId);
+        catalogChangeLogService.recordPermission(permissionId, CatalogChangeLogService.Operation.DELETE);
     }
 } 
\ No newline at end of file
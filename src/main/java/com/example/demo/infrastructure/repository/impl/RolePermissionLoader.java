@@ -0,0 +1,59 @@
+package com.example.demo.infrastructure.repository.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 批量加载角色的权限
+ * 无论角色多少，固定两条查询：先查这些角色的权限关联，再按ID批量查权限，避免逐个角色查询（N+1）
+ */
+@Component
+@RequiredArgsConstructor
+public class RolePermissionLoader {
+
+    private final RolePermissionMapper rolePermissionMapper;
+    private final PermissionMapper permissionMapper;
+
+    /**
+     * 把权限填入各角色的permissions集合
+     *
+     * @param roleDOList 角色数据对象
+     */
+    public void loadPermissions(List<RoleDO> roleDOList) {
+        if (roleDOList.isEmpty()) {
+            return;
+        }
+        Map<Long, RoleDO> rolesById = roleDOList.stream()
+                .collect(Collectors.toMap(RoleDO::getId, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        List<RolePermissionDO> links = rolePermissionMapper.selectByRoleIds(List.copyOf(rolesById.keySet()));
+        if (links.isEmpty()) {
+            return;
+        }
+        List<Long> permissionIds = links.stream()
+                .map(RolePermissionDO::getPermissionId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, PermissionDO> permissionsById = permissionMapper.selectByIds(permissionIds).stream()
+                .collect(Collectors.toMap(PermissionDO::getId, Function.identity()));
+        for (RolePermissionDO link : links) {
+            PermissionDO permission = permissionsById.get(link.getPermissionId());
+            if (permission != null) {
+                rolesById.get(link.getRoleId()).getPermissions().add(permission);
+            }
+        }
+    }
+}
@@ -4,17 +4,20 @@ import com.example.demo.domain.model.entity.Role;
 import com.example.demo.domain.model.valueobject.RoleId;
 import com.example.demo.domain.repository.RoleRepository;
 import com.example.demo.infrastructure.convert.RoleConvert;
-import com.example.demo.infrastructure.mapper.PermissionMapper;
 import com.example.demo.infrastructure.mapper.RoleMapper;
 import com.example.demo.infrastructure.mapper.RolePermissionMapper;
-import com.example.demo.infrastructure.persistence.entity.PermissionDO;
 import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.service.CatalogChangeLogService;
+import com.example.demo.infrastructure.service.EffectivePermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,14 +28,18 @@ import java.util.stream.Collectors;
 public class RoleRepositoryImpl implements RoleRepository {
 
     private final RoleMapper roleMapper;
-    private final PermissionMapper permissionMapper;
+    private final RolePermissionLoader rolePermissionLoader;
     private final RolePermissionMapper rolePermissionMapper;
     private final RoleConvert roleConvert;
+    private final EffectivePermissionService effectivePermissionService;
+    private final CatalogChangeLogService catalogChangeLogService;
 
     @Override
     @Transactional
     public Role save(Role role) {
         RoleDO roleDO;
+        // 已持久化的角色在更新前是否启用，决定有效权限中是否已计入该角色
+        boolean wasEnabled = false;
         if (role.getId() == null) {
             roleDO = roleConvert.toData(role);
         } else {
@@ -40,36 +47,59 @@ public class RoleRepositoryImpl implements RoleRepository {
             if (roleDO == null) {
                 roleDO = roleConvert.toData(role);
             } else {
+                wasEnabled = Boolean.TRUE.equals(roleDO.getStatus());
                 roleConvert.updateDataFromDomain(role, roleDO);
             }
         }
+        boolean enabled = Boolean.TRUE.equals(roleDO.getStatus());
         
         if (roleDO.getId() == null) {
             roleMapper.insert(roleDO);
         } else {
             roleMapper.updateById(roleDO);
         }
+        Long roleId = roleDO.getId();
         
-        // 保存角色权限关联关系
-        if (role.getId() != null) {
-            // 删除该角色原有的所有权限关联
-            rolePermissionMapper.deleteByRoleId(roleDO.getId());
+        // 保存角色权限关联关系：只增删有差异的关联
+        Set<Long> targetPermissionIds = role.getPermissions() == null ? Set.of() : role.getPermissions().stream()
+            .filter(permission -> permission.getId() != null)
+            .map(permission -> permission.getId().getValue())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> currentPermissionIds = role.getId() == null ? Set.of()
+            : new HashSet<>(rolePermissionMapper.selectPermissionIdsByRoleId(roleId));
+        
+        List<Long> removedPermissionIds = currentPermissionIds.stream()
+            .filter(permissionId -> !targetPermissionIds.contains(permissionId))
+            .collect(Collectors.toList());
+        List<Long> addedPermissionIds = targetPermissionIds.stream()
+            .filter(permissionId -> !currentPermissionIds.contains(permissionId))
+            .collect(Collectors.toList());
+        
+        // 扣减按变更前的关联关系计算，需在删除关联前执行
+        if (wasEnabled && !enabled) {
+            effectivePermissionService.disableRole(roleId);
+        } else if (wasEnabled) {
+            effectivePermissionService.revokeRolePermissions(roleId, removedPermissionIds);
         }
         
-        // 添加新的权限关联
-        if (role.getPermissions() != null && !role.getPermissions().isEmpty()) {
-            // 将权限ID提取为列表
-            List<Long> permissionIds = role.getPermissions().stream()
-                .filter(permission -> permission.getId() != null)
-                .map(permission -> permission.getId().getValue())
-                .collect(Collectors.toList());
-                
-            if (!permissionIds.isEmpty()) {
-                // 使用批量插入
-                rolePermissionMapper.batchInsert(roleDO.getId(), permissionIds);
-            }
+        if (!removedPermissionIds.isEmpty()) {
+            rolePermissionMapper.deleteByRoleIdAndPermissionIds(roleId, removedPermissionIds);
+        }
+        if (!addedPermissionIds.isEmpty()) {
+            rolePermissionMapper.batchInsert(roleId, addedPermissionIds);
         }
         
+        // 累加按变更后的关联关系计算，需在写入关联后执行
+        if (enabled && !wasEnabled) {
+            effectivePermissionService.enableRole(roleId);
+        } else if (enabled) {
+            effectivePermissionService.grantRolePermissions(roleId, addedPermissionIds);
+        }
+        
+        catalogChangeLogService.recordRole(roleId, CatalogChangeLogService.Operation.UPSERT);
+        catalogChangeLogService.recordRolePermissions(roleId, removedPermissionIds, CatalogChangeLogService.Operation.DELETE);
+        catalogChangeLogService.recordRolePermissions(roleId, addedPermissionIds, CatalogChangeLogService.Operation.UPSERT);
+        
         return roleConvert.toDomain(roleDO);
     }
 
@@ -78,7 +108,7 @@ public class RoleRepositoryImpl implements RoleRepository {
         RoleDO roleDO = roleMapper.selectById(id.getValue());
         if (roleDO != null) {
             // 加载角色的权限
-            loadPermissionsForRole(roleDO);
+            rolePermissionLoader.loadPermissions(List.of(roleDO));
         }
         return Optional.ofNullable(roleDO)
                 .map(roleConvert::toDomain);
@@ -89,7 +119,7 @@ public class RoleRepositoryImpl implements RoleRepository {
         RoleDO roleDO = roleMapper.selectByCode(code);
         if (roleDO != null) {
             // 加载角色的权限
-            loadPermissionsForRole(roleDO);
+            rolePermissionLoader.loadPermissions(List.of(roleDO));
         }
         return Optional.ofNullable(roleDO)
                 .map(roleConvert::toDomain);
@@ -98,26 +128,13 @@ public class RoleRepositoryImpl implements RoleRepository {
     @Override
     public List<Role> findAll() {
         List<RoleDO> roleDOList = roleMapper.selectList(null);
-        // 为每个角色加载权限
-        roleDOList.forEach(this::loadPermissionsForRole);
+        // 批量加载所有角色的权限
+        rolePermissionLoader.loadPermissions(roleDOList);
         return roleDOList.stream()
                 .map(roleConvert::toDomain)
                 .collect(Collectors.toList());
     }
 
-    /**
-     * 加载角色的权限列表
-     * 
-     * @param roleDO 角色数据对象
-     */
-    private void loadPermissionsForRole(RoleDO roleDO) {
-        // 使用MyBatis查询角色的权限列表
-        List<PermissionDO> permissions = permissionMapper.findPermissionsByRoleId(roleDO.getId());
-        if (!permissions.isEmpty()) {
-            roleDO.setPermissions(new java.util.HashSet<>(permissions));
-        }
-    }
-
     @Override
     public boolean existsByCode(String code) {
         Integer count = roleMapper.countByCode(code);
@@ -127,10 +144,18 @@ public class RoleRepositoryImpl implements RoleRepository {
     @Override
     @Transactional
     public void delete(Role role) {
-        // 删除角色权限关联
+        // 删除角色权限关联，启用角色先扣减其授予的有效权限
         if (role.getId() != null) {
+            RoleDO roleDO = roleMapper.selectById(role.getId().getValue());
+            if (roleDO != null && Boolean.TRUE.equals(roleDO.getStatus())) {
+                effectivePermissionService.disableRole(roleDO.getId());
+            }
+            catalogChangeLogService.recordRolePermissions(role.getId().getValue(),
+                    rolePermissionMapper.selectPermissionIdsByRoleId(role.getId().getValue()),
+                    CatalogChangeLogService.Operation.DELETE);
             rolePermissionMapper.deleteByRoleId(role.getId().getValue());
         }
         roleMapper.deleteById(role.getId().getValue());
+        catalogChangeLogService.recordRole(role.getId().getValue(), CatalogChangeLogService.Operation.DELETE);
     }
 } 
\ No newline at end of file
@@ -1,28 +1,32 @@
 package com.example.demo.infrastructure.repository.impl;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
-import com.example.demo.domain.model.entity.Role;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.example.demo.domain.model.entity.User;
+import com.example.demo.domain.model.valueobject.Email;
+import com.example.demo.domain.model.valueobject.Phone;
 import com.example.demo.domain.model.valueobject.UserId;
 import com.example.demo.domain.repository.UserRepository;
-import com.example.demo.infrastructure.convert.PermissionConvert;
 import com.example.demo.infrastructure.convert.RoleConvert;
 import com.example.demo.infrastructure.convert.UserConvert;
-import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.EffectivePermissionMapper;
 import com.example.demo.infrastructure.mapper.RoleMapper;
 import com.example.demo.infrastructure.mapper.UserMapper;
 import com.example.demo.infrastructure.mapper.UserRoleMapper;
-import com.example.demo.infrastructure.persistence.entity.PermissionDO;
 import com.example.demo.infrastructure.persistence.entity.RoleDO;
 import com.example.demo.infrastructure.persistence.entity.UserDO;
+import com.example.demo.infrastructure.service.EffectivePermissionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -39,11 +43,12 @@ public class UserRepositoryImpl implements UserRepository {
 
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
-    private final PermissionMapper permissionMapper;
     private final UserRoleMapper userRoleMapper;
+    private final EffectivePermissionMapper effectivePermissionMapper;
+    private final EffectivePermissionService effectivePermissionService;
     private final UserConvert userConvert;
     private final RoleConvert roleConvert;
-    private final PermissionConvert permissionConvert;
+    private final RolePermissionLoader rolePermissionLoader;
 
     /**
      * 保存用户聚合根
@@ -71,6 +76,10 @@ public class UserRepositoryImpl implements UserRepository {
             }
         }
         
+        // 邮箱、手机号按规范化值建唯一索引
+        userDO.setEmailNormalized(Email.normalize(userDO.getEmail()));
+        userDO.setPhoneNormalized(Phone.normalize(userDO.getPhone()));
+        
         // 持久化用户基本信息
         if (userDO.getId() == null) {
             userMapper.insert(userDO);
@@ -78,24 +87,28 @@ public class UserRepositoryImpl implements UserRepository {
             userMapper.updateById(userDO);
         }
         
-        // 处理用户-角色关联
-        if (user.getId() != null) {
-            // 删除该用户原有的所有角色关联
-            userRoleMapper.deleteByUserId(userDO.getId());
-            
-            // 添加新的角色关联
-            if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-                // 将角色ID提取为列表
-                List<Long> roleIds = user.getRoles().stream()
-                    .filter(role -> role.getId() != null)
-                    .map(role -> role.getId().getValue())
-                    .collect(Collectors.toList());
-                    
-                if (!roleIds.isEmpty()) {
-                    // 使用批量插入
-                    userRoleMapper.batchInsert(userDO.getId(), roleIds);
-                }
-            }
+        // 处理用户-角色关联：只增删有差异的关联，并在同一事务内维护有效权限
+        Set<Long> targetRoleIds = user.getRoles() == null ? Set.of() : user.getRoles().stream()
+            .filter(role -> role.getId() != null)
+            .map(role -> role.getId().getValue())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> currentRoleIds = user.getId() == null ? Set.of()
+            : new HashSet<>(userRoleMapper.selectRoleIdsByUserId(userDO.getId()));
+        
+        List<Long> removedRoleIds = currentRoleIds.stream()
+            .filter(roleId -> !targetRoleIds.contains(roleId))
+            .collect(Collectors.toList());
+        List<Long> addedRoleIds = targetRoleIds.stream()
+            .filter(roleId -> !currentRoleIds.contains(roleId))
+            .collect(Collectors.toList());
+        
+        if (!removedRoleIds.isEmpty()) {
+            userRoleMapper.deleteByUserIdAndRoleIds(userDO.getId(), removedRoleIds);
+            effectivePermissionService.revokeUserRoles(userDO.getId(), removedRoleIds);
+        }
+        if (!addedRoleIds.isEmpty()) {
+            userRoleMapper.batchInsert(userDO.getId(), addedRoleIds);
+            effectivePermissionService.grantUserRoles(userDO.getId(), addedRoleIds);
         }
         
         // 返回转换后的领域对象
@@ -117,7 +130,7 @@ public class UserRepositoryImpl implements UserRepository {
 
     /**
      * 根据用户名查找完整用户（包含角色和权限）
-     * 使用左连接查询避免N+1问题
+     * 角色的权限批量加载，查询条数与角色数量无关
      */
     @Override
     @Transactional(readOnly = true)
@@ -133,22 +146,13 @@ public class UserRepositoryImpl implements UserRepository {
         // 2. 转换为领域对象
         User user = userConvert.toDomain(userDO);
         
-        // 3. 查询该用户的所有角色
+        // 3. 查询该用户的所有角色，并批量加载角色的权限
         List<RoleDO> rolesByUser = roleMapper.findRolesByUserId(user.getId().getValue());
         if (!CollectionUtils.isEmpty(rolesByUser)) {
-            List<Role> roleList = roleConvert.toDomainList(rolesByUser);
+            rolePermissionLoader.loadPermissions(rolesByUser);
             
-            // 4. 批量查询角色的权限 (避免N+1问题)
-            for (Role role : roleList) {
-                List<PermissionDO> permissionsByRoleId = permissionMapper.findPermissionsByRoleId(role.getId().getValue());
-                if (!CollectionUtils.isEmpty(permissionsByRoleId)) {
-                    // 转换并添加权限到角色中
-                    role.addPermissions(permissionConvert.toDomainList(permissionsByRoleId));
-                }
-            }
-            
-            // 5. 将角色集合添加到用户中
-            user.addRoles(roleList);
+            // 4. 将角色集合添加到用户中
+            user.addRoles(roleConvert.toDomainList(rolesByUser));
         }
         
         return Optional.of(user);
@@ -156,30 +160,71 @@ public class UserRepositoryImpl implements UserRepository {
 
     /**
      * 根据邮箱查找用户
+     * 按规范化邮箱走唯一索引查询
      * 注意：这里没有加载角色和权限信息，保持单一职责
      */
     @Override
     public Optional<User> findByEmail(String email) {
         Objects.requireNonNull(email, "邮箱不能为空");
         
-        UserDO userDO = userMapper.selectByEmail(email);
+        String normalized = Email.normalize(email);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        UserDO userDO = userMapper.selectByEmail(normalized);
         return Optional.ofNullable(userDO)
                 .map(userConvert::toDomain);
     }
 
     /**
      * 根据手机号查找用户
+     * 按规范化手机号走唯一索引查询
      * 注意：这里没有加载角色和权限信息，保持单一职责
      */
     @Override
     public Optional<User> findByPhone(String phone) {
         Objects.requireNonNull(phone, "手机号不能为空");
         
-        UserDO userDO = userMapper.selectByPhone(phone);
+        String normalized = Phone.normalize(phone);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        UserDO userDO = userMapper.selectByPhone(normalized);
+        return Optional.ofNullable(userDO)
+                .map(userConvert::toDomain);
+    }
+
+    /**
+     * 根据登录账号（用户名、邮箱或手机号）查找用户
+     * 单条SQL完成三种匹配，用户名优先
+     * 注意：这里没有加载角色和权限信息，保持单一职责
+     */
+    @Override
+    public Optional<User> findByLoginIdentifier(String identifier) {
+        Objects.requireNonNull(identifier, "登录账号不能为空");
+        
+        String username = identifier.trim();
+        // 只有包含@的账号才可能是邮箱
+        String email = username.indexOf('@') >= 0 ? Email.normalize(username) : null;
+        String phone = Phone.normalize(username);
+        UserDO userDO = userMapper.selectByLoginIdentifier(username, email, phone);
         return Optional.ofNullable(userDO)
                 .map(userConvert::toDomain);
     }
 
+    /**
+     * 只更新最后登录时间，不触及角色关联
+     */
+    @Override
+    public void updateLastLoginTime(User user) {
+        Objects.requireNonNull(user, "用户不能为空");
+        Objects.requireNonNull(user.getId(), "用户ID不能为空");
+        
+        userMapper.update(null, Wrappers.<UserDO>lambdaUpdate()
+                .set(UserDO::getLastLoginTime, user.getLastLoginTime())
+                .eq(UserDO::getId, user.getId().getValue()));
+    }
+
     /**
      * 查询所有用户（不包含角色和权限）
      */
@@ -202,6 +247,37 @@ public class UserRepositoryImpl implements UserRepository {
         return count != null && count > 0;
     }
 
+    /**
+     * 查询用户的有效权限编码
+     */
+    @Override
+    public List<String> findPermissionCodesByUsername(String username) {
+        Objects.requireNonNull(username, "用户名不能为空");
+        
+        return effectivePermissionMapper.selectPermissionCodesByUsername(username);
+    }
+
+    /**
+     * 检查用户是否拥有权限
+     */
+    @Override
+    public boolean hasPermission(String username, String permissionCode) {
+        Objects.requireNonNull(username, "用户名不能为空");
+        Objects.requireNonNull(permissionCode, "权限编码不能为空");
+        
+        return effectivePermissionMapper.countByUsernameAndPermissionCode(username, permissionCode) > 0;
+    }
+
+    /**
+     * 查询拥有权限的用户名
+     */
+    @Override
+    public List<String> findUsernamesByPermissionCode(String permissionCode) {
+        Objects.requireNonNull(permissionCode, "权限编码不能为空");
+        
+        return effectivePermissionMapper.selectUsernamesByPermissionCode(permissionCode);
+    }
+
     /**
      * 删除用户
      */
@@ -211,8 +287,9 @@ public class UserRepositoryImpl implements UserRepository {
         Objects.requireNonNull(user, "待删除的用户不能为空");
         Objects.requireNonNull(user.getId(), "待删除的用户ID不能为空");
         
-        // 删除用户角色关联
+        // 删除用户角色关联及有效权限
         userRoleMapper.deleteByUserId(user.getId().getValue());
+        effectivePermissionService.removeUser(user.getId().getValue());
         // 删除用户
         userMapper.deleteById(user.getId().getValue());
     }
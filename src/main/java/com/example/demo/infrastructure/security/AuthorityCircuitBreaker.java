@@ -0,0 +1,232 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 权限加载熔断器
+ * 按最近window-size次加载统计失败和慢调用（耗时超过slow-call-threshold）的比例，
+ * 达到minimum-calls且比例不低于failure-rate-threshold时打开：open-duration内不再访问数据库，由调用方使用权限快照；
+ * 之后进入半开状态，只放行一次试探加载，成功且不慢则关闭，否则重新打开。
+ * 每次放行返回一个许可，加载结束时凭许可报告结果：状态切换后，切换前放行的加载结果不再计入，
+ * 半开状态只有试探许可的结果决定关闭或重新打开。
+ * 关闭状态下allowRequest只读一次volatile字段并复用同一个许可，统计在短小的同步块中完成。
+ */
+@Slf4j
+@Component
+public class AuthorityCircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /** 正常访问数据库 */
+        CLOSED,
+        /** 暂停访问数据库 */
+        OPEN,
+        /** 放行一次试探加载 */
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    /** 最近的调用结果，true为失败或慢调用 */
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    /**
+     * 加载许可，记录放行时的状态周期，试探许可只在半开状态发放
+     */
+    public static final class Permit {
+
+        private final long epoch;
+        private final boolean trial;
+
+        private Permit(long epoch, boolean trial) {
+            this.epoch = epoch;
+            this.trial = trial;
+        }
+    }
+
+    private volatile State state = State.CLOSED;
+    /** 状态周期，每次状态切换递增 */
+    private long epoch;
+    /** 关闭状态下发放的许可，不处于关闭状态时为null */
+    private volatile Permit closedPermit = new Permit(0, false);
+    private long openedAt;
+    private boolean trialInFlight;
+
+    @Autowired
+    public AuthorityCircuitBreaker(@Value("${authority-breaker.window-size:20}") int windowSize,
+                                   @Value("${authority-breaker.minimum-calls:10}") int minimumCalls,
+                                   @Value("${authority-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                   @Value("${authority-breaker.slow-call-threshold:500ms}") Duration slowCallThreshold,
+                                   @Value("${authority-breaker.open-duration:10s}") Duration openDuration,
+                                   MeterRegistry meterRegistry) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, openDuration, meterRegistry,
+                System::nanoTime);
+    }
+
+    AuthorityCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                            Duration slowCallThreshold, Duration openDuration, MeterRegistry meterRegistry,
+                            LongSupplier clock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("熔断器窗口配置无效：window-size=" + windowSize
+                    + "，minimum-calls=" + minimumCalls);
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+        Gauge.builder("authority.breaker.state", this, breaker -> breaker.state.ordinal())
+                .description("权限加载熔断器状态：0关闭，1打开，2半开")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 是否允许本次加载访问数据库
+     *
+     * @return 加载许可，不允许时为null；调用方随后必须凭许可调用onSuccess、onFailure或onInconclusive之一
+     */
+    public Permit allowRequest() {
+        Permit permit = closedPermit;
+        if (permit != null) {
+            return permit;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                transition(State.HALF_OPEN);
+                log.info("权限加载熔断器半开，放行试探加载");
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return new Permit(epoch, true);
+            }
+            return closedPermit;
+        }
+    }
+
+    /**
+     * 加载成功
+     *
+     * @param permit allowRequest返回的许可
+     * @param nanos 加载耗时（纳秒），超过慢调用阈值时按失败统计
+     */
+    public void onSuccess(Permit permit, long nanos) {
+        record(permit, nanos > slowCallNanos, true);
+    }
+
+    /**
+     * 加载失败
+     *
+     * @param permit allowRequest返回的许可
+     */
+    public void onFailure(Permit permit) {
+        record(permit, true, true);
+    }
+
+    /**
+     * 加载正常结束但不能说明数据库已恢复（如用户不存在）
+     * 慢调用仍按失败统计；否则关闭状态下按成功统计，半开状态下只释放试探名额，由下一次加载继续试探
+     *
+     * @param permit allowRequest返回的许可
+     * @param nanos 加载耗时（纳秒）
+     */
+    public void onInconclusive(Permit permit, long nanos) {
+        record(permit, nanos > slowCallNanos, false);
+    }
+
+    /**
+     * 数据库是否处于不可用状态（打开或半开），此时写接口应快速失败
+     */
+    public boolean isDegraded() {
+        return state != State.CLOSED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 打开状态持续的时长（秒），用于Retry-After响应头
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(openNanos));
+    }
+
+    private synchronized void record(Permit permit, boolean failed, boolean conclusive) {
+        if (permit.epoch != epoch) {
+            // 状态切换前放行的加载，结果反映的是切换前的情况，不影响当前状态
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (!permit.trial) {
+                return;
+            }
+            trialInFlight = false;
+            if (failed) {
+                log.warn("权限加载试探失败，熔断器重新打开");
+                open();
+            } else if (conclusive) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCalls >= minimumCalls && windowFailures > 0 && windowFailures >= failureRateThreshold * windowCalls) {
+            log.warn("权限加载熔断器打开：最近{}次加载中{}次失败或超时", windowCalls, windowFailures);
+            open();
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        log.info("权限加载熔断器关闭，恢复访问数据库");
+        transition(State.CLOSED);
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        epoch++;
+        trialInFlight = false;
+        state = next;
+        closedPermit = next == State.CLOSED ? new Permit(epoch, false) : null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 用户权限快照
+ * 每次从数据库成功加载用户后保存其用户名、密码摘要、状态和权限，数据库不可用时在max-staleness内代替数据库返回。
+ * 用户授权变更时删除该用户的快照，目录（角色权限）变更时清空全部快照。
+ * 每次删除都会推进失效版本，加载前取得版本、保存时版本已变化的快照被丢弃，
+ * 因此在授权变更提交前读取数据库、变更后才保存的加载不会留下旧快照，快照不会比已提交的授权变更更旧。
+ * 超过max-users时随机淘汰一个用户。
+ */
+@Component
+public class AuthoritySnapshotStore {
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /**
+     * 失效版本，任何删除快照的操作都先递增它
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxUsers;
+    private final long maxStalenessNanos;
+    private final LongSupplier clock;
+
+    private final Counter served;
+    private final Counter unavailable;
+
+    @Autowired
+    public AuthoritySnapshotStore(@Value("${authority-breaker.snapshot-max-users:100000}") int maxUsers,
+                                  @Value("${authority-breaker.max-staleness:10m}") Duration maxStaleness,
+                                  MeterRegistry meterRegistry) {
+        this(maxUsers, maxStaleness, meterRegistry, System::nanoTime);
+    }
+
+    AuthoritySnapshotStore(int maxUsers, Duration maxStaleness, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.maxUsers = maxUsers;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.clock = clock;
+        this.served = Counter.builder("authority.snapshot")
+                .description("数据库不可用时按快照认证的次数")
+                .tag("result", "served")
+                .register(meterRegistry);
+        this.unavailable = Counter.builder("authority.snapshot")
+                .description("数据库不可用时按快照认证的次数")
+                .tag("result", "unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 当前失效版本，在访问数据库加载用户之前取得，保存快照时传回
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 保存从数据库加载的用户
+     * 加载期间有快照被删除（失效版本已变化）时不保存，加载读到的可能是变更前的授权
+     *
+     * @param user 加载的用户
+     * @param loadGeneration 加载前取得的失效版本
+     * @return 是否已保存
+     */
+    public boolean put(UserDetails user, long loadGeneration) {
+        Snapshot snapshot = new Snapshot(user.getPassword(), user.isEnabled(), user.getAuthorities(), clock.getAsLong());
+        boolean[] added = new boolean[1];
+        // 版本检查和写入在同一个桶锁内完成，删除总是先递增版本，不会在检查之后、写入之前插入
+        Snapshot stored = snapshots.compute(user.getUsername(), (username, previous) -> {
+            if (generation.get() != loadGeneration) {
+                return previous;
+            }
+            added[0] = previous == null;
+            return snapshot;
+        });
+        if (stored != snapshot) {
+            return false;
+        }
+        if (added[0] && snapshots.size() > maxUsers) {
+            evictOther(user.getUsername());
+        }
+        return true;
+    }
+
+    /**
+     * 按快照返回用户
+     *
+     * @param username 用户名
+     * @param cause 数据库异常，熔断打开未访问数据库时为null
+     * @return 快照构建的用户
+     * @throws AuthorityUnavailableException 没有快照或快照超过max-staleness
+     */
+    public UserDetails getStale(String username, Throwable cause) {
+        Snapshot snapshot = snapshots.get(username);
+        if (snapshot == null || clock.getAsLong() - snapshot.loadedAt > maxStalenessNanos) {
+            unavailable.increment();
+            throw new AuthorityUnavailableException("数据库暂不可用，且没有用户" + username + "的有效权限快照", cause);
+        }
+        served.increment();
+        return new User(username, snapshot.password, snapshot.enabled, true, true, true, snapshot.authorities);
+    }
+
+    /**
+     * 删除用户的快照
+     */
+    public void remove(String username) {
+        generation.incrementAndGet();
+        snapshots.remove(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthorityChanged(UserAuthorityChangedEvent event) {
+        remove(event.getUsername());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private void evictOther(String keep) {
+        Iterator<String> usernames = snapshots.keySet().iterator();
+        while (usernames.hasNext()) {
+            if (!usernames.next().equals(keep)) {
+                usernames.remove();
+                return;
+            }
+        }
+    }
+
+    private record Snapshot(String password, boolean enabled, Collection<? extends GrantedAuthority> authorities,
+                            long loadedAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.infrastructure.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 数据库不可用且没有足够新的权限快照，无法确定用户权限
+ */
+public class AuthorityUnavailableException extends AuthenticationServiceException {
+
+    public AuthorityUnavailableException(String message) {
+        super(message);
+    }
+
+    public AuthorityUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
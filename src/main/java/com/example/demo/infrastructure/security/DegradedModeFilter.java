@@ -0,0 +1,80 @@
+package com.example.demo.infrastructure.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 降级模式过滤器
+ * 权限加载熔断器打开或半开时数据库视为不可用，写接口（POST、PUT、PATCH、DELETE）在认证之前直接返回503，
+ * 不占用数据库连接和请求线程等待；读接口照常进入过滤器链，由权限快照完成认证。
+ * 只读的POST接口（如批量授权决策）可配置为例外。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class DegradedModeFilter extends OncePerRequestFilter {
+
+    private static final String UNAVAILABLE_BODY =
+            "{\"code\":\"503\",\"message\":\"数据库暂不可用，请稍后重试\",\"data\":null}";
+
+    private final AuthorityCircuitBreaker circuitBreaker;
+    private final List<String> readOnlyPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DegradedModeFilter(AuthorityCircuitBreaker circuitBreaker,
+                              @Value("${authority-breaker.read-only-paths:/api/authz/decisions,/api/auth/logout}")
+                              List<String> readOnlyPaths) {
+        this.circuitBreaker = circuitBreaker;
+        this.readOnlyPaths = readOnlyPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (circuitBreaker.isDegraded() && isWrite(request)) {
+            sendUnavailable(response, circuitBreaker.getRetryAfterSeconds());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String readOnlyPath : readOnlyPaths) {
+            if (pathMatcher.match(readOnlyPath, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 返回503和统一响应结构，Retry-After为熔断打开的时长
+     */
+    static void sendUnavailable(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(UNAVAILABLE_BODY);
+    }
+}
@@ -4,53 +4,189 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.demo.infrastructure.monitor.ServerTiming;
+import com.example.demo.infrastructure.monitor.jfr.JwtAuthenticationEvent;
+
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT认证过滤器
+ * 携带令牌的请求按阶段计时（auth.filter，标签stage：parse解析令牌、load加载用户、verify校验令牌、total合计），
+ * 并按认证结果计数（auth.filter.requests，标签result）。计时器在构造时注册，请求中只记录纳秒差值。
+ * 前三个阶段同时计入Server-Timing，超过阈值的认证提交JwtAuthentication JFR事件。
+ * 数据库不可用且没有权限快照时返回503，不以匿名身份继续处理。
+ * 令牌只从Authorization请求头读取；权限变更订阅（浏览器EventSource无法设置请求头）改用StreamTicketStore签发的
+ * 一次性票据，票据只在该订阅地址上被接受。
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+    private static final RequestMatcher STREAM_REQUEST =
+            new AntPathRequestMatcher("/api/users/current/permissions/stream", "GET");
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final AuthorityCircuitBreaker circuitBreaker;
+    private final StreamTicketStore streamTickets;
+
+    private final Timer parseTimer;
+    private final Timer loadTimer;
+    private final Timer verifyTimer;
+    private final Timer totalTimer;
+    private final Counter authenticated;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   AuthorityCircuitBreaker circuitBreaker, StreamTicketStore streamTickets,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.circuitBreaker = circuitBreaker;
+        this.streamTickets = streamTickets;
+        this.parseTimer = stageTimer(meterRegistry, "parse");
+        this.loadTimer = stageTimer(meterRegistry, "load");
+        this.verifyTimer = stageTimer(meterRegistry, "verify");
+        this.totalTimer = stageTimer(meterRegistry, "total");
+        this.authenticated = resultCounter(meterRegistry, "authenticated");
+        this.rejected = resultCounter(meterRegistry, "rejected");
+        this.failed = resultCounter(meterRegistry, "error");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String jwt = parseJwt(request);
+        String ticket = jwt == null && STREAM_REQUEST.matches(request) ? request.getParameter("ticket") : null;
         try {
-            String jwt = parseJwt(request);
             if (jwt != null) {
-                String username = jwtUtil.extractUsername(jwt);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+                authenticate(request, jwt);
+            } else if (StringUtils.hasText(ticket)) {
+                authenticateTicket(request, ticket);
+            }
+        } catch (AuthorityUnavailableException e) {
+            DegradedModeFilter.sendUnavailable(response, circuitBreaker.getRetryAfterSeconds());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, String jwt) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String username = null;
+        String result = null;
+        try {
+            Claims claims = jwtUtil.extractAllClaims(jwt);
+            username = claims.getSubject();
+            long parsed = System.nanoTime();
+            parseTimer.record(parsed - start, TimeUnit.NANOSECONDS);
+            ServerTiming.record(ServerTiming.Stage.AUTH_PARSE, parsed - start);
+
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                long loaded = System.nanoTime();
+                loadTimer.record(loaded - parsed, TimeUnit.NANOSECONDS);
+                ServerTiming.record(ServerTiming.Stage.AUTH_LOAD, loaded - parsed);
+
+                boolean valid = jwtUtil.validateToken(jwt, claims, userDetails);
+                long verified = System.nanoTime();
+                verifyTimer.record(verified - loaded, TimeUnit.NANOSECONDS);
+                ServerTiming.record(ServerTiming.Stage.AUTH_VERIFY, verified - loaded);
+                if (valid) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    authenticated.increment();
+                    result = "authenticated";
+                } else {
+                    rejected.increment();
+                    result = "rejected";
                 }
             }
+        } catch (AuthorityUnavailableException e) {
+            failed.increment();
+            result = "unavailable";
+            logger.warn(e.getMessage());
+            throw e;
         } catch (Exception e) {
+            failed.increment();
+            result = "error";
             logger.error("Cannot set user authentication: {}", e);
+        } finally {
+            totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (result != null) {
+                event.finish(username, result);
+            }
         }
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * 按一次性订阅票据认证，票据无效或用户已禁用时以匿名身份继续，由安全配置拒绝
+     */
+    private void authenticateTicket(HttpServletRequest request, String ticket) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        String username = streamTickets.redeem(ticket);
+        if (username == null) {
+            rejected.increment();
+            return;
+        }
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (!userDetails.isEnabled()) {
+                rejected.increment();
+                return;
+            }
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            authenticated.increment();
+        } catch (AuthorityUnavailableException e) {
+            failed.increment();
+            logger.warn(e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            failed.increment();
+            logger.error("Cannot set user authentication from stream ticket: {}", e);
+        }
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("auth.filter")
+                .description("JWT认证过滤器各阶段耗时")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    private static Counter resultCounter(MeterRegistry registry, String result) {
+        return Counter.builder("auth.filter.requests")
+                .description("携带令牌的请求按认证结果计数")
+                .tag("result", result)
+                .register(registry);
     }
 
     private String parseJwt(HttpServletRequest request) {
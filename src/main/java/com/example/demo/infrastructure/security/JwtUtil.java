@@ -1,6 +1,7 @@
 package com.example.demo.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,6 +19,7 @@ import java.util.function.Function;
 
 /**
  * JWT工具类
+ * 签名密钥和解析器在首次使用时创建并复用（解析器不可变、线程安全），每次新建解析器约分配100KB。
  */
 @Component
 public class JwtUtil {
@@ -31,6 +33,9 @@ public class JwtUtil {
     // 使用ConcurrentHashMap存储已注销的token
     private final Map<String, Date> blacklistedTokens = new ConcurrentHashMap<>();
 
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     /**
      * 从token中提取用户名
      */
@@ -54,24 +59,33 @@ public class JwtUtil {
     }
 
     /**
-     * 从token中提取所有声明
+     * 从token中提取所有声明，同时校验签名
+     * 同一请求需要多个声明时只解析一次
      */
-    private Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims extractAllClaims(String token) {
+        return parser().parseClaimsJws(token).getBody();
     }
 
-    /**
-     * 检查token是否已过期
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private SecretKey signingKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
     }
-    
+
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder()
+                    .setSigningKey(signingKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
     /**
      * 检查token是否在黑名单中
      */
@@ -118,7 +132,7 @@ public class JwtUtil {
      * 创建token
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey();
         
         return Jwts.builder()
                 .setClaims(claims)
@@ -133,12 +147,18 @@ public class JwtUtil {
      * 验证token
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(token, extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * 用已解析的声明验证token，避免重复解析
+     */
+    public boolean validateToken(String token, Claims claims, UserDetails userDetails) {
         // 检查token是否在黑名单中
         if (isTokenBlacklisted(token)) {
             return false;
         }
         
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.demo.infrastructure.security;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationEventPublisher;
+import org.springframework.security.authorization.SpringAuthorizationEventPublisher;
+import org.springframework.security.authorization.method.MethodInvocationResult;
+import org.springframework.security.core.Authentication;
+
+import com.example.demo.infrastructure.monitor.jfr.AuthorizationDecisionEvent;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 授权事件发布器
+ * 请求级授权和@PreAuthorize方法授权的每次决策在开启AuthorizationDecision JFR事件时提交事件，
+ * 应用事件仍交给Spring Security默认的发布器（只发布拒绝事件）。
+ * 由方法安全的基础设施Bean使用，在SecurityConfig中声明为基础设施Bean。
+ */
+public class RecordingAuthorizationEventPublisher implements AuthorizationEventPublisher {
+
+    private final SpringAuthorizationEventPublisher delegate;
+
+    public RecordingAuthorizationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.delegate = new SpringAuthorizationEventPublisher(applicationEventPublisher);
+    }
+
+    @Override
+    public <T> void publishAuthorizationEvent(Supplier<Authentication> authentication, T object,
+                                              AuthorizationDecision decision) {
+        AuthorizationDecisionEvent event = new AuthorizationDecisionEvent();
+        if (event.isEnabled()) {
+            Authentication current = authentication.get();
+            event.setPrincipal(current != null ? current.getName() : null);
+            event.setResource(describe(object));
+            event.setGranted(decision == null || decision.isGranted());
+            event.commit();
+        }
+        delegate.publishAuthorizationEvent(authentication, object, decision);
+    }
+
+    private static String describe(Object object) {
+        if (object instanceof HttpServletRequest request) {
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        if (object instanceof MethodInvocationResult result) {
+            object = result.getMethodInvocation();
+        }
+        if (object instanceof MethodInvocation invocation) {
+            return invocation.getMethod().getDeclaringClass().getSimpleName() + "." + invocation.getMethod().getName();
+        }
+        return String.valueOf(object);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.infrastructure.security;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 权限变更订阅票据
+ * 浏览器EventSource无法设置Authorization请求头，已认证的用户先换取一次性票据，再以查询参数ticket订阅权限变更流，
+ * 令牌本身不出现在URL和访问日志中。票据在ttl内有效，兑换一次后即失效；未兑换的票据超过max-outstanding时清理过期票据，
+ * 仍然超出则拒绝签发。
+ */
+@Component
+public class StreamTicketStore {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxOutstanding;
+    private final LongSupplier clock;
+
+    @Autowired
+    public StreamTicketStore(@Value("${stream-ticket.ttl:30s}") Duration ttl,
+                             @Value("${stream-ticket.max-outstanding:10000}") int maxOutstanding) {
+        this(ttl, maxOutstanding, System::nanoTime);
+    }
+
+    StreamTicketStore(Duration ttl, int maxOutstanding, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxOutstanding = maxOutstanding;
+        this.clock = clock;
+    }
+
+    /**
+     * 为用户签发票据
+     *
+     * @param username 已认证的用户名
+     * @return 票据
+     * @throws IllegalStateException 未兑换的票据过多
+     */
+    public String issue(String username) {
+        long now = clock.getAsLong();
+        if (tickets.size() >= maxOutstanding) {
+            tickets.values().removeIf(ticket -> ticket.isExpired(now));
+            if (tickets.size() >= maxOutstanding) {
+                throw new IllegalStateException("订阅票据过多，请稍后重试");
+            }
+        }
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String value = ENCODER.encodeToString(bytes);
+        tickets.put(value, new Ticket(username, now + ttlNanos));
+        return value;
+    }
+
+    /**
+     * 兑换票据，票据随即失效
+     *
+     * @param value 票据
+     * @return 票据所属用户名，票据不存在或已过期时为null
+     */
+    public String redeem(String value) {
+        Ticket ticket = tickets.remove(value);
+        if (ticket == null || ticket.isExpired(clock.getAsLong())) {
+            return null;
+        }
+        return ticket.username;
+    }
+
+    /**
+     * 票据有效期（秒）
+     */
+    public long getTtlSeconds() {
+        return Duration.ofNanos(ttlNanos).toSeconds();
+    }
+
+    private record Ticket(String username, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -4,13 +4,18 @@ import com.example.demo.domain.model.entity.Permission;
 import com.example.demo.domain.model.entity.Role;
 import com.example.demo.domain.model.entity.User;
 import com.example.demo.domain.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.datasource.RoutingDataSource;
+import com.example.demo.infrastructure.monitor.jfr.UserLoadEvent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -19,19 +24,75 @@ import java.util.List;
 
 /**
  * 用户详情服务实现
+ * 加载经过权限加载熔断器：数据库失败或变慢达到阈值后熔断打开，期间不访问数据库，按权限快照返回用户；
+ * 单次加载失败时同样回退到快照。没有足够新的快照时抛出AuthorityUnavailableException。
+ * 加载使用auth连接池，不受管理端操作占满连接的影响；连接池读取从库时，被加载的用户作为路由主体，其授权刚变更时仍从主库加载。
+ * 超过阈值的加载提交UserLoad JFR事件
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
+@DataSourceBulkhead(Bulkhead.AUTH)
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AuthorityCircuitBreaker circuitBreaker;
+    private final AuthoritySnapshotStore snapshotStore;
 
+    public UserDetailsServiceImpl(UserRepository userRepository, AuthorityCircuitBreaker circuitBreaker,
+                                  AuthoritySnapshotStore snapshotStore) {
+        this.userRepository = userRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.snapshotStore = snapshotStore;
+    }
+
+    /**
+     * 不开启事务，熔断打开时不占用数据库连接；同一次加载的查询仍复用同一个连接
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
+        AuthorityCircuitBreaker.Permit permit = circuitBreaker.allowRequest();
+        if (permit == null) {
+            return snapshotStore.getStale(username, null);
+        }
+        long start = System.nanoTime();
+        long snapshotGeneration = snapshotStore.currentGeneration();
+        UserDetails user;
+        RoutingDataSource.bindSubject(username);
+        try {
+            user = load(username);
+        } catch (UsernameNotFoundException e) {
+            // 不存在的用户不能证明数据库已恢复，半开状态下不据此关闭熔断
+            circuitBreaker.onInconclusive(permit, System.nanoTime() - start);
+            snapshotStore.remove(username);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(permit);
+            log.warn("加载用户失败，尝试使用权限快照: username={}", username, e);
+            return snapshotStore.getStale(username, e);
+        } catch (Throwable t) {
+            // Error等也必须归还许可，否则半开状态的试探许可无法释放
+            circuitBreaker.onFailure(permit);
+            throw t;
+        } finally {
+            RoutingDataSource.clearSubject();
+        }
+        circuitBreaker.onSuccess(permit, System.nanoTime() - start);
+        snapshotStore.put(user, snapshotGeneration);
+        return user;
+    }
 
+    private UserDetails load(String username) {
+        UserLoadEvent event = new UserLoadEvent();
+        event.begin();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            event.finish(username, false, 0);
+            throw new UsernameNotFoundException("用户不存在: " + username);
+        }
+
+        Collection<? extends GrantedAuthority> authorities = getAuthorities(user.getRoles());
+        event.finish(username, true, authorities.size());
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
@@ -39,12 +100,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 true,
                 true,
                 true,
-                getAuthorities(user.getRoles())
+                authorities
         );
     }
 
     private Collection<? extends GrantedAuthority> getAuthorities(Collection<Role> roles) {
-        List<GrantedAuthority> authorities = new ArrayList<>();
+        int size = roles.size();
+        for (Role role : roles) {
+            size += role.getPermissions().size();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(size);
         
         for (Role role : roles) {
             authorities.add(new SimpleGrantedAuthority(role.getCode()));
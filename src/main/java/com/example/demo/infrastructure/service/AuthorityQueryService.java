@@ -0,0 +1,72 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.infrastructure.mapper.EffectivePermissionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 主体权限查询服务
+ * 一次查询加载一批主体的有效权限和角色，禁用用户不返回任何权限。
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthorityQueryService {
+
+    private static final String KIND_PERMISSION = "P";
+
+    private final EffectivePermissionMapper effectivePermissionMapper;
+
+    /**
+     * 批量加载主体权限
+     *
+     * @param usernames 用户名集合
+     * @return 用户名到权限的映射，不存在或被禁用的用户不在结果中
+     */
+    public Map<String, SubjectAuthority> loadAuthorities(Collection<String> usernames) {
+        Map<String, SubjectAuthority> authorities = new HashMap<>();
+        if (usernames.isEmpty()) {
+            return authorities;
+        }
+        List<Map<String, String>> rows = effectivePermissionMapper.selectAuthoritiesByUsernames(usernames);
+        for (Map<String, String> row : rows) {
+            SubjectAuthority authority = authorities.computeIfAbsent(row.get("subject"), key -> new SubjectAuthority());
+            if (KIND_PERMISSION.equals(row.get("kind"))) {
+                authority.permissions.add(row.get("code"));
+            } else {
+                authority.roles.add(row.get("code"));
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * 主体拥有的权限编码和角色编码
+     */
+    public static final class SubjectAuthority {
+        private final Set<String> permissions = new HashSet<>();
+        private final Set<String> roles = new HashSet<>();
+
+        public boolean hasPermission(String permissionCode) {
+            return permissions.contains(permissionCode);
+        }
+
+        public boolean hasRole(String roleCode) {
+            return roles.contains(roleCode);
+        }
+
+        public Set<String> getPermissions() {
+            return permissions;
+        }
+
+        public Set<String> getRoles() {
+            return roles;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 授权变更订阅源
+ * 每次授权相关变更分配一个递增版本并保留最近的若干条，客户端以长轮询方式订阅：
+ * 有新变更时立即返回，否则挂起到超时。目录变更影响所有主体，通知客户端清空缓存；
+ * 订阅版本早于保留窗口时同样要求清空。
+ */
+@Slf4j
+@Service
+public class AuthorizationChangeFeed {
+
+    private final int capacity;
+    private final long waitMillis;
+
+    /**
+     * 最近的变更，subject为null表示目录变更
+     */
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private long version;
+
+    public AuthorizationChangeFeed(@Value("${authz.change-feed.capacity:1024}") int capacity,
+                                   @Value("${authz.change-feed.wait-ms:25000}") long waitMillis) {
+        this.capacity = capacity;
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * 获取当前变更版本
+     *
+     * @return 版本
+     */
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    /**
+     * 订阅指定版本之后的变更
+     *
+     * @param since 客户端已处理的版本
+     * @return 有新变更时立即完成，否则在新变更到达或超时时完成（超时返回空变更）
+     */
+    public CompletableFuture<AuthorizationChangesDTO> changesAfter(long since) {
+        CompletableFuture<AuthorizationChangesDTO> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(since, future);
+        synchronized (this) {
+            AuthorizationChangesDTO changed = collect(since);
+            if (changed != null) {
+                future.complete(changed);
+                return future;
+            }
+            waiters.add(waiter);
+        }
+        future.completeOnTimeout(new AuthorizationChangesDTO(since, false, Collections.emptyList()),
+                waitMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> waiters.remove(waiter));
+        return future;
+    }
+
+    /**
+     * 目录变更后通知所有订阅者清空缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        append(null);
+    }
+
+    /**
+     * 用户授权变更后通知订阅者失效该用户
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthorityChanged(UserAuthorityChangedEvent event) {
+        append(event.getUsername());
+    }
+
+    private void append(String subject) {
+        List<Waiter> ready;
+        synchronized (this) {
+            version++;
+            changes.addLast(new Change(version, subject));
+            while (changes.size() > capacity) {
+                changes.removeFirst();
+            }
+            ready = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        log.debug("授权变更: version={}, subject={}", version, subject);
+        for (Waiter waiter : ready) {
+            AuthorizationChangesDTO changed;
+            synchronized (this) {
+                changed = collect(waiter.since);
+            }
+            waiter.future.complete(changed);
+        }
+    }
+
+    /**
+     * 汇总指定版本之后的变更，没有变更时返回null，调用方需持有锁
+     */
+    private AuthorizationChangesDTO collect(long since) {
+        if (since == version) {
+            return null;
+        }
+        if (since > version) {
+            // 服务端重启后版本从头计数，客户端持有的版本已失效
+            return new AuthorizationChangesDTO(version, true, Collections.emptyList());
+        }
+        Change oldest = changes.peekFirst();
+        if (oldest == null || oldest.version > since + 1) {
+            // 订阅版本早于保留窗口，无法给出精确的增量
+            return new AuthorizationChangesDTO(version, true, Collections.emptyList());
+        }
+        Set<String> subjects = new LinkedHashSet<>();
+        for (Change change : changes) {
+            if (change.version > since) {
+                if (change.subject == null) {
+                    return new AuthorizationChangesDTO(version, true, Collections.emptyList());
+                }
+                subjects.add(change.subject);
+            }
+        }
+        return new AuthorizationChangesDTO(version, false, new ArrayList<>(subjects));
+    }
+
+    private static final class Change {
+        private final long version;
+        private final String subject;
+
+        private Change(long version, String subject) {
+            this.version = version;
+            this.subject = subject;
+        }
+    }
+
+    private static final class Waiter {
+        private final long since;
+        private final CompletableFuture<AuthorizationChangesDTO> future;
+
+        private Waiter(long since, CompletableFuture<AuthorizationChangesDTO> future) {
+            this.since = since;
+            this.future = future;
+        }
+    }
+}
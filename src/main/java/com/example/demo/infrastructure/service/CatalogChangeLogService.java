@@ -0,0 +1,180 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.infrastructure.mapper.CatalogChangeLogMapper;
+import com.example.demo.infrastructure.persistence.entity.CatalogChangeLogDO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 权限目录变更日志服务
+ * 角色、权限及角色权限关联变更时由仓储在同一事务内调用本服务记录变更对象的ID。
+ * 同一事务内的变更共享一个目录版本，版本行锁持有到事务提交，已提交的版本号因此连续可见，
+ * 客户端按版本增量同步时不会漏掉并发提交的变更。
+ */
+@Slf4j
+@Service
+public class CatalogChangeLogService {
+
+    /**
+     * 变更操作
+     */
+    public enum Operation {
+        /** 新增或修改 */
+        UPSERT,
+        /** 删除 */
+        DELETE
+    }
+
+    private static final String VERSION_RESOURCE_KEY = CatalogChangeLogService.class.getName() + ".VERSION";
+
+    private final CatalogChangeLogMapper catalogChangeLogMapper;
+    private final int retentionDays;
+    private final int pruneBatchSize;
+
+    public CatalogChangeLogService(CatalogChangeLogMapper catalogChangeLogMapper,
+                                   @Value("${catalog.change-log.retention-days:30}") int retentionDays,
+                                   @Value("${catalog.change-log.prune-batch-size:5000}") int pruneBatchSize) {
+        this.catalogChangeLogMapper = catalogChangeLogMapper;
+        this.retentionDays = retentionDays;
+        this.pruneBatchSize = pruneBatchSize;
+    }
+
+    /**
+     * 记录权限变更
+     *
+     * @param permissionId 权限ID
+     * @param operation 操作
+     */
+    public void recordPermission(Long permissionId, Operation operation) {
+        record(List.of(entry(CatalogChangedEvent.Type.PERMISSION, permissionId, null, operation)));
+    }
+
+    /**
+     * 记录角色变更
+     *
+     * @param roleId 角色ID
+     * @param operation 操作
+     */
+    public void recordRole(Long roleId, Operation operation) {
+        record(List.of(entry(CatalogChangedEvent.Type.ROLE, roleId, null, operation)));
+    }
+
+    /**
+     * 记录角色权限关联变更
+     *
+     * @param roleId 角色ID
+     * @param permissionIds 权限ID
+     * @param operation 操作
+     */
+    public void recordRolePermissions(Long roleId, Collection<Long> permissionIds, Operation operation) {
+        List<CatalogChangeLogDO> entries = new ArrayList<>(permissionIds.size());
+        for (Long permissionId : permissionIds) {
+            entries.add(entry(CatalogChangedEvent.Type.ROLE_PERMISSION, roleId, permissionId, operation));
+        }
+        record(entries);
+    }
+
+    /**
+     * 记录权限的角色关联变更
+     *
+     * @param permissionId 权限ID
+     * @param roleIds 角色ID
+     * @param operation 操作
+     */
+    public void recordPermissionRoles(Long permissionId, Collection<Long> roleIds, Operation operation) {
+        List<CatalogChangeLogDO> entries = new ArrayList<>(roleIds.size());
+        for (Long roleId : roleIds) {
+            entries.add(entry(CatalogChangedEvent.Type.ROLE_PERMISSION, roleId, permissionId, operation));
+        }
+        record(entries);
+    }
+
+    /**
+     * 每天清理超出保留期的变更日志，并提高可增量同步的最小版本
+     */
+    @Scheduled(cron = "${catalog.change-log.prune-cron:0 20 0 * * ?}")
+    public void pruneExpired() {
+        try {
+            prune(LocalDateTime.now().minusDays(retentionDays));
+        } catch (Exception e) {
+            log.warn("权限目录变更日志清理失败", e);
+        }
+    }
+
+    /**
+     * 清理早于指定时间的变更日志
+     * 先提高最小版本再删除，清理过程中发起同步的客户端会直接走全量
+     *
+     * @param before 截止时间（不包含）
+     * @return 删除的日志条数
+     */
+    int prune(LocalDateTime before) {
+        Long version = catalogChangeLogMapper.selectMaxVersionBefore(before);
+        if (version == null) {
+            return 0;
+        }
+        catalogChangeLogMapper.raiseMinVersion(version);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = catalogChangeLogMapper.deleteUpToVersion(version, pruneBatchSize);
+            total += deleted;
+        } while (deleted >= pruneBatchSize);
+        log.info("清理权限目录变更日志: minVersion={}, 删除={}", version, total);
+        return total;
+    }
+
+    private void record(List<CatalogChangeLogDO> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long version = currentVersion();
+        entries.forEach(entry -> entry.setVersion(version));
+        catalogChangeLogMapper.batchInsert(entries);
+    }
+
+    /**
+     * 获取当前事务的目录版本，事务内首次调用时递增
+     */
+    private long currentVersion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return nextVersion();
+        }
+        Long version = (Long) TransactionSynchronizationManager.getResource(VERSION_RESOURCE_KEY);
+        if (version == null) {
+            version = nextVersion();
+            TransactionSynchronizationManager.bindResource(VERSION_RESOURCE_KEY, version);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VERSION_RESOURCE_KEY);
+                }
+            });
+        }
+        return version;
+    }
+
+    private long nextVersion() {
+        catalogChangeLogMapper.incrementVersion();
+        return catalogChangeLogMapper.selectIncrementedVersion();
+    }
+
+    private CatalogChangeLogDO entry(CatalogChangedEvent.Type type, Long entityId, Long relatedId, Operation operation) {
+        CatalogChangeLogDO entry = new CatalogChangeLogDO();
+        entry.setEntityType(type.name());
+        entry.setEntityId(entityId);
+        entry.setRelatedId(relatedId);
+        entry.setOperation(operation.name());
+        return entry;
+    }
+}
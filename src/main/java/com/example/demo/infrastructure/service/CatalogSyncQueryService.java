@@ -0,0 +1,156 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.CatalogChangesDTO;
+import com.example.demo.application.dto.PermissionDTO;
+import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.dto.RolePermissionDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.infrastructure.convert.ReadModelConvert;
+import com.example.demo.infrastructure.mapper.CatalogChangeLogMapper;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.CatalogChangeLogDO;
+import com.example.demo.infrastructure.persistence.entity.CatalogVersionDO;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 权限目录同步查询服务
+ * 按变更日志找出since之后变化过的对象，再按ID读取其当前数据：存在即为新增或修改，不存在即为删除。
+ * 同一对象多次变更只下发一次。since早于保留的日志或变更条数过多时退化为全量快照。
+ * 同步结果均为幂等覆盖，重复应用同一版本区间不会破坏客户端数据。
+ */
+@Slf4j
+@Service
+public class CatalogSyncQueryService {
+
+    private final CatalogChangeLogMapper catalogChangeLogMapper;
+    private final PermissionMapper permissionMapper;
+    private final RoleMapper roleMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final ReadModelConvert readModelConvert;
+    private final int maxDeltaEntries;
+
+    public CatalogSyncQueryService(CatalogChangeLogMapper catalogChangeLogMapper,
+                                   PermissionMapper permissionMapper,
+                                   RoleMapper roleMapper,
+                                   RolePermissionMapper rolePermissionMapper,
+                                   ReadModelConvert readModelConvert,
+                                   @Value("${catalog.change-log.max-delta-entries:5000}") int maxDeltaEntries) {
+        this.catalogChangeLogMapper = catalogChangeLogMapper;
+        this.permissionMapper = permissionMapper;
+        this.roleMapper = roleMapper;
+        this.rolePermissionMapper = rolePermissionMapper;
+        this.readModelConvert = readModelConvert;
+        this.maxDeltaEntries = maxDeltaEntries;
+    }
+
+    /**
+     * 获取since之后的目录变更
+     *
+     * @param since 客户端已同步的版本，0表示从未同步
+     * @return 增量变更或全量快照
+     */
+    @Transactional(readOnly = true)
+    public CatalogChangesDTO getChanges(long since) {
+        CatalogVersionDO current = catalogChangeLogMapper.selectVersion();
+        long version = current.getVersion();
+        if (since <= 0 || since < current.getMinVersion() || since > version) {
+            log.debug("权限目录全量同步: since={}, version={}, minVersion={}", since, version, current.getMinVersion());
+            return snapshot(version);
+        }
+
+        CatalogChangesDTO changes = new CatalogChangesDTO();
+        changes.setVersion(version);
+        changes.setFull(false);
+        if (since == version) {
+            return changes;
+        }
+
+        List<CatalogChangeLogDO> logs = catalogChangeLogMapper.selectBetween(since, version, maxDeltaEntries + 1);
+        if (logs.size() > maxDeltaEntries) {
+            log.debug("权限目录变更超过{}条，改为全量同步: since={}, version={}", maxDeltaEntries, since, version);
+            return snapshot(version);
+        }
+
+        Set<Long> permissionIds = new LinkedHashSet<>();
+        Set<Long> roleIds = new LinkedHashSet<>();
+        Set<RolePermissionDO> links = new LinkedHashSet<>();
+        for (CatalogChangeLogDO entry : logs) {
+            switch (CatalogChangedEvent.Type.valueOf(entry.getEntityType())) {
+                case PERMISSION -> permissionIds.add(entry.getEntityId());
+                case ROLE -> roleIds.add(entry.getEntityId());
+                case ROLE_PERMISSION -> links.add(new RolePermissionDO(entry.getEntityId(), entry.getRelatedId()));
+            }
+        }
+
+        if (!permissionIds.isEmpty()) {
+            Set<Long> remaining = new LinkedHashSet<>(permissionIds);
+            for (PermissionDO permissionDO : permissionMapper.selectByIds(permissionIds)) {
+                remaining.remove(permissionDO.getId());
+                changes.getPermissions().add(toPermissionDTO(permissionDO));
+            }
+            changes.getDeletedPermissionIds().addAll(remaining);
+        }
+
+        if (!roleIds.isEmpty()) {
+            Set<Long> remaining = new LinkedHashSet<>(roleIds);
+            for (RoleDO roleDO : roleMapper.selectByIds(roleIds)) {
+                remaining.remove(roleDO.getId());
+                changes.getRoles().add(toRoleDTO(roleDO));
+            }
+            changes.getDeletedRoleIds().addAll(remaining);
+        }
+
+        if (!links.isEmpty()) {
+            Set<Long> linkRoleIds = new HashSet<>();
+            links.forEach(link -> linkRoleIds.add(link.getRoleId()));
+            Set<RolePermissionDO> existing = new HashSet<>(rolePermissionMapper.selectByRoleIds(linkRoleIds));
+            for (RolePermissionDO link : links) {
+                RolePermissionDTO dto = new RolePermissionDTO(link.getRoleId(), link.getPermissionId());
+                if (existing.contains(link)) {
+                    changes.getRolePermissions().add(dto);
+                } else {
+                    changes.getDeletedRolePermissions().add(dto);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private CatalogChangesDTO snapshot(long version) {
+        CatalogChangesDTO snapshot = new CatalogChangesDTO();
+        snapshot.setVersion(version);
+        snapshot.setFull(true);
+        for (PermissionDO permissionDO : permissionMapper.selectList(null)) {
+            snapshot.getPermissions().add(toPermissionDTO(permissionDO));
+        }
+        for (RoleDO roleDO : roleMapper.selectList(null)) {
+            snapshot.getRoles().add(toRoleDTO(roleDO));
+        }
+        for (RolePermissionDO link : rolePermissionMapper.selectAll()) {
+            snapshot.getRolePermissions().add(new RolePermissionDTO(link.getRoleId(), link.getPermissionId()));
+        }
+        return snapshot;
+    }
+
+    private PermissionDTO toPermissionDTO(PermissionDO permissionDO) {
+        return readModelConvert.toPermissionDto(permissionDO);
+    }
+
+    private RoleDTO toRoleDTO(RoleDO roleDO) {
+        // 关联关系通过rolePermissions下发，读模型映射不填充permissions
+        return readModelConvert.toRoleDto(roleDO);
+    }
+}
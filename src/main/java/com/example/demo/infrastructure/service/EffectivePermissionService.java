@@ -0,0 +1,218 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.EffectivePermissionRebuildDTO;
+import com.example.demo.infrastructure.datasource.Bulkhead;
+import com.example.demo.infrastructure.datasource.DataSourceBulkhead;
+import com.example.demo.infrastructure.datasource.RoutingDataSource;
+import com.example.demo.infrastructure.mapper.EffectivePermissionMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 用户有效权限维护服务
+ * user_effective_permission以引用计数记录每个用户的每项权限由几个启用角色授予，
+ * 关联关系或状态变更时由仓储在同一事务内调用本服务增量维护，撤销两个授权角色中的一个不会丢失权限。
+ * 权限检查和"谁拥有某权限"查询因此都是单次索引查找。
+ */
+@Slf4j
+@Service
+public class EffectivePermissionService {
+
+    private final EffectivePermissionMapper effectivePermissionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public EffectivePermissionService(EffectivePermissionMapper effectivePermissionMapper,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${effective-permission.rebuild-chunk-size:5000}") int chunkSize,
+                                      @Value("${effective-permission.rebuild-parallelism:4}") int parallelism) {
+        this.effectivePermissionMapper = effectivePermissionMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 用户新增角色
+     *
+     * @param userId 用户ID
+     * @param roleIds 新增的角色ID
+     */
+    public void grantUserRoles(Long userId, Collection<Long> roleIds) {
+        if (!roleIds.isEmpty()) {
+            effectivePermissionMapper.incrementForUserRoles(userId, new ArrayList<>(roleIds));
+        }
+    }
+
+    /**
+     * 用户移除角色，与删除关联的先后顺序无关
+     *
+     * @param userId 用户ID
+     * @param roleIds 移除的角色ID
+     */
+    public void revokeUserRoles(Long userId, Collection<Long> roleIds) {
+        if (!roleIds.isEmpty()) {
+            effectivePermissionMapper.decrementForUserRoles(userId, new ArrayList<>(roleIds));
+            effectivePermissionMapper.deleteExhaustedByUserId(userId);
+        }
+    }
+
+    /**
+     * 启用角色新增权限，需在插入关联后调用
+     *
+     * @param roleId 角色ID
+     * @param permissionIds 新增的权限ID
+     */
+    public void grantRolePermissions(Long roleId, Collection<Long> permissionIds) {
+        if (!permissionIds.isEmpty()) {
+            effectivePermissionMapper.incrementForRolePermissions(roleId, new ArrayList<>(permissionIds));
+        }
+    }
+
+    /**
+     * 启用角色移除权限
+     *
+     * @param roleId 角色ID
+     * @param permissionIds 移除的权限ID
+     */
+    public void revokeRolePermissions(Long roleId, Collection<Long> permissionIds) {
+        if (!permissionIds.isEmpty()) {
+            List<Long> ids = new ArrayList<>(permissionIds);
+            effectivePermissionMapper.decrementForRolePermissions(roleId, ids);
+            effectivePermissionMapper.deleteExhaustedByPermissionIds(ids);
+        }
+    }
+
+    /**
+     * 角色启用，需在角色权限关联写入后调用
+     *
+     * @param roleId 角色ID
+     */
+    public void enableRole(Long roleId) {
+        effectivePermissionMapper.incrementForRole(roleId);
+    }
+
+    /**
+     * 角色禁用或删除，需在删除角色权限关联前调用
+     *
+     * @param roleId 角色ID
+     */
+    public void disableRole(Long roleId) {
+        effectivePermissionMapper.decrementForRole(roleId);
+        effectivePermissionMapper.deleteExhaustedByRoleId(roleId);
+    }
+
+    /**
+     * 权限启用
+     *
+     * @param permissionId 权限ID
+     */
+    public void enablePermission(Long permissionId) {
+        effectivePermissionMapper.deleteByPermissionId(permissionId);
+        effectivePermissionMapper.insertForPermission(permissionId);
+    }
+
+    /**
+     * 权限禁用或删除
+     *
+     * @param permissionId 权限ID
+     */
+    public void disablePermission(Long permissionId) {
+        effectivePermissionMapper.deleteByPermissionId(permissionId);
+    }
+
+    /**
+     * 用户删除
+     *
+     * @param userId 用户ID
+     */
+    public void removeUser(Long userId) {
+        effectivePermissionMapper.deleteByUserId(userId);
+    }
+
+    /**
+     * 根据关联关系全量重建有效权限
+     * 按用户ID区间分片并行执行，每个分片在独立事务中先删除再重新计算，单个分片的锁范围和undo量有界。
+     * 使用admin连接池，并行度受admin连接池大小限制。
+     *
+     * @return 重建结果
+     */
+    @DataSourceBulkhead(Bulkhead.ADMIN)
+    public EffectivePermissionRebuildDTO rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("有效权限重建正在进行中");
+        }
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private EffectivePermissionRebuildDTO doRebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, Long> bounds = effectivePermissionMapper.selectUserIdBounds();
+        Long minId = bounds == null ? null : bounds.get("minId");
+        Long maxId = bounds == null ? null : bounds.get("maxId");
+        if (minId == null || maxId == null) {
+            return new EffectivePermissionRebuildDTO(0, 0L, System.currentTimeMillis() - start);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "effective-permission-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long chunkFrom = from;
+                long chunkTo = from + chunkSize;
+                futures.add(executor.submit(() -> rebuildChunk(chunkFrom, chunkTo)));
+            }
+            long rows = 0;
+            for (Future<Integer> future : futures) {
+                rows += future.get();
+            }
+            long costTime = System.currentTimeMillis() - start;
+            log.info("有效权限重建完成: chunks={}, rows={}, costTime={}ms", futures.size(), rows, costTime);
+            return new EffectivePermissionRebuildDTO(futures.size(), rows, costTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("有效权限重建被中断", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("有效权限重建失败", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int rebuildChunk(long fromUserId, long toUserId) {
+        // 分片在工作线程上执行，需要显式指定隔离舱
+        RoutingDataSource.bindBulkhead(Bulkhead.ADMIN);
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                effectivePermissionMapper.deleteByUserIdRange(fromUserId, toUserId);
+                return effectivePermissionMapper.insertForUserIdRange(fromUserId, toUserId);
+            });
+            return rows == null ? 0 : rows;
+        } finally {
+            RoutingDataSource.bindBulkhead(null);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.MenuDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.monitor.CacheMetrics;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 菜单查询服务
+ * 完整菜单树只在目录变更后构建一次，用户可见菜单树由完整树按权限裁剪得到，
+ * 并按角色组合缓存，拥有相同角色的用户共享同一棵树。
+ * 缓存中保存不可变的菜单节点，每次查询转换为新的MenuDTO返回，调用方修改返回结果不会影响缓存。
+ * 角色组合菜单树在缓存之外加载，加载完成且目录未变更时才放入缓存，慢查询不会阻塞其他角色组合。
+ */
+@Slf4j
+@Service
+public class MenuQueryService {
+
+    private final PermissionMapper permissionMapper;
+    private final RoleMapper roleMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final CacheMetrics catalogMetrics;
+    private final CacheMetrics roleTreeMetrics;
+
+    /**
+     * 目录版本，每次目录变更递增，用于丢弃变更前构建的快照
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile MenuCatalog catalog;
+
+    public MenuQueryService(PermissionMapper permissionMapper,
+                            RoleMapper roleMapper,
+                            RolePermissionMapper rolePermissionMapper,
+                            MeterRegistry meterRegistry) {
+        this.permissionMapper = permissionMapper;
+        this.roleMapper = roleMapper;
+        this.rolePermissionMapper = rolePermissionMapper;
+        this.catalogMetrics = new CacheMetrics(meterRegistry, "menu.catalog");
+        this.roleTreeMetrics = new CacheMetrics(meterRegistry, "menu.role-tree");
+    }
+
+    /**
+     * 获取完整菜单树
+     *
+     * @return 菜单树
+     */
+    public List<MenuDTO> getMenuTree() {
+        return toMenus(currentCatalog().tree);
+    }
+
+    /**
+     * 根据ID获取菜单
+     *
+     * @param id 菜单ID
+     * @return 菜单（包含子菜单）
+     */
+    public Optional<MenuDTO> getMenu(Long id) {
+        return Optional.ofNullable(currentCatalog().index.get(id)).map(this::toMenu);
+    }
+
+    /**
+     * 获取用户可访问的菜单树
+     *
+     * @param username 用户名
+     * @return 裁剪后的菜单树
+     */
+    public List<MenuDTO> getUserMenuTree(String username) {
+        List<Long> roleIds = roleMapper.findEnabledRoleIdsByUsername(username);
+        if (roleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return getRoleMenuTree(roleIds);
+    }
+
+    /**
+     * 获取角色组合可访问的菜单树
+     *
+     * @param roleIds 角色ID列表（升序）
+     * @return 裁剪后的菜单树
+     */
+    public List<MenuDTO> getRoleMenuTree(List<Long> roleIds) {
+        MenuCatalog current = currentCatalog();
+        String roleKey = roleIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        List<MenuNode> cached = current.roleTrees.get(roleKey);
+        if (cached != null) {
+            roleTreeMetrics.hit();
+            return toMenus(cached);
+        }
+        roleTreeMetrics.miss();
+        log.debug("构建角色组合菜单树: roleIds={}", roleKey);
+        long start = System.nanoTime();
+        Set<Long> permissionIds = new HashSet<>(rolePermissionMapper.findPermissionIdsByRoleIds(roleIds));
+        List<MenuNode> tree = prune(current.tree, permissionIds);
+        roleTreeMetrics.recordLoad(start);
+        if (current.generation == generation.get()) {
+            // 并发构建同一角色组合时保留先放入的结果
+            List<MenuNode> existing = current.roleTrees.putIfAbsent(roleKey, tree);
+            if (existing != null) {
+                tree = existing;
+            }
+        }
+        return toMenus(tree);
+    }
+
+    /**
+     * 目录变更后失效菜单缓存，下次访问时重新构建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("权限目录变更，失效菜单缓存: type={}", event.getType());
+        generation.incrementAndGet();
+        catalog = null;
+    }
+
+    private MenuCatalog currentCatalog() {
+        long currentGeneration = generation.get();
+        MenuCatalog current = catalog;
+        if (current != null && current.generation == currentGeneration) {
+            catalogMetrics.hit();
+            return current;
+        }
+        catalogMetrics.miss();
+        synchronized (this) {
+            current = catalog;
+            if (current == null || current.generation != generation.get()) {
+                long start = System.nanoTime();
+                current = loadCatalog(generation.get());
+                catalog = current;
+                catalogMetrics.recordLoad(start);
+            }
+            return current;
+        }
+    }
+
+    private MenuCatalog loadCatalog(long catalogGeneration) {
+        log.debug("构建完整菜单树");
+        List<PermissionDO> menus = permissionMapper.selectMenus();
+
+        Map<Long, MenuDTO> index = new LinkedHashMap<>();
+        for (PermissionDO menu : menus) {
+            index.put(menu.getId(), toBuilder(menu));
+        }
+
+        List<MenuDTO> roots = new ArrayList<>();
+        List<MenuDTO> orphans = new ArrayList<>();
+        for (MenuDTO menu : index.values()) {
+            if (menu.getParentId() == null) {
+                roots.add(menu);
+                continue;
+            }
+            MenuDTO parent = index.get(menu.getParentId());
+            if (parent == null) {
+                orphans.add(menu);
+            } else {
+                parent.getChildren().add(menu);
+            }
+        }
+        // 上级菜单不存在（已删除、已禁用或不是菜单类型）的菜单及其子菜单不可达，从目录中剔除
+        for (MenuDTO orphan : orphans) {
+            log.warn("菜单的上级菜单不存在，已忽略: id={}, parentId={}", orphan.getId(), orphan.getParentId());
+            removeSubtree(orphan, index);
+        }
+        Map<Long, MenuNode> nodes = new HashMap<>();
+        List<MenuNode> tree = freeze(roots, nodes);
+        return new MenuCatalog(catalogGeneration, tree, Collections.unmodifiableMap(nodes));
+    }
+
+    /**
+     * 将构建中的菜单转换为不可变节点，并登记到ID索引
+     */
+    private List<MenuNode> freeze(List<MenuDTO> menus, Map<Long, MenuNode> index) {
+        List<MenuNode> nodes = new ArrayList<>(menus.size());
+        for (MenuDTO menu : menus) {
+            MenuNode node = new MenuNode(menu.getId(), menu.getParentId(), menu.getName(), menu.getCode(),
+                    menu.getPath(), menu.getIcon(), menu.getSort(), freeze(menu.getChildren(), index));
+            index.put(node.id(), node);
+            nodes.add(node);
+        }
+        return List.copyOf(nodes);
+    }
+
+    private void removeSubtree(MenuDTO menu, Map<Long, MenuDTO> index) {
+        index.remove(menu.getId());
+        for (MenuDTO child : menu.getChildren()) {
+            removeSubtree(child, index);
+        }
+    }
+
+    /**
+     * 按权限裁剪菜单树：拥有权限的菜单保留，没有权限但存在可见子菜单的目录也保留
+     */
+    private List<MenuNode> prune(List<MenuNode> menus, Set<Long> permissionIds) {
+        List<MenuNode> visible = new ArrayList<>();
+        for (MenuNode menu : menus) {
+            List<MenuNode> children = prune(menu.children(), permissionIds);
+            if (permissionIds.contains(menu.id()) || !children.isEmpty()) {
+                visible.add(menu.withChildren(children));
+            }
+        }
+        return List.copyOf(visible);
+    }
+
+    private List<MenuDTO> toMenus(List<MenuNode> nodes) {
+        List<MenuDTO> menus = new ArrayList<>(nodes.size());
+        for (MenuNode node : nodes) {
+            menus.add(toMenu(node));
+        }
+        return menus;
+    }
+
+    private MenuDTO toMenu(MenuNode node) {
+        MenuDTO menu = new MenuDTO();
+        menu.setId(node.id());
+        menu.setParentId(node.parentId());
+        menu.setName(node.name());
+        menu.setCode(node.code());
+        menu.setPath(node.path());
+        menu.setIcon(node.icon());
+        menu.setSort(node.sort());
+        menu.setChildren(toMenus(node.children()));
+        return menu;
+    }
+
+    private MenuDTO toBuilder(PermissionDO permissionDO) {
+        MenuDTO menu = new MenuDTO();
+        menu.setId(permissionDO.getId());
+        menu.setParentId(permissionDO.getParentId());
+        menu.setName(permissionDO.getName());
+        menu.setCode(permissionDO.getCode());
+        menu.setPath(permissionDO.getPath());
+        menu.setIcon(permissionDO.getIcon());
+        menu.setSort(permissionDO.getSort());
+        menu.setChildren(new ArrayList<>());
+        return menu;
+    }
+
+    /**
+     * 不可变的菜单节点，子节点列表同样不可变
+     */
+    private record MenuNode(Long id, Long parentId, String name, String code, String path, String icon,
+                            Integer sort, List<MenuNode> children) {
+
+        private MenuNode withChildren(List<MenuNode> children) {
+            return new MenuNode(id, parentId, name, code, path, icon, sort, children);
+        }
+    }
+
+    /**
+     * 菜单目录快照：完整菜单树、ID索引以及按角色组合缓存的裁剪树
+     */
+    private static final class MenuCatalog {
+        private final long generation;
+        private final List<MenuNode> tree;
+        private final Map<Long, MenuNode> index;
+        private final Map<String, List<MenuNode>> roleTrees = new ConcurrentHashMap<>();
+
+        private MenuCatalog(long generation, List<MenuNode> tree, Map<Long, MenuNode> index) {
+            this.generation = generation;
+            this.tree = tree;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.CursorPageDTO;
+import com.example.demo.application.dto.OperationLogDTO;
+import com.example.demo.infrastructure.mapper.OperationLogMapper;
+import com.example.demo.infrastructure.persistence.entity.OperationLogDO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 操作日志查询服务
+ * 使用(create_time, id)游标分页，翻页代价与页码无关；查询总是带时间范围，以便只扫描相关月分区。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OperationLogQueryService {
+
+    /**
+     * 未指定开始时间时默认查询的天数
+     */
+    private static final int DEFAULT_RANGE_DAYS = 7;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final OperationLogMapper operationLogMapper;
+
+    /**
+     * 游标分页查询操作日志
+     *
+     * @param startTime 开始时间，为空时取结束时间前7天
+     * @param endTime   结束时间，为空时取当前时间
+     * @param username  用户名，可为空
+     * @param cursor    上一页返回的游标，首页为空
+     * @param size      每页大小
+     * @return 操作日志游标分页结果
+     */
+    public CursorPageDTO<OperationLogDTO> getOperationLogs(LocalDateTime startTime, LocalDateTime endTime,
+                                                           String username, String cursor, int size) {
+        LocalDateTime end = endTime != null ? endTime : LocalDateTime.now();
+        LocalDateTime start = startTime != null ? startTime : end.minusDays(DEFAULT_RANGE_DAYS);
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            int separator = cursor.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("无效的游标: " + cursor);
+            }
+            try {
+                cursorTime = LocalDateTime.ofInstant(
+                        Instant.ofEpochSecond(Long.parseLong(cursor.substring(0, separator))), ZoneId.systemDefault());
+                cursorId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无效的游标: " + cursor);
+            }
+        }
+        log.debug("游标分页查询操作日志: start={}, end={}, username={}, cursor={}, size={}",
+                start, end, username, cursor, limit);
+
+        List<OperationLogDO> records = operationLogMapper.selectPageAfter(
+                start, end, username, cursorTime, cursorId, limit);
+
+        String nextCursor = null;
+        if (records.size() == limit) {
+            OperationLogDO last = records.get(records.size() - 1);
+            nextCursor = ZonedDateTime.of(last.getCreateTime(), ZoneId.systemDefault()).toEpochSecond()
+                    + ":" + last.getId();
+        }
+        List<OperationLogDTO> content = records.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+        return new CursorPageDTO<>(content, limit, nextCursor);
+    }
+
+    private OperationLogDTO toDto(OperationLogDO source) {
+        OperationLogDTO dto = new OperationLogDTO();
+        dto.setId(source.getId());
+        dto.setUsername(source.getUsername());
+        dto.setOperation(source.getOperation());
+        dto.setMethod(source.getMethod());
+        dto.setUri(source.getUri());
+        dto.setIpAddress(source.getIpAddress());
+        dto.setStatus(source.getStatus());
+        dto.setErrorMessage(source.getErrorMessage());
+        dto.setCostTime(source.getCostTime());
+        dto.setCreateTime(source.getCreateTime());
+        return dto;
+    }
+}
@@ -1,26 +1,54 @@
 package com.example.demo.infrastructure.service;
 
 import com.example.demo.domain.service.PasswordService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 密码服务实现
+ * BCrypt哈希和校验按操作计时（password.hash，标签operation）
  */
 @Service
-@RequiredArgsConstructor
 public class PasswordServiceImpl implements PasswordService {
 
     private final PasswordEncoder passwordEncoder;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordServiceImpl(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+    }
 
     @Override
     public String encryptPassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        long start = System.nanoTime();
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        long start = System.nanoTime();
+        try {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        } finally {
+            matchesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("password.hash")
+                .description("密码哈希耗时")
+                .tag("operation", operation)
+                .register(registry);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.SubjectAuthorityDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.infrastructure.service.AuthorityQueryService.SubjectAuthority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 权限变更推送中心
+ * 已登录会话通过SSE订阅自己的有效权限，连接由异步Servlet持有，不占用请求线程。
+ * 用户授权或权限目录变更提交后，重新加载受影响的在线主体，只向权限或角色确有变化的主体推送新的权限集合；
+ * 加载在固定数量的平台线程上执行，并发查询不超过load-threads；推送在虚拟线程上执行，慢连接不会拖慢提交线程或其他连接。
+ * 加载不使用虚拟线程：MySQL驱动在synchronized块中读写套接字，虚拟线程执行查询时会占住载体线程。
+ */
+@Slf4j
+@Service
+public class PermissionChangeHub {
+
+    static final String EVENT_AUTHORITY = "authority";
+
+    private final AuthorityQueryService authorityQueryService;
+    private final AuthorizationChangeFeed authorizationChangeFeed;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerSubject;
+    private final int loadBatchSize;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService loadExecutor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 加载序号，序号更大的加载开始得更晚，用于丢弃乱序完成的旧数据
+     */
+    private final AtomicLong loadSequence = new AtomicLong();
+
+    public PermissionChangeHub(AuthorityQueryService authorityQueryService,
+                               AuthorizationChangeFeed authorizationChangeFeed,
+                               @Value("${authz.sse.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${authz.sse.max-connections-per-subject:5}") int maxConnectionsPerSubject,
+                               @Value("${authz.sse.load-batch-size:500}") int loadBatchSize,
+                               @Value("${authz.sse.load-threads:2}") int loadThreads) {
+        this.authorityQueryService = authorityQueryService;
+        this.authorizationChangeFeed = authorizationChangeFeed;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnectionsPerSubject = maxConnectionsPerSubject;
+        this.loadBatchSize = loadBatchSize;
+        this.loadExecutor = Executors.newFixedThreadPool(loadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "authz-sse-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 订阅主体的权限变更，订阅后立即推送一次当前权限
+     *
+     * @param subject 用户名
+     * @return SSE连接
+     */
+    public SseEmitter subscribe(String subject) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        // 同一主体连接过多时关闭最早的连接，加入和淘汰在同一次compute中完成，关闭在compute之外进行
+        List<SseEmitter> evicted = new ArrayList<>();
+        Subscription subscription = subscriptions.compute(subject, (key, existing) -> {
+            Subscription target = existing != null ? existing : new Subscription(key);
+            target.emitters.add(emitter);
+            while (target.emitters.size() > maxConnectionsPerSubject) {
+                evicted.add(target.emitters.remove(0));
+            }
+            return target;
+        });
+        emitter.onCompletion(() -> remove(subscription, emitter));
+        emitter.onTimeout(() -> remove(subscription, emitter));
+        emitter.onError(error -> remove(subscription, emitter));
+        evicted.forEach(SseEmitter::complete);
+
+        loadExecutor.execute(() -> {
+            long sequence = loadSequence.incrementAndGet();
+            long version = authorizationChangeFeed.currentVersion();
+            SubjectAuthority authority = authorityQueryService.loadAuthorities(Set.of(subject)).get(subject);
+            SubjectAuthorityDTO snapshot = toDTO(subject, version, authority);
+            executor.execute(() -> {
+                synchronized (subscription) {
+                    if (sequence > subscription.sequence) {
+                        subscription.sequence = sequence;
+                        subscription.last = snapshot;
+                    }
+                    send(subscription, emitter, subscription.last);
+                }
+            });
+        });
+        return emitter;
+    }
+
+    /**
+     * 用户授权变更后刷新该用户的在线会话
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthorityChanged(UserAuthorityChangedEvent event) {
+        if (subscriptions.containsKey(event.getUsername())) {
+            loadExecutor.execute(() -> refresh(List.of(event.getUsername())));
+        }
+    }
+
+    /**
+     * 目录变更可能影响任意用户，刷新全部在线主体
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!subscriptions.isEmpty()) {
+            loadExecutor.execute(() -> refresh(new ArrayList<>(subscriptions.keySet())));
+        }
+    }
+
+    /**
+     * 定期发送注释行保活，并清理已断开的连接
+     */
+    @Scheduled(fixedDelayString = "${authz.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions.values()) {
+            for (SseEmitter emitter : subscription.emitters) {
+                executor.execute(() -> {
+                    try {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } catch (IOException | IllegalStateException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @return 在线主体数
+     */
+    public int subjectCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 关闭全部连接，客户端会自动重连到其他实例
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(subscription -> subscription.emitters.forEach(SseEmitter::complete));
+        loadExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    /**
+     * 按批重新加载主体权限，只推送发生变化的主体
+     */
+    void refresh(List<String> subjects) {
+        for (int from = 0; from < subjects.size(); from += loadBatchSize) {
+            List<String> batch = subjects.subList(from, Math.min(from + loadBatchSize, subjects.size()));
+            long sequence = loadSequence.incrementAndGet();
+            long version = authorizationChangeFeed.currentVersion();
+            Map<String, SubjectAuthority> authorities = authorityQueryService.loadAuthorities(batch);
+            for (String subject : batch) {
+                Subscription subscription = subscriptions.get(subject);
+                if (subscription == null) {
+                    continue;
+                }
+                SubjectAuthorityDTO snapshot = toDTO(subject, version, authorities.get(subject));
+                executor.execute(() -> publish(subscription, sequence, snapshot));
+            }
+        }
+    }
+
+    private void publish(Subscription subscription, long sequence, SubjectAuthorityDTO snapshot) {
+        synchronized (subscription) {
+            if (sequence <= subscription.sequence) {
+                return;
+            }
+            subscription.sequence = sequence;
+            SubjectAuthorityDTO last = subscription.last;
+            subscription.last = snapshot;
+            if (last != null && last.getPermissions().equals(snapshot.getPermissions())
+                    && last.getRoles().equals(snapshot.getRoles())) {
+                return;
+            }
+            log.debug("推送权限变更: subject={}, connections={}", subscription.subject, subscription.emitters.size());
+            for (SseEmitter emitter : subscription.emitters) {
+                send(subscription, emitter, snapshot);
+            }
+        }
+    }
+
+    private void send(Subscription subscription, SseEmitter emitter, SubjectAuthorityDTO snapshot) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(snapshot.getVersion()))
+                    .name(EVENT_AUTHORITY)
+                    .data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("权限变更推送失败，关闭连接: subject={}", subscription.subject);
+            remove(subscription, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Subscription subscription, SseEmitter emitter) {
+        // 连接列表只在主体的compute中修改，与订阅时的加入和淘汰互斥
+        subscriptions.compute(subscription.subject, (key, current) -> {
+            subscription.emitters.remove(emitter);
+            return current == subscription && current.emitters.isEmpty() ? null : current;
+        });
+    }
+
+    private SubjectAuthorityDTO toDTO(String subject, long version, SubjectAuthority authority) {
+        if (authority == null) {
+            return new SubjectAuthorityDTO(subject, version, Set.of(), Set.of());
+        }
+        return new SubjectAuthorityDTO(subject, version, Set.copyOf(authority.getPermissions()),
+                Set.copyOf(authority.getRoles()));
+    }
+
+    /**
+     * 一个主体的全部连接及最近推送的权限
+     */
+    private static final class Subscription {
+        private final String subject;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private long sequence;
+        private SubjectAuthorityDTO last;
+
+        private Subscription(String subject) {
+            this.subject = subject;
+        }
+    }
+}
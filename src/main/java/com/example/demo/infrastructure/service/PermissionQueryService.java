@@ -1,10 +1,10 @@
 package com.example.demo.infrastructure.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.demo.application.dto.PageDTO;
 import com.example.demo.application.dto.PermissionDTO;
-import com.example.demo.infrastructure.convert.PermissionConvert;
+import com.example.demo.infrastructure.convert.ReadModelConvert;
 import com.example.demo.infrastructure.mapper.PermissionMapper;
 import com.example.demo.infrastructure.persistence.entity.PermissionDO;
 import com.example.demo.infrastructure.util.SqlUtil;
@@ -14,7 +14,6 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 权限查询服务
@@ -24,49 +23,62 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PermissionQueryService {
 
+    /**
+     * 单页最大记录数
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final PermissionMapper permissionMapper;
-    private final PermissionConvert permissionConvert;
+    private final ReadModelConvert readModelConvert;
 
     /**
      * 分页查询权限列表
+     * 名称和编码按前缀在SQL中过滤
      *
-     * @param pageNum  页码
+     * @param pageNum  页码，从1开始
      * @param pageSize 每页大小
-     * @param keyword  关键字
-     * @return 权限DTO分页列表
+     * @param name     权限名称前缀，可为空
+     * @param code     权限编码前缀，可为空
+     * @return 权限分页结果
      */
-    @Cacheable(value = "permission:page", key = "#pageNum + '-' + #pageSize + '-' + #keyword")
-    public IPage<PermissionDTO> getPermissionsPage(int pageNum, int pageSize, String keyword) {
-        log.debug("分页查询权限列表: pageNum={}, pageSize={}, keyword={}", pageNum, pageSize, keyword);
+    public PageDTO<PermissionDTO> getPermissionsPage(int pageNum, int pageSize, String name, String code) {
+        int current = Math.max(pageNum, 1);
+        int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        log.debug("分页查询权限列表: pageNum={}, pageSize={}, name={}, code={}", current, size, name, code);
         
         // 构建查询条件
         LambdaQueryWrapper<PermissionDO> queryWrapper = new LambdaQueryWrapper<>();
-        SqlUtil.buildLikeQuery(
-            queryWrapper, 
-            keyword, 
-            PermissionDO::getName, 
-            PermissionDO::getCode, 
-            PermissionDO::getDescription
-        );
+        SqlUtil.buildPrefixQuery(queryWrapper, PermissionDO::getName, name);
+        SqlUtil.buildPrefixQuery(queryWrapper, PermissionDO::getCode, code);
         
-        // 构建分页对象
-        Page<PermissionDO> page = SqlUtil.buildPage(pageNum, pageSize, "create_time", false);
+        // 按主键排序，翻页结果稳定
+        Page<PermissionDO> page = SqlUtil.buildPage(current, size, "id", true);
         Page<PermissionDO> permissionDOPage = permissionMapper.selectPage(page, queryWrapper);
         
-        // 转换为DTO
-        Page<PermissionDTO> permissionDTOPage = new Page<>(
-                permissionDOPage.getCurrent(),
-                permissionDOPage.getSize(),
-                permissionDOPage.getTotal());
+        List<PermissionDTO> permissionDTOList = readModelConvert.toPermissionDtoList(permissionDOPage.getRecords());
         
-        List<PermissionDTO> permissionDTOList = permissionDOPage.getRecords().stream()
-                .map(permissionDO -> permissionConvert.toDto(permissionConvert.toDomain(permissionDO)))
-                .collect(Collectors.toList());
-        
-        permissionDTOPage.setRecords(permissionDTOList);
-        return permissionDTOPage;
+        return new PageDTO<>(permissionDTOList, permissionDOPage.getTotal(), current, size);
     }
     
+    /**
+     * 按名称、编码过滤权限列表
+     * 名称和编码包含关键字即匹配，在SQL中过滤，结果按ID排序
+     *
+     * @param name 权限名称关键字，可为空
+     * @param code 权限编码关键字，可为空
+     * @return 权限列表
+     */
+    public List<PermissionDTO> getPermissions(String name, String code) {
+        log.debug("过滤查询权限列表: name={}, code={}", name, code);
+
+        LambdaQueryWrapper<PermissionDO> queryWrapper = new LambdaQueryWrapper<>();
+        SqlUtil.buildContainsQuery(queryWrapper, PermissionDO::getName, name);
+        SqlUtil.buildContainsQuery(queryWrapper, PermissionDO::getCode, code);
+        queryWrapper.orderByAsc(PermissionDO::getId);
+
+        return readModelConvert.toPermissionDtoList(permissionMapper.selectList(queryWrapper));
+    }
+
     /**
      * 获取所有权限列表
      *
@@ -76,10 +88,7 @@ public class PermissionQueryService {
     public List<PermissionDTO> getAllPermissions() {
         log.debug("查询所有权限列表");
         
-        List<PermissionDO> permissionDOList = permissionMapper.selectList(null);
-        return permissionDOList.stream()
-                .map(permissionDO -> permissionConvert.toDto(permissionConvert.toDomain(permissionDO)))
-                .collect(Collectors.toList());
+        return readModelConvert.toPermissionDtoList(permissionMapper.selectList(null));
     }
     
     /**
@@ -92,9 +101,6 @@ public class PermissionQueryService {
     public List<PermissionDTO> getPermissionsByRoleId(Long roleId) {
         log.debug("根据角色ID查询权限列表: roleId={}", roleId);
         
-        List<PermissionDO> permissionDOList = permissionMapper.findPermissionsByRoleId(roleId);
-        return permissionDOList.stream()
-                .map(permissionDO -> permissionConvert.toDto(permissionConvert.toDomain(permissionDO)))
-                .collect(Collectors.toList());
+        return readModelConvert.toPermissionDtoList(permissionMapper.findPermissionsByRoleId(roleId));
     }
 } 
\ No newline at end of file
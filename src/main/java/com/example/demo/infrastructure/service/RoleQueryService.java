@@ -1,20 +1,31 @@
 package com.example.demo.infrastructure.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.demo.application.dto.PageDTO;
+import com.example.demo.application.dto.PermissionDTO;
 import com.example.demo.application.dto.RoleDTO;
-import com.example.demo.infrastructure.convert.RoleConvert;
+import com.example.demo.infrastructure.convert.ReadModelConvert;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
 import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
 import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
 import com.example.demo.infrastructure.util.SqlUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,57 +36,173 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RoleQueryService {
 
+    /**
+     * 单页最大记录数
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * 关联权限字段
+     */
+    public static final String PERMISSIONS_FIELD = "permissions";
+
+    /**
+     * 可按字段集查询的角色字段及对应列
+     */
+    private static final Map<String, SFunction<RoleDO, ?>> ROLE_COLUMNS = Map.of(
+            "id", RoleDO::getId,
+            "name", RoleDO::getName,
+            "code", RoleDO::getCode,
+            "description", RoleDO::getDescription,
+            "status", RoleDO::getStatus,
+            "createTime", RoleDO::getCreateTime,
+            "updateTime", RoleDO::getUpdateTime);
+
     private final RoleMapper roleMapper;
-    private final RoleConvert roleConvert;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final PermissionMapper permissionMapper;
+    private final ReadModelConvert readModelConvert;
 
     /**
      * 分页查询角色列表
+     * 名称和编码按前缀在SQL中过滤，权限集合仅在需要时按当前页角色批量加载
      *
-     * @param pageNum  页码
-     * @param pageSize 每页大小
-     * @param keyword  关键字
-     * @return 角色DTO分页列表
+     * @param pageNum            页码，从1开始
+     * @param pageSize           每页大小
+     * @param name               角色名称前缀，可为空
+     * @param code               角色编码前缀，可为空
+     * @param fields             字段集，为空时查询全部列
+     * @param includePermissions 是否加载角色的权限集合
+     * @return 角色分页结果
      */
-    @Cacheable(value = "role:page", key = "#pageNum + '-' + #pageSize + '-' + #keyword")
-    public IPage<RoleDTO> getRolesPage(int pageNum, int pageSize, String keyword) {
-        log.debug("分页查询角色列表: pageNum={}, pageSize={}, keyword={}", pageNum, pageSize, keyword);
-        
+    public PageDTO<RoleDTO> getRolesPage(int pageNum, int pageSize, String name, String code,
+                                         Set<String> fields, boolean includePermissions) {
+        int current = Math.max(pageNum, 1);
+        int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        log.debug("分页查询角色列表: pageNum={}, pageSize={}, name={}, code={}, fields={}, includePermissions={}",
+                current, size, name, code, fields, includePermissions);
+
         // 构建查询条件
+        LambdaQueryWrapper<RoleDO> queryWrapper = projection(fields);
+        SqlUtil.buildPrefixQuery(queryWrapper, RoleDO::getName, name);
+        SqlUtil.buildPrefixQuery(queryWrapper, RoleDO::getCode, code);
+
+        // 按主键排序，翻页结果稳定
+        Page<RoleDO> page = SqlUtil.buildPage(current, size, "id", true);
+        Page<RoleDO> roleDOPage = roleMapper.selectPage(page, queryWrapper);
+
+        List<RoleDTO> roleDTOList = toDtoList(roleDOPage.getRecords(), fields, includePermissions);
+        return new PageDTO<>(roleDTOList, roleDOPage.getTotal(), current, size);
+    }
+
+    /**
+     * 按名称、编码过滤角色列表
+     * 名称和编码包含关键字即匹配，在SQL中过滤，结果按ID排序；权限集合仅在需要时批量加载
+     *
+     * @param name               角色名称关键字，可为空
+     * @param code               角色编码关键字，可为空
+     * @param fields             字段集，为空时查询全部列
+     * @param includePermissions 是否加载角色的权限集合
+     * @return 角色列表
+     */
+    public List<RoleDTO> getRoles(String name, String code, Set<String> fields, boolean includePermissions) {
+        log.debug("过滤查询角色列表: name={}, code={}, fields={}, includePermissions={}",
+                name, code, fields, includePermissions);
+
+        LambdaQueryWrapper<RoleDO> queryWrapper = projection(fields);
+        SqlUtil.buildContainsQuery(queryWrapper, RoleDO::getName, name);
+        SqlUtil.buildContainsQuery(queryWrapper, RoleDO::getCode, code);
+        queryWrapper.orderByAsc(RoleDO::getId);
+
+        return toDtoList(roleMapper.selectList(queryWrapper), fields, includePermissions);
+    }
+
+    /**
+     * 按字段集查询角色
+     *
+     * @param id     角色ID
+     * @param fields 字段集
+     * @return 只填充所选字段的角色DTO
+     */
+    public Optional<RoleDTO> getRole(Long id, Set<String> fields) {
+        log.debug("按字段集查询角色: id={}, fields={}", id, fields);
+
+        LambdaQueryWrapper<RoleDO> queryWrapper = projection(fields).eq(RoleDO::getId, id);
+        RoleDO roleDO = roleMapper.selectOne(queryWrapper);
+        if (roleDO == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toDtoList(List.of(roleDO), fields, fields.contains(PERMISSIONS_FIELD)).get(0));
+    }
+
+    /**
+     * 构建只包含所选字段对应列的查询，ID总是查询以便加载关联；字段集为空时查询全部列
+     */
+    private LambdaQueryWrapper<RoleDO> projection(Set<String> fields) {
         LambdaQueryWrapper<RoleDO> queryWrapper = new LambdaQueryWrapper<>();
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            queryWrapper.like(RoleDO::getName, keyword)
-                    .or()
-                    .like(RoleDO::getCode, keyword)
-                    .or()
-                    .like(RoleDO::getDescription, keyword);
+        if (fields == null) {
+            return queryWrapper;
         }
-        
-        // 构建分页对象
-        Page<RoleDO> page = new Page<>(pageNum, pageSize);
-        if (pageSize <= 0) {
-            page.setSize(-1); // 不分页
+        List<SFunction<RoleDO, ?>> columns = new ArrayList<>();
+        columns.add(RoleDO::getId);
+        for (String field : fields) {
+            if (PERMISSIONS_FIELD.equals(field) || "id".equals(field)) {
+                continue;
+            }
+            SFunction<RoleDO, ?> column = ROLE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("不支持的角色字段: " + field);
+            }
+            columns.add(column);
         }
-        
-        // 设置排序
-        OrderItem orderItem = new OrderItem();
-        orderItem.setColumn("create_time");
-        orderItem.setAsc(false);
-        page.addOrder(orderItem);
-        
-        Page<RoleDO> roleDOPage = roleMapper.selectPage(page, queryWrapper);
-        
-        // 转换为DTO
-        Page<RoleDTO> roleDTOPage = new Page<>(
-                roleDOPage.getCurrent(),
-                roleDOPage.getSize(),
-                roleDOPage.getTotal());
-        
-        List<RoleDTO> roleDTOList = roleDOPage.getRecords().stream()
-                .map(roleDO -> roleConvert.toDto(roleConvert.toDomain(roleDO)))
+        return queryWrapper.select(true, columns);
+    }
+
+    private List<RoleDTO> toDtoList(List<RoleDO> records, Set<String> fields, boolean includePermissions) {
+        Map<Long, List<PermissionDTO>> permissionsByRole = includePermissions
+                ? loadPermissions(records)
+                : Collections.emptyMap();
+
+        return records.stream()
+                .map(roleDO -> {
+                    RoleDTO roleDTO = readModelConvert.toRoleDto(roleDO);
+                    roleDTO.setPermissions(includePermissions
+                            ? permissionsByRole.getOrDefault(roleDO.getId(), Collections.emptyList())
+                            : null);
+                    return roleDTO;
+                })
                 .collect(Collectors.toList());
-        
-        roleDTOPage.setRecords(roleDTOList);
-        return roleDTOPage;
+    }
+
+    /**
+     * 批量加载角色的权限集合：一次查询关联，一次查询权限
+     */
+    private Map<Long, List<PermissionDTO>> loadPermissions(List<RoleDO> roles) {
+        if (roles.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> roleIds = roles.stream().map(RoleDO::getId).collect(Collectors.toList());
+        List<RolePermissionDO> links = rolePermissionMapper.selectByRoleIds(roleIds);
+        if (links.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> permissionIds = links.stream()
+                .map(RolePermissionDO::getPermissionId)
+                .collect(Collectors.toSet());
+        Map<Long, PermissionDTO> permissions = new HashMap<>();
+        for (PermissionDO permissionDO : permissionMapper.selectByIds(permissionIds)) {
+            permissions.put(permissionDO.getId(), readModelConvert.toPermissionDto(permissionDO));
+        }
+
+        Map<Long, List<PermissionDTO>> permissionsByRole = new HashMap<>();
+        for (RolePermissionDO link : links) {
+            PermissionDTO permission = permissions.get(link.getPermissionId());
+            if (permission != null) {
+                permissionsByRole.computeIfAbsent(link.getRoleId(), id -> new ArrayList<>()).add(permission);
+            }
+        }
+        return permissionsByRole;
     }
     
     /**
@@ -87,10 +214,7 @@ public class RoleQueryService {
     public List<RoleDTO> getAllRoles() {
         log.debug("查询所有角色列表");
         
-        List<RoleDO> roleDOList = roleMapper.selectList(null);
-        return roleDOList.stream()
-                .map(roleDO -> roleConvert.toDto(roleConvert.toDomain(roleDO)))
-                .collect(Collectors.toList());
+        return readModelConvert.toRoleDtoList(roleMapper.selectList(null));
     }
     
     /**
@@ -103,9 +227,6 @@ public class RoleQueryService {
     public List<RoleDTO> getRolesByUserId(Long userId) {
         log.debug("根据用户ID查询角色列表: userId={}", userId);
         
-        List<RoleDO> roleDOList = roleMapper.findRolesByUserId(userId);
-        return roleDOList.stream()
-                .map(roleDO -> roleConvert.toDto(roleConvert.toDomain(roleDO)))
-                .collect(Collectors.toList());
+        return readModelConvert.toRoleDtoList(roleMapper.findRolesByUserId(userId));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,285 @@
+package com.example.demo.infrastructure.service;
+
+import com.example.demo.application.dto.MenuDTO;
+import com.example.demo.application.dto.SessionBootstrapDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.application.event.UserProfileChangedEvent;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.UserMapper;
+import com.example.demo.infrastructure.mapper.UserRoleMapper;
+import com.example.demo.infrastructure.monitor.CacheMetrics;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 会话启动数据查询服务
+ * 启动数据由两部分拼装：按用户缓存的资料及角色ID，按角色组合缓存的角色编码、权限编码和菜单树，
+ * 拥有相同角色的用户共享后者。拼装结果按用户序列化一次并缓存字节，直到该用户或权限目录变更。
+ * 缓存的字节数组被所有请求共享，调用方不得修改。
+ */
+@Slf4j
+@Service
+public class SessionBootstrapQueryService {
+
+    private final UserMapper userMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final MenuQueryService menuQueryService;
+    private final ObjectMapper objectMapper;
+    private final CacheMetrics userMetrics;
+    private final CacheMetrics roleSetMetrics;
+
+    /**
+     * 用户缓存，超过容量时淘汰最久未访问的用户
+     */
+    private final Map<String, UserEntry> users;
+
+    /**
+     * 用户版本、目录版本，每次变更递增，用于丢弃变更前开始加载的数据
+     */
+    private final AtomicLong userGeneration = new AtomicLong();
+    private final AtomicLong catalogGeneration = new AtomicLong();
+
+    private volatile RoleSetCache roleSets = new RoleSetCache(0);
+
+    public SessionBootstrapQueryService(UserMapper userMapper,
+                                        UserRoleMapper userRoleMapper,
+                                        RoleMapper roleMapper,
+                                        PermissionMapper permissionMapper,
+                                        MenuQueryService menuQueryService,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${session-bootstrap.max-users:10000}") int maxUsers) {
+        this.userMapper = userMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.roleMapper = roleMapper;
+        this.permissionMapper = permissionMapper;
+        this.menuQueryService = menuQueryService;
+        this.objectMapper = objectMapper;
+        this.userMetrics = new CacheMetrics(meterRegistry, "session-bootstrap.user");
+        this.roleSetMetrics = new CacheMetrics(meterRegistry, "session-bootstrap.role-set");
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserEntry> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * 获取用户的会话启动数据
+     *
+     * @param username 用户名
+     * @return 序列化后的启动数据（JSON）
+     */
+    public byte[] getBootstrap(String username) {
+        long currentUserGeneration = userGeneration.get();
+        long currentCatalogGeneration = catalogGeneration.get();
+        UserEntry entry = users.get(username);
+        if (entry != null && entry.catalogGeneration == currentCatalogGeneration) {
+            userMetrics.hit();
+            return entry.bytes;
+        }
+        userMetrics.miss();
+        long start = System.nanoTime();
+
+        // 目录变更不影响用户资料，只需重新拼装角色组合部分
+        UserFragment user = entry != null ? entry.user : loadUser(username);
+        RoleSetFragment roleSet = roleSetFragment(user.roleIds, currentCatalogGeneration);
+        byte[] bytes = serialize(new SessionBootstrapDTO(user.profile, roleSet.roles, roleSet.permissions, roleSet.menus));
+
+        if (userGeneration.get() == currentUserGeneration && catalogGeneration.get() == currentCatalogGeneration) {
+            users.put(username, new UserEntry(user, currentCatalogGeneration, bytes));
+        }
+        userMetrics.recordLoad(start);
+        return bytes;
+    }
+
+    /**
+     * 用户授权变更后失效该用户的缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthorityChanged(UserAuthorityChangedEvent event) {
+        evictUser(event.getUsername());
+    }
+
+    /**
+     * 用户资料变更后失效该用户的缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        evictUser(event.getUsername());
+    }
+
+    /**
+     * 目录变更后失效全部角色组合，用户资料保留
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        long generation = catalogGeneration.incrementAndGet();
+        roleSets = new RoleSetCache(generation);
+    }
+
+    private void evictUser(String username) {
+        userGeneration.incrementAndGet();
+        users.remove(username);
+    }
+
+    private UserFragment loadUser(String username) {
+        log.debug("加载会话启动用户资料: username={}", username);
+        UserDO userDO = userMapper.selectByUsername(username);
+        if (userDO == null) {
+            throw new IllegalArgumentException("用户不存在：" + username);
+        }
+        SessionBootstrapDTO.Profile profile = new SessionBootstrapDTO.Profile(
+                userDO.getId(),
+                userDO.getUsername(),
+                userDO.getNickname(),
+                userDO.getEmail(),
+                userDO.getPhone(),
+                userDO.getStatus(),
+                userDO.getCreateTime(),
+                userDO.getLastLoginTime());
+        // 包含禁用的角色，角色启停属于目录变更，由角色组合部分过滤
+        List<Long> roleIds = userRoleMapper.selectRoleIdsByUserId(userDO.getId()).stream()
+                .sorted()
+                .collect(Collectors.toList());
+        return new UserFragment(profile, roleIds);
+    }
+
+    private RoleSetFragment roleSetFragment(List<Long> roleIds, long generation) {
+        RoleSetCache cache = roleSets;
+        if (cache.generation != generation) {
+            // 目录已再次变更，本次结果不会被缓存
+            return loadRoleSet(roleIds);
+        }
+        String roleKey = roleIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        RoleSetFragment cached = cache.fragments.get(roleKey);
+        if (cached != null) {
+            roleSetMetrics.hit();
+            return cached;
+        }
+        roleSetMetrics.miss();
+        // 在缓存之外加载，慢查询不会阻塞其他角色组合；加载期间目录变更时不放入缓存
+        long start = System.nanoTime();
+        RoleSetFragment fragment = loadRoleSet(roleIds);
+        roleSetMetrics.recordLoad(start);
+        if (catalogGeneration.get() != generation) {
+            return fragment;
+        }
+        RoleSetFragment existing = cache.fragments.putIfAbsent(roleKey, fragment);
+        return existing != null ? existing : fragment;
+    }
+
+    private RoleSetFragment loadRoleSet(List<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return RoleSetFragment.EMPTY;
+        }
+        log.debug("加载会话启动角色组合: roleIds={}", roleIds);
+        List<RoleDO> enabledRoles = roleMapper.selectByIds(roleIds).stream()
+                .filter(role -> Boolean.TRUE.equals(role.getStatus()))
+                .sorted(Comparator.comparing(RoleDO::getId))
+                .collect(Collectors.toList());
+        if (enabledRoles.isEmpty()) {
+            return RoleSetFragment.EMPTY;
+        }
+        List<Long> enabledRoleIds = new ArrayList<>(enabledRoles.size());
+        List<String> roleCodes = new ArrayList<>(enabledRoles.size());
+        for (RoleDO role : enabledRoles) {
+            enabledRoleIds.add(role.getId());
+            roleCodes.add(role.getCode());
+        }
+        return new RoleSetFragment(
+                Collections.unmodifiableList(roleCodes),
+                Collections.unmodifiableList(permissionMapper.selectEnabledCodesByRoleIds(enabledRoleIds)),
+                menuQueryService.getRoleMenuTree(enabledRoleIds));
+    }
+
+    private byte[] serialize(SessionBootstrapDTO bootstrap) {
+        try {
+            return objectMapper.writeValueAsBytes(bootstrap);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("会话启动数据序列化失败", e);
+        }
+    }
+
+    /**
+     * 用户资料及其拥有的全部角色ID（升序）
+     */
+    private static final class UserFragment {
+        private final SessionBootstrapDTO.Profile profile;
+        private final List<Long> roleIds;
+
+        private UserFragment(SessionBootstrapDTO.Profile profile, List<Long> roleIds) {
+            this.profile = profile;
+            this.roleIds = roleIds;
+        }
+    }
+
+    /**
+     * 角色组合的启用角色编码、权限编码和菜单树
+     */
+    private static final class RoleSetFragment {
+        private static final RoleSetFragment EMPTY =
+                new RoleSetFragment(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        private final List<String> roles;
+        private final List<String> permissions;
+        private final List<MenuDTO> menus;
+
+        private RoleSetFragment(List<String> roles, List<String> permissions, List<MenuDTO> menus) {
+            this.roles = roles;
+            this.permissions = permissions;
+            this.menus = menus;
+        }
+    }
+
+    /**
+     * 某一目录版本下按角色组合缓存的片段
+     */
+    private static final class RoleSetCache {
+        private final long generation;
+        private final Map<String, RoleSetFragment> fragments = new ConcurrentHashMap<>();
+
+        private RoleSetCache(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * 用户缓存项：用户资料片段及按目录版本序列化的字节
+     */
+    private static final class UserEntry {
+        private final UserFragment user;
+        private final long catalogGeneration;
+        private final byte[] bytes;
+
+        private UserEntry(UserFragment user, long catalogGeneration, byte[] bytes) {
+            this.user = user;
+            this.catalogGeneration = catalogGeneration;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -2,18 +2,30 @@ package com.example.demo.infrastructure.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.demo.application.dto.RoleDTO;
 import com.example.demo.application.dto.UserDTO;
-import com.example.demo.infrastructure.convert.UserConvert;
+import com.example.demo.infrastructure.convert.ReadModelConvert;
+import com.example.demo.infrastructure.mapper.RoleMapper;
 import com.example.demo.infrastructure.mapper.UserMapper;
+import com.example.demo.infrastructure.mapper.UserRoleMapper;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
 import com.example.demo.infrastructure.persistence.entity.UserDO;
+import com.example.demo.infrastructure.persistence.entity.UserRoleDO;
 import com.example.demo.infrastructure.util.SqlUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,8 +36,29 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserQueryService {
 
+    /**
+     * 关联角色字段
+     */
+    public static final String ROLES_FIELD = "roles";
+
+    /**
+     * 可按字段集查询的用户字段及对应列，密码等内部列不在其中
+     */
+    private static final Map<String, SFunction<UserDO, ?>> USER_COLUMNS = Map.of(
+            "id", UserDO::getId,
+            "username", UserDO::getUsername,
+            "nickname", UserDO::getNickname,
+            "email", UserDO::getEmail,
+            "phone", UserDO::getPhone,
+            "status", UserDO::getStatus,
+            "createTime", UserDO::getCreateTime,
+            "updateTime", UserDO::getUpdateTime,
+            "lastLoginTime", UserDO::getLastLoginTime);
+
     private final UserMapper userMapper;
-    private final UserConvert userConvert;
+    private final UserRoleMapper userRoleMapper;
+    private final RoleMapper roleMapper;
+    private final ReadModelConvert readModelConvert;
 
     /**
      * 分页查询用户列表
@@ -59,9 +92,7 @@ public class UserQueryService {
                 userDOPage.getSize(),
                 userDOPage.getTotal());
         
-        List<UserDTO> userDTOList = userDOPage.getRecords().stream()
-                .map(userDO -> userConvert.toDto(userConvert.toDomain(userDO)))
-                .collect(Collectors.toList());
+        List<UserDTO> userDTOList = readModelConvert.toUserDtoList(userDOPage.getRecords());
         
         userDTOPage.setRecords(userDTOList);
         return userDTOPage;
@@ -76,9 +107,92 @@ public class UserQueryService {
     public List<UserDTO> getAllUsers() {
         log.debug("查询所有用户列表");
         
-        List<UserDO> userDOList = userMapper.selectList(null);
-        return userDOList.stream()
-                .map(userDO -> userConvert.toDto(userConvert.toDomain(userDO)))
-                .collect(Collectors.toList());
+        return readModelConvert.toUserDtoList(userMapper.selectList(null));
+    }
+    
+    /**
+     * 按字段集查询所有用户
+     * 只查询所选字段对应的列，角色仅在请求roles字段时批量加载
+     *
+     * @param fields 字段集
+     * @return 只填充所选字段的用户DTO列表
+     */
+    public List<UserDTO> getUsers(Set<String> fields) {
+        log.debug("按字段集查询所有用户: fields={}", fields);
+        
+        LambdaQueryWrapper<UserDO> queryWrapper = projection(fields).orderByAsc(UserDO::getId);
+        return toDtoList(userMapper.selectList(queryWrapper), fields);
+    }
+    
+    /**
+     * 按字段集查询用户
+     *
+     * @param id     用户ID
+     * @param fields 字段集
+     * @return 只填充所选字段的用户DTO
+     */
+    public Optional<UserDTO> getUser(Long id, Set<String> fields) {
+        log.debug("按字段集查询用户: id={}, fields={}", id, fields);
+        
+        LambdaQueryWrapper<UserDO> queryWrapper = projection(fields).eq(UserDO::getId, id);
+        UserDO userDO = userMapper.selectOne(queryWrapper);
+        if (userDO == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toDtoList(List.of(userDO), fields).get(0));
+    }
+    
+    /**
+     * 构建只包含所选字段对应列的查询，ID总是查询以便加载关联
+     */
+    private LambdaQueryWrapper<UserDO> projection(Set<String> fields) {
+        List<SFunction<UserDO, ?>> columns = new ArrayList<>();
+        columns.add(UserDO::getId);
+        for (String field : fields) {
+            if (ROLES_FIELD.equals(field) || "id".equals(field)) {
+                continue;
+            }
+            SFunction<UserDO, ?> column = USER_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("不支持的用户字段: " + field);
+            }
+            columns.add(column);
+        }
+        return new LambdaQueryWrapper<UserDO>().select(true, columns);
+    }
+    
+    private List<UserDTO> toDtoList(List<UserDO> users, Set<String> fields) {
+        List<UserDTO> result = readModelConvert.toUserDtoList(users);
+        if (fields.contains(ROLES_FIELD) && !result.isEmpty()) {
+            attachRoles(result);
+        }
+        return result;
+    }
+    
+    /**
+     * 批量加载用户的角色摘要：一次查询关联，一次查询角色
+     */
+    private void attachRoles(List<UserDTO> users) {
+        Map<Long, UserDTO> usersById = new HashMap<>();
+        for (UserDTO user : users) {
+            user.setRoles(new LinkedHashSet<>());
+            usersById.put(user.getId(), user);
+        }
+        List<UserRoleDO> links = userRoleMapper.selectByUserIds(usersById.keySet());
+        if (links.isEmpty()) {
+            return;
+        }
+        
+        Set<Long> roleIds = links.stream().map(UserRoleDO::getRoleId).collect(Collectors.toSet());
+        Map<Long, RoleDTO> roles = new HashMap<>();
+        for (RoleDO roleDO : roleMapper.selectByIds(roleIds)) {
+            roles.put(roleDO.getId(), readModelConvert.toRoleDto(roleDO));
+        }
+        for (UserRoleDO link : links) {
+            RoleDTO role = roles.get(link.getRoleId());
+            if (role != null) {
+                usersById.get(link.getUserId()).getRoles().add(role);
+            }
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.example.demo.infrastructure.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 角色和权限编码的规范化字符串池
+ * 每次从库中加载都会得到新的编码字符串，放入池中后重复加载共享同一个实例，
+ * 编码比较也能在引用相同时直接返回。编码总数有限，超出上限后不再入池。
+ */
+public final class CodeInterner {
+
+    private static final int MAX_SIZE = 8192;
+    private static final ConcurrentMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private CodeInterner() {
+    }
+
+    /**
+     * 获取编码的规范实例
+     *
+     * @param code 编码，可为null
+     * @return 池中的同值字符串，池满时原样返回
+     */
+    public static String intern(String code) {
+        if (code == null) {
+            return null;
+        }
+        String canonical = POOL.get(code);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (POOL.size() >= MAX_SIZE) {
+            return code;
+        }
+        canonical = POOL.putIfAbsent(code, code);
+        return canonical != null ? canonical : code;
+    }
+}
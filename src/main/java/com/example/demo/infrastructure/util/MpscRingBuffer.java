@@ -0,0 +1,124 @@
+package com.example.demo.infrastructure.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁有界环形缓冲区（多生产者单消费者）
+ * 每个槽位维护一个序号，生产者通过CAS抢占写位置，消费者按序号判断槽位是否已发布。
+ * 缓冲区满时offer直接返回false，从不阻塞生产者。
+ *
+ * @param <E> 元素类型
+ */
+public class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final int capacity;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 仅由消费者线程读写
+     */
+    private long head;
+
+    /**
+     * @param requestedCapacity 期望容量，向上取整为2的幂
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("缓冲区容量不能小于2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素，可由任意线程调用
+     *
+     * @param element 元素
+     * @return 缓冲区已满时返回false，元素被丢弃
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            // difference > 0：其他生产者已抢占该位置，重试
+        }
+    }
+
+    /**
+     * 取出元素，只能由消费者线程调用
+     *
+     * @return 缓冲区为空时返回null
+     */
+    public E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + capacity);
+        head++;
+        return element;
+    }
+
+    /**
+     * 批量取出元素，只能由消费者线程调用
+     *
+     * @param target 目标列表
+     * @param limit  最多取出数量
+     * @return 实际取出数量
+     */
+    public int drainTo(List<E> target, int limit) {
+        int count = 0;
+        E element;
+        while (count < limit && (element = poll()) != null) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return 缓冲区容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return 当前近似元素数量
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * @return 因缓冲区已满被丢弃的元素总数
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+}
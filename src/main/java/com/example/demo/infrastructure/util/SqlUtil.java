@@ -63,4 +63,56 @@ public class SqlUtil {
         
         return queryWrapper;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 构建包含匹配条件（LIKE '%keyword%'）
+     * 关键字中的通配符会被转义，按字面匹配
+     *
+     * @param queryWrapper 查询包装器
+     * @param column       要匹配的列
+     * @param keyword      关键字，为空时不添加条件
+     * @param <T>          实体类型
+     * @return             查询包装器
+     */
+    public static <T> LambdaQueryWrapper<T> buildContainsQuery(LambdaQueryWrapper<T> queryWrapper, SFunction<T, ?> column, String keyword) {
+        if (queryWrapper != null && StringUtils.hasText(keyword)) {
+            queryWrapper.like(column, escapeLike(keyword.trim()));
+        }
+        return queryWrapper;
+    }
+
+    /**
+     * 构建前缀匹配条件（LIKE 'keyword%'），可以使用列上的索引
+     * 关键字中的通配符会被转义，按字面匹配
+     *
+     * @param queryWrapper 查询包装器
+     * @param column       要匹配的列
+     * @param prefix       前缀，为空时不添加条件
+     * @param <T>          实体类型
+     * @return             查询包装器
+     */
+    public static <T> LambdaQueryWrapper<T> buildPrefixQuery(LambdaQueryWrapper<T> queryWrapper, SFunction<T, ?> column, String prefix) {
+        if (queryWrapper != null && StringUtils.hasText(prefix)) {
+            queryWrapper.likeRight(column, escapeLike(prefix.trim()));
+        }
+        return queryWrapper;
+    }
+
+    /**
+     * 转义LIKE模式中的通配符
+     *
+     * @param value 原始值
+     * @return      转义后的值
+     */
+    public static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
\ No newline at end of file
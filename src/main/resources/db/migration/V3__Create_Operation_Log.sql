@@ -0,0 +1,15 @@
+-- 操作日志表
+CREATE TABLE IF NOT EXISTS `operation_log` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `username` varchar(64) DEFAULT NULL COMMENT '操作用户名',
+  `operation` varchar(128) NOT NULL COMMENT '操作名称',
+  `method` varchar(10) NOT NULL COMMENT 'HTTP方法',
+  `uri` varchar(255) NOT NULL COMMENT '请求路径',
+  `ip_address` varchar(64) DEFAULT NULL COMMENT '客户端IP',
+  `status` tinyint NOT NULL COMMENT '状态(0:失败,1:成功)',
+  `error_message` varchar(512) DEFAULT NULL COMMENT '错误信息',
+  `cost_time` int NOT NULL DEFAULT '0' COMMENT '耗时(毫秒)',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '操作时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='操作日志表';
@@ -0,0 +1,13 @@
+-- 操作日志表按月分区
+-- 分区表的主键必须包含分区列，因此主键改为(id, create_time)
+ALTER TABLE operation_log DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`);
+
+-- 查询索引：按时间范围游标分页、按用户+时间范围游标分页
+ALTER TABLE operation_log DROP INDEX `idx_create_time`;
+ALTER TABLE operation_log ADD INDEX `idx_create_time_id` (`create_time`, `id`);
+ALTER TABLE operation_log ADD INDEX `idx_username_create_time_id` (`username`, `create_time`, `id`);
+
+-- 初始只有一个兜底分区，月分区由应用启动及每日定时任务提前创建，过期分区整体删除
+ALTER TABLE operation_log PARTITION BY RANGE (TO_DAYS(`create_time`)) (
+  PARTITION p_future VALUES LESS THAN MAXVALUE
+);
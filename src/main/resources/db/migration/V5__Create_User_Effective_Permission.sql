@@ -0,0 +1,18 @@
+-- 用户有效权限物化表
+-- via_role_count为授予该权限的启用角色数量，降为0时删除该行
+CREATE TABLE IF NOT EXISTS `user_effective_permission` (
+  `user_id` bigint NOT NULL COMMENT '用户ID',
+  `permission_id` bigint NOT NULL COMMENT '权限ID',
+  `via_role_count` int NOT NULL COMMENT '授予该权限的启用角色数',
+  PRIMARY KEY (`user_id`, `permission_id`),
+  KEY `idx_permission_user` (`permission_id`, `user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户有效权限表';
+
+-- 根据现有关联关系初始化
+INSERT INTO `user_effective_permission` (`user_id`, `permission_id`, `via_role_count`)
+SELECT ur.user_id, rp.permission_id, COUNT(*)
+FROM user_role ur
+INNER JOIN role r ON r.id = ur.role_id AND r.status = 1
+INNER JOIN role_permission rp ON rp.role_id = ur.role_id
+INNER JOIN permission p ON p.id = rp.permission_id AND p.status = 1
+GROUP BY ur.user_id, rp.permission_id;
@@ -0,0 +1,55 @@
+-- 用户邮箱、手机号规范化列
+-- 查询与登录统一按规范化后的值匹配，原始列保留用户填写的格式用于展示
+ALTER TABLE `user`
+  ADD COLUMN `email_normalized` varchar(128) DEFAULT NULL COMMENT '规范化邮箱(去首尾空格、小写)' AFTER `phone`,
+  ADD COLUMN `phone_normalized` varchar(32) DEFAULT NULL COMMENT '规范化手机号(去空格、连字符)' AFTER `email_normalized`;
+
+-- 按主键区间分批回填，每批单独提交，避免一条UPDATE长时间锁住整张表
+DROP PROCEDURE IF EXISTS backfill_user_contact_normalized;
+
+DELIMITER $$
+CREATE PROCEDURE backfill_user_contact_normalized()
+BEGIN
+  DECLARE batch_start BIGINT DEFAULT 0;
+  DECLARE batch_size INT DEFAULT 1000;
+  DECLARE max_id BIGINT;
+
+  SELECT COALESCE(MAX(id), 0) INTO max_id FROM `user`;
+  WHILE batch_start < max_id DO
+    UPDATE `user`
+    SET `email_normalized` = NULLIF(LOWER(TRIM(`email`)), ''),
+        `phone_normalized` = NULLIF(REPLACE(REPLACE(TRIM(`phone`), ' ', ''), '-', ''), '')
+    WHERE `id` > batch_start AND `id` <= batch_start + batch_size;
+    SET batch_start = batch_start + batch_size;
+  END WHILE;
+END$$
+DELIMITER ;
+
+CALL backfill_user_contact_normalized();
+DROP PROCEDURE backfill_user_contact_normalized;
+
+-- 规范化后重复的值只保留最早的用户，其余用户的规范化列置空，需要人工核实后重新填写
+UPDATE `user` u
+INNER JOIN (
+  SELECT `email_normalized`, MIN(`id`) AS keep_id
+  FROM `user`
+  WHERE `email_normalized` IS NOT NULL
+  GROUP BY `email_normalized`
+  HAVING COUNT(*) > 1
+) d ON d.email_normalized = u.email_normalized AND u.id <> d.keep_id
+SET u.`email_normalized` = NULL;
+
+UPDATE `user` u
+INNER JOIN (
+  SELECT `phone_normalized`, MIN(`id`) AS keep_id
+  FROM `user`
+  WHERE `phone_normalized` IS NOT NULL
+  GROUP BY `phone_normalized`
+  HAVING COUNT(*) > 1
+) d ON d.phone_normalized = u.phone_normalized AND u.id <> d.keep_id
+SET u.`phone_normalized` = NULL;
+
+-- 唯一索引，NULL不参与唯一性校验
+ALTER TABLE `user`
+  ADD UNIQUE KEY `idx_email_normalized` (`email_normalized`),
+  ADD UNIQUE KEY `idx_phone_normalized` (`phone_normalized`);
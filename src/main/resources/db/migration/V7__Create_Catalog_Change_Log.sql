@@ -0,0 +1,27 @@
+-- 权限目录版本
+-- 每个修改角色、权限或角色权限关联的事务递增version，行锁持有到事务提交，保证版本按提交顺序递增。
+-- min_version为可增量同步的最小版本，早于它的变更日志已被清理，客户端需全量同步。
+CREATE TABLE IF NOT EXISTS `catalog_version` (
+  `id` tinyint NOT NULL COMMENT '固定为1',
+  `version` bigint NOT NULL COMMENT '当前目录版本',
+  `min_version` bigint NOT NULL COMMENT '可增量同步的最小版本',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='权限目录版本表';
+
+-- 已有数据视为版本1的基线，客户端首次同步走全量
+INSERT INTO `catalog_version` (`id`, `version`, `min_version`) VALUES (1, 1, 1);
+
+-- 权限目录变更日志
+-- 只记录变更对象的ID，同步时按ID读取当前数据，对象不存在即视为已删除
+CREATE TABLE IF NOT EXISTS `catalog_change_log` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `version` bigint NOT NULL COMMENT '目录版本',
+  `entity_type` varchar(20) NOT NULL COMMENT '对象类型：PERMISSION、ROLE、ROLE_PERMISSION',
+  `entity_id` bigint NOT NULL COMMENT '对象ID，关联变更时为角色ID',
+  `related_id` bigint DEFAULT NULL COMMENT '关联变更时为权限ID',
+  `operation` varchar(10) NOT NULL COMMENT '操作：UPSERT、DELETE',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_version` (`version`),
+  KEY `idx_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='权限目录变更日志表';
@@ -0,0 +1,3 @@
+-- 角色、权限列表按名称前缀过滤（LIKE 'xxx%'），为名称添加索引；编码已有唯一索引
+ALTER TABLE `role` ADD INDEX `idx_name` (`name`);
+ALTER TABLE `permission` ADD INDEX `idx_name` (`name`);
@@ -0,0 +1,79 @@
+package com.example.demo.application.service.impl;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.application.command.AuthorizationDecisionCommand;
+import com.example.demo.application.command.AuthorizationDecisionCommand.Check;
+import com.example.demo.application.dto.AuthorizationDecisionDTO;
+import com.example.demo.infrastructure.service.AuthorityQueryService;
+import com.example.demo.infrastructure.service.AuthorizationChangeFeed;
+import com.example.demo.infrastructure.service.AuthorityQueryService.SubjectAuthority;
+
+/**
+ * AuthorizationServiceImpl的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuthorizationServiceImplTest {
+
+    @Mock
+    private AuthorityQueryService authorityQueryService;
+
+    @Mock
+    private AuthorizationChangeFeed authorizationChangeFeed;
+
+    @InjectMocks
+    private AuthorizationServiceImpl authorizationService;
+
+    @Test
+    public void testDecisionsArePackedInRequestOrder() {
+        SubjectAuthority alice = new SubjectAuthority();
+        alice.getPermissions().add("USER_VIEW");
+        alice.getRoles().add("ROLE_ADMIN");
+        when(authorityQueryService.loadAuthorities(Set.of("alice", "bob"))).thenReturn(Map.of("alice", alice));
+
+        List<Check> checks = List.of(
+                new Check("alice", "USER_VIEW", null),
+                new Check("alice", "USER_EDIT", null),
+                new Check("bob", "USER_VIEW", null),
+                new Check("alice", null, "ROLE_ADMIN"),
+                new Check("alice", "USER_VIEW", null),
+                new Check("alice", null, "ROLE_USER"),
+                new Check("alice", "USER_VIEW", null),
+                new Check("alice", "USER_VIEW", null),
+                new Check("alice", "USER_VIEW", null));
+        AuthorizationDecisionDTO result = authorizationService.decide(new AuthorizationDecisionCommand(checks));
+
+        byte[] bits = Base64.getDecoder().decode(result.getResults());
+        assertEquals(2, bits.length);
+        // 允许的检查项：0、3、4、6、7、8
+        assertEquals((byte) 0b1101_1001, bits[0]);
+        assertEquals((byte) 0b0000_0001, bits[1]);
+        assertEquals(9, result.getCount());
+        assertEquals(6, result.getGranted());
+        assertEquals(2, result.getSubjects());
+    }
+
+    @Test
+    public void testCheckMustTargetExactlyOneOfPermissionOrRole() {
+        AuthorizationDecisionCommand command = new AuthorizationDecisionCommand(
+                List.of(new Check("alice", "USER_VIEW", "ROLE_ADMIN")));
+
+        assertThrows(IllegalArgumentException.class, () -> authorizationService.decide(command));
+        verify(authorityQueryService, never()).loadAuthorities(any());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.example.demo.domain.model.entity.Permission;
+import com.example.demo.domain.model.entity.Role;
+import com.example.demo.domain.model.entity.User;
+import com.example.demo.domain.model.valueobject.Email;
+import com.example.demo.domain.model.valueobject.PermissionId;
+import com.example.demo.domain.model.valueobject.Phone;
+import com.example.demo.domain.model.valueobject.RoleId;
+import com.example.demo.domain.model.valueobject.UserId;
+import com.example.demo.domain.repository.UserRepository;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+
+/**
+ * 基准测试使用的用户-角色-权限数据
+ * 各基准按rolesPerUser和permissionsPerRole参数构造同样形状的数据，权限编码为perm:序号，角色编码为ROLE_序号。
+ */
+public final class UserGraphFixture {
+
+    public static final String USERNAME = "admin";
+
+    private UserGraphFixture() {
+    }
+
+    /**
+     * 构造数据对象形式的用户，角色和权限已关联好
+     */
+    public static UserDO userDO(int rolesPerUser, int permissionsPerRole) {
+        LocalDateTime now = LocalDateTime.now();
+        UserDO userDO = new UserDO();
+        userDO.setId(1L);
+        userDO.setUsername(USERNAME);
+        userDO.setPassword("$2a$10$hash");
+        userDO.setNickname("管理员");
+        userDO.setEmail("admin@example.com");
+        userDO.setPhone("13800138000");
+        userDO.setCreateTime(now);
+        userDO.setUpdateTime(now);
+        userDO.setRoles(new LinkedHashSet<>());
+        long permissionId = 1;
+        for (long r = 1; r <= rolesPerUser; r++) {
+            RoleDO roleDO = new RoleDO();
+            roleDO.setId(r);
+            roleDO.setName("角色" + r);
+            roleDO.setCode("ROLE_" + r);
+            roleDO.setCreateTime(now);
+            roleDO.setUpdateTime(now);
+            roleDO.setPermissions(new LinkedHashSet<>());
+            for (int p = 0; p < permissionsPerRole; p++, permissionId++) {
+                PermissionDO permissionDO = new PermissionDO();
+                permissionDO.setId(permissionId);
+                permissionDO.setName("权限" + permissionId);
+                permissionDO.setCode(permissionCode(permissionId));
+                permissionDO.setModule("system");
+                permissionDO.setCreateTime(now);
+                permissionDO.setUpdateTime(now);
+                roleDO.getPermissions().add(permissionDO);
+            }
+            userDO.getRoles().add(roleDO);
+        }
+        return userDO;
+    }
+
+    /**
+     * 构造领域实体形式的用户
+     */
+    public static User user(int rolesPerUser, int permissionsPerRole) {
+        UserDO source = userDO(rolesPerUser, permissionsPerRole);
+        Set<Role> roles = new LinkedHashSet<>();
+        for (RoleDO roleDO : source.getRoles()) {
+            Set<Permission> permissions = new LinkedHashSet<>();
+            for (PermissionDO p : roleDO.getPermissions()) {
+                permissions.add(new Permission(PermissionId.of(p.getId()), p.getName(), p.getCode(),
+                        p.getDescription(), p.getModule(), p.getStatus(), p.getCreateTime(), p.getUpdateTime()));
+            }
+            roles.add(new Role(RoleId.of(roleDO.getId()), roleDO.getName(), roleDO.getCode(),
+                    roleDO.getDescription(), roleDO.getStatus(), roleDO.getCreateTime(), roleDO.getUpdateTime(),
+                    permissions));
+        }
+        return new User(new UserId(source.getId()), source.getUsername(), source.getPassword(),
+                source.getNickname(), Email.rehydrate(source.getEmail()), Phone.rehydrate(source.getPhone()),
+                source.getStatus(), source.getCreateTime(), source.getUpdateTime(), source.getLastLoginTime(),
+                roles);
+    }
+
+    /**
+     * 序号对应的权限编码
+     */
+    public static String permissionCode(long id) {
+        return "perm:" + id;
+    }
+
+    /**
+     * 只持有一个用户的内存仓储，用于排除数据库往返后测量调用方由已加载用户构建结果的开销
+     * 权限查询按内存中的用户图计算（启用角色的启用权限），不代表生产中数据库查询的开销，见UserDomainServiceBenchmark
+     */
+    public static UserRepository repository(User user) {
+        return new UserRepository() {
+            @Override
+            public User save(User entity) {
+                return entity;
+            }
+
+            @Override
+            public Optional<User> findById(UserId id) {
+                return Optional.of(user).filter(u -> u.getId().equals(id));
+            }
+
+            @Override
+            public Optional<User> findByUsername(String username) {
+                return Optional.of(user).filter(u -> u.getUsername().equals(username));
+            }
+
+            @Override
+            public Optional<User> findByEmail(String email) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<User> findByPhone(String phone) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<User> findByLoginIdentifier(String identifier) {
+                return findByUsername(identifier);
+            }
+
+            @Override
+            public void updateLastLoginTime(User entity) {
+            }
+
+            @Override
+            public List<User> findAll() {
+                return List.of(user);
+            }
+
+            @Override
+            public boolean existsByUsername(String username) {
+                return user.getUsername().equals(username);
+            }
+
+            @Override
+            public List<String> findPermissionCodesByUsername(String username) {
+                return findByUsername(username).map(UserGraphFixture::permissionCodes).orElse(List.of());
+            }
+
+            @Override
+            public boolean hasPermission(String username, String permissionCode) {
+                return findPermissionCodesByUsername(username).contains(permissionCode);
+            }
+
+            @Override
+            public List<String> findUsernamesByPermissionCode(String permissionCode) {
+                return permissionCodes(user).contains(permissionCode) ? List.of(user.getUsername()) : List.of();
+            }
+
+            @Override
+            public void delete(User entity) {
+            }
+        };
+    }
+
+    /**
+     * 用户的有效权限编码：启用角色的启用权限，去重并保持顺序
+     */
+    private static List<String> permissionCodes(User user) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (Role role : user.getRoles()) {
+            if (!Boolean.TRUE.equals(role.getStatus())) {
+                continue;
+            }
+            for (Permission permission : role.getPermissions()) {
+                if (Boolean.TRUE.equals(permission.getStatus())) {
+                    codes.add(permission.getCode());
+                }
+            }
+        }
+        return List.copyOf(codes);
+    }
+}
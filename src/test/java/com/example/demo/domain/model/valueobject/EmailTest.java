@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -96,4 +97,21 @@ public class EmailTest {
         Email email = new Email("test@example.com");
         assertEquals("test@example.com", email.toString());
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testNormalize() {
+        // 规范化：去除首尾空格并转为小写
+        assertEquals("user@example.com", Email.normalize("  User@Example.COM "));
+        assertNull(Email.normalize(""));
+        assertNull(Email.normalize(null));
+    }
+
+    @Test
+    public void testRehydrate() {
+        // 持久化数据重建不再校验格式，相等性与构造函数一致
+        assertEquals(new Email("test@example.com"), Email.rehydrate("test@example.com"));
+        assertEquals("legacy-email", Email.rehydrate("legacy-email").getValue());
+        assertTrue(Email.rehydrate(null).isEmpty());
+        assertSame(Email.rehydrate(null), Email.rehydrate(null));
+    }
+}
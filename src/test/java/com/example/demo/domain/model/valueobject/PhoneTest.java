@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -94,4 +95,21 @@ public class PhoneTest {
         Phone phone = new Phone("13800138000");
         assertEquals("13800138000", phone.toString());
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testNormalize() {
+        // 规范化：去除空白字符和连字符
+        assertEquals("13800138000", Phone.normalize(" 138-0013 8000 "));
+        assertNull(Phone.normalize("   "));
+        assertNull(Phone.normalize(null));
+    }
+
+    @Test
+    public void testRehydrate() {
+        // 持久化数据重建不再校验格式，相等性与构造函数一致
+        assertEquals(new Phone("13800138000"), Phone.rehydrate("13800138000"));
+        assertEquals("010-12345678", Phone.rehydrate("010-12345678").getValue());
+        assertTrue(Phone.rehydrate(null).isEmpty());
+        assertSame(Phone.rehydrate(null), Phone.rehydrate(null));
+    }
+}
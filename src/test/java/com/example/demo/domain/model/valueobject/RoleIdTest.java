@@ -0,0 +1,28 @@
+package com.example.demo.domain.model.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RoleId值对象的单元测试
+ */
+public class RoleIdTest {
+
+    @Test
+    public void testOfReturnsCanonicalInstance() {
+        // 相同ID共享同一个实例，与构造函数创建的实例相等
+        RoleId first = RoleId.of(42L);
+        assertSame(first, RoleId.of(42L));
+        assertNotSame(first, RoleId.of(43L));
+        assertEquals(new RoleId(42L), first);
+    }
+
+    @Test
+    public void testNullRejected() {
+        assertThrows(NullPointerException.class, () -> RoleId.of(null));
+        assertThrows(NullPointerException.class, () -> new RoleId(null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.domain.model.valueobject;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Email和Phone值对象的基准测试
+ * 对比用户输入时的正则校验与持久化数据的可信重建。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private String email = "zhangsan.dev+rbac@example.com";
+    private String phone = "13800138000";
+
+    @Benchmark
+    public Email emailValidated() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Email emailRehydrated() {
+        return Email.rehydrate(email);
+    }
+
+    @Benchmark
+    public Phone phoneValidated() {
+        return new Phone(phone);
+    }
+
+    @Benchmark
+    public Phone phoneRehydrated() {
+        return Phone.rehydrate(phone);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.domain.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.benchmark.UserGraphFixture;
+
+/**
+ * UserDomainService权限判断的基准测试
+ * 以it配置在进程内H2上启动应用，使用容器中的UserDomainService和真实的仓储、Mapper：
+ * hasPermission查询user_effective_permission，hasRole按用户名加载用户及其角色。
+ * granted命中最后一个权限，denied未命中后还会确认用户存在，多一次查询。
+ * 结果包含H2的查询开销，不代表MySQL的网络往返。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDomainServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int rolesPerUser;
+
+    @Param({"5", "50"})
+    private int permissionsPerRole;
+
+    private ConfigurableApplicationContext context;
+    private UserDomainService userDomainService;
+    private String lastPermission;
+    private String lastRole;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("it")
+                .properties("spring.datasource.url=jdbc:h2:mem:rbac_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                                + "NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.demo=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        userDomainService = context.getBean(UserDomainService.class);
+        lastPermission = UserGraphFixture.permissionCode((long) rolesPerUser * permissionsPerRole);
+        lastRole = "ROLE_" + rolesPerUser;
+        if (!hasPermissionGranted() || hasPermissionDenied() || !hasRole()) {
+            throw new IllegalStateException("基准数据与预期不符");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean hasPermissionGranted() {
+        return userDomainService.hasPermission(UserGraphFixture.USERNAME, lastPermission);
+    }
+
+    @Benchmark
+    public boolean hasPermissionDenied() {
+        return userDomainService.hasPermission(UserGraphFixture.USERNAME, "perm:missing");
+    }
+
+    @Benchmark
+    public boolean hasRole() {
+        return userDomainService.hasRole(UserGraphFixture.USERNAME, lastRole);
+    }
+
+    /**
+     * 按UserGraphFixture的形状写入一个用户：每个角色独占permissionsPerRole个权限，有效权限同步写入
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO `user` (id, username, password, nickname, email, email_normalized, status) "
+                + "VALUES (1, ?, '$2a$10$hash', '管理员', 'admin@example.com', 'admin@example.com', 1)",
+                UserGraphFixture.USERNAME);
+        List<Object[]> permissions = new ArrayList<>();
+        List<Object[]> rolePermissions = new ArrayList<>();
+        List<Object[]> effective = new ArrayList<>();
+        long permissionId = 1;
+        for (long roleId = 1; roleId <= rolesPerUser; roleId++) {
+            jdbcTemplate.update("INSERT INTO role (id, name, code, status) VALUES (?, ?, ?, 1)",
+                    roleId, "角色" + roleId, "ROLE_" + roleId);
+            jdbcTemplate.update("INSERT INTO user_role (user_id, role_id) VALUES (1, ?)", roleId);
+            for (int p = 0; p < permissionsPerRole; p++, permissionId++) {
+                permissions.add(new Object[]{permissionId, "权限" + permissionId,
+                        UserGraphFixture.permissionCode(permissionId)});
+                rolePermissions.add(new Object[]{roleId, permissionId});
+                effective.add(new Object[]{permissionId});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO permission (id, name, code, module, type, status) VALUES (?, ?, ?, 'system', 3, 1)",
+                permissions);
+        jdbcTemplate.batchUpdate("INSERT INTO role_permission (role_id, permission_id) VALUES (?, ?)",
+                rolePermissions);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_effective_permission (user_id, permission_id, via_role_count) VALUES (1, ?, 1)",
+                effective);
+    }
+}
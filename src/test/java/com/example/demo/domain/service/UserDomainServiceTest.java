@@ -234,11 +234,8 @@ public class UserDomainServiceTest {
 
     @Test
     public void testGetUserPermissionCodes() {
-        // 为用户添加角色
-        user.addRole(adminRole);
-
         // 配置模拟行为
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findPermissionCodesByUsername("testuser")).thenReturn(List.of("USER_VIEW", "USER_EDIT"));
 
         // 执行测试
         List<String> permissionCodes = userDomainService.getUserPermissionCodes("testuser");
@@ -249,17 +246,29 @@ public class UserDomainServiceTest {
         assertTrue(permissionCodes.contains("USER_VIEW"));
         assertTrue(permissionCodes.contains("USER_EDIT"));
 
-        // 验证调用
-        verify(userRepository).findByUsername("testuser");
+        // 验证调用：有效权限非空时不再确认用户是否存在
+        verify(userRepository).findPermissionCodesByUsername("testuser");
+        verify(userRepository, never()).existsByUsername(anyString());
     }
 
     @Test
-    public void testHasPermission() {
-        // 为用户添加角色
-        user.addRole(userRole); // 只有查看权限
-
+    public void testGetUserPermissionCodesWhenUserNotFound() {
         // 配置模拟行为
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findPermissionCodesByUsername("nonexistent")).thenReturn(List.of());
+        when(userRepository.existsByUsername("nonexistent")).thenReturn(false);
+
+        // 执行测试并验证异常
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            userDomainService.getUserPermissionCodes("nonexistent"));
+        assertEquals("用户不存在：nonexistent", exception.getMessage());
+    }
+
+    @Test
+    public void testHasPermission() {
+        // 配置模拟行为：只有查看权限
+        when(userRepository.hasPermission("testuser", "USER_VIEW")).thenReturn(true);
+        when(userRepository.hasPermission("testuser", "USER_EDIT")).thenReturn(false);
+        when(userRepository.existsByUsername("testuser")).thenReturn(true);
 
         // 执行测试 - 有权限
         boolean hasViewPermission = userDomainService.hasPermission("testuser", "USER_VIEW");
@@ -270,8 +279,9 @@ public class UserDomainServiceTest {
         assertTrue(hasViewPermission);
         assertFalse(hasEditPermission);
 
-        // 验证调用
-        verify(userRepository, times(2)).findByUsername("testuser");
+        // 验证调用：只有未命中时才确认用户是否存在
+        verify(userRepository, times(1)).existsByUsername("testuser");
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
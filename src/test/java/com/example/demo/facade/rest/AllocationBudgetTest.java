@@ -0,0 +1,93 @@
+package com.example.demo.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.example.demo.infrastructure.monitor.AllocationMeter;
+import com.example.demo.infrastructure.security.JwtUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 已认证接口的单请求分配预算
+ * 在预热后的进程内服务上经完整过滤器链发起请求，按请求线程的分配字节数（中位数）断言预算，
+ * 测量值包含MockMvc构造请求和响应的固定开销，以及进程内H2执行查询的分配（MySQL驱动的分配要少得多）。
+ * 预算在测量值上留约20%余量吸收JIT和JDK版本差异，改动使分配增加时需要先说明原因再调整预算，减少分配后应同步收紧。
+ * 由pom中的allocation-budget执行在独立JVM中运行，其他测试的Mockito内联mock会改写共享的类，使测量偏高。
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class AllocationBudgetTest {
+
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 51;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        token = "Bearer " + jwtUtil.generateToken("admin");
+    }
+
+    @Test
+    public void testCurrentUser() throws Exception {
+        assertAllocatesAtMost("/api/users/current", 520);
+    }
+
+    @Test
+    public void testCurrentUserPermissions() throws Exception {
+        assertAllocatesAtMost("/api/users/current/permissions", 420);
+    }
+
+    @Test
+    public void testCurrentUserBootstrap() throws Exception {
+        assertAllocatesAtMost("/api/users/current/bootstrap", 340);
+    }
+
+    @Test
+    public void testCurrentMenus() throws Exception {
+        assertAllocatesAtMost("/api/menus/current", 360);
+    }
+
+    @Test
+    public void testUserById() throws Exception {
+        assertAllocatesAtMost("/api/users/1", 360);
+    }
+
+    /**
+     * 接口每次请求的分配不超过预算
+     *
+     * @param uri 请求路径
+     * @param budgetKb 预算（KB）
+     */
+    private void assertAllocatesAtMost(String uri, long budgetKb) throws Exception {
+        RequestBuilder request = get(uri).header("Authorization", token);
+        MvcResult[] last = new MvcResult[1];
+        long bytes = AllocationMeter.measure(() -> last[0] = mockMvc.perform(request).andReturn(), WARMUP, ITERATIONS);
+        assertEquals(200, last[0].getResponse().getStatus(), uri);
+
+        long kb = bytes / 1024;
+        log.info("{} 每次请求分配{}KB，预算{}KB", uri, kb, budgetKb);
+        assertTrue(kb <= budgetKb, () -> String.format("%s 每次请求分配%dKB，超出预算%dKB", uri, kb, budgetKb));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.facade.rest;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 连接池隔离
+ * admin连接池只有一个连接，测试占用它模拟管理端慢查询占满连接池：管理端接口获取连接超时，
+ * 认证和一般接口使用各自的连接池，不受影响。
+ */
+@SpringBootTest(properties = {
+    "datasource-routing.bulkheads.admin.maximum-pool-size=1",
+    "datasource-routing.bulkheads.admin.connection-timeout=250"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class ConnectionBulkheadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("adminDataSource")
+    private HikariDataSource adminDataSource;
+
+    @Test
+    public void testExhaustedAdminPoolDoesNotStallAuthentication() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken("admin");
+        double authAcquired = acquired("auth");
+
+        try (Connection held = adminDataSource.getConnection()) {
+            mockMvc.perform(get("/api/roles/page").param("page", "1").param("size", "10")
+                            .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isInternalServerError());
+
+            mockMvc.perform(get("/api/users/current/permissions").header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.code").value("200"));
+        }
+
+        assertTrue(acquired("auth") > authAcquired);
+        assertTrue(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "admin").counter().count() >= 1);
+
+        mockMvc.perform(get("/api/roles/page").param("page", "1").param("size", "10")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+    }
+
+    private double acquired(String pool) {
+        return meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timers().stream()
+                .mapToDouble(timer -> timer.count())
+                .sum();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.facade.rest;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.mapper.MapperFaultInjector;
+import com.example.demo.infrastructure.security.AuthorityCircuitBreaker;
+import com.example.demo.infrastructure.security.JwtUtil;
+
+/**
+ * 数据库变慢时的降级模式
+ * 通过MapperFaultInjector让用户查询变慢，验证熔断打开后读接口按权限快照认证且不再访问数据库，
+ * 写接口和没有快照的用户快速返回503，数据库恢复后熔断关闭。
+ */
+@SpringBootTest(properties = {
+    "authority-breaker.window-size=4",
+    "authority-breaker.minimum-calls=4",
+    "authority-breaker.slow-call-threshold=100ms",
+    "authority-breaker.open-duration=1s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class DegradedModeTest {
+
+    private static final String SELECT_BY_USERNAME = "UserMapper.selectByUsername";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthorityCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private MapperFaultInjector faultInjector;
+
+    @AfterEach
+    public void tearDown() {
+        faultInjector.clear();
+    }
+
+    @Test
+    public void testServesSnapshotWhileDatabaseIsSlow() throws Exception {
+        String token = jwtUtil.generateToken("admin");
+        perform(get("/api/users/current/permissions"), token).andExpect(status().isOk());
+
+        faultInjector.delay(SELECT_BY_USERNAME, Duration.ofMillis(300));
+        for (int i = 0; i < 4 && !circuitBreaker.isDegraded(); i++) {
+            perform(get("/api/users/current/permissions"), token).andExpect(status().isOk());
+        }
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // 熔断期间按快照认证，不访问数据库
+        int executions = faultInjector.executions(SELECT_BY_USERNAME);
+        perform(get("/api/users/current/permissions"), token)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.roles", hasItem("ROLE_ADMIN")));
+        assertEquals(executions, faultInjector.executions(SELECT_BY_USERNAME));
+
+        perform(post("/api/permissions").contentType(MediaType.APPLICATION_JSON).content("{}"), token)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.code").value("503"));
+
+        perform(get("/api/users/current/permissions"), jwtUtil.generateToken("no-snapshot"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // 数据库恢复，熔断时间过后试探加载成功即关闭
+        faultInjector.clear();
+        Thread.sleep(1100);
+        perform(get("/api/users/current/permissions"), token).andExpect(status().isOk());
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(faultInjector.executions(SELECT_BY_USERNAME) > 0);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, String token) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    @TestConfiguration
+    static class FaultInjectionConfig {
+
+        @Bean
+        public MapperFaultInjector mapperFaultInjector() {
+            return new MapperFaultInjector();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.facade.rest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * 通过管理接口录制JFR，下载的文件包含应用的自定义事件
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class FlightRecordingControllerTest {
+
+    @TempDir
+    private Path downloads;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testDetailedRecordingCapturesAuthenticatedRequest() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken("admin");
+        mockMvc.perform(post("/api/admin/jfr/recording/start").param("detailed", "true")
+                        .header("Authorization", token))
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.data.state").value("RUNNING"));
+        mockMvc.perform(post("/api/admin/jfr/recording/start").header("Authorization", token))
+                .andExpect(jsonPath("$.code").value("409"));
+
+        mockMvc.perform(get("/api/users").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/menus/current").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/admin/jfr/recording/stop").header("Authorization", token))
+                .andExpect(jsonPath("$.data.state").value("STOPPED"));
+        byte[] recording = mockMvc.perform(get("/api/admin/jfr/recording/file").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString(".jfr")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.write(downloads.resolve("recording.jfr"), recording);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Set<String> types = events.stream()
+                .map(event -> event.getEventType().getName())
+                .filter(name -> name.startsWith("com.example.demo."))
+                .collect(Collectors.toSet());
+        assertTrue(types.containsAll(Set.of("com.example.demo.JwtAuthentication", "com.example.demo.UserLoad",
+                "com.example.demo.RepositoryCall", "com.example.demo.MapperStatement", "com.example.demo.CacheLookup",
+                "com.example.demo.AuthorizationDecision")), types.toString());
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.MapperStatement")
+                && event.getString("statement").endsWith("UserMapper.selectByUsername") && event.getInt("rows") == 1));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.AuthorizationDecision")
+                && event.getString("resource").equals("UserController.getAllUsers") && event.getBoolean("granted")));
+    }
+}
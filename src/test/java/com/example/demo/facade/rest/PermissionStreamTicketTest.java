@@ -0,0 +1,87 @@
+package com.example.demo.facade.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 权限变更订阅的认证方式
+ * 订阅只接受Authorization请求头或一次性票据，票据只在订阅地址上被接受，查询参数中的令牌被忽略。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class PermissionStreamTicketTest {
+
+    private static final String STREAM = "/api/users/current/permissions/stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testTicketIsSingleUse() throws Exception {
+        String ticket = issueTicket();
+
+        mockMvc.perform(get(STREAM).param("ticket", ticket).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get(STREAM).param("ticket", ticket).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testTicketIsOnlyAcceptedOnStream() throws Exception {
+        String ticket = issueTicket();
+
+        mockMvc.perform(get("/api/users/current/permissions").param("ticket", ticket)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        // 其他地址不会兑换票据
+        mockMvc.perform(get(STREAM).param("ticket", ticket).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    public void testTokenInQueryIsIgnored() throws Exception {
+        mockMvc.perform(get(STREAM).param("access_token", jwtUtil.generateToken("admin"))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testIssuingTicketRequiresAuthentication() throws Exception {
+        mockMvc.perform(post(STREAM + "-ticket"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String issueTicket() throws Exception {
+        String body = mockMvc.perform(post(STREAM + "-ticket")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.expiresIn").value(30))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode data = objectMapper.readTree(body).get("data");
+        return data.get("ticket").asText();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.facade.rest;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 读写分离路由
+ * 两个进程内H2分别代替主库和从库，两者之间没有复制：从库中admin的昵称与主库不同，据此判断查询落在哪个库。
+ * 验证只读查询走从库，写入走主库，用户登录（写入登录时间）后在读己之写窗口内的只读查询走主库，窗口过后回到从库。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rbac_routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+    "datasource-routing.replica.jdbc-url=jdbc:h2:mem:rbac_routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+    "datasource-routing.replica.username=sa",
+    "datasource-routing.replica.driver-class-name=org.h2.Driver",
+    "datasource-routing.sticky-window=1s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    public void setUp() {
+        for (DataSource dataSource : new DataSource[] {primaryDataSource, replicaDataSource}) {
+            new ResourceDatabasePopulator(new ClassPathResource("perf/schema-h2.sql"),
+                    new ClassPathResource("it/rbac-graph.sql")).execute(dataSource);
+        }
+        new JdbcTemplate(replicaDataSource).update("UPDATE `user` SET nickname = '从库管理员' WHERE id = 1");
+    }
+
+    @Test
+    public void testReadsFollowWriterToPrimaryWithinStickyWindow() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken("admin");
+        double reads = routeCount("read");
+
+        mockMvc.perform(get("/api/users/1").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nickname").value("从库管理员"));
+        // 认证加载用户和查询用户都走从库
+        assertEquals(reads + 2, routeCount("read"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin\",\"password\":\"123456\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+        assertEquals(1, countLoggedIn(primaryDataSource));
+        assertEquals(0, countLoggedIn(replicaDataSource));
+
+        double sticky = routeCount("sticky");
+        mockMvc.perform(get("/api/users/1").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nickname").value("管理员"))
+                .andExpect(jsonPath("$.data.lastLoginTime").isNotEmpty());
+        assertEquals(sticky + 2, routeCount("sticky"));
+
+        Thread.sleep(1100);
+        mockMvc.perform(get("/api/users/1").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nickname").value("从库管理员"));
+    }
+
+    private double routeCount(String route) {
+        return meterRegistry.get("datasource.route").tag("route", route).counter().count();
+    }
+
+    private static int countLoggedIn(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM `user` WHERE id = 1 AND last_login_time IS NOT NULL", Integer.class);
+    }
+}
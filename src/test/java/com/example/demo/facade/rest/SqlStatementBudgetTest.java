@@ -0,0 +1,100 @@
+package com.example.demo.facade.rest;
+
+import static com.example.demo.infrastructure.monitor.SqlStatementMatchers.maxExecutions;
+import static com.example.demo.infrastructure.monitor.SqlStatementMatchers.maxStatements;
+import static com.example.demo.infrastructure.monitor.SqlStatementMatchers.noNPlusOne;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+
+/**
+ * 已认证接口的SQL语句预算
+ * 请求经过完整过滤器链，认证时加载用户（用户、角色、角色权限关联、权限共4条）也计入预算。
+ * admin拥有3个角色，逐个角色查询权限会被判为N+1。
+ * 预算按缓存未命中时的语句数设定，改动使语句数增加时需要先说明原因再调整预算。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testCurrentUser() throws Exception {
+        perform("/api/users/current")
+                .andExpect(maxStatements(8))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 2))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testCurrentUserPermissions() throws Exception {
+        perform("/api/users/current/permissions")
+                .andExpect(maxStatements(5))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 1))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testCurrentUserBootstrap() throws Exception {
+        perform("/api/users/current/bootstrap")
+                .andExpect(maxStatements(8))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 2))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testCurrentMenus() throws Exception {
+        perform("/api/menus/current")
+                .andExpect(maxStatements(7))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 1))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testUserList() throws Exception {
+        perform("/api/users")
+                .andExpect(maxStatements(5))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 1))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testUserById() throws Exception {
+        perform("/api/users/1")
+                .andExpect(maxStatements(5))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 1))
+                .andExpect(noNPlusOne());
+    }
+
+    @Test
+    public void testRolePage() throws Exception {
+        perform("/api/roles/page?page=1&size=10&include=permissions")
+                .andExpect(jsonPath("$.data.records[0].permissions").isNotEmpty())
+                // 认证4条，角色分页1条，当页角色的权限关联和权限各1条
+                .andExpect(maxStatements(7))
+                .andExpect(maxExecutions("UserMapper.selectByUsername", 1))
+                .andExpect(noNPlusOne());
+    }
+
+    private ResultActions perform(String uri) throws Exception {
+        return mockMvc.perform(get(uri).header("Authorization", "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk());
+    }
+}
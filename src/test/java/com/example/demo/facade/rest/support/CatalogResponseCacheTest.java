@@ -0,0 +1,131 @@
+package com.example.demo.facade.rest.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CatalogResponseCache的单元测试
+ */
+public class CatalogResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<String> catalog;
+
+    private CatalogResponseCache catalogResponseCache;
+
+    private final Supplier<List<String>> loader = () -> {
+        loads.incrementAndGet();
+        return catalog;
+    };
+
+    @BeforeEach
+    public void setUp() {
+        catalog = List.of("USER_VIEW", "USER_ADD");
+        catalogResponseCache = new CatalogResponseCache(objectMapper);
+    }
+
+    @Test
+    public void testRespondServesCachedBodyWithEtag() throws IOException {
+        ResponseEntity<byte[]> first = catalogResponseCache.respond("permissions", loader, null, null);
+        ResponseEntity<byte[]> second = catalogResponseCache.respond("permissions", loader, null, null);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(1, loads.get());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertNull(first.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        JsonNode body = objectMapper.readTree(first.getBody());
+        assertEquals("200", body.get("code").asText());
+        assertEquals("USER_VIEW", body.get("data").get(0).asText());
+    }
+
+    @Test
+    public void testRespondReturnsNotModifiedWhenEtagMatches() {
+        String etag = catalogResponseCache.respond("permissions", loader, null, null).getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = catalogResponseCache.respond("permissions", loader, "W/" + etag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+        assertNull(response.getBody());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testGzipRepresentationHasOwnEtag() {
+        String etag = catalogResponseCache.respond("permissions", loader, null, null).getHeaders().getETag();
+        ResponseEntity<byte[]> gzipped = catalogResponseCache.respond("permissions", loader, null, "gzip");
+        String gzipEtag = gzipped.getHeaders().getETag();
+
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gz\"", gzipEtag);
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().getVary());
+
+        // 任一表示的ETag都可用于条件请求，304返回当前请求对应表示的ETag
+        ResponseEntity<byte[]> gzipNotModified = catalogResponseCache.respond("permissions", loader, etag, "gzip");
+        ResponseEntity<byte[]> plainNotModified = catalogResponseCache.respond("permissions", loader, gzipEtag, null);
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipNotModified.getStatusCode());
+        assertEquals(gzipEtag, gzipNotModified.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, plainNotModified.getStatusCode());
+        assertEquals(etag, plainNotModified.getHeaders().getETag());
+    }
+
+    @Test
+    public void testRespondServesGzipWhenAccepted() throws IOException {
+        ResponseEntity<byte[]> plain = catalogResponseCache.respond("permissions", loader, null, null);
+        ResponseEntity<byte[]> gzipped = catalogResponseCache.respond("permissions", loader, "\"other\"", "gzip, deflate, br");
+        ResponseEntity<byte[]> refused = catalogResponseCache.respond("permissions", loader, null, "gzip;q=0");
+
+        assertEquals(HttpStatus.OK, gzipped.getStatusCode());
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testCatalogChangedRebuildsBody() {
+        String etag = catalogResponseCache.respond("permissions", loader, null, null).getHeaders().getETag();
+
+        catalog = List.of("USER_VIEW");
+        catalogResponseCache.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.PERMISSION));
+        ResponseEntity<byte[]> response = catalogResponseCache.respond("permissions", loader, etag, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testUnchangedContentKeepsEtagAcrossRebuild() {
+        String etag = catalogResponseCache.respond("roles", loader, null, null).getHeaders().getETag();
+
+        catalogResponseCache.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE));
+        ResponseEntity<byte[]> response = catalogResponseCache.respond("roles", loader, etag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(2, loads.get());
+    }
+}
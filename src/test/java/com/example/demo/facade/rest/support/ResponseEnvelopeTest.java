@@ -0,0 +1,37 @@
+package com.example.demo.facade.rest.support;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.facade.dto.ApiResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ResponseEnvelope的单元测试
+ */
+public class ResponseEnvelopeTest {
+
+    @Test
+    public void testMatchesObjectMapperOutput() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        assertSameAsSerialized(objectMapper, Map.of("roles", List.of("ROLE_ADMIN"), "nickname", "管理员"));
+    }
+
+    @Test
+    public void testFollowsObjectMapperConfiguration() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        assertSameAsSerialized(objectMapper, List.of(1, 2, 3));
+    }
+
+    private void assertSameAsSerialized(ObjectMapper objectMapper, Object data) throws Exception {
+        ResponseEnvelope envelope = new ResponseEnvelope(objectMapper);
+
+        byte[] body = envelope.success(objectMapper.writeValueAsBytes(data));
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.success(data)), body);
+    }
+}
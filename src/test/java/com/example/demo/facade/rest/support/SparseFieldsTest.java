@@ -0,0 +1,61 @@
+package com.example.demo.facade.rest.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.dto.UserDTO;
+import com.example.demo.facade.dto.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * SparseFields的单元测试
+ */
+public class SparseFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    public void testParse() {
+        assertNull(SparseFields.parse(null));
+        assertNull(SparseFields.parse(" , "));
+        assertEquals(List.of("id", "nickname"), List.copyOf(SparseFields.parse(" id,nickname,,id ")));
+    }
+
+    @Test
+    public void testFilterKeepsOnlySelectedFields() throws Exception {
+        RoleDTO role = new RoleDTO();
+        role.setId(5L);
+        role.setCode("ADMIN");
+        role.setDescription("管理员");
+        UserDTO user = UserDTO.builder()
+                .id(1L)
+                .username("admin")
+                .nickname(null)
+                .email("admin@example.com")
+                .roles(Set.of(role))
+                .build();
+
+        MappingJacksonValue value = SparseFields.filter(ApiResponse.success(List.of(user)), Map.of(
+                UserDTO.FIELD_FILTER, Set.of("id", "nickname", "roles"),
+                RoleDTO.FIELD_FILTER, RoleDTO.SUMMARY_FIELDS));
+        JsonNode json = objectMapper.readTree(
+                objectMapper.writer(value.getFilters()).writeValueAsBytes(value.getValue()));
+
+        JsonNode userNode = json.get("data").get(0);
+        assertEquals(3, userNode.size());
+        // 所选字段即使为null也输出
+        assertEquals(true, userNode.get("nickname").isNull());
+        JsonNode roleNode = userNode.get("roles").get(0);
+        assertEquals("ADMIN", roleNode.get("code").asText());
+        assertNull(roleNode.get("description"));
+        assertNull(roleNode.get("permissions"));
+    }
+}
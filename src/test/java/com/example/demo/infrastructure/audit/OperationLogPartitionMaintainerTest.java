@@ -0,0 +1,70 @@
+package com.example.demo.infrastructure.audit;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.infrastructure.mapper.OperationLogMapper;
+
+/**
+ * OperationLogPartitionMaintainer的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class OperationLogPartitionMaintainerTest {
+
+    @Mock
+    private OperationLogMapper operationLogMapper;
+
+    private OperationLogPartitionMaintainer maintainer;
+
+    @BeforeEach
+    public void setUp() {
+        maintainer = new OperationLogPartitionMaintainer(operationLogMapper, 6, 2);
+    }
+
+    @Test
+    public void testCreatesMissingPartitionsInOrder() {
+        when(operationLogMapper.selectPartitionNames()).thenReturn(Arrays.asList("p202610", "p_future"));
+
+        maintainer.maintain(YearMonth.of(2026, 10));
+
+        InOrder order = inOrder(operationLogMapper);
+        order.verify(operationLogMapper).addPartition("p202611", "2026-12-01");
+        order.verify(operationLogMapper).addPartition("p202612", "2027-01-01");
+        verify(operationLogMapper, never()).addPartition("p202610", "2026-11-01");
+    }
+
+    @Test
+    public void testDropsPartitionsOlderThanRetention() {
+        when(operationLogMapper.selectPartitionNames()).thenReturn(Arrays.asList(
+                "p202603", "p202604", "p202610", "p202611", "p202612", "p_future"));
+
+        maintainer.maintain(YearMonth.of(2026, 10));
+
+        verify(operationLogMapper).dropPartition("p202603");
+        verify(operationLogMapper, never()).dropPartition("p202604");
+        verify(operationLogMapper, never()).dropPartition("p_future");
+    }
+
+    @Test
+    public void testSkipsUnpartitionedTable() {
+        when(operationLogMapper.selectPartitionNames()).thenReturn(Collections.emptyList());
+
+        maintainer.maintain(YearMonth.of(2026, 10));
+
+        verify(operationLogMapper, never()).addPartition(anyString(), anyString());
+        verify(operationLogMapper, never()).dropPartition(anyString());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.infrastructure.convert;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.application.dto.UserDTO;
+import com.example.demo.benchmark.UserGraphFixture;
+import com.example.demo.domain.model.entity.User;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+
+/**
+ * MapStruct转换器的基准测试
+ * 覆盖领域实体与DTO、数据对象之间的转换，以及查询路径上DO到DTO的读模型转换。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertBenchmark {
+
+    @Param({"1", "10"})
+    private int rolesPerUser;
+
+    @Param({"5", "50"})
+    private int permissionsPerRole;
+
+    private UserConvert userConvert;
+    private ReadModelConvert readModelConvert;
+    private User user;
+    private UserDO userDO;
+
+    @Setup
+    public void setUp() {
+        PermissionConvertImpl permissionConvert = new PermissionConvertImpl();
+        RoleConvertImpl roleConvert = new RoleConvertImpl();
+        ReflectionTestUtils.setField(roleConvert, "permissionConvert", permissionConvert);
+        UserConvertImpl convert = new UserConvertImpl();
+        ReflectionTestUtils.setField(convert, "roleConvert", roleConvert);
+        userConvert = convert;
+        readModelConvert = new ReadModelConvertImpl();
+
+        user = UserGraphFixture.user(rolesPerUser, permissionsPerRole);
+        userDO = UserGraphFixture.userDO(rolesPerUser, permissionsPerRole);
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return userConvert.toDto(user);
+    }
+
+    @Benchmark
+    public UserDO userToData() {
+        return userConvert.toData(user);
+    }
+
+    @Benchmark
+    public UserDTO readModelToDto() {
+        return readModelConvert.toUserDto(userDO);
+    }
+}
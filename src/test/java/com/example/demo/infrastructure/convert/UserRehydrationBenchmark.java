@@ -0,0 +1,91 @@
+package com.example.demo.infrastructure.convert;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.benchmark.UserGraphFixture;
+import com.example.demo.domain.model.entity.Permission;
+import com.example.demo.domain.model.entity.Role;
+import com.example.demo.domain.model.entity.User;
+import com.example.demo.domain.model.valueobject.Email;
+import com.example.demo.domain.model.valueobject.PermissionId;
+import com.example.demo.domain.model.valueobject.Phone;
+import com.example.demo.domain.model.valueobject.RoleId;
+import com.example.demo.domain.model.valueobject.UserId;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+
+/**
+ * 用户加载路径的基准测试
+ * validated复现改造前的转换：每行都校验邮箱和手机号，每个角色和权限都新建ID对象；
+ * trusted为UserConvert当前的可信重建路径。用gc.alloc.rate.norm对比每次加载的分配字节数。
+ * 运行：mvn -Pbenchmarks verify -Djmh.includes=UserRehydrationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRehydrationBenchmark {
+
+    @Param({"1", "10"})
+    private int rolesPerUser;
+
+    @Param({"5", "50"})
+    private int permissionsPerRole;
+
+    private UserDO userDO;
+    private UserConvert userConvert;
+
+    @Setup
+    public void setUp() {
+        PermissionConvertImpl permissionConvert = new PermissionConvertImpl();
+        RoleConvertImpl roleConvert = new RoleConvertImpl();
+        ReflectionTestUtils.setField(roleConvert, "permissionConvert", permissionConvert);
+        UserConvertImpl convert = new UserConvertImpl();
+        ReflectionTestUtils.setField(convert, "roleConvert", roleConvert);
+        userConvert = convert;
+
+        userDO = UserGraphFixture.userDO(rolesPerUser, permissionsPerRole);
+    }
+
+    @Benchmark
+    public User validated() {
+        Set<Role> roles = new LinkedHashSet<>();
+        for (RoleDO roleDO : userDO.getRoles()) {
+            Set<Permission> permissions = new LinkedHashSet<>();
+            for (PermissionDO p : roleDO.getPermissions()) {
+                permissions.add(new Permission(new PermissionId(p.getId()), p.getName(), p.getCode(),
+                        p.getDescription(), p.getModule(), p.getStatus(), p.getCreateTime(), p.getUpdateTime()));
+            }
+            roles.add(new Role(new RoleId(roleDO.getId()), roleDO.getName(), roleDO.getCode(),
+                    roleDO.getDescription(), roleDO.getStatus(), roleDO.getCreateTime(), roleDO.getUpdateTime(),
+                    permissions));
+        }
+        return new User(new UserId(userDO.getId()), userDO.getUsername(), userDO.getPassword(),
+                userDO.getNickname(), new Email(userDO.getEmail()), new Phone(userDO.getPhone()),
+                userDO.getStatus(), userDO.getCreateTime(), userDO.getUpdateTime(), userDO.getLastLoginTime(),
+                roles);
+    }
+
+    @Benchmark
+    public User trusted() {
+        return userConvert.toDomain(userDO);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.infrastructure.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * RoutingDataSource的单元测试
+ */
+public class RoutingDataSourceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaStickiness stickiness;
+    private RoutingDataSource routing;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stickiness = new ReplicaStickiness(Duration.ofSeconds(5), now::get);
+        routing = routing(RoutingDataSource.Target.PRIMARY, RoutingDataSource.Target.REPLICA);
+        TransactionSynchronizationManager.initSynchronization();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+        RoutingDataSource.clearSubject();
+        RoutingDataSource.bindBulkhead(null);
+    }
+
+    @Test
+    public void testReadOnlyTransactionGoesToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(RoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get("datasource.route").tag("route", "read").counter().count());
+    }
+
+    @Test
+    public void testCommittedWriteMakesSubjectSticky() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertFalse(stickiness.isSticky("alice"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(stickiness.isSticky("alice"));
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get("datasource.route").tag("route", "sticky").counter().count());
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(RoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testStickinessIsPerSubject() {
+        stickiness.markWrite("bob");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(RoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+
+        RoutingDataSource.bindSubject("bob");
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testWriteWithoutTransactionGoesToPrimaryWithoutStickiness() {
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        assertEquals(1.0, meterRegistry.get("datasource.route").tag("route", "write").counter().count());
+    }
+
+    @Test
+    public void testAuthReadsUseAuthPool() {
+        routing = routing(RoutingDataSource.Target.PRIMARY, RoutingDataSource.Target.AUTH,
+                RoutingDataSource.Target.ADMIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RoutingDataSource.bindBulkhead(Bulkhead.AUTH);
+
+        assertEquals(RoutingDataSource.Target.AUTH, routing.determineCurrentLookupKey());
+
+        // auth连接池连接主库时不受读己之写窗口约束
+        stickiness.markWrite("alice");
+        assertEquals(RoutingDataSource.Target.AUTH, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testAdminUsesAdminPoolForWritesAndReads() {
+        routing = routing(RoutingDataSource.Target.PRIMARY, RoutingDataSource.Target.AUTH,
+                RoutingDataSource.Target.ADMIN);
+        RoutingDataSource.bindBulkhead(Bulkhead.ADMIN);
+
+        assertEquals(RoutingDataSource.Target.ADMIN, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(RoutingDataSource.Target.ADMIN, routing.determineCurrentLookupKey());
+
+        RoutingDataSource.bindBulkhead(null);
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testBulkheadWithoutPoolFallsBackToGeneral() {
+        RoutingDataSource.bindBulkhead(Bulkhead.ADMIN);
+        assertEquals(RoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RoutingDataSource.bindBulkhead(Bulkhead.AUTH);
+        assertEquals(RoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    private RoutingDataSource routing(RoutingDataSource.Target... targets) {
+        Map<RoutingDataSource.Target, DataSource> pools = new EnumMap<>(RoutingDataSource.Target.class);
+        for (RoutingDataSource.Target target : targets) {
+            pools.put(target, mock(DataSource.class));
+        }
+        EnumSet<RoutingDataSource.Target> replicaTargets = EnumSet.noneOf(RoutingDataSource.Target.class);
+        if (pools.containsKey(RoutingDataSource.Target.REPLICA)) {
+            replicaTargets.add(RoutingDataSource.Target.REPLICA);
+        }
+        return new RoutingDataSource(pools, replicaTargets, stickiness, meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.infrastructure.mapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * 测试用Mapper故障注入
+ * 按语句ID后缀（如UserMapper.selectByUsername）为语句注入延迟或失败，并统计语句执行次数，
+ * 用于在集成测试中模拟数据库变慢或不可用。声明为Bean后由MyBatis-Plus自动注册为插件。
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class})
+})
+public class MapperFaultInjector implements Interceptor {
+
+    private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> failures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    /**
+     * 语句执行前等待指定时间
+     */
+    public void delay(String statementSuffix, Duration delay) {
+        delays.put(statementSuffix, delay);
+    }
+
+    /**
+     * 语句执行时抛出数据访问异常
+     */
+    public void fail(String statementSuffix) {
+        failures.put(statementSuffix, Boolean.TRUE);
+    }
+
+    /**
+     * 语句的执行次数（含注入失败的执行）
+     *
+     * @param statement Mapper简单类名.方法名，如UserMapper.selectByUsername
+     */
+    public int executions(String statement) {
+        AtomicInteger count = executions.get(statement);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * 清除全部注入和计数
+     */
+    public void clear() {
+        delays.clear();
+        failures.clear();
+        executions.clear();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+        for (Map.Entry<String, Duration> delay : delays.entrySet()) {
+            if (id.endsWith(delay.getKey())) {
+                Thread.sleep(delay.getValue().toMillis());
+            }
+        }
+        for (String suffix : failures.keySet()) {
+            if (id.endsWith(suffix)) {
+                count(id);
+                throw new DataAccessResourceFailureException("注入的数据库故障: " + id);
+            }
+        }
+        count(id);
+        return invocation.proceed();
+    }
+
+    private void count(String id) {
+        int dot = id.lastIndexOf('.', id.lastIndexOf('.') - 1);
+        executions.computeIfAbsent(id.substring(dot + 1), key -> new AtomicInteger()).incrementAndGet();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 当前线程分配字节数的测量
+ * 基于HotSpot的ThreadMXBean.getCurrentThreadAllocatedBytes，统计的是线程在堆上分配的全部字节（含之后即被回收的临时对象），
+ * 与GC压力直接对应。被测代码须在当前线程上同步执行，MockMvc请求满足这一点。
+ * 先预热使JIT完成编译（逃逸分析会消除部分分配）、各级缓存就绪，再取多次测量的中位数，排除偶发的懒加载和扩容。
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * 被测操作
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * 测量操作每次执行分配的字节数
+     *
+     * @param action 被测操作
+     * @param warmup 预热次数
+     * @param iterations 测量次数
+     * @return 每次执行分配字节数的中位数
+     */
+    public static long measure(Action action, int warmup, int iterations) throws Exception {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "JVM不支持线程分配字节统计");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            action.run();
+            samples[i] = THREADS.getCurrentThreadAllocatedBytes() - before;
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2];
+    }
+}
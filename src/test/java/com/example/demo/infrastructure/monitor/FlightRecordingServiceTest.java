@@ -0,0 +1,97 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.demo.application.dto.FlightRecordingDTO;
+import com.example.demo.infrastructure.monitor.jfr.CacheLookupEvent;
+import com.example.demo.infrastructure.monitor.jfr.JwtAuthenticationEvent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * FlightRecordingService的单元测试
+ */
+public class FlightRecordingServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private FlightRecordingService flightRecordingService;
+
+    @BeforeEach
+    public void setUp() {
+        flightRecordingService = new FlightRecordingService(directory.toString(), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if ("RUNNING".equals(flightRecordingService.status().getState())) {
+            flightRecordingService.stop();
+        }
+    }
+
+    @Test
+    public void testDetailedRecordingCapturesHighRateAndSubThresholdEvents() throws Exception {
+        assertEquals("NONE", flightRecordingService.status().getState());
+        FlightRecordingDTO started = flightRecordingService.start("default", true);
+        assertEquals("RUNNING", started.getState());
+        assertThrows(IllegalStateException.class, () -> flightRecordingService.getRecordingFile());
+
+        CacheLookupEvent.emit("menu.catalog", true);
+        JwtAuthenticationEvent authentication = new JwtAuthenticationEvent();
+        authentication.begin();
+        authentication.finish("admin", "authenticated");
+
+        FlightRecordingDTO stopped = flightRecordingService.stop();
+        assertEquals("STOPPED", stopped.getState());
+        assertTrue(stopped.getSize() > 0);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(flightRecordingService.getRecordingFile());
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.CacheLookup")
+                && event.getString("cache").equals("menu.catalog") && event.getBoolean("hit")));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.JwtAuthentication")
+                && event.getString("username").equals("admin")));
+    }
+
+    @Test
+    public void testDefaultRecordingKeepsHighRateEventsOff() throws Exception {
+        flightRecordingService.start("default", false);
+        CacheLookupEvent.emit("menu.catalog", false);
+        flightRecordingService.stop();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(flightRecordingService.getRecordingFile());
+        assertFalse(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.CacheLookup")));
+    }
+
+    @Test
+    public void testStartRejectsUnknownSettingsAndConcurrentRecording() {
+        assertThrows(IllegalArgumentException.class, () -> flightRecordingService.start("/etc/custom.jfc", false));
+        assertThrows(IllegalStateException.class, () -> flightRecordingService.stop());
+
+        flightRecordingService.start("default", false);
+        assertThrows(IllegalStateException.class, () -> flightRecordingService.start("profile", false));
+    }
+
+    @Test
+    public void testStartingNewRecordingDeletesPreviousFile() {
+        flightRecordingService.start("default", false);
+        flightRecordingService.stop();
+        Path previous = flightRecordingService.getRecordingFile();
+
+        flightRecordingService.start("default", false);
+
+        assertFalse(previous.toFile().exists());
+    }
+}
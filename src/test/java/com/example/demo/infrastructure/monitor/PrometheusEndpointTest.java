@@ -0,0 +1,90 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+
+/**
+ * 热点路径指标经/actuator/prometheus导出
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testHotPathMetricsAreScraped() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken("admin");
+        mockMvc.perform(get("/api/users/current").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/current/bootstrap").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        // 采集端点不需要令牌，MockMvc请求来自本机
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertScraped(scrape, "auth_filter_seconds_count{", "stage=\"load\"");
+        assertScraped(scrape, "auth_filter_seconds_bucket{", "stage=\"total\"");
+        assertScraped(scrape, "auth_filter_requests_total{", "result=\"authenticated\"");
+        assertScraped(scrape, "repository_invocation_seconds_count{", "method=\"findByUsername\"",
+                "repository=\"UserRepositoryImpl\"");
+        assertScraped(scrape, "cache_gets_total{", "cache=\"session-bootstrap.user\"", "result=\"miss\"");
+        assertScraped(scrape, "cache_load_seconds_count{", "cache=\"session-bootstrap.role-set\"");
+        assertScraped(scrape, "sql_statement_seconds_count{", "statement=\"UserMapper.selectByUsername\"");
+        assertScraped(scrape, "http_server_requests_seconds_bucket{", "uri=\"/api/users/current\"");
+        assertScraped(scrape, "password_hash_seconds_count{", "operation=\"matches\"");
+    }
+
+    @Test
+    public void testScrapeRejectsOtherAddresses() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health").with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * 存在以prefix开头且包含全部标签的样本行
+     */
+    private void assertScraped(String scrape, String prefix, String... labels) {
+        boolean found = scrape.lines()
+                .filter(line -> line.startsWith(prefix))
+                .anyMatch(line -> {
+                    for (String label : labels) {
+                        if (!line.contains(label)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+        assertTrue(found, () -> "未采集到指标 " + prefix + String.join(",", labels));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ServerTimingFilter的单元测试
+ */
+public class ServerTimingFilterTest {
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testHeaderIsWrittenBeforeResponseIsCommitted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(1.0, "").doFilter(new MockHttpServletRequest("GET", "/api/users/current"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        ServerTiming.record(ServerTiming.Stage.SQL, 2_000_000);
+                        resp.getWriter().write("{}");
+                        resp.flushBuffer();
+                        // 提交之后记录的耗时不再影响已写出的响应头
+                        ServerTiming.record(ServerTiming.Stage.SERIALIZE, 1_000_000);
+                    }
+                }));
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertTrue(header.startsWith("sql;dur=2.00, total;dur="), header);
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    public void testHeaderIsWrittenForUncommittedResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(1.0, "").doFilter(new MockHttpServletRequest("GET", "/api/users/current"), response,
+                new MockFilterChain());
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("total;dur="));
+    }
+
+    @Test
+    public void testZeroSampleRateDisablesTiming() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(0, "").doFilter(new MockHttpServletRequest("GET", "/api/users/current"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                        assertNull(ServerTiming.current());
+                    }
+                }));
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+    }
+
+    @Test
+    public void testHeaderIsOnlyWrittenForTrustedCallers() throws Exception {
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        new ServerTimingFilter(1.0, "ROLE_ADMIN").doFilter(
+                new MockHttpServletRequest("GET", "/api/users/current"), anonymous, new MockFilterChain());
+        assertNull(anonymous.getHeader(ServerTiming.HEADER));
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "alice", null, List.of(new SimpleGrantedAuthority("USER_VIEW"))));
+        MockHttpServletResponse user = new MockHttpServletResponse();
+        new ServerTimingFilter(1.0, "ROLE_ADMIN").doFilter(
+                new MockHttpServletRequest("GET", "/api/users/current"), user, new MockFilterChain());
+        assertNull(user.getHeader(ServerTiming.HEADER));
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        MockHttpServletResponse admin = new MockHttpServletResponse();
+        new ServerTimingFilter(1.0, "ROLE_ADMIN").doFilter(
+                new MockHttpServletRequest("GET", "/api/users/current"), admin, new MockFilterChain());
+        assertNotNull(admin.getHeader(ServerTiming.HEADER));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.infrastructure.monitor;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+
+/**
+ * 已认证接口的响应携带完整的Server-Timing阶段
+ */
+@SpringBootTest(properties = "server-timing.sample-rate=1.0")
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+@Sql(scripts = "/it/rbac-graph.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class ServerTimingHeaderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testCurrentUserResponseCarriesStageBreakdown() throws Exception {
+        mockMvc.perform(get("/api/users/current").header("Authorization", "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value("admin"))
+                .andExpect(header().string(ServerTiming.HEADER, allOf(
+                        containsString("auth-parse;dur="),
+                        containsString("user-load;dur="),
+                        containsString("auth-verify;dur="),
+                        containsString("repo;dur="),
+                        containsString("sql;dur="),
+                        containsString("convert;dur="),
+                        containsString("json;dur="),
+                        containsString("total;dur="))));
+    }
+
+    @Test
+    public void testDecisionTimingsGoToServerTimingOnly() throws Exception {
+        mockMvc.perform(post("/api/authz/decisions")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"checks\":[{\"subject\":\"admin\",\"permission\":\"USER_VIEW\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Authz-Decisions", "1"))
+                .andExpect(header().doesNotExist("X-Authz-Load-Nanos"))
+                .andExpect(header().string(ServerTiming.HEADER, allOf(
+                        containsString("authz-load;dur="),
+                        containsString("authz-eval;dur="))));
+    }
+}
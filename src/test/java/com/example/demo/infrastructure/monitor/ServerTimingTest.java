@@ -0,0 +1,61 @@
+package com.example.demo.infrastructure.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ServerTiming的单元测试
+ */
+public class ServerTimingTest {
+
+    @AfterEach
+    public void tearDown() {
+        ServerTiming.stop();
+    }
+
+    @Test
+    public void testRecordIsIgnoredWithoutCurrentTiming() {
+        ServerTiming.record(ServerTiming.Stage.SQL, 1_000_000);
+        assertNull(ServerTiming.current());
+
+        ServerTiming timing = ServerTiming.start();
+        assertSame(timing, ServerTiming.current());
+        ServerTiming.record(ServerTiming.Stage.SQL, 1_000_000);
+        assertEquals(1_000_000, timing.getNanos(ServerTiming.Stage.SQL));
+        assertEquals(1, timing.getCount(ServerTiming.Stage.SQL));
+    }
+
+    @Test
+    public void testHeaderValueListsRecordedStagesInOrderFollowedByTotal() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        timing.add(ServerTiming.Stage.SERIALIZE, 340_000);
+        timing.add(ServerTiming.Stage.SQL, 1_500_000);
+        timing.add(ServerTiming.Stage.SQL, 2_055_000);
+        timing.add(ServerTiming.Stage.AUTH_PARSE, 12_340_000);
+
+        String header = timing.toHeaderValue();
+
+        assertTrue(header.startsWith("auth-parse;dur=12.34, sql;dur=3.55;desc=\"2\", json;dur=0.34, total;dur="),
+                header);
+        assertFalse(header.contains("repo"), header);
+    }
+
+    @Test
+    public void testNestedEnterOfSameStageIsNotCountedTwice() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+
+        assertTrue(timing.enter(ServerTiming.Stage.REPOSITORY));
+        assertFalse(timing.enter(ServerTiming.Stage.REPOSITORY));
+        timing.exit(ServerTiming.Stage.REPOSITORY, 5_000_000);
+        assertTrue(timing.enter(ServerTiming.Stage.REPOSITORY));
+        timing.exit(ServerTiming.Stage.REPOSITORY, 1_000_000);
+
+        assertEquals(6_000_000, timing.getNanos(ServerTiming.Stage.REPOSITORY));
+        assertEquals(2, timing.getCount(ServerTiming.Stage.REPOSITORY));
+    }
+}
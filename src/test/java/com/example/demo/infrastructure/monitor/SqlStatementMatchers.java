@@ -0,0 +1,79 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * 请求SQL语句数断言
+ * 读取SqlStatementFilter放入请求属性的记录，与MockMvc配合声明每个接口的语句预算：
+ * <pre>
+ * mockMvc.perform(get("/api/users/current").header(...))
+ *         .andExpect(SqlStatementMatchers.maxStatements(4))
+ *         .andExpect(SqlStatementMatchers.noNPlusOne());
+ * </pre>
+ * 失败消息列出本次请求执行的全部语句及次数。
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * 本次请求执行的语句总数不超过max
+     */
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            SqlStatementTrace trace = trace(result);
+            assertTrue(trace.getStatementCount() <= max, () -> String.format(
+                    "%s 执行了%d条SQL，预算%d条:%s", uri(result), trace.getStatementCount(), max, trace.describe()));
+        };
+    }
+
+    /**
+     * 指定语句的执行次数不超过max
+     *
+     * @param statementId 语句ID，可以只写Mapper简单类名.方法名，如UserMapper.selectByUsername
+     */
+    public static ResultMatcher maxExecutions(String statementId, int max) {
+        return result -> {
+            SqlStatementTrace trace = trace(result);
+            int count = trace.getStatements().entrySet().stream()
+                    .filter(entry -> entry.getKey().equals(statementId) || entry.getKey().endsWith("." + statementId))
+                    .mapToInt(entry -> entry.getValue().getCount())
+                    .sum();
+            assertTrue(count <= max, () -> String.format(
+                    "%s 中 %s 执行了%d次，预算%d次:%s", uri(result), statementId, count, max, trace.describe()));
+        };
+    }
+
+    /**
+     * 没有查询语句以两组及以上不同参数重复执行
+     */
+    public static ResultMatcher noNPlusOne() {
+        return result -> {
+            SqlStatementTrace trace = trace(result);
+            List<String> suspects = trace.findSuspectedNPlusOne(2);
+            if (!suspects.isEmpty()) {
+                fail(String.format("%s 疑似N+1查询%s:%s", uri(result), suspects, trace.describe()));
+            }
+        };
+    }
+
+    /**
+     * 取出本次请求的语句记录
+     */
+    public static SqlStatementTrace trace(MvcResult result) {
+        SqlStatementTrace trace = (SqlStatementTrace) result.getRequest().getAttribute(SqlStatementTrace.REQUEST_ATTRIBUTE);
+        assertNotNull(trace, "请求中没有SQL语句记录，确认SqlStatementFilter已注册到MockMvc");
+        return trace;
+    }
+
+    private static String uri(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
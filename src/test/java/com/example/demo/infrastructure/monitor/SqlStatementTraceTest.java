@@ -0,0 +1,102 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+
+/**
+ * SqlStatementTrace的单元测试
+ */
+public class SqlStatementTraceTest {
+
+    private static final String FIND_PERMISSIONS = "com.example.demo.infrastructure.mapper.PermissionMapper.findPermissionsByRoleId";
+    private static final String INSERT_LINK = "com.example.demo.infrastructure.mapper.RolePermissionMapper.insert";
+
+    @AfterEach
+    public void tearDown() {
+        SqlStatementTrace.stop();
+    }
+
+    @Test
+    public void testStartAndStopBindToCurrentThread() {
+        assertNull(SqlStatementTrace.current());
+        SqlStatementTrace trace = SqlStatementTrace.start();
+        assertSame(trace, SqlStatementTrace.current());
+        assertSame(trace, SqlStatementTrace.stop());
+        assertNull(SqlStatementTrace.current());
+    }
+
+    @Test
+    public void testRecordCountsAndTimesByStatementId() {
+        SqlStatementTrace trace = new SqlStatementTrace();
+        trace.record(FIND_PERMISSIONS, SqlCommandType.SELECT, Map.of("roleId", 1L), 1_000);
+        trace.record(FIND_PERMISSIONS, SqlCommandType.SELECT, Map.of("roleId", 1L), 2_000);
+        trace.record(INSERT_LINK, SqlCommandType.INSERT, Map.of("roleId", 1L), 500);
+
+        assertEquals(3, trace.getStatementCount());
+        assertEquals(3_500, trace.getTotalNanos());
+        SqlStatementTrace.Statement statement = trace.getStatements().get(FIND_PERMISSIONS);
+        assertEquals(2, statement.getCount());
+        assertEquals(3_000, statement.getNanos());
+        assertEquals(1, statement.getDistinctParameters());
+        assertEquals(List.of(FIND_PERMISSIONS, INSERT_LINK), List.copyOf(trace.getStatements().keySet()));
+    }
+
+    @Test
+    public void testSuspectedNPlusOneRequiresDistinctParameters() {
+        SqlStatementTrace trace = new SqlStatementTrace();
+        for (long roleId = 1; roleId <= 3; roleId++) {
+            trace.record(FIND_PERMISSIONS, SqlCommandType.SELECT, Map.of("roleId", roleId), 1);
+        }
+        assertEquals(List.of(FIND_PERMISSIONS), trace.findSuspectedNPlusOne(3));
+        assertTrue(trace.findSuspectedNPlusOne(4).isEmpty());
+
+        // 相同参数重复查询不算N+1
+        SqlStatementTrace repeated = new SqlStatementTrace();
+        for (int i = 0; i < 5; i++) {
+            repeated.record(FIND_PERMISSIONS, SqlCommandType.SELECT, Map.of("roleId", 1L), 1);
+        }
+        assertTrue(repeated.findSuspectedNPlusOne(2).isEmpty());
+    }
+
+    @Test
+    public void testSuspectedNPlusOneOnlyConsidersQueries() {
+        SqlStatementTrace trace = new SqlStatementTrace();
+        for (long permissionId = 1; permissionId <= 5; permissionId++) {
+            trace.record(INSERT_LINK, SqlCommandType.INSERT, Map.of("permissionId", permissionId), 1);
+        }
+        assertTrue(trace.findSuspectedNPlusOne(2).isEmpty());
+    }
+
+    @Test
+    public void testFingerprintComparesSimpleValuesByValue() {
+        assertEquals(SqlStatementTrace.fingerprint(Map.of("roleIds", List.of(1L, 2L))),
+                SqlStatementTrace.fingerprint(Map.of("roleIds", List.of(1L, 2L))));
+        assertNotEquals(SqlStatementTrace.fingerprint(Map.of("roleIds", List.of(1L, 2L))),
+                SqlStatementTrace.fingerprint(Map.of("roleIds", List.of(1L, 3L))));
+        assertEquals(0, SqlStatementTrace.fingerprint(null));
+    }
+
+    @Test
+    public void testFingerprintDoesNotHashCyclicDataObjects() {
+        // 角色和权限数据对象互相引用，按值计算hashCode会无限递归
+        RoleDO role = new RoleDO();
+        PermissionDO permission = new PermissionDO();
+        role.getPermissions().add(permission);
+        permission.getRoles().add(role);
+
+        assertEquals(System.identityHashCode(role), SqlStatementTrace.fingerprint(role));
+        assertEquals(SqlStatementTrace.fingerprint(Map.of("et", role)), SqlStatementTrace.fingerprint(Map.of("et", role)));
+    }
+}
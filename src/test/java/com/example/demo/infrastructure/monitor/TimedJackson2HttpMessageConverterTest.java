@@ -0,0 +1,52 @@
+package com.example.demo.infrastructure.monitor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * TimedJackson2HttpMessageConverter的单元测试
+ */
+public class TimedJackson2HttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TimedJackson2HttpMessageConverter converter = new TimedJackson2HttpMessageConverter(objectMapper);
+
+    @AfterEach
+    public void tearDown() {
+        ServerTiming.stop();
+    }
+
+    @Test
+    public void testSampledResponseIsSerializedBeforeWriting() throws Exception {
+        ServerTiming timing = ServerTiming.start();
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(Map.of("code", "200"), MediaType.APPLICATION_JSON, message);
+
+        assertEquals("{\"code\":\"200\"}", message.getBodyAsString());
+        assertEquals(1, timing.getCount(ServerTiming.Stage.SERIALIZE));
+    }
+
+    @Test
+    public void testLargeResponseIsStreamedAfterBufferLimit() throws Exception {
+        ServerTiming.start();
+        List<String> rows = Collections.nCopies(TimedJackson2HttpMessageConverter.MAX_BUFFER_BYTES / 8, "row-data");
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(rows, MediaType.APPLICATION_JSON, message);
+
+        String body = message.getBodyAsString();
+        assertTrue(body.length() > TimedJackson2HttpMessageConverter.MAX_BUFFER_BYTES);
+        assertEquals(objectMapper.writeValueAsString(rows), body);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * AuthorityCircuitBreaker的单元测试
+ */
+public class AuthorityCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(800).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AuthorityCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new AuthorityCircuitBreaker(4, 4, 0.5, Duration.ofMillis(500), Duration.ofSeconds(10),
+                meterRegistry, now::get);
+    }
+
+    @Test
+    public void testOpensWhenFailuresAndSlowCallsReachThreshold() {
+        succeed(FAST);
+        fail();
+        succeed(FAST);
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        succeed(SLOW);
+
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isDegraded());
+        assertNull(circuitBreaker.allowRequest());
+        assertEquals(1.0, meterRegistry.get("authority.breaker.state").gauge().value());
+    }
+
+    @Test
+    public void testSlidingWindowForgetsOldFailures() {
+        fail();
+        for (int i = 0; i < 10; i++) {
+            succeed(FAST);
+        }
+        fail();
+
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleTrialAndClosesOnSuccess() {
+        open();
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertNull(circuitBreaker.allowRequest());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        AuthorityCircuitBreaker.Permit trial = circuitBreaker.allowRequest();
+        assertNotNull(trial);
+        assertEquals(AuthorityCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.allowRequest());
+
+        circuitBreaker.onSuccess(trial, FAST);
+
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertNotNull(circuitBreaker.allowRequest());
+        // 关闭后重新统计，单次失败不会立即熔断
+        fail();
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testSlowTrialReopens() {
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        AuthorityCircuitBreaker.Permit trial = circuitBreaker.allowRequest();
+
+        circuitBreaker.onSuccess(trial, SLOW);
+
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testIgnoresCompletionsAdmittedBeforeOpen() {
+        AuthorityCircuitBreaker.Permit earlySuccess = circuitBreaker.allowRequest();
+        AuthorityCircuitBreaker.Permit earlyFailure = circuitBreaker.allowRequest();
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        AuthorityCircuitBreaker.Permit trial = circuitBreaker.allowRequest();
+
+        // 打开前放行的加载在半开时返回，既不关闭也不重新打开，也不占用试探名额
+        circuitBreaker.onSuccess(earlySuccess, FAST);
+        assertEquals(AuthorityCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onFailure(earlyFailure);
+        assertEquals(AuthorityCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.allowRequest());
+
+        circuitBreaker.onSuccess(trial, FAST);
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testIgnoresCompletionsAdmittedBeforeClose() {
+        AuthorityCircuitBreaker.Permit early = circuitBreaker.allowRequest();
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.onSuccess(circuitBreaker.allowRequest(), FAST);
+        for (int i = 0; i < 3; i++) {
+            succeed(FAST);
+        }
+        fail();
+
+        // 与关闭后的一次失败合计会达到阈值，但它反映的是打开前的情况
+        circuitBreaker.onFailure(early);
+
+        assertEquals(AuthorityCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testInconclusiveTrialReleasesSlotWithoutClosing() {
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        AuthorityCircuitBreaker.Permit unknownUser = circuitBreaker.allowRequest();
+
+        circuitBreaker.onInconclusive(unknownUser, FAST);
+
+        assertEquals(AuthorityCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        AuthorityCircuitBreaker.Permit trial = circuitBreaker.allowRequest();
+        assertNotNull(trial);
+        circuitBreaker.onInconclusive(trial, SLOW);
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testRejectsInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthorityCircuitBreaker(4, 5, 0.5,
+                Duration.ofMillis(500), Duration.ofSeconds(10), meterRegistry, now::get));
+    }
+
+    private void succeed(long nanos) {
+        circuitBreaker.onSuccess(circuitBreaker.allowRequest(), nanos);
+    }
+
+    private void fail() {
+        circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
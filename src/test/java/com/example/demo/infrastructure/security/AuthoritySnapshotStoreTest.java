@@ -0,0 +1,88 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * AuthoritySnapshotStore的单元测试
+ */
+public class AuthoritySnapshotStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private AuthoritySnapshotStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new AuthoritySnapshotStore(2, Duration.ofMinutes(10), new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    public void testLoadedUserIsServedWhileFresh() {
+        assertTrue(store.put(user("alice", "USER_VIEW"), store.currentGeneration()));
+
+        assertEquals(List.of(new SimpleGrantedAuthority("USER_VIEW")),
+                List.copyOf(store.getStale("alice", null).getAuthorities()));
+
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertThrows(AuthorityUnavailableException.class, () -> store.getStale("alice", null));
+    }
+
+    @Test
+    public void testLoadThatStartedBeforeRevokeIsNotSaved() {
+        // 加载在撤销提交前读取了数据库，撤销的监听器先于保存执行
+        long loadGeneration = store.currentGeneration();
+        store.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+
+        assertFalse(store.put(user("alice", "USER_DELETE"), loadGeneration));
+        assertThrows(AuthorityUnavailableException.class, () -> store.getStale("alice", null));
+    }
+
+    @Test
+    public void testLoadThatStartedBeforeCatalogChangeIsNotSaved() {
+        assertTrue(store.put(user("alice", "USER_VIEW"), store.currentGeneration()));
+        long loadGeneration = store.currentGeneration();
+        store.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE_PERMISSION));
+
+        assertFalse(store.put(user("alice", "USER_DELETE"), loadGeneration));
+        assertThrows(AuthorityUnavailableException.class, () -> store.getStale("alice", null));
+    }
+
+    @Test
+    public void testAnotherUserIsEvictedOverCapacity() {
+        store.put(user("alice", "USER_VIEW"), store.currentGeneration());
+        store.put(user("bob", "USER_VIEW"), store.currentGeneration());
+        store.put(user("carol", "USER_VIEW"), store.currentGeneration());
+
+        store.getStale("carol", null);
+        int remaining = 0;
+        for (String username : List.of("alice", "bob")) {
+            try {
+                store.getStale(username, null);
+                remaining++;
+            } catch (AuthorityUnavailableException e) {
+                // 被淘汰
+            }
+        }
+        assertEquals(1, remaining);
+    }
+
+    private static UserDetails user(String username, String authority) {
+        return new User(username, "hash", List.of(new SimpleGrantedAuthority(authority)));
+    }
+}
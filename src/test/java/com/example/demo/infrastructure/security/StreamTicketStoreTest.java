@@ -0,0 +1,64 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StreamTicketStore的单元测试
+ */
+public class StreamTicketStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private StreamTicketStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new StreamTicketStore(Duration.ofSeconds(30), 2, now::get);
+    }
+
+    @Test
+    public void testTicketCanBeRedeemedOnce() {
+        String ticket = store.issue("alice");
+
+        assertEquals("alice", store.redeem(ticket));
+        assertNull(store.redeem(ticket));
+    }
+
+    @Test
+    public void testTicketsAreUnique() {
+        assertNotEquals(store.issue("alice"), store.issue("alice"));
+    }
+
+    @Test
+    public void testExpiredTicketIsRejected() {
+        String ticket = store.issue("alice");
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertNull(store.redeem(ticket));
+    }
+
+    @Test
+    public void testOutstandingTicketsAreBounded() {
+        store.issue("alice");
+        store.issue("bob");
+
+        assertThrows(IllegalStateException.class, () -> store.issue("carol"));
+
+        // 过期票据在签发时被清理
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        String ticket = store.issue("carol");
+        assertEquals("carol", store.redeem(ticket));
+    }
+
+    @Test
+    public void testUnknownTicketIsRejected() {
+        assertNull(store.redeem("unknown"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.demo.benchmark.UserGraphFixture;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * UserDetailsServiceImpl的基准测试
+ * 仓储为内存实现，测量的是由角色和权限构建授权集合以及熔断统计、保存快照的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int rolesPerUser;
+
+    @Param({"5", "50"})
+    private int permissionsPerRole;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new UserDetailsServiceImpl(
+                UserGraphFixture.repository(UserGraphFixture.user(rolesPerUser, permissionsPerRole)),
+                new AuthorityCircuitBreaker(20, 10, 0.5, Duration.ofMillis(500), Duration.ofSeconds(10), meterRegistry),
+                new AuthoritySnapshotStore(100_000, Duration.ofMinutes(10), meterRegistry));
+    }
+
+    @Benchmark
+    public UserDetails getAuthorities() {
+        return userDetailsService.loadUserByUsername(UserGraphFixture.USERNAME);
+    }
+}
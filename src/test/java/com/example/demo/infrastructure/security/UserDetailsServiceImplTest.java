@@ -0,0 +1,63 @@
+package com.example.demo.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.domain.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * UserDetailsServiceImpl的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthoritySnapshotStore snapshotStore;
+
+    private final AtomicLong now = new AtomicLong();
+    private AuthorityCircuitBreaker circuitBreaker;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    public void setUp() {
+        circuitBreaker = new AuthorityCircuitBreaker(1, 1, 0.5, Duration.ofMillis(500), Duration.ofSeconds(10),
+                new SimpleMeterRegistry(), now::get);
+        userDetailsService = new UserDetailsServiceImpl(userRepository, circuitBreaker, snapshotStore);
+    }
+
+    @Test
+    public void testErrorDuringTrialLoadReopensBreaker() {
+        when(snapshotStore.getStale(anyString(), any())).thenThrow(new AuthorityUnavailableException("无快照"));
+        when(userRepository.findByUsername("admin")).thenThrow(new IllegalStateException("数据库不可用"));
+        assertThrows(AuthorityUnavailableException.class, () -> userDetailsService.loadUserByUsername("admin"));
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        doThrow(new StackOverflowError()).when(userRepository).findByUsername("admin");
+
+        assertThrows(StackOverflowError.class, () -> userDetailsService.loadUserByUsername("admin"));
+
+        // 试探许可已归还，熔断重新打开，冷却结束后可以再次试探
+        assertEquals(AuthorityCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertNotNull(circuitBreaker.allowRequest());
+    }
+}
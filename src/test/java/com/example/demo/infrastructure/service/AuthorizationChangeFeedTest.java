@@ -0,0 +1,65 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.application.dto.AuthorizationChangesDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+
+/**
+ * AuthorizationChangeFeed的单元测试
+ */
+public class AuthorizationChangeFeedTest {
+
+    private final AuthorizationChangeFeed feed = new AuthorizationChangeFeed(3, 60_000);
+
+    @Test
+    public void testWaiterCompletesOnUserChange() {
+        CompletableFuture<AuthorizationChangesDTO> future = feed.changesAfter(0);
+        assertFalse(future.isDone());
+
+        feed.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+
+        AuthorizationChangesDTO changes = future.join();
+        assertEquals(1L, changes.getVersion());
+        assertFalse(changes.getReset());
+        assertEquals(List.of("alice"), changes.getSubjects());
+    }
+
+    @Test
+    public void testChangesAreMergedSinceVersion() {
+        feed.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+        feed.onUserAuthorityChanged(new UserAuthorityChangedEvent("bob"));
+        feed.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+
+        AuthorizationChangesDTO changes = feed.changesAfter(1).join();
+        assertEquals(3L, changes.getVersion());
+        assertEquals(List.of("bob", "alice"), changes.getSubjects());
+    }
+
+    @Test
+    public void testCatalogChangeRequiresReset() {
+        feed.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+        feed.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE_PERMISSION));
+
+        assertTrue(feed.changesAfter(1).join().getReset());
+    }
+
+    @Test
+    public void testVersionOutsideWindowRequiresReset() {
+        for (String subject : List.of("a", "b", "c", "d", "e")) {
+            feed.onUserAuthorityChanged(new UserAuthorityChangedEvent(subject));
+        }
+
+        assertTrue(feed.changesAfter(1).join().getReset());
+        assertFalse(feed.changesAfter(2).join().getReset());
+        // 服务端重启后客户端持有的版本大于当前版本
+        assertTrue(feed.changesAfter(99).join().getReset());
+    }
+}
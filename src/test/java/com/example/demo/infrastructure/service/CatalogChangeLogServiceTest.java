@@ -0,0 +1,106 @@
+package com.example.demo.infrastructure.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.infrastructure.mapper.CatalogChangeLogMapper;
+import com.example.demo.infrastructure.persistence.entity.CatalogChangeLogDO;
+
+/**
+ * CatalogChangeLogService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class CatalogChangeLogServiceTest {
+
+    @Mock
+    private CatalogChangeLogMapper catalogChangeLogMapper;
+
+    private CatalogChangeLogService catalogChangeLogService;
+
+    @BeforeEach
+    public void setUp() {
+        catalogChangeLogService = new CatalogChangeLogService(catalogChangeLogMapper, 30, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChangesInOneTransactionShareVersion() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(catalogChangeLogMapper.selectIncrementedVersion()).thenReturn(8L);
+
+        catalogChangeLogService.recordRole(5L, CatalogChangeLogService.Operation.UPSERT);
+        catalogChangeLogService.recordRolePermissions(5L, List.of(1L, 2L), CatalogChangeLogService.Operation.UPSERT);
+
+        verify(catalogChangeLogMapper, times(1)).incrementVersion();
+        ArgumentCaptor<List<CatalogChangeLogDO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(catalogChangeLogMapper, times(2)).batchInsert(captor.capture());
+        List<CatalogChangeLogDO> links = captor.getAllValues().get(1);
+        assertEquals(2, links.size());
+        assertEquals(8L, links.get(0).getVersion());
+        assertEquals("ROLE_PERMISSION", links.get(0).getEntityType());
+        assertEquals(5L, links.get(0).getEntityId());
+        assertEquals(1L, links.get(0).getRelatedId());
+
+        // 事务结束后解绑版本，下一个事务重新递增
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(0));
+        catalogChangeLogService.recordPermission(1L, CatalogChangeLogService.Operation.DELETE);
+        verify(catalogChangeLogMapper, times(2)).incrementVersion();
+    }
+
+    @Test
+    public void testEmptyLinksSkipStatements() {
+        catalogChangeLogService.recordRolePermissions(5L, List.of(), CatalogChangeLogService.Operation.DELETE);
+
+        verify(catalogChangeLogMapper, never()).incrementVersion();
+        verify(catalogChangeLogMapper, never()).batchInsert(any());
+    }
+
+    @Test
+    public void testPruneRaisesMinVersionBeforeDeleting() {
+        LocalDateTime before = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(catalogChangeLogMapper.selectMaxVersionBefore(before)).thenReturn(42L);
+        when(catalogChangeLogMapper.deleteUpToVersion(42L, 2)).thenReturn(2, 1);
+
+        assertEquals(3, catalogChangeLogService.prune(before));
+
+        InOrder order = inOrder(catalogChangeLogMapper);
+        order.verify(catalogChangeLogMapper).raiseMinVersion(42L);
+        order.verify(catalogChangeLogMapper, times(2)).deleteUpToVersion(42L, 2);
+    }
+
+    @Test
+    public void testPruneWithoutExpiredLogs() {
+        when(catalogChangeLogMapper.selectMaxVersionBefore(any())).thenReturn(null);
+
+        assertEquals(0, catalogChangeLogService.prune(LocalDateTime.now()));
+
+        verify(catalogChangeLogMapper, never()).raiseMinVersion(anyLong());
+        verify(catalogChangeLogMapper, never()).deleteUpToVersion(anyLong(), anyInt());
+    }
+}
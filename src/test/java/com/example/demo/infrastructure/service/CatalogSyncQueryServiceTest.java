@@ -0,0 +1,158 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.application.dto.CatalogChangesDTO;
+import com.example.demo.application.dto.RolePermissionDTO;
+import com.example.demo.infrastructure.convert.ReadModelConvertImpl;
+import com.example.demo.infrastructure.mapper.CatalogChangeLogMapper;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.CatalogChangeLogDO;
+import com.example.demo.infrastructure.persistence.entity.CatalogVersionDO;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
+
+/**
+ * CatalogSyncQueryService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class CatalogSyncQueryServiceTest {
+
+    @Mock
+    private CatalogChangeLogMapper catalogChangeLogMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    private CatalogSyncQueryService catalogSyncQueryService;
+
+    @BeforeEach
+    public void setUp() {
+        catalogSyncQueryService = new CatalogSyncQueryService(catalogChangeLogMapper, permissionMapper, roleMapper,
+                rolePermissionMapper, new ReadModelConvertImpl(), 4);
+        when(catalogChangeLogMapper.selectVersion()).thenReturn(new CatalogVersionDO(1, 20L, 10L));
+    }
+
+    @Test
+    public void testSnapshotWhenNeverSynced() {
+        when(permissionMapper.selectList(null)).thenReturn(List.of(permission(1L), permission(2L)));
+        when(roleMapper.selectList(null)).thenReturn(List.of(role(5L)));
+        when(rolePermissionMapper.selectAll()).thenReturn(List.of(new RolePermissionDO(5L, 1L)));
+
+        CatalogChangesDTO changes = catalogSyncQueryService.getChanges(0);
+
+        assertTrue(changes.getFull());
+        assertEquals(20L, changes.getVersion());
+        assertEquals(2, changes.getPermissions().size());
+        assertEquals(1, changes.getRoles().size());
+        assertNull(changes.getRoles().get(0).getPermissions());
+        assertEquals(List.of(new RolePermissionDTO(5L, 1L)), changes.getRolePermissions());
+        verify(catalogChangeLogMapper, never()).selectBetween(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testSnapshotWhenVersionPruned() {
+        CatalogChangesDTO changes = catalogSyncQueryService.getChanges(9);
+
+        assertTrue(changes.getFull());
+        verify(catalogChangeLogMapper, never()).selectBetween(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testUpToDateReturnsEmptyDelta() {
+        CatalogChangesDTO changes = catalogSyncQueryService.getChanges(20);
+
+        assertFalse(changes.getFull());
+        assertEquals(20L, changes.getVersion());
+        assertTrue(changes.getPermissions().isEmpty());
+        verify(catalogChangeLogMapper, never()).selectBetween(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testDeltaCollapsesRepeatedChanges() {
+        when(catalogChangeLogMapper.selectBetween(15L, 20L, 5)).thenReturn(List.of(
+                log("PERMISSION", 1L, null, "UPSERT"),
+                log("PERMISSION", 1L, null, "UPSERT"),
+                log("PERMISSION", 2L, null, "DELETE"),
+                log("ROLE_PERMISSION", 5L, 1L, "UPSERT")));
+        when(permissionMapper.selectByIds(any())).thenReturn(List.of(permission(1L)));
+        when(rolePermissionMapper.selectByRoleIds(any())).thenReturn(List.of());
+
+        CatalogChangesDTO changes = catalogSyncQueryService.getChanges(15);
+
+        assertFalse(changes.getFull());
+        assertEquals(1, changes.getPermissions().size());
+        assertEquals(1L, changes.getPermissions().get(0).getId());
+        assertEquals(List.of(2L), changes.getDeletedPermissionIds());
+        // 关联已在之后被删除，以当前数据为准
+        assertTrue(changes.getRolePermissions().isEmpty());
+        assertEquals(List.of(new RolePermissionDTO(5L, 1L)), changes.getDeletedRolePermissions());
+        verify(roleMapper, never()).selectByIds(any());
+    }
+
+    @Test
+    public void testSnapshotWhenTooManyChanges() {
+        when(catalogChangeLogMapper.selectBetween(15L, 20L, 5)).thenReturn(List.of(
+                log("ROLE", 1L, null, "UPSERT"),
+                log("ROLE", 2L, null, "UPSERT"),
+                log("ROLE", 3L, null, "UPSERT"),
+                log("ROLE", 4L, null, "UPSERT"),
+                log("ROLE", 5L, null, "UPSERT")));
+
+        CatalogChangesDTO changes = catalogSyncQueryService.getChanges(15);
+
+        assertTrue(changes.getFull());
+        verify(roleMapper).selectList(null);
+        verify(roleMapper, never()).selectByIds(any());
+    }
+
+    private PermissionDO permission(Long id) {
+        PermissionDO permissionDO = new PermissionDO();
+        permissionDO.setId(id);
+        permissionDO.setCode("PERM_" + id);
+        permissionDO.setName("权限" + id);
+        return permissionDO;
+    }
+
+    private RoleDO role(Long id) {
+        RoleDO roleDO = new RoleDO();
+        roleDO.setId(id);
+        roleDO.setCode("ROLE_" + id);
+        roleDO.setName("角色" + id);
+        return roleDO;
+    }
+
+    private CatalogChangeLogDO log(String entityType, Long entityId, Long relatedId, String operation) {
+        CatalogChangeLogDO entry = new CatalogChangeLogDO();
+        entry.setEntityType(entityType);
+        entry.setEntityId(entityId);
+        entry.setRelatedId(relatedId);
+        entry.setOperation(operation);
+        return entry;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.application.dto.EffectivePermissionRebuildDTO;
+import com.example.demo.infrastructure.mapper.EffectivePermissionMapper;
+
+/**
+ * EffectivePermissionService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class EffectivePermissionServiceTest {
+
+    @Mock
+    private EffectivePermissionMapper effectivePermissionMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EffectivePermissionService effectivePermissionService;
+
+    @BeforeEach
+    public void setUp() {
+        effectivePermissionService = new EffectivePermissionService(effectivePermissionMapper, transactionTemplate, 10, 2);
+    }
+
+    @Test
+    public void testRevokeUserRolesDeletesExhaustedRows() {
+        effectivePermissionService.revokeUserRoles(1L, List.of(2L, 3L));
+
+        InOrder order = inOrder(effectivePermissionMapper);
+        order.verify(effectivePermissionMapper).decrementForUserRoles(1L, List.of(2L, 3L));
+        order.verify(effectivePermissionMapper).deleteExhaustedByUserId(1L);
+    }
+
+    @Test
+    public void testEmptyChangesSkipStatements() {
+        effectivePermissionService.grantUserRoles(1L, Collections.emptyList());
+        effectivePermissionService.revokeRolePermissions(1L, Collections.emptyList());
+
+        verify(effectivePermissionMapper, never()).incrementForUserRoles(any(), any());
+        verify(effectivePermissionMapper, never()).decrementForRolePermissions(any(), any());
+        verify(effectivePermissionMapper, never()).deleteExhaustedByPermissionIds(any());
+    }
+
+    @Test
+    public void testRebuildSplitsUserIdRangeIntoChunks() {
+        Map<String, Long> bounds = new HashMap<>();
+        bounds.put("minId", 1L);
+        bounds.put("maxId", 25L);
+        when(effectivePermissionMapper.selectUserIdBounds()).thenReturn(bounds);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(effectivePermissionMapper.insertForUserIdRange(anyLong(), anyLong())).thenReturn(4);
+
+        EffectivePermissionRebuildDTO result = effectivePermissionService.rebuild();
+
+        assertEquals(3, result.getChunks());
+        assertEquals(12L, result.getRows());
+        verify(effectivePermissionMapper).deleteByUserIdRange(1L, 11L);
+        verify(effectivePermissionMapper).insertForUserIdRange(11L, 21L);
+        verify(effectivePermissionMapper).insertForUserIdRange(21L, 31L);
+    }
+
+    @Test
+    public void testRebuildWithoutUsers() {
+        when(effectivePermissionMapper.selectUserIdBounds()).thenReturn(null);
+
+        EffectivePermissionRebuildDTO result = effectivePermissionService.rebuild();
+
+        assertEquals(0, result.getChunks());
+        verify(transactionTemplate, never()).execute(any());
+    }
+}
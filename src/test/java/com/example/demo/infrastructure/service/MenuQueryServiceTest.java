@@ -0,0 +1,160 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.application.dto.MenuDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * MenuQueryService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class MenuQueryServiceTest {
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MenuQueryService menuQueryService;
+
+    @BeforeEach
+    public void setUp() {
+        menuQueryService = new MenuQueryService(permissionMapper, roleMapper, rolePermissionMapper, meterRegistry);
+        // 系统管理(1) -> 用户管理(2)、角色管理(3)；日志(4)
+        lenient().when(permissionMapper.selectMenus()).thenReturn(Arrays.asList(
+                menu(1L, null, "SYSTEM"),
+                menu(2L, 1L, "USER_MANAGE"),
+                menu(3L, 1L, "ROLE_MANAGE"),
+                menu(4L, null, "LOG_VIEW")
+        ));
+    }
+
+    @Test
+    public void testGetMenuTree() {
+        List<MenuDTO> tree = menuQueryService.getMenuTree();
+
+        assertEquals(2, tree.size());
+        assertEquals(2, tree.get(0).getChildren().size());
+        assertEquals("LOG_VIEW", tree.get(1).getCode());
+    }
+
+    @Test
+    public void testMenusWithMissingParentAreDropped() {
+        when(permissionMapper.selectMenus()).thenReturn(Arrays.asList(
+                menu(1L, null, "SYSTEM"),
+                menu(5L, 99L, "ORPHAN"),
+                menu(6L, 5L, "ORPHAN_CHILD")
+        ));
+
+        List<MenuDTO> tree = menuQueryService.getMenuTree();
+
+        assertEquals(1, tree.size());
+        assertEquals("SYSTEM", tree.get(0).getCode());
+        assertTrue(tree.get(0).getChildren().isEmpty());
+        assertTrue(menuQueryService.getMenu(5L).isEmpty());
+        assertTrue(menuQueryService.getMenu(6L).isEmpty());
+    }
+
+    @Test
+    public void testGetUserMenuTreeKeepsAncestorsOfGrantedMenus() {
+        when(roleMapper.findEnabledRoleIdsByUsername("testuser")).thenReturn(Arrays.asList(2L));
+        when(rolePermissionMapper.findPermissionIdsByRoleIds(Arrays.asList(2L))).thenReturn(Arrays.asList(2L));
+
+        List<MenuDTO> tree = menuQueryService.getUserMenuTree("testuser");
+
+        assertEquals(1, tree.size());
+        assertEquals("SYSTEM", tree.get(0).getCode());
+        assertEquals(1, tree.get(0).getChildren().size());
+        assertEquals("USER_MANAGE", tree.get(0).getChildren().get(0).getCode());
+    }
+
+    @Test
+    public void testRoleMenuTreeIsSharedByRoleCombination() {
+        when(roleMapper.findEnabledRoleIdsByUsername("alice")).thenReturn(Arrays.asList(1L, 2L));
+        when(roleMapper.findEnabledRoleIdsByUsername("bob")).thenReturn(Arrays.asList(1L, 2L));
+        when(rolePermissionMapper.findPermissionIdsByRoleIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(4L));
+
+        List<MenuDTO> aliceTree = menuQueryService.getUserMenuTree("alice");
+        List<MenuDTO> bobTree = menuQueryService.getUserMenuTree("bob");
+
+        assertEquals(aliceTree, bobTree);
+        verify(rolePermissionMapper, times(1)).findPermissionIdsByRoleIds(Arrays.asList(1L, 2L));
+        verify(permissionMapper, times(1)).selectMenus();
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "menu.role-tree").tag("result", "miss")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "menu.role-tree").tag("result", "hit")
+                .counter().count());
+        assertEquals(1L, meterRegistry.get("cache.load").tag("cache", "menu.role-tree").timer().count());
+    }
+
+    @Test
+    public void testCallerChangesDoNotAffectCachedTrees() {
+        when(rolePermissionMapper.findPermissionIdsByRoleIds(Arrays.asList(2L))).thenReturn(Arrays.asList(2L));
+
+        List<MenuDTO> roleTree = menuQueryService.getRoleMenuTree(Arrays.asList(2L));
+        roleTree.get(0).setName("changed");
+        roleTree.get(0).getChildren().clear();
+        List<MenuDTO> fullTree = menuQueryService.getMenuTree();
+        fullTree.get(0).getChildren().clear();
+        fullTree.remove(1);
+
+        List<MenuDTO> cachedRoleTree = menuQueryService.getRoleMenuTree(Arrays.asList(2L));
+        assertEquals("SYSTEM", cachedRoleTree.get(0).getName());
+        assertEquals(1, cachedRoleTree.get(0).getChildren().size());
+        assertEquals(2, menuQueryService.getMenuTree().size());
+        assertEquals(2, menuQueryService.getMenu(1L).orElseThrow().getChildren().size());
+        verify(rolePermissionMapper, times(1)).findPermissionIdsByRoleIds(Arrays.asList(2L));
+    }
+
+    @Test
+    public void testCatalogChangeInvalidatesTrees() {
+        menuQueryService.getMenuTree();
+        menuQueryService.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.PERMISSION));
+        menuQueryService.getMenuTree();
+
+        verify(permissionMapper, times(2)).selectMenus();
+    }
+
+    @Test
+    public void testUserWithoutRolesHasNoMenus() {
+        when(roleMapper.findEnabledRoleIdsByUsername("guest")).thenReturn(Arrays.asList());
+
+        assertTrue(menuQueryService.getUserMenuTree("guest").isEmpty());
+    }
+
+    private PermissionDO menu(Long id, Long parentId, String code) {
+        PermissionDO permissionDO = new PermissionDO();
+        permissionDO.setId(id);
+        permissionDO.setParentId(parentId);
+        permissionDO.setCode(code);
+        permissionDO.setName(code);
+        permissionDO.setType(1);
+        return permissionDO;
+    }
+}
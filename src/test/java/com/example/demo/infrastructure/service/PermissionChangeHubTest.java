@@ -0,0 +1,175 @@
+package com.example.demo.infrastructure.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.infrastructure.service.AuthorityQueryService.SubjectAuthority;
+
+/**
+ * PermissionChangeHub的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class PermissionChangeHubTest {
+
+    @Mock
+    private AuthorityQueryService authorityQueryService;
+
+    @Mock
+    private AuthorizationChangeFeed authorizationChangeFeed;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private PermissionChangeHub hub;
+
+    @BeforeEach
+    public void setUp() {
+        hub = new PermissionChangeHub(authorityQueryService, authorizationChangeFeed, 60_000, 2, 500, 2) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                RecordingEmitter emitter = new RecordingEmitter(timeout);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    public void testSubscribePushesCurrentAuthority() throws InterruptedException {
+        SubjectAuthority authority = authority("USER_VIEW");
+        when(authorityQueryService.loadAuthorities(any())).thenReturn(Map.of("alice", authority));
+
+        hub.subscribe("alice");
+
+        assertTrue(awaitSends(emitters.get(0), 1));
+        assertEquals(1, hub.subjectCount());
+    }
+
+    @Test
+    public void testPushOnlyWhenAuthorityChanged() throws InterruptedException {
+        SubjectAuthority viewer = authority("USER_VIEW");
+        SubjectAuthority editor = authority("USER_VIEW", "USER_EDIT");
+        when(authorityQueryService.loadAuthorities(any())).thenReturn(Map.of("alice", viewer));
+        hub.subscribe("alice");
+        RecordingEmitter emitter = emitters.get(0);
+        assertTrue(awaitSends(emitter, 1));
+
+        // 目录变更但alice的权限不变，不推送
+        hub.refresh(List.of("alice"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(1, emitter.sends.size());
+
+        when(authorityQueryService.loadAuthorities(any())).thenReturn(Map.of("alice", editor));
+        hub.refresh(List.of("alice"));
+        assertTrue(awaitSends(emitter, 2));
+    }
+
+    @Test
+    public void testEventsWithoutSubscribersSkipLoading() {
+        hub.onUserAuthorityChanged(new UserAuthorityChangedEvent("bob"));
+        hub.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE));
+
+        verify(authorityQueryService, never()).loadAuthorities(any());
+    }
+
+    @Test
+    public void testOldestConnectionClosedWhenOverLimit() {
+        lenient().when(authorityQueryService.loadAuthorities(any())).thenReturn(Map.of());
+
+        hub.subscribe("alice");
+        hub.subscribe("alice");
+        hub.subscribe("alice");
+
+        assertTrue(emitters.get(0).completed);
+    }
+
+    @Test
+    public void testConcurrentSubscribesEvictOnlyOverLimit() throws InterruptedException {
+        lenient().when(authorityQueryService.loadAuthorities(any())).thenReturn(Map.of());
+        int subscribers = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    hub.subscribe("alice");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(subscribers, emitters.size());
+        assertEquals(subscribers - 2, emitters.stream().filter(emitter -> emitter.completed).count());
+    }
+
+    private SubjectAuthority authority(String... permissions) {
+        SubjectAuthority authority = mock(SubjectAuthority.class);
+        when(authority.getPermissions()).thenReturn(Set.of(permissions));
+        when(authority.getRoles()).thenReturn(Set.of("ROLE_USER"));
+        return authority;
+    }
+
+    private boolean awaitSends(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (emitter.sends.size() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return emitter.sends.size() == count;
+    }
+
+    /**
+     * 记录推送内容的SSE连接
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> sends = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        private RecordingEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sends.add(builder);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
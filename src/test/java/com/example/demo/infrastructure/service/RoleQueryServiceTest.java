@@ -0,0 +1,168 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.demo.application.dto.PageDTO;
+import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.infrastructure.convert.ReadModelConvertImpl;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.RolePermissionMapper;
+import com.example.demo.infrastructure.persistence.entity.PermissionDO;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.RolePermissionDO;
+
+/**
+ * RoleQueryService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class RoleQueryServiceTest {
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    private RoleQueryService roleQueryService;
+
+    @BeforeAll
+    public static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), RoleDO.class);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        roleQueryService = new RoleQueryService(roleMapper, rolePermissionMapper, permissionMapper,
+                new ReadModelConvertImpl());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPageFiltersByEscapedPrefixWithoutPermissions() {
+        ArgumentCaptor<Page<RoleDO>> pageCaptor = ArgumentCaptor.forClass(Page.class);
+        ArgumentCaptor<LambdaQueryWrapper<RoleDO>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        when(roleMapper.selectPage(pageCaptor.capture(), wrapperCaptor.capture())).thenAnswer(invocation -> {
+            Page<RoleDO> page = invocation.getArgument(0);
+            page.setRecords(List.of(role(1L)));
+            page.setTotal(41);
+            return page;
+        });
+
+        PageDTO<RoleDTO> result = roleQueryService.getRolesPage(3, 1000, "ad_min", null, null, false);
+
+        assertEquals(41L, result.getTotal());
+        assertEquals(3, result.getPage());
+        assertEquals(200, result.getSize());
+        assertEquals(200, pageCaptor.getValue().getSize());
+        assertNull(result.getRecords().get(0).getPermissions());
+        LambdaQueryWrapper<RoleDO> wrapper = wrapperCaptor.getValue();
+        assertEquals("(name LIKE #{ew.paramNameValuePairs.MPGENVAL1})", wrapper.getSqlSegment());
+        // 通配符按字面匹配
+        assertEquals("ad\\_min%", wrapper.getParamNameValuePairs().get("MPGENVAL1"));
+        verify(rolePermissionMapper, never()).selectByRoleIds(any());
+        verify(permissionMapper, never()).selectByIds(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListFiltersByEscapedContainsKeyword() {
+        ArgumentCaptor<LambdaQueryWrapper<RoleDO>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        when(roleMapper.selectList(wrapperCaptor.capture())).thenReturn(List.of(role(1L)));
+
+        List<RoleDTO> result = roleQueryService.getRoles("ad_min", null, null, false);
+
+        assertEquals(1, result.size());
+        LambdaQueryWrapper<RoleDO> wrapper = wrapperCaptor.getValue();
+        assertEquals("(name LIKE #{ew.paramNameValuePairs.MPGENVAL1}) ORDER BY id ASC", wrapper.getSqlSegment());
+        // 列表过滤保持包含匹配，通配符按字面匹配
+        assertEquals("%ad\\_min%", wrapper.getParamNameValuePairs().get("MPGENVAL1"));
+        verify(rolePermissionMapper, never()).selectByRoleIds(any());
+    }
+
+    @Test
+    public void testIncludePermissionsLoadsPageInTwoQueries() {
+        when(roleMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<RoleDO> page = invocation.getArgument(0);
+            page.setRecords(List.of(role(1L), role(2L), role(3L)));
+            page.setTotal(3);
+            return page;
+        });
+        when(rolePermissionMapper.selectByRoleIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new RolePermissionDO(1L, 10L),
+                new RolePermissionDO(1L, 11L),
+                new RolePermissionDO(2L, 10L)));
+        when(permissionMapper.selectByIds(any())).thenReturn(List.of(permission(10L), permission(11L)));
+
+        PageDTO<RoleDTO> result = roleQueryService.getRolesPage(1, 20, null, null, null, true);
+
+        assertEquals(2, result.getRecords().get(0).getPermissions().size());
+        assertEquals("PERM_10", result.getRecords().get(1).getPermissions().get(0).getCode());
+        assertTrue(result.getRecords().get(2).getPermissions().isEmpty());
+        verify(rolePermissionMapper, times(1)).selectByRoleIds(any());
+        verify(permissionMapper, times(1)).selectByIds(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetRoleSelectsOnlyRequestedColumns() {
+        ArgumentCaptor<LambdaQueryWrapper<RoleDO>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        when(roleMapper.selectOne(wrapperCaptor.capture())).thenReturn(role(1L));
+
+        RoleDTO role = roleQueryService.getRole(1L, Set.of("name")).orElseThrow();
+
+        assertEquals("id,name", wrapperCaptor.getValue().getSqlSelect());
+        assertEquals("角色1", role.getName());
+        assertNull(role.getPermissions());
+        verify(rolePermissionMapper, never()).selectByRoleIds(any());
+    }
+
+    @Test
+    public void testUnknownFieldRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> roleQueryService.getRolesPage(1, 20, null, null, Set.of("id", "secret"), false));
+        verify(roleMapper, never()).selectPage(any(), any());
+    }
+
+    private RoleDO role(Long id) {
+        RoleDO roleDO = new RoleDO();
+        roleDO.setId(id);
+        roleDO.setCode("ROLE_" + id);
+        roleDO.setName("角色" + id);
+        return roleDO;
+    }
+
+    private PermissionDO permission(Long id) {
+        PermissionDO permissionDO = new PermissionDO();
+        permissionDO.setId(id);
+        permissionDO.setCode("PERM_" + id);
+        permissionDO.setName("权限" + id);
+        return permissionDO;
+    }
+}
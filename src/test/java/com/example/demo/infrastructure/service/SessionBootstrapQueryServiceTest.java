@@ -0,0 +1,149 @@
+package com.example.demo.infrastructure.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.demo.application.dto.SessionBootstrapDTO;
+import com.example.demo.application.event.CatalogChangedEvent;
+import com.example.demo.application.event.UserAuthorityChangedEvent;
+import com.example.demo.application.event.UserProfileChangedEvent;
+import com.example.demo.infrastructure.mapper.PermissionMapper;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.UserMapper;
+import com.example.demo.infrastructure.mapper.UserRoleMapper;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * SessionBootstrapQueryService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class SessionBootstrapQueryServiceTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private MenuQueryService menuQueryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private SessionBootstrapQueryService sessionBootstrapQueryService;
+
+    @BeforeEach
+    public void setUp() {
+        sessionBootstrapQueryService = new SessionBootstrapQueryService(userMapper, userRoleMapper, roleMapper,
+                permissionMapper, menuQueryService, objectMapper, new SimpleMeterRegistry(), 100);
+        lenient().when(userMapper.selectByUsername("alice")).thenReturn(user(1L, "alice"));
+        lenient().when(userMapper.selectByUsername("bob")).thenReturn(user(2L, "bob"));
+        lenient().when(userRoleMapper.selectRoleIdsByUserId(any())).thenReturn(List.of(3L, 1L));
+        lenient().when(roleMapper.selectByIds(any())).thenReturn(List.of(role(1L, "ROLE_USER", true), role(3L, "ROLE_OLD", false)));
+        lenient().when(permissionMapper.selectEnabledCodesByRoleIds(List.of(1L))).thenReturn(List.of("USER_VIEW"));
+        lenient().when(menuQueryService.getRoleMenuTree(List.of(1L))).thenReturn(List.of());
+    }
+
+    @Test
+    public void testBootstrapAssembledFromFragments() throws IOException {
+        SessionBootstrapDTO bootstrap = objectMapper.readValue(
+                sessionBootstrapQueryService.getBootstrap("alice"), SessionBootstrapDTO.class);
+
+        assertEquals("alice", bootstrap.getProfile().getUsername());
+        // 禁用的角色不出现在启动数据中
+        assertEquals(List.of("ROLE_USER"), bootstrap.getRoles());
+        assertEquals(List.of("USER_VIEW"), bootstrap.getPermissions());
+    }
+
+    @Test
+    public void testBytesCachedPerUser() {
+        byte[] first = sessionBootstrapQueryService.getBootstrap("alice");
+        byte[] second = sessionBootstrapQueryService.getBootstrap("alice");
+
+        assertSame(first, second);
+        verify(userMapper, times(1)).selectByUsername("alice");
+    }
+
+    @Test
+    public void testUsersWithSameRolesShareRoleSetFragment() {
+        sessionBootstrapQueryService.getBootstrap("alice");
+        sessionBootstrapQueryService.getBootstrap("bob");
+
+        verify(roleMapper, times(1)).selectByIds(any());
+        verify(permissionMapper, times(1)).selectEnabledCodesByRoleIds(any());
+    }
+
+    @Test
+    public void testCatalogChangeKeepsUserFragment() {
+        byte[] first = sessionBootstrapQueryService.getBootstrap("alice");
+
+        sessionBootstrapQueryService.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Type.ROLE_PERMISSION));
+        byte[] second = sessionBootstrapQueryService.getBootstrap("alice");
+
+        assertNotSame(first, second);
+        verify(userMapper, times(1)).selectByUsername("alice");
+        verify(roleMapper, times(2)).selectByIds(any());
+    }
+
+    @Test
+    public void testUserEventsEvictUser() {
+        sessionBootstrapQueryService.getBootstrap("alice");
+
+        sessionBootstrapQueryService.onUserProfileChanged(new UserProfileChangedEvent("alice"));
+        sessionBootstrapQueryService.getBootstrap("alice");
+        sessionBootstrapQueryService.onUserAuthorityChanged(new UserAuthorityChangedEvent("alice"));
+        sessionBootstrapQueryService.getBootstrap("alice");
+
+        verify(userMapper, times(3)).selectByUsername("alice");
+        // 角色组合片段不受用户变更影响
+        verify(roleMapper, times(1)).selectByIds(any());
+    }
+
+    @Test
+    public void testUnknownUser() {
+        when(userMapper.selectByUsername("ghost")).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> sessionBootstrapQueryService.getBootstrap("ghost"));
+    }
+
+    private UserDO user(Long id, String username) {
+        UserDO userDO = new UserDO();
+        userDO.setId(id);
+        userDO.setUsername(username);
+        userDO.setNickname(username);
+        return userDO;
+    }
+
+    private RoleDO role(Long id, String code, boolean enabled) {
+        RoleDO roleDO = new RoleDO();
+        roleDO.setId(id);
+        roleDO.setCode(code);
+        roleDO.setStatus(enabled);
+        return roleDO;
+    }
+}
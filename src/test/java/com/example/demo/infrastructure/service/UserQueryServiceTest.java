@@ -0,0 +1,126 @@
+package com.example.demo.infrastructure.service;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.demo.application.dto.RoleDTO;
+import com.example.demo.application.dto.UserDTO;
+import com.example.demo.infrastructure.convert.ReadModelConvertImpl;
+import com.example.demo.infrastructure.mapper.RoleMapper;
+import com.example.demo.infrastructure.mapper.UserMapper;
+import com.example.demo.infrastructure.mapper.UserRoleMapper;
+import com.example.demo.infrastructure.persistence.entity.RoleDO;
+import com.example.demo.infrastructure.persistence.entity.UserDO;
+import com.example.demo.infrastructure.persistence.entity.UserRoleDO;
+
+/**
+ * UserQueryService的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserQueryServiceTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    private UserQueryService userQueryService;
+
+    @BeforeAll
+    public static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), UserDO.class);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        userQueryService = new UserQueryService(userMapper, userRoleMapper, roleMapper, new ReadModelConvertImpl());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetUsersSelectsOnlyRequestedColumns() {
+        ArgumentCaptor<LambdaQueryWrapper<UserDO>> wrapperCaptor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        when(userMapper.selectList(wrapperCaptor.capture())).thenReturn(List.of(user(1L), user(2L)));
+
+        List<UserDTO> users = userQueryService.getUsers(Set.of("id", "nickname", "status"));
+
+        String sqlSelect = wrapperCaptor.getValue().getSqlSelect();
+        assertTrue(sqlSelect.startsWith("id,"));
+        assertTrue(sqlSelect.contains("nickname") && sqlSelect.contains("status"));
+        assertTrue(!sqlSelect.contains("password"));
+        assertEquals(2, users.size());
+        assertNull(users.get(0).getRoles());
+        verify(userRoleMapper, never()).selectByUserIds(any());
+    }
+
+    @Test
+    public void testGetUserLoadsRoleSummariesOnlyWhenRequested() {
+        when(userMapper.selectOne(any())).thenReturn(user(1L));
+        when(userRoleMapper.selectByUserIds(any())).thenReturn(List.of(new UserRoleDO(1L, 5L)));
+        RoleDO roleDO = new RoleDO();
+        roleDO.setId(5L);
+        roleDO.setCode("ADMIN");
+        roleDO.setName("管理员");
+        when(roleMapper.selectByIds(any())).thenReturn(List.of(roleDO));
+
+        UserDTO user = userQueryService.getUser(1L, Set.of("nickname", "roles")).orElseThrow();
+
+        assertEquals(1, user.getRoles().size());
+        RoleDTO role = user.getRoles().iterator().next();
+        assertEquals("ADMIN", role.getCode());
+        assertNull(role.getPermissions());
+    }
+
+    @Test
+    public void testGetAllUsersMapsRowsWithoutDomainValidation() {
+        // 历史数据中的邮箱不满足领域校验，读路径仍然原样返回
+        UserDO legacy = user(3L);
+        legacy.setUsername("legacy");
+        legacy.setEmail("not-an-email");
+        when(userMapper.selectList(any())).thenReturn(List.of(legacy));
+
+        List<UserDTO> users = userQueryService.getAllUsers();
+
+        assertEquals(1, users.size());
+        assertEquals("not-an-email", users.get(0).getEmail());
+        assertNull(users.get(0).getRoles());
+    }
+
+    @Test
+    public void testUnknownFieldRejected() {
+        assertThrows(IllegalArgumentException.class, () -> userQueryService.getUsers(Set.of("password")));
+        verify(userMapper, never()).selectList(any());
+    }
+
+    private UserDO user(Long id) {
+        UserDO userDO = new UserDO();
+        userDO.setId(id);
+        userDO.setNickname("用户" + id);
+        userDO.setStatus(true);
+        return userDO;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.demo.perf;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.infrastructure.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 已认证请求的端到端吞吐测试
+ * 在进程内H2上写入合成数据集，以随机端口启动服务，多线程经完整过滤器链发送已认证请求，
+ * 按接口统计吞吐和p50/p99/p999延迟。活跃用户服从Zipf分布，令牌在计时外生成。
+ * 默认构建不运行，使用 mvn -Pperf test 执行，规模和时长见application-perf.yml中的perf配置。
+ * 压测为闭环模型（每个线程收到响应后才发下一个请求），服务变慢时请求数随之下降，尾延迟会被低估。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"it", "perf"})
+public class AuthorizedTrafficPerfIT {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizedTrafficPerfIT.class);
+
+    /**
+     * 请求组合：接口名、路径、权重
+     */
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("current-permissions", "/api/users/current/permissions", 60),
+            new Endpoint("current-user", "/api/users/current", 25),
+            new Endpoint("session-bootstrap", "/api/users/current/bootstrap", 15));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${perf.users}")
+    private int users;
+
+    @Value("${perf.roles}")
+    private int roles;
+
+    @Value("${perf.permissions}")
+    private int permissions;
+
+    @Value("${perf.max-roles-per-user}")
+    private int maxRolesPerUser;
+
+    @Value("${perf.max-permissions-per-role}")
+    private int maxPermissionsPerRole;
+
+    @Value("${perf.zipf-exponent}")
+    private double zipfExponent;
+
+    @Value("${perf.seed}")
+    private long seed;
+
+    @Value("${perf.threads}")
+    private int threads;
+
+    @Value("${perf.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${perf.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${perf.report-dir:target/perf}")
+    private String reportDir;
+
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    public void testAuthorizedTrafficThroughFilterChain() throws Exception {
+        SyntheticRbacDataset.Spec spec = new SyntheticRbacDataset.Spec(users, roles, permissions,
+                maxRolesPerUser, maxPermissionsPerRole, zipfExponent, seed);
+        long seedStart = System.nanoTime();
+        SyntheticRbacDataset.Counts counts = SyntheticRbacDataset.seed(jdbcTemplate, spec);
+        log.info("合成数据写入完成，耗时{}ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart), counts);
+
+        ZipfSampler activeUsers = new ZipfSampler(users, zipfExponent);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(seed + i);
+            futures.add(executor.submit(() -> drive(activeUsers, random, warmupEnd, end)));
+        }
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        long errors = 0;
+        for (Future<WorkerResult> future : futures) {
+            WorkerResult result = future.get();
+            result.histograms().forEach((name, histogram) ->
+                    histograms.computeIfAbsent(name, n -> new Histogram(3)).add(histogram));
+            errors += result.errors();
+        }
+        executor.shutdown();
+
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        report(counts, histograms, total, errors);
+
+        assertTrue(total.getTotalCount() > 0, "压测期间没有完成任何请求");
+        assertEquals(0, errors, "压测期间出现失败请求");
+    }
+
+    private WorkerResult drive(ZipfSampler activeUsers, Random random, long warmupEnd, long end)
+            throws IOException, InterruptedException {
+        int totalWeight = ENDPOINTS.stream().mapToInt(Endpoint::weight).sum();
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        long errors = 0;
+        while (System.nanoTime() < end) {
+            long userId = activeUsers.next(random) + 1L;
+            String token = tokens.computeIfAbsent(userId,
+                    id -> jwtUtil.generateToken(SyntheticRbacDataset.username(id)));
+            Endpoint endpoint = pick(random.nextInt(totalWeight));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint.path()))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            if (start < warmupEnd) {
+                continue;
+            }
+            if (response.statusCode() != 200) {
+                errors++;
+                continue;
+            }
+            histograms.computeIfAbsent(endpoint.name(), n -> new Histogram(3))
+                    .recordValue(TimeUnit.NANOSECONDS.toMicros(elapsed));
+        }
+        return new WorkerResult(histograms, errors);
+    }
+
+    private Endpoint pick(int ticket) {
+        for (Endpoint endpoint : ENDPOINTS) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return ENDPOINTS.get(ENDPOINTS.size() - 1);
+    }
+
+    /**
+     * 输出汇总表，并写入perf-result.json和各接口的延迟分布(.hgrm，单位毫秒)
+     */
+    private void report(SyntheticRbacDataset.Counts counts, Map<String, Histogram> histograms, Histogram total,
+                        long errors) throws IOException {
+        Path dir = Path.of(reportDir);
+        Files.createDirectories(dir);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        StringBuilder table = new StringBuilder(String.format("%n%-22s %10s %12s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        histograms.put("total", total);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            Map<String, Object> row = summarize(entry.getKey(), histogram);
+            rows.add(row);
+            table.append(String.format("%-22s %10d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("throughput"),
+                    row.get("p50Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs")));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        log.info("压测结果（{}线程，{}秒，失败{}）:{}", threads, durationSeconds, errors, table);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("dataset", counts);
+        result.put("threads", threads);
+        result.put("durationSeconds", durationSeconds);
+        result.put("errors", errors);
+        result.put("endpoints", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(dir.resolve("perf-result.json").toFile(), result);
+    }
+
+    private Map<String, Object> summarize(String name, Histogram histogram) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", name);
+        row.put("requests", histogram.getTotalCount());
+        row.put("throughput", histogram.getTotalCount() / (double) durationSeconds);
+        row.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        row.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        row.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+        row.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return row;
+    }
+
+    private record Endpoint(String name, String path, int weight) {
+    }
+
+    private record WorkerResult(Map<String, Histogram> histograms, long errors) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.demo.perf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 合成RBAC数据集
+ * 按规模参数批量写入权限、角色、用户及其关联，并在内存中按V5迁移的口径算出用户有效权限一并写入。
+ * 分配关系服从Zipf分布：多数用户只有1个角色、多数角色只有少量权限，少数热门角色和权限被大量共享。
+ * 同一规格和种子生成的数据完全相同。
+ */
+final class SyntheticRbacDataset {
+
+    /**
+     * 所有合成用户的密码均为123456（与初始化数据中admin的哈希相同）
+     */
+    static final String PASSWORD_HASH = "$2a$12$fsdyyZAzWd1waqAMHn14oeTWrwkpzgo8M2VXKwbtTfX9wUoVg/4OK";
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int MODULES = 50;
+
+    /**
+     * 数据集规格
+     */
+    record Spec(int users, int roles, int permissions, int maxRolesPerUser, int maxPermissionsPerRole,
+                double zipfExponent, long seed) {
+    }
+
+    /**
+     * 写入后的行数统计
+     */
+    record Counts(long users, long roles, long permissions, long userRoles, long rolePermissions,
+                  long effectivePermissions) {
+    }
+
+    private SyntheticRbacDataset() {
+    }
+
+    /**
+     * 序号对应的用户名，用户ID从1开始
+     */
+    static String username(long userId) {
+        return "user" + userId;
+    }
+
+    /**
+     * 写入数据集
+     *
+     * @param jdbcTemplate 目标库
+     * @param spec         数据集规格
+     * @return 各表行数
+     */
+    static Counts seed(JdbcTemplate jdbcTemplate, Spec spec) {
+        Random random = new Random(spec.seed());
+        insertPermissions(jdbcTemplate, spec);
+        insertRoles(jdbcTemplate, spec);
+        long[][] permissionsByRole = insertRolePermissions(jdbcTemplate, spec, random);
+        insertUsers(jdbcTemplate, spec);
+        return insertUserRoles(jdbcTemplate, spec, random, permissionsByRole);
+    }
+
+    private static void insertPermissions(JdbcTemplate jdbcTemplate, Spec spec) {
+        Batch batch = new Batch(jdbcTemplate,
+                "INSERT INTO permission (id, name, code, module, type, status) VALUES (?, ?, ?, ?, 3, 1)");
+        for (long id = 1; id <= spec.permissions(); id++) {
+            batch.add(id, "权限" + id, "PERM_" + id, "模块" + (id % MODULES));
+        }
+        batch.flush();
+    }
+
+    private static void insertRoles(JdbcTemplate jdbcTemplate, Spec spec) {
+        Batch batch = new Batch(jdbcTemplate,
+                "INSERT INTO role (id, name, code, status) VALUES (?, ?, ?, 1)");
+        for (long id = 1; id <= spec.roles(); id++) {
+            batch.add(id, "角色" + id, "ROLE_" + id);
+        }
+        batch.flush();
+    }
+
+    /**
+     * @return 每个角色的权限ID，下标为角色ID
+     */
+    private static long[][] insertRolePermissions(JdbcTemplate jdbcTemplate, Spec spec, Random random) {
+        ZipfSampler sizes = new ZipfSampler(Math.min(spec.maxPermissionsPerRole(), spec.permissions()),
+                spec.zipfExponent());
+        ZipfSampler permissions = new ZipfSampler(spec.permissions(), spec.zipfExponent());
+        Batch batch = new Batch(jdbcTemplate,
+                "INSERT INTO role_permission (role_id, permission_id) VALUES (?, ?)");
+        long[][] permissionsByRole = new long[spec.roles() + 1][];
+        for (int roleId = 1; roleId <= spec.roles(); roleId++) {
+            permissionsByRole[roleId] = distinct(permissions, 1 + sizes.next(random), random);
+            for (long permissionId : permissionsByRole[roleId]) {
+                batch.add(roleId, permissionId);
+            }
+        }
+        batch.flush();
+        return permissionsByRole;
+    }
+
+    private static void insertUsers(JdbcTemplate jdbcTemplate, Spec spec) {
+        Batch batch = new Batch(jdbcTemplate,
+                "INSERT INTO `user` (id, username, password, nickname, email, email_normalized, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 1)");
+        for (long id = 1; id <= spec.users(); id++) {
+            String username = username(id);
+            String email = username + "@example.com";
+            batch.add(id, username, PASSWORD_HASH, "用户" + id, email, email);
+        }
+        batch.flush();
+    }
+
+    /**
+     * 写入用户角色，同时按V5迁移的口径累加有效权限：同一权限由几个角色授予，via_role_count即为几
+     * 合成数据中的角色和权限均为启用状态
+     */
+    private static Counts insertUserRoles(JdbcTemplate jdbcTemplate, Spec spec, Random random,
+                                          long[][] permissionsByRole) {
+        ZipfSampler sizes = new ZipfSampler(Math.min(spec.maxRolesPerUser(), spec.roles()), spec.zipfExponent());
+        ZipfSampler roles = new ZipfSampler(spec.roles(), spec.zipfExponent());
+        Batch userRoles = new Batch(jdbcTemplate, "INSERT INTO user_role (user_id, role_id) VALUES (?, ?)");
+        Batch effective = new Batch(jdbcTemplate,
+                "INSERT INTO user_effective_permission (user_id, permission_id, via_role_count) VALUES (?, ?, ?)");
+        Map<Long, Integer> viaRoleCount = new HashMap<>();
+        for (long userId = 1; userId <= spec.users(); userId++) {
+            viaRoleCount.clear();
+            for (long roleId : distinct(roles, 1 + sizes.next(random), random)) {
+                userRoles.add(userId, roleId);
+                for (long permissionId : permissionsByRole[(int) roleId]) {
+                    viaRoleCount.merge(permissionId, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<Long, Integer> entry : viaRoleCount.entrySet()) {
+                effective.add(userId, entry.getKey(), entry.getValue());
+            }
+        }
+        long rolePermissions = 0;
+        for (int roleId = 1; roleId <= spec.roles(); roleId++) {
+            rolePermissions += permissionsByRole[roleId].length;
+        }
+        return new Counts(spec.users(), spec.roles(), spec.permissions(), userRoles.flush(), rolePermissions,
+                effective.flush());
+    }
+
+    /**
+     * 按分布抽取count个不重复的ID（ID = 序号 + 1）
+     */
+    private static long[] distinct(ZipfSampler sampler, int count, Random random) {
+        Set<Long> ids = new LinkedHashSet<>();
+        while (ids.size() < count) {
+            ids.add((long) sampler.next(random) + 1);
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 攒满一批后执行batchUpdate
+     */
+    private static final class Batch {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private long total;
+
+        Batch(JdbcTemplate jdbcTemplate, String sql) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        long flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                total += rows.size();
+                rows.clear();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.perf;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf分布采样器
+ * 返回[0, n)中的序号，序号越小被选中的概率越大，概率与1/(k+1)^s成正比。
+ * 用于模拟少数热门角色、权限和活跃用户占据大部分分配与请求的情况。
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n必须大于0");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int k = index >= 0 ? index : -index - 1;
+        return Math.min(k, cdf.length - 1);
+    }
+}
@@ -0,0 +1,32 @@
+-- SQL语句预算测试数据：admin拥有3个角色，角色之间共享部分权限
+DELETE FROM user_effective_permission;
+DELETE FROM user_role;
+DELETE FROM role_permission;
+DELETE FROM `user`;
+DELETE FROM role;
+DELETE FROM permission;
+
+INSERT INTO permission (id, name, code, module, type, parent_id, path, sort, status) VALUES
+(1, '系统管理', 'system', '系统', 1, NULL, '/system', 1, 1),
+(2, '用户管理', 'system:user', '系统', 1, 1, '/system/user', 2, 1),
+(3, '查看用户', 'USER_VIEW', '用户', 3, NULL, NULL, 0, 1),
+(4, '查看角色', 'ROLE_VIEW', '角色', 3, NULL, NULL, 0, 1),
+(5, '编辑角色', 'ROLE_EDIT', '角色', 3, NULL, NULL, 0, 1);
+
+INSERT INTO role (id, name, code, status) VALUES
+(1, '管理员', 'ADMIN', 1),
+(2, '用户管理员', 'USER_ADMIN', 1),
+(3, '角色管理员', 'ROLE_ADMIN', 1);
+
+INSERT INTO role_permission (role_id, permission_id) VALUES
+(1, 1), (1, 2),
+(2, 2), (2, 3),
+(3, 4), (3, 5);
+
+INSERT INTO `user` (id, username, password, nickname, email, email_normalized, status) VALUES
+(1, 'admin', '$2a$12$fsdyyZAzWd1waqAMHn14oeTWrwkpzgo8M2VXKwbtTfX9wUoVg/4OK', '管理员', 'admin@example.com', 'admin@example.com', 1);
+
+INSERT INTO user_role (user_id, role_id) VALUES (1, 1), (1, 2), (1, 3);
+
+INSERT INTO user_effective_permission (user_id, permission_id, via_role_count) VALUES
+(1, 1, 1), (1, 2, 2), (1, 3, 1), (1, 4, 1), (1, 5, 1);
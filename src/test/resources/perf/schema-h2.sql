@@ -0,0 +1,118 @@
+-- 性能测试使用的H2表结构（MySQL模式）
+-- 与db/migration中V1~V8执行后的结构一致，去掉了H2不支持的分区和存储过程；H2的索引名在库内唯一，因此加了表名前缀。
+
+CREATE TABLE IF NOT EXISTS `user` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `username` varchar(64) NOT NULL,
+  `password` varchar(128) NOT NULL,
+  `nickname` varchar(64) DEFAULT NULL,
+  `email` varchar(128) DEFAULT NULL,
+  `phone` varchar(32) DEFAULT NULL,
+  `email_normalized` varchar(128) DEFAULT NULL,
+  `phone_normalized` varchar(32) DEFAULT NULL,
+  `status` tinyint NOT NULL DEFAULT 1,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `last_login_time` datetime DEFAULT NULL,
+  PRIMARY KEY (`id`)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS `user_idx_username` ON `user` (`username`);
+CREATE UNIQUE INDEX IF NOT EXISTS `user_idx_email_normalized` ON `user` (`email_normalized`);
+CREATE UNIQUE INDEX IF NOT EXISTS `user_idx_phone_normalized` ON `user` (`phone_normalized`);
+
+CREATE TABLE IF NOT EXISTS `role` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `name` varchar(64) NOT NULL,
+  `code` varchar(64) NOT NULL,
+  `description` varchar(255) DEFAULT NULL,
+  `status` tinyint NOT NULL DEFAULT 1,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS `role_idx_code` ON `role` (`code`);
+CREATE INDEX IF NOT EXISTS `role_idx_name` ON `role` (`name`);
+
+CREATE TABLE IF NOT EXISTS `permission` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `name` varchar(64) NOT NULL,
+  `code` varchar(64) NOT NULL,
+  `description` varchar(255) DEFAULT NULL,
+  `module` varchar(64) NOT NULL DEFAULT '未分类',
+  `type` tinyint NOT NULL,
+  `parent_id` bigint DEFAULT NULL,
+  `path` varchar(255) DEFAULT NULL,
+  `sort` int DEFAULT 0,
+  `icon` varchar(255) DEFAULT NULL,
+  `status` tinyint NOT NULL DEFAULT 1,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS `permission_idx_code` ON `permission` (`code`);
+CREATE INDEX IF NOT EXISTS `permission_idx_name` ON `permission` (`name`);
+
+CREATE TABLE IF NOT EXISTS `user_role` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `user_id` bigint NOT NULL,
+  `role_id` bigint NOT NULL,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS `user_role_idx_user_role` ON `user_role` (`user_id`, `role_id`);
+CREATE INDEX IF NOT EXISTS `user_role_idx_role_id` ON `user_role` (`role_id`);
+
+CREATE TABLE IF NOT EXISTS `role_permission` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `role_id` bigint NOT NULL,
+  `permission_id` bigint NOT NULL,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS `role_permission_idx_role_permission` ON `role_permission` (`role_id`, `permission_id`);
+CREATE INDEX IF NOT EXISTS `role_permission_idx_permission_id` ON `role_permission` (`permission_id`);
+
+CREATE TABLE IF NOT EXISTS `operation_log` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `username` varchar(64) DEFAULT NULL,
+  `operation` varchar(128) NOT NULL,
+  `method` varchar(10) NOT NULL,
+  `uri` varchar(255) NOT NULL,
+  `ip_address` varchar(64) DEFAULT NULL,
+  `status` tinyint NOT NULL,
+  `error_message` varchar(512) DEFAULT NULL,
+  `cost_time` int NOT NULL DEFAULT 0,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`, `create_time`)
+);
+CREATE INDEX IF NOT EXISTS `operation_log_idx_create_time_id` ON `operation_log` (`create_time`, `id`);
+CREATE INDEX IF NOT EXISTS `operation_log_idx_username_create_time_id` ON `operation_log` (`username`, `create_time`, `id`);
+
+CREATE TABLE IF NOT EXISTS `user_effective_permission` (
+  `user_id` bigint NOT NULL,
+  `permission_id` bigint NOT NULL,
+  `via_role_count` int NOT NULL,
+  PRIMARY KEY (`user_id`, `permission_id`)
+);
+CREATE INDEX IF NOT EXISTS `user_effective_permission_idx_permission_user` ON `user_effective_permission` (`permission_id`, `user_id`);
+
+CREATE TABLE IF NOT EXISTS `catalog_version` (
+  `id` tinyint NOT NULL,
+  `version` bigint NOT NULL,
+  `min_version` bigint NOT NULL,
+  PRIMARY KEY (`id`)
+);
+MERGE INTO `catalog_version` (`id`, `version`, `min_version`) KEY (`id`) VALUES (1, 1, 1);
+
+CREATE TABLE IF NOT EXISTS `catalog_change_log` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `version` bigint NOT NULL,
+  `entity_type` varchar(20) NOT NULL,
+  `entity_id` bigint NOT NULL,
+  `related_id` bigint DEFAULT NULL,
+  `operation` varchar(10) NOT NULL,
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+);
+CREATE INDEX IF NOT EXISTS `catalog_change_log_idx_version` ON `catalog_change_log` (`version`);
+CREATE INDEX IF NOT EXISTS `catalog_change_log_idx_create_time` ON `catalog_change_log` (`create_time`);